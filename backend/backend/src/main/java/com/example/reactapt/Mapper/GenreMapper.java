@@ -1,5 +1,6 @@
 package com.example.reactapt.Mapper;
 import java.util.Map;
+import java.util.Set;
 
 public class GenreMapper {
     private static final Map<String, String> MAP = Map.of(
@@ -8,6 +9,11 @@ public class GenreMapper {
             "all-music", "" // 전체 검색 느낌
     );
 
+    /** 알고 있는 장르 slug 전체 (트렌딩 미리 데우기 대상) */
+    public static Set<String> slugs() {
+        return MAP.keySet();
+    }
+
     public static String toKeyword(String slug) {
         return MAP.getOrDefault(slug, slug.replace('-', ' '));
     }
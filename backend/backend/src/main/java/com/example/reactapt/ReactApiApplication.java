@@ -2,8 +2,10 @@ package com.example.reactapt;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan // @ConfigurationProperties 클래스는 각자 자기 prefix 로 바인딩
 public class ReactApiApplication {
 
     public static void main(String[] args) {
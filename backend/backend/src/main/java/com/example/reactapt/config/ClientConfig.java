@@ -7,11 +7,32 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class ClientConfig {
+
+    // SoundCloud 호스트별 공용 커넥션 풀 (sc.http.*)
+    @Bean
+    public ScHttpTransport scHttpTransport(ScHttpProperties props, WebClient.Builder builder) {
+        return new ScHttpTransport(props, builder);
+    }
+
+    // api-v2: 검색/트렌딩 (ScClient, ScSearchService, ScService.search)
+    @Bean
+    public WebClient scClientV2(ScHttpTransport transport,
+                                @Value("${sc.api.base:https://api-v2.soundcloud.com}") String baseUrl) {
+        return transport.webClient("api-v2", baseUrl);
+    }
+
+    // api v1: resolve (ScService.resolve)
+    @Bean
+    public WebClient scClientV1(ScHttpTransport transport,
+                                @Value("${sc.api.v1-base:https://api.soundcloud.com}") String baseUrl) {
+        return transport.webClient("api-v1", baseUrl);
+    }
+
+    // 아트워크 CDN: 썸네일 원본 (ArtworkService, sc.artwork.origin)
     @Bean
-    public WebClient scClientV1(WebClient.Builder builder) {
-        return builder
-                .baseUrl("https://api.soundcloud.com")
-                .build();
+    public WebClient scArtworkClient(ScHttpTransport transport,
+                                     @Value("${sc.artwork.origin:https://i1.sndcdn.com}") String origin) {
+        return transport.webClient("artwork", origin);
     }
 
     @Bean
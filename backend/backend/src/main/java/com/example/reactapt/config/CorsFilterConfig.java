@@ -23,6 +23,8 @@ public class CorsFilterConfig {
         cfg.setAllowCredentials(false);
         // (선택) 노출할 헤더 추가 가능
         // cfg.setExposedHeaders(List.of("Set-Cookie", "Location", "Content-Disposition"));
+        // 커서 세션 id 는 프론트가 읽어서 다음 요청에 실어 보내야 함, 429 의 Retry-After 도
+        cfg.setExposedHeaders(List.of("X-Cursor-Session", "Retry-After"));
 
         UrlBasedCorsConfigurationSource src = new UrlBasedCorsConfigurationSource();
         src.registerCorsConfiguration("/**", cfg);
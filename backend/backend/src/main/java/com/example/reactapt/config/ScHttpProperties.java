@@ -0,0 +1,40 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * SoundCloud 업스트림 HTTP 전송 설정 (sc.http.*)
+ * - 호스트(api-v2, api v1)마다 별도 커넥션 풀, 설정값은 공통
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.http")
+public class ScHttpProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    /** 응답 헤더까지 + 읽기 사이 최대 대기 */
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    /** 호스트당 최대 커넥션 */
+    private int maxConnections = 100;
+    /** 커넥션 대기열 최대 길이 (넘으면 즉시 실패) */
+    private int pendingAcquireMaxCount = 500;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    /** 이 시간 동안 안 쓰인 커넥션은 정리 */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    /** 백그라운드 idle 정리 주기 */
+    private Duration evictInterval = Duration.ofSeconds(30);
+
+    /** TLS(ALPN)로 HTTP/2 협상, 안 되면 HTTP/1.1 */
+    private boolean http2 = true;
+    /** gzip 요청 + 응답 압축 해제 */
+    private boolean compress = true;
+    /** 응답 본문 최대 버퍼 크기 (50트랙 페이지가 기본값 256KB를 넘는 경우가 있음) */
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(4);
+}
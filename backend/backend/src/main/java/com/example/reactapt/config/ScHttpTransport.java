@@ -0,0 +1,98 @@
+package com.example.reactapt.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SoundCloud 호스트별 공용 HTTP 전송 계층
+ * - 호스트마다 커넥션 풀 하나 (ScClient / ScSearchService / ScService 가 같은 풀을 공유)
+ * - 풀 크기/대기열/idle 정리/타임아웃/HTTP2/압축은 sc.http.* 로 조정
+ * - 풀 상태(active/idle/pending)를 실시간으로 조회 가능
+ */
+public class ScHttpTransport implements DisposableBean {
+
+    private final ScHttpProperties props;
+    private final WebClient.Builder builder;
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    public ScHttpTransport(ScHttpProperties props, WebClient.Builder builder) {
+        this.props = props;
+        this.builder = builder;
+    }
+
+    /** host 이름(풀 이름)별 WebClient. 같은 host 는 같은 커넥션 풀 사용 */
+    public WebClient webClient(String host, String baseUrl) {
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient(host)))
+                .codecs(c -> c.defaultCodecs().maxInMemorySize((int) props.getMaxInMemorySize().toBytes()))
+                .build();
+    }
+
+    private HttpClient httpClient(String host) {
+        ConnectionProvider provider = providers.computeIfAbsent(host, this::newProvider);
+        HttpClient client = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) props.getConnectTimeout().toMillis())
+                .responseTimeout(props.getResponseTimeout())
+                .compress(props.isCompress());
+        // https 는 ALPN으로 h2 협상, 평문(테스트 스텁 등)은 HTTP/1.1 로 동작
+        return props.isHttp2() ? client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11) : client;
+    }
+
+    private ConnectionProvider newProvider(String host) {
+        return ConnectionProvider.builder("sc-" + host)
+                .maxConnections(props.getMaxConnections())
+                .pendingAcquireMaxCount(props.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(props.getPendingAcquireTimeout())
+                .maxIdleTime(props.getMaxIdleTime())
+                .maxLifeTime(props.getMaxLifeTime())
+                .evictInBackground(props.getEvictInterval())
+                .metrics(true, () -> new ConnectionProvider.MeterRegistrar() {
+                    @Override
+                    public void registerMetrics(String poolName, String id, SocketAddress remote, ConnectionPoolMetrics metrics) {
+                        pools.put(poolName + " " + remote, metrics);
+                    }
+
+                    @Override
+                    public void deRegisterMetrics(String poolName, String id, SocketAddress remote) {
+                        pools.remove(poolName + " " + remote);
+                    }
+                })
+                .build();
+    }
+
+    /** 풀별 현재 상태 (원격 주소 단위) */
+    public Map<String, ConnectionPoolMetrics> poolMetrics() {
+        return Map.copyOf(pools);
+    }
+
+    public Map<String, Object> poolStats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        pools.forEach((name, m) -> out.put(name, Map.of(
+                "active", m.acquiredSize(),
+                "idle", m.idleSize(),
+                "pending", m.pendingAcquireSize(),
+                "allocated", m.allocatedSize(),
+                "max", m.maxAllocatedSize(),
+                "maxPending", m.maxPendingAcquireSize()
+        )));
+        return out;
+    }
+
+    @Override
+    public void destroy() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.reactapt.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScClient URL 생성 (트렌딩/검색 요청마다 1회)
+ * - buildUrl: UriComponentsBuilder 로 조립 → 쿼리 다시 파싱해서 기본 파라미터 보강
+ * - withDefaults: next_href(이미 client_id 포함/미포함) 보강
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScClientUrlBenchmark {
+
+    private static final String BASE = "https://api-v2.soundcloud.com";
+    private static final String CLIENT_ID = "MHDG7vIKasWstY0FaB07rK5WUoUjjCDC";
+
+    // MusicService.fetchTrending 이 만드는 쿼리 그대로
+    private final String trendingQuery = "q=&limit=20&linked_partitioning=1&filter.genre_or_tag=hip-hop%20%26%20rap";
+
+    private final String nextHrefWithClientId = BASE + "/search/tracks?query_urn=soundcloud%3Asearch%3A8f2c1a&offset=20"
+            + "&q=&limit=20&linked_partitioning=1&filter.genre_or_tag=hip-hop&client_id=" + CLIENT_ID
+            + "&app_locale=en&app_version=1760349581";
+
+    private final String nextHrefBare = BASE + "/search/tracks?query_urn=soundcloud%3Asearch%3A8f2c1a&offset=20"
+            + "&q=&limit=20&filter.genre_or_tag=hip-hop";
+
+    @Benchmark
+    public String buildUrl() {
+        return ScClient.buildUrl(BASE, CLIENT_ID, "/search/tracks", trendingQuery);
+    }
+
+    @Benchmark
+    public String withDefaultsComplete() {
+        return ScClient.withDefaults(CLIENT_ID, nextHrefWithClientId);
+    }
+
+    @Benchmark
+    public String withDefaultsMissingParams() {
+        return ScClient.withDefaults(CLIENT_ID, nextHrefBare);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.PlaylistDto;
+import com.example.reactapt.config.DTO.PlaylistItem;
+import com.example.reactapt.config.PlaylistStoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 서버 playlist 저장소: playlists × items 개를 채운 뒤 (기본 1000 × 1000 = 100만 항목, 스냅샷 ≈ 150MB)
+ * - appendItem / moveItem: op 하나 기록 (8스레드 → group commit 으로 fsync 공유)
+ * - rewriteWholePlaylist: 비교용. localStorage 처럼 playlist 하나 전체를 JSON 으로 다시 쓰는 비용
+ * - readSnapshot: 스냅샷(mmap)에서 playlist 하나 디코딩
+ * - recover: 스냅샷 열기 + 꼬리 로그(tailOps 개) 재생 (스냅샷 이후 로그만 읽는지)
+ * 더 크게: ./gradlew jmh -Pjmh.include=PlaylistStore -Pjmh.args="-p playlists=5000 -p items=2000"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PlaylistStoreBenchmark {
+
+    @Param("1000")
+    public int playlists;
+
+    @Param("1000")
+    public int items;
+
+    @Param("true")
+    public boolean fsync;
+
+    @Param("10000")
+    public int tailOps;
+
+    private Path dir;
+    private PlaylistStoreProperties props;
+    private PlaylistStore store;
+    private List<String> ids;
+    private final AtomicLong seq = new AtomicLong();
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("playlist-bench");
+        props = new PlaylistStoreProperties();
+        props.setDir(dir.toString());
+        props.setFsync(fsync);
+        props.setMaxItems(Integer.MAX_VALUE);
+        store = new PlaylistStore(props, new SimpleMeterRegistry());
+
+        ids = new ArrayList<>(playlists);
+        for (int p = 0; p < playlists; p++) {
+            String id = store.create("playlist " + p).block().id();
+            List<PlaylistItem> list = new ArrayList<>(items);
+            for (int i = 0; i < items; i++) list.add(item(p + "-" + i));
+            store.replaceItems(id, list).block();
+            ids.add(id);
+        }
+        store.snapshot();
+
+        // 복구 벤치마크용 꼬리 로그 (앞쪽 10개 playlist 에만 → 나머지는 스냅샷(mmap)에서 읽힘)
+        for (int i = 0; i < tailOps; i++) {
+            store.addItem(ids.get(i % Math.min(10, playlists)), item("tail-" + i)).block();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    private static PlaylistItem item(String key) {
+        return new PlaylistItem("item-" + key, "track", "soundcloud", key, "Track " + key, "Artist " + key,
+                180_000L, "https://i1.sndcdn.com/artworks-" + key + "-large.jpg",
+                "https://soundcloud.com/artist/track-" + key, 1_700_000_000_000L);
+    }
+
+    private String randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public PlaylistItem appendItem() {
+        return store.addItem(randomId(), item("bench-" + seq.incrementAndGet())).block();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void moveItem() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        int p = r.nextInt(playlists);
+        store.moveItem(ids.get(p), "item-" + p + "-" + r.nextInt(items), r.nextInt(items)).block();
+    }
+
+    @Benchmark
+    public byte[] rewriteWholePlaylist() throws IOException {
+        return json.writeValueAsBytes(store.find(randomId()).items());
+    }
+
+    @Benchmark
+    public PlaylistDto readSnapshot() {
+        return store.find(randomId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public long recover() throws IOException {
+        try (PlaylistStore reopened = new PlaylistStore(props, new SimpleMeterRegistry())) {
+            return (long) reopened.stats().get("recoveredOps");
+        }
+    }
+}
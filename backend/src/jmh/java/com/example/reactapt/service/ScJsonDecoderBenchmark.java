@@ -0,0 +1,51 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.support.ScFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 50트랙 검색 페이지(≈150KB) 디코딩: 예전 Map 트리 방식 vs 스트리밍 디코더
+ * - 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 로 비교 (./gradlew jmh -Pjmh.include=ScJsonDecoder)
+ * - 같은 결과가 나오는지는 ScJsonDecoderTests 에서 확인
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScJsonDecoderBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] page50;
+
+    @Setup
+    public void setUp() {
+        page50 = ScFixtures.searchPage(50, 1000, "https://api-v2.soundcloud.com/search/tracks?q=&offset=50&limit=50")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ScSearchResponse mapTree() throws Exception {
+        return ScJsonDecoderTests.viaMapTree(mapper, page50);
+    }
+
+    @Benchmark
+    public ScSearchResponse streaming() {
+        return ScJsonDecoder.searchResponse(page50);
+    }
+}
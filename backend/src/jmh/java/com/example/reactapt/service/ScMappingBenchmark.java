@@ -0,0 +1,95 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ScChartItem;
+import com.example.reactapt.config.DTO.ScPaging;
+import com.example.reactapt.config.DTO.ScTrack;
+import com.example.reactapt.config.DTO.TrackDto;
+import com.example.reactapt.support.ScFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 타는 CPU 경로 (업스트림 대기 제외)
+ * - ScSearchService: HashMap + MultiValueMapAdapter 쿼리 조립 + 합치기 키
+ * - ScService: next_href 에서 offset 꺼내기 (split)
+ * - TrackDto id: provider:externalId (예전 UUID.randomUUID() 대체)
+ * - ETag 용 내용 해시 (50트랙 페이지)
+ * - 50트랙 페이지 디코딩 (TrackDto / ScTrack), ScTrack → ScChartItem 래핑
+ * - ScUpstream 키 정규화
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScMappingBenchmark {
+
+    private static final String CLIENT_ID = "MHDG7vIKasWstY0FaB07rK5WUoUjjCDC";
+
+    private byte[] page50;
+    private ScPaging<ScTrack> decodedPage50;
+    private String nextHref;
+
+    @Setup
+    public void setUp() {
+        nextHref = "https://api-v2.soundcloud.com/search/tracks?query_urn=soundcloud%3Asearch%3A8f2c1a"
+                + "&offset=40&q=lofi&limit=20&linked_partitioning=1&client_id=" + CLIENT_ID + "&app_locale=en";
+        page50 = ScFixtures.searchPage(50, 1_000_000, nextHref).getBytes(StandardCharsets.UTF_8);
+        decodedPage50 = ScJsonDecoder.scTrackPage(page50);
+    }
+
+    @Benchmark
+    public String searchParamsAndKey() {
+        MultiValueMap<String, String> query = ScSearchService.searchParams(CLIENT_ID, "lofi hip hop", 12, null);
+        return UriComponentsBuilder.fromPath("/search/tracks").queryParams(query).build().toUriString();
+    }
+
+    @Benchmark
+    public Integer nextOffset() {
+        return ScService.nextOffset(nextHref);
+    }
+
+    @Benchmark
+    public String trackDtoId() {
+        return ScJsonDecoder.trackId("soundcloud", "1000000");
+    }
+
+    @Benchmark
+    public String contentHashPage50() {
+        return ContentHash.trackPage(decodedPage50);
+    }
+
+    @Benchmark
+    public ScJsonDecoder.Page<TrackDto> decodeTrackDtoPage() {
+        return ScJsonDecoder.trackDtoPage(page50);
+    }
+
+    @Benchmark
+    public ScPaging<ScTrack> decodeScTrackPage() {
+        return ScJsonDecoder.scTrackPage(page50);
+    }
+
+    @Benchmark
+    public ScPaging<ScChartItem> toChartPage() {
+        return MusicService.toChartPage(decodedPage50);
+    }
+
+    @Benchmark
+    public String normalizeKey() {
+        return ScUpstream.normalize(nextHref);
+    }
+}
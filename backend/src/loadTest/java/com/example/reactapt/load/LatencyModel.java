@@ -0,0 +1,83 @@
+package com.example.reactapt.load;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 응답 지연 분포
+ * - fixed:80ms
+ * - uniform:20ms-200ms
+ * - lognormal:120ms,0.5   (중앙값, sigma → 꼬리가 긴 실제 업스트림에 가까움)
+ * - 뒤에 ";tail=0.01:3s" 를 붙이면 1% 확률로 3초짜리 느린 응답 섞음
+ */
+public final class LatencyModel {
+
+    private enum Kind { FIXED, UNIFORM, LOGNORMAL }
+
+    private final Kind kind;
+    private final long a;        // fixed/uniform-min/lognormal-median (ms)
+    private final double b;      // uniform-max (ms) / lognormal sigma
+    private final double tailRatio;
+    private final long tailMs;
+    private final String spec;
+
+    private LatencyModel(String spec, Kind kind, long a, double b, double tailRatio, long tailMs) {
+        this.spec = spec;
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+        this.tailRatio = tailRatio;
+        this.tailMs = tailMs;
+    }
+
+    public static LatencyModel parse(String spec) {
+        String main = spec;
+        double tailRatio = 0;
+        long tailMs = 0;
+        int semi = spec.indexOf(";tail=");
+        if (semi >= 0) {
+            main = spec.substring(0, semi);
+            String[] t = spec.substring(semi + ";tail=".length()).split(":");
+            tailRatio = Double.parseDouble(t[0]);
+            tailMs = millis(t[1]);
+        }
+
+        String[] kv = main.split(":", 2);
+        String args = kv.length > 1 ? kv[1] : "0ms";
+        return switch (kv[0].trim().toLowerCase()) {
+            case "fixed" -> new LatencyModel(spec, Kind.FIXED, millis(args), 0, tailRatio, tailMs);
+            case "uniform" -> {
+                String[] r = args.split("-");
+                yield new LatencyModel(spec, Kind.UNIFORM, millis(r[0]), millis(r[1]), tailRatio, tailMs);
+            }
+            case "lognormal" -> {
+                String[] r = args.split(",");
+                yield new LatencyModel(spec, Kind.LOGNORMAL, millis(r[0]),
+                        r.length > 1 ? Double.parseDouble(r[1]) : 0.5, tailRatio, tailMs);
+            }
+            default -> throw new IllegalArgumentException("unknown latency model: " + spec);
+        };
+    }
+
+    public long nextMillis() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        if (tailRatio > 0 && rnd.nextDouble() < tailRatio) return tailMs;
+        return switch (kind) {
+            case FIXED -> a;
+            case UNIFORM -> a + (long) (rnd.nextDouble() * (b - a));
+            case LOGNORMAL -> (long) (a * Math.exp(b * rnd.nextGaussian()));
+        };
+    }
+
+    private static long millis(String v) {
+        String s = v.trim().toLowerCase();
+        if (s.endsWith("ms")) return Long.parseLong(s.substring(0, s.length() - 2));
+        if (s.endsWith("s")) return Duration.ofSeconds(Long.parseLong(s.substring(0, s.length() - 1))).toMillis();
+        return Long.parseLong(s);
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.reactapt.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 닫힌 루프(closed-loop) 부하 생성기
+ * - concurrency 개의 가상 사용자가 응답을 받자마자 다음 요청을 보냄 (duration 동안)
+ * - 요청은 비동기(CompletableFuture)라서 사용자 수만큼 스레드를 쓰지 않음
+ * - warmup 구간 결과는 버리고 본 구간만 집계
+ */
+public class LoadDriver {
+
+    /** 요청 하나. 완료 값은 HTTP 상태 (인프로세스 호출은 성공 200 / 실패 500) */
+    public interface Scenario {
+        CompletableFuture<Integer> fire(long seq);
+    }
+
+    public record Report(String name, int concurrency, long requests, long errors, double throughputRps,
+                         double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs,
+                         Map<Integer, Long> statuses) {
+
+        public String line() {
+            return String.format("%-22s c=%-4d req=%-7d err=%-5d rps=%-9.1f p50=%-8.1f p90=%-8.1f p99=%-8.1f p99.9=%-8.1f max=%.1f",
+                    name, concurrency, requests, errors, throughputRps, p50Ms, p90Ms, p99Ms, p999Ms, maxMs);
+        }
+    }
+
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+
+    public LoadDriver(int concurrency, Duration duration, Duration warmup) {
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.warmup = warmup;
+    }
+
+    public Report run(String name, Scenario scenario) {
+        if (!warmup.isZero()) {
+            drive(scenario, warmup, new AtomicLong());
+        }
+        AtomicLong seq = new AtomicLong();
+        long started = System.nanoTime();
+        User[] users = drive(scenario, duration, seq);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        int total = 0;
+        for (User u : users) total += u.count;
+        long[] all = new long[total];
+        int pos = 0;
+        long errors = 0;
+        Map<Integer, Long> statuses = new TreeMap<>();
+        for (User u : users) {
+            System.arraycopy(u.latencies, 0, all, pos, u.count);
+            pos += u.count;
+            errors += u.errors;
+            u.statuses.forEach((k, v) -> statuses.merge(k, v, Long::sum));
+        }
+        Arrays.sort(all);
+        return new Report(name, concurrency, total, errors, total / seconds,
+                pct(all, 0.50), pct(all, 0.90), pct(all, 0.99), pct(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1] / 1_000_000.0, statuses);
+    }
+
+    private User[] drive(Scenario scenario, Duration window, AtomicLong seq) {
+        long deadline = System.nanoTime() + window.toNanos();
+        User[] users = new User[concurrency];
+        CompletableFuture<?>[] done = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            users[i] = new User(scenario, seq, deadline);
+            done[i] = users[i].start();
+        }
+        CompletableFuture.allOf(done).join();
+        return users;
+    }
+
+    private static double pct(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = Math.min(sorted.length - 1, Math.max(0, (int) Math.ceil(p * sorted.length) - 1));
+        return sorted[idx] / 1_000_000.0;
+    }
+
+    /** 가상 사용자 하나: 이전 응답이 끝나야 다음 요청 */
+    private static final class User {
+        private final Scenario scenario;
+        private final AtomicLong seq;
+        private final long deadline;
+        private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+        long[] latencies = new long[1024];
+        int count;
+        long errors;
+        final Map<Integer, Long> statuses = new LinkedHashMap<>();
+
+        User(Scenario scenario, AtomicLong seq, long deadline) {
+            this.scenario = scenario;
+            this.seq = seq;
+            this.deadline = deadline;
+        }
+
+        CompletableFuture<Void> start() {
+            next();
+            return finished;
+        }
+
+        private void next() {
+            // 이미 끝난 future(캐시 히트 등)는 재귀 대신 루프로 → 스택 안 쌓임
+            while (System.nanoTime() < deadline) {
+                long started = System.nanoTime();
+                CompletableFuture<Integer> f;
+                try {
+                    f = scenario.fire(seq.getAndIncrement());
+                } catch (RuntimeException e) {
+                    f = CompletableFuture.failedFuture(e);
+                }
+                if (!f.isDone()) {
+                    f.whenComplete((status, error) -> {
+                        record(System.nanoTime() - started, error == null ? status : -1);
+                        next();
+                    });
+                    return;
+                }
+                record(System.nanoTime() - started, f.isCompletedExceptionally() ? -1 : f.join());
+            }
+            finished.complete(null);
+        }
+
+        // 한 사용자의 요청은 순차라서 동기화 불필요
+        private void record(long nanos, int status) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+            statuses.merge(status, 1L, Long::sum);
+            if (status < 200 || status >= 300) errors++;
+        }
+    }
+}
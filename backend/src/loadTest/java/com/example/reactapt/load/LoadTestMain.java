@@ -0,0 +1,199 @@
+package com.example.reactapt.load;
+
+import com.example.reactapt.ReactApiApplication;
+import com.example.reactapt.service.ScService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 오프라인 부하 테스트 진입점 (./gradlew loadTest)
+ * 1) 로컬 SoundCloud 스텁 기동
+ * 2) 앱을 같은 JVM에서 랜덤 포트로 기동 (sc.api.base / sc.api.v1-base → 스텁)
+ * 3) 시나리오별로 warmup 후 duration 동안 부하 → 처리량/지연 percentile 출력 + JSON 리포트
+ * 4) load.maxErrorRate / load.maxP99 를 넘는 시나리오가 있으면 종료 코드 1
+ *
+ * 설정 (-Pload.xxx 또는 -Dload.xxx)
+ * - concurrency=32, duration=20s, warmup=5s
+ * - latency=lognormal:120ms,0.5   (LatencyModel 참고), errorRate=0
+ * - keys=200 : 시나리오가 돌려 쓰는 서로 다른 검색어/장르 수 (작을수록 캐시 히트↑)
+ * - scenarios=trending,trending-scroll,home,search,sc-search,sc-stream,sc-service-search,sc-service-resolve,artwork
+ * - maxErrorRate=0.01, maxP99=(없음, ms)
+ */
+public final class LoadTestMain {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String OPS_PASSWORD = UUID.randomUUID().toString(); // 실행마다 새로, 통계 조회에만 씀
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 32);
+        Duration duration = duration("load.duration", "20s");
+        Duration warmup = duration("load.warmup", "5s");
+        LatencyModel latency = LatencyModel.parse(System.getProperty("load.latency", "lognormal:120ms,0.5"));
+        double errorRate = Double.parseDouble(System.getProperty("load.errorRate", "0"));
+        int keys = Integer.getInteger("load.keys", 200);
+        List<String> scenarios = List.of(System.getProperty("load.scenarios",
+                "trending,trending-scroll,home,search,sc-search,sc-stream,sc-service-search,sc-service-resolve,artwork")
+                .split(","));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+        String maxP99 = System.getProperty("load.maxP99");
+        String reportPath = System.getProperty("load.report", "build/load-test/report.json");
+
+        List<LoadDriver.Report> reports = new ArrayList<>();
+        Map<String, Object> out = new LinkedHashMap<>();
+
+        try (ScStubServer stub = new ScStubServer(latency, errorRate, 500);
+             // 커맨드라인 인자로 넘겨야 application.properties(server.port=8080 등)보다 우선함
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(ReactApiApplication.class)
+                     .run(appArgs(args, stub.baseUrl()))) {
+
+            String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            ScService scService = app.getBean(ScService.class);
+            LoadDriver driver = new LoadDriver(concurrency, duration, warmup);
+
+            for (String name : scenarios) {
+                LoadDriver.Scenario scenario = switch (name.trim()) {
+                    case "trending" -> seq -> get(http, base + "/api/charts/trending?genre=load-" + seq % keys + "&limit=20");
+                    case "trending-scroll" -> seq -> scroll(http, base, "load-" + seq % keys);
+                    case "home" -> seq -> get(http, base + "/api/home");
+                    case "search" -> seq -> get(http, base + "/api/search?q=q" + seq % keys + "&limit=20");
+                    case "sc-search" -> seq -> get(http, base + "/api/sc/search?q=sc" + seq % keys + "&limit=12");
+                    case "sc-stream" -> seq -> get(http, base + "/api/sc/stream?q=st" + seq % keys + "&count=200");
+                    // 키마다 처음 한 번만 원본+리사이즈, 나머지는 디스크에서 sendfile
+                    case "artwork" -> seq -> get(http, base + "/api/artwork/artworks-000" + seq % keys + "-load?size="
+                            + (seq % 2 == 0 ? 300 : 160));
+                    case "sc-service-search" -> seq -> inProcess(scService.search("svc" + seq % keys, 20, 0));
+                    case "sc-service-resolve" -> seq -> inProcess(scService.resolve(seq % 4 == 0
+                            ? "https://soundcloud.com/artist/sets/set-" + seq % keys
+                            : "https://soundcloud.com/artist/track-" + seq % keys));
+                    default -> throw new IllegalArgumentException("unknown scenario: " + name);
+                };
+                LoadDriver.Report r = driver.run(name.trim(), scenario);
+                reports.add(r);
+                System.out.println("[LOAD] " + r.line());
+            }
+
+            out.put("config", Map.of(
+                    "concurrency", concurrency,
+                    "duration", duration.toString(),
+                    "warmup", warmup.toString(),
+                    "keys", keys));
+            out.put("stub", stub.stats());
+            out.put("scenarios", reports);
+            out.put("app", JSON.readTree(http.send(HttpRequest.newBuilder(URI.create(base + "/api/sc/stats"))
+                    .header("Authorization", "Basic " + Base64.getEncoder().encodeToString(
+                            ("ops:" + OPS_PASSWORD).getBytes(StandardCharsets.UTF_8)))
+                    .build(), HttpResponse.BodyHandlers.ofString()).body()));
+        }
+
+        File file = new File(reportPath);
+        if (file.getParentFile() != null) file.getParentFile().mkdirs();
+        JSON.writerWithDefaultPrettyPrinter().writeValue(file, out);
+        System.out.println("[LOAD] report: " + file.getAbsolutePath());
+
+        boolean failed = false;
+        for (LoadDriver.Report r : reports) {
+            double rate = r.requests() == 0 ? 1.0 : (double) r.errors() / r.requests();
+            if (rate > maxErrorRate) {
+                System.out.println("[LOAD] FAIL " + r.name() + " errorRate=" + rate + " > " + maxErrorRate);
+                failed = true;
+            }
+            if (maxP99 != null && r.p99Ms() > Double.parseDouble(maxP99)) {
+                System.out.println("[LOAD] FAIL " + r.name() + " p99=" + r.p99Ms() + "ms > " + maxP99 + "ms");
+                failed = true;
+            }
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static String[] appArgs(String[] args, String stubBase) {
+        List<String> all = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--sc.api.base=" + stubBase,
+                "--sc.api.v1-base=" + stubBase,
+                "--soundcloud.client-id=load-test",
+                // 부하 드라이버는 IP 하나 → 클라이언트별 제한은 끄고 업스트림 쪽 제한만 봄
+                "--sc.admission.client.enabled=false",
+                "--sc.artwork.origin=" + stubBase,
+                "--sc.artwork.dir=" + tempDir("load-artwork"),
+                "--sc.cache.snapshot.dir=" + tempDir("load-cache"),
+                "--spring.security.user.password=" + OPS_PASSWORD, // /api/sc/stats 는 ops 계정 필요
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping=WARN"));
+        all.addAll(List.of(args)); // 앱 설정 덮어쓰기 (예: --sc.resilience.enabled=false)
+        return all.toArray(String[]::new);
+    }
+
+    private static CompletableFuture<Integer> get(HttpClient http, String url) {
+        return http.sendAsync(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    /** 무한 스크롤: 첫 페이지 → 응답의 next_href 를 cursor 로 다음 페이지 */
+    private static CompletableFuture<Integer> scroll(HttpClient http, String base, String genre) {
+        return http.sendAsync(HttpRequest.newBuilder(URI.create(base + "/api/charts/trending?genre=" + genre + "&limit=20")).build(),
+                        HttpResponse.BodyHandlers.ofByteArray())
+                .thenCompose(first -> {
+                    String next = nextHref(first.body());
+                    if (first.statusCode() != 200 || next == null) {
+                        return CompletableFuture.completedFuture(first.statusCode());
+                    }
+                    return get(http, base + "/api/charts/trending?limit=20&cursor=" + URLEncoder.encode(next, StandardCharsets.UTF_8));
+                });
+    }
+
+    private static String nextHref(byte[] body) {
+        try {
+            JsonNode node = JSON.readTree(body).get("next_href");
+            return node == null || node.isNull() ? null : node.asText();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static CompletableFuture<Integer> inProcess(Mono<?> call) {
+        return call.map(v -> 200).onErrorReturn(500).defaultIfEmpty(200).toFuture();
+    }
+
+    private static Duration duration(String key, String def) {
+        return DurationStyle.detectAndParse(System.getProperty(key, def));
+    }
+
+    // 실행마다 빈 디렉터리 (이전 실행의 썸네일이 남아 있으면 첫 요청도 캐시 적중)
+    private static String tempDir(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.reactapt.load;
+
+import com.example.reactapt.support.ScFixtures;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 로컬 SoundCloud 스텁 (api-v2/api-v1 둘 다 이 서버 하나로)
+ * - /search/tracks: limit/offset 기준 실제 크기 비슷한 페이지 + next_href(이 서버 주소)
+ * - /resolve: url 에 /sets/ 가 있으면 playlist, 아니면 track
+ * - /tracks?ids=: 요청한 id 의 트랙 배열 (playlist hydration)
+ * - /artworks-*: 아트워크 CDN 대신. 키와 상관없이 같은 500×500 jpeg
+ * - 응답마다 LatencyModel 지연, errorRate 확률로 503/429 주입
+ */
+public class ScStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final int totalResults;
+    private final byte[] artwork = artworkJpeg();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public ScStubServer(LatencyModel latency, double errorRate, int totalResults) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.totalResults = totalResults;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext("/search/tracks", ex -> handle(ex, this::searchTracks));
+        this.server.createContext("/resolve", ex -> handle(ex, this::resolve));
+        this.server.createContext("/tracks", ex -> handle(ex, this::tracks));
+        this.server.createContext("/artworks-", ex -> handle(ex, "image/jpeg", uri -> artwork));
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private interface Body {
+        String render(UriComponents uri);
+    }
+
+    private void handle(HttpExchange ex, Body body) throws IOException {
+        handle(ex, "application/json", uri -> body.render(uri).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handle(HttpExchange ex, String contentType, Function<UriComponents, byte[]> body) throws IOException {
+        requests.increment();
+        int now = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(now, Math::max);
+        try {
+            Thread.sleep(latency.nextMillis());
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.increment();
+                int status = ThreadLocalRandom.current().nextInt(4) == 0 ? 429 : 503;
+                send(ex, status, "{\"error\":\"injected\"}");
+                return;
+            }
+            UriComponents uri = UriComponentsBuilder.fromUri(ex.getRequestURI()).build();
+            send(ex, 200, contentType, body.apply(uri));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            ex.close();
+        }
+    }
+
+    private String searchTracks(UriComponents uri) {
+        int limit = intParam(uri, "limit", 20);
+        int offset = intParam(uri, "offset", 0);
+        String q = uri.getQueryParams().getFirst("q");
+        // 검색어마다 다른 id 대역 → 키마다 다른 페이지
+        long firstId = 1_000_000L + (q == null ? 0 : Math.abs(q.hashCode() % 100_000)) * 1_000L + offset;
+
+        int next = offset + limit;
+        String nextHref = next >= totalResults ? null : UriComponentsBuilder.fromUriString(baseUrl())
+                .path("/search/tracks")
+                .queryParam("q", q == null ? "" : q)
+                .queryParam("limit", limit)
+                .queryParam("offset", next)
+                .encode()
+                .toUriString();
+        return ScFixtures.searchPage(Math.min(limit, totalResults - offset), firstId, nextHref);
+    }
+
+    private String resolve(UriComponents uri) {
+        String url = uri.getQueryParams().getFirst("url");
+        long id = Math.abs((url == null ? 0 : url.hashCode()) % 1_000_000L) + 1;
+        if (url != null && url.contains("/sets/")) {
+            return ScFixtures.playlist(id, 100, 5, id * 100);
+        }
+        return ScFixtures.resolvedTrack(id);
+    }
+
+    private String tracks(UriComponents uri) {
+        String ids = uri.getQueryParams().getFirst("ids");
+        List<Long> parsed = new ArrayList<>();
+        if (ids != null) {
+            for (String id : URLDecoder.decode(ids, StandardCharsets.UTF_8).split(",")) {
+                if (!id.isBlank()) parsed.add(Long.valueOf(id.trim()));
+            }
+        }
+        return ScFixtures.tracks(parsed);
+    }
+
+    private static int intParam(UriComponents uri, String name, int def) {
+        String v = uri.getQueryParams().getFirst(name);
+        try {
+            return v == null ? def : Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    private static void send(HttpExchange ex, int status, String body) throws IOException {
+        send(ex, status, "application/json", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange ex, int status, String contentType, byte[] bytes) throws IOException {
+        ex.getResponseHeaders().add("Content-Type", contentType);
+        ex.sendResponseHeaders(status, bytes.length);
+        ex.getResponseBody().write(bytes);
+    }
+
+    private static byte[] artworkJpeg() {
+        BufferedImage img = new BufferedImage(500, 500, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.ORANGE, 500, 500, Color.DARK_GRAY));
+        g.fillRect(0, 0, 500, 500);
+        g.dispose();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(img, "jpeg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("latency", latency.toString());
+        out.put("errorRate", errorRate);
+        out.put("requests", requests.sum());
+        out.put("injectedErrors", injectedErrors.sum());
+        out.put("peakInFlight", peakInFlight.get());
+        return out;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
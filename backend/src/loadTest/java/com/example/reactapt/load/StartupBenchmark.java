@@ -0,0 +1,160 @@
+package com.example.reactapt.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 시간 벤치마크 (./gradlew startupBenchmark -Pfaststart)
+ * - fastStart 결과 디렉터리의 jar 를 모드별로 새 JVM 으로 띄우고, 프로세스 시작 → 첫 /api/ping 200 까지 시간을 잼
+ * - 모드: default(-jar 만), cds(+ AppCDS 아카이브), faststart(+ AppCDS + AOT + faststart 프로필)
+ * - 라운드마다 모드를 번갈아 실행 (시간에 따른 기계 상태 차이가 한 모드에 몰리지 않게), 첫 warmup 라운드는 기록 안 함
+ * - 업스트림은 로컬 스텁 (시작 직후 미리 데우기가 밖으로 나가지 않게)
+ *   저장소 디렉터리는 실행마다 새 임시 디렉터리 → 캐시 스냅샷 없는 콜드 스타트
+ * - 결과: 모드별 min/median/max ms + 실행별 값, JSON 리포트. 실행 로그는 리포트 옆 <모드>-<n>.log
+ *
+ * 설정 (-Pstartup.xxx 또는 -Dstartup.xxx)
+ * - runs=5, warmup=1, modes=default,cds,faststart, timeout=120s
+ * - dir/jar/java/aot 는 gradle 작업이 채움 (fastStart 출력, -Pfaststart 여부)
+ */
+public final class StartupBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Path.of(System.getProperty("startup.dir", "build/faststart"));
+        String jar = System.getProperty("startup.jar", "ReactApt-0.0.1-SNAPSHOT.jar");
+        String java = System.getProperty("startup.java", ProcessHandle.current().info().command().orElse("java"));
+        boolean aot = Boolean.getBoolean("startup.aot");
+        int runs = Integer.getInteger("startup.runs", 5);
+        int warmup = Integer.getInteger("startup.warmup", 1);
+        Duration timeout = DurationStyle.detectAndParse(System.getProperty("startup.timeout", "120s"));
+        List<String> modes = List.of(System.getProperty("startup.modes", "default,cds,faststart").split(","));
+        File report = new File(System.getProperty("startup.report", "build/startup/report.json"));
+        report.getParentFile().mkdirs();
+
+        if (!Files.isRegularFile(dir.resolve(jar))) {
+            throw new IllegalStateException("no " + jar + " in " + dir + " (run ./gradlew fastStart first)");
+        }
+        if (!aot) System.out.println("[STARTUP] built without -Pfaststart: faststart mode runs without AOT");
+
+        Map<String, List<Long>> results = new LinkedHashMap<>();
+        for (String mode : modes) results.put(mode, new ArrayList<>());
+
+        try (ScStubServer stub = new ScStubServer(LatencyModel.parse("fixed:5ms"), 0, 500)) {
+            for (int round = 0; round < warmup + runs; round++) {
+                boolean measured = round >= warmup;
+                for (String mode : modes) {
+                    String name = mode + "-" + (measured ? String.valueOf(round - warmup + 1) : "warmup");
+                    long ms = run(java, dir, jar, jvmOptions(mode, aot), stub.baseUrl(), timeout,
+                            new File(report.getParentFile(), name + ".log"));
+                    System.out.printf(Locale.ROOT, "[STARTUP] %-10s %-16s %6d ms%n", mode, name, ms);
+                    if (measured) results.get(mode).add(ms);
+                }
+            }
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("jar", dir.resolve(jar).toString());
+        out.put("aot", aot);
+        out.put("runs", runs);
+        Map<String, Object> byMode = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Long>> e : results.entrySet()) {
+            List<Long> sorted = e.getValue().stream().sorted().toList();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("minMs", sorted.get(0));
+            m.put("medianMs", sorted.get(sorted.size() / 2));
+            m.put("maxMs", sorted.get(sorted.size() - 1));
+            m.put("runsMs", e.getValue());
+            byMode.put(e.getKey(), m);
+            System.out.printf(Locale.ROOT, "[STARTUP] %-10s time-to-first-ping min=%d median=%d max=%d ms%n",
+                    e.getKey(), m.get("minMs"), m.get("medianMs"), m.get("maxMs"));
+        }
+        out.put("modes", byMode);
+        JSON.writerWithDefaultPrettyPrinter().writeValue(report, out);
+        System.out.println("[STARTUP] report: " + report.getAbsolutePath());
+    }
+
+    private static List<String> jvmOptions(String mode, boolean aot) {
+        return switch (mode) {
+            case "default" -> List.of();
+            case "cds" -> List.of("-XX:SharedArchiveFile=app.jsa");
+            case "faststart" -> List.of("-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=" + aot,
+                    "-Dspring.profiles.active=faststart");
+            default -> throw new IllegalArgumentException("unknown mode: " + mode + " (default, cds, faststart)");
+        };
+    }
+
+    /** 프로세스 시작 → 첫 /api/ping 200 까지 ms (그 뒤 graceful 종료) */
+    private static long run(String java, Path dir, String jar, List<String> jvmOptions, String stubBase,
+                            Duration timeout, File log) throws IOException, InterruptedException {
+        int port = freePort();
+        Path data = Files.createTempDirectory("startup-data");
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-jar", jar,
+                "--server.port=" + port,
+                "--sc.api.base=" + stubBase,
+                "--sc.api.v1-base=" + stubBase,
+                "--sc.artwork.origin=" + stubBase,
+                "--playlist.store.dir=" + data.resolve("playlists"),
+                "--sc.artwork.dir=" + data.resolve("artwork"),
+                "--sc.cache.snapshot.dir=" + data.resolve("cache")));
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest ping = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/ping"))
+                .timeout(Duration.ofSeconds(5)).build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(dir.toFile())
+                .redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            long deadline = started + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("app exited with " + process.exitValue() + " (see " + log + ")");
+                }
+                try {
+                    if (http.send(ping, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (ConnectException | HttpTimeoutException e) {
+                    // 아직 포트가 안 열림
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("no successful /api/ping within " + timeout + " (see " + log + ")");
+        } finally {
+            process.destroy(); // SIGTERM → graceful shutdown
+            if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.reactapt.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+
+/**
+ * DTO 아트워크 필드 직렬화: SoundCloud 이미지 URL → /api/artwork/{id}?size= (sc.artwork.rewrite-urls)
+ * - 캐시/인덱스/ETag 계산에는 원래 URL 이 그대로 남고, 응답 JSON 에서만 바뀜
+ * - Spring 이 만든 ObjectMapper 에서는 설정이 주입되고, 그냥 new ObjectMapper() 면 원래 URL 그대로
+ */
+public class ArtworkUrlSerializer extends StdSerializer<String> {
+
+    private final ScArtworkProperties props;
+
+    public ArtworkUrlSerializer() {
+        this(null);
+    }
+
+    @Autowired
+    public ArtworkUrlSerializer(ScArtworkProperties props) {
+        super(String.class);
+        this.props = props;
+    }
+
+    @Override
+    public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        boolean rewrite = props != null && props.isEnabled() && props.isRewriteUrls();
+        gen.writeString(rewrite ? ArtworkUrls.proxy(value, props.getDefaultSize()) : value);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.reactapt.config;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SoundCloud 이미지 URL ↔ 아트워크 프록시 id
+ * - https://i1.sndcdn.com/artworks-000123-abcdef-large.jpg → id "artworks-000123-abcdef"
+ * - png 원본은 id 뒤에 ".png" (원본 URL 을 다시 만들 때 필요)
+ * - 프록시는 id 로 원본 URL 을 직접 만들어 부름 → 프록시가 임의 주소를 받으러 가지 않음
+ */
+public final class ArtworkUrls {
+
+    public static final String PATH = "/api/artwork/";
+
+    private static final Pattern SC_IMAGE = Pattern.compile(
+            "^https?://i[0-9]*\\.sndcdn\\.com/((?:artworks|avatars)-[A-Za-z0-9-]+?)"
+                    + "-(?:large|crop|original|small|badge|tiny|mini|t[0-9]+x[0-9]+)\\.(jpg|png)(?:\\?.*)?$");
+    private static final Pattern ID = Pattern.compile("^(?:artworks|avatars)-[A-Za-z0-9-]{1,128}(?:\\.png)?$");
+
+    private ArtworkUrls() {
+    }
+
+    /** SoundCloud 이미지 URL → 프록시 id (다른 URL 이면 null) */
+    public static String idOf(String url) {
+        if (url == null) return null;
+        Matcher m = SC_IMAGE.matcher(url);
+        if (!m.matches()) return null;
+        return "png".equals(m.group(2)) ? m.group(1) + ".png" : m.group(1);
+    }
+
+    public static boolean isValidId(String id) {
+        return id != null && ID.matcher(id).matches();
+    }
+
+    /** 프록시 URL (SoundCloud 이미지가 아니면 원래 URL 그대로) */
+    public static String proxy(String url, int size) {
+        String id = idOf(url);
+        return id == null ? url : PATH + id + "?size=" + size;
+    }
+
+    /** id → 원본 URL (origin + 키 + 크기 접미사) */
+    public static String source(String origin, String id, String variant) {
+        boolean png = id.endsWith(".png");
+        String key = png ? id.substring(0, id.length() - ".png".length()) : id;
+        return origin + "/" + key + "-" + variant + (png ? ".png" : ".jpg");
+    }
+}
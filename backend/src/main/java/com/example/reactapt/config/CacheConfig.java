@@ -0,0 +1,11 @@
+package com.example.reactapt.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// config/CacheConfig.java
+// refresh-ahead 등 주기 작업(@Scheduled) 활성화 (설정 클래스 바인딩은 ReactApiApplication 의 @ConfigurationPropertiesScan)
+@Configuration
+@EnableScheduling
+public class CacheConfig {
+}
@@ -0,0 +1,36 @@
+package com.example.reactapt.config.DTO;
+
+import java.util.List;
+
+/**
+ * GET/POST /api/home 응답: 홈 화면 레일 전체를 한 번에
+ * - 레일마다 status 로 성공/실패 구분 → 마감 시간 안에 못 받은 레일만 빠지고 나머지는 그대로 (partial = true)
+ */
+public record HomeFeed(
+        List<Row> rows,
+        boolean partial
+){
+    /**
+     * 레일 하나
+     * - items: 트렌딩이면 ScChartItem({track:{...}}), 검색이면 ScSearchResponse.Item
+     * - next: 이어서 받을 커서 토큰 (/api/charts/trending 또는 /api/sc/search 의 cursor 로)
+     */
+    public record Row(
+            String id,
+            String title,
+            String genre,
+            String q,
+            int status,               // 200, 504(마감 초과), 502/503 ...
+            List<?> items,
+            String next,
+            String error
+    ){
+        public static Row ok(HomeRowSpec spec, List<?> items, String next) {
+            return new Row(spec.key(), spec.label(), spec.genre(), spec.q(), 200, items, next, null);
+        }
+
+        public static Row failed(HomeRowSpec spec, int status, String error) {
+            return new Row(spec.key(), spec.label(), spec.genre(), spec.q(), status, List.of(), null, error);
+        }
+    }
+}
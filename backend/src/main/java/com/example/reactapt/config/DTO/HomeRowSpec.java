@@ -0,0 +1,28 @@
+package com.example.reactapt.config.DTO;
+
+/**
+ * 홈 피드 레일 하나 요청 (POST /api/home body 의 원소)
+ * - q 가 있으면 검색 결과, 없으면 genre 트렌딩
+ * - id 는 응답에서 레일을 찾는 키 (없으면 q 또는 genre), title 은 화면에 보일 제목 (없으면 id)
+ */
+public record HomeRowSpec(
+        String id,
+        String title,
+        String genre,
+        String q,
+        Integer limit
+){
+    public String key() {
+        if (id != null && !id.isBlank()) return id;
+        if (q != null && !q.isBlank()) return q;
+        return genre == null || genre.isBlank() ? "all-music" : genre;
+    }
+
+    public String label() {
+        return title == null || title.isBlank() ? key() : title;
+    }
+
+    public boolean isSearch() {
+        return q != null && !q.isBlank();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.reactapt.config.DTO;
+
+import java.util.List;
+
+public record PlaylistDto(
+        String id,
+        String name,
+        long createdAt,
+        long updatedAt,
+        List<PlaylistItem> items
+){}
@@ -0,0 +1,17 @@
+package com.example.reactapt.config.DTO;
+
+/**
+ * playlist 항목 (프론트 playlistStore.js 의 sanitizeItem 과 같은 모양)
+ */
+public record PlaylistItem(
+        String id,
+        String kind,              // "track" | "video"
+        String source,            // soundcloud, youtube, spotify ...
+        String externalId,
+        String title,
+        String subtitle,          // 아티스트/채널
+        Long durationMs,
+        String thumbnail,
+        String url,
+        long addedAt
+){}
@@ -0,0 +1,10 @@
+package com.example.reactapt.config.DTO;
+
+/** 목록용 (items 없이) */
+public record PlaylistSummary(
+        String id,
+        String name,
+        int itemCount,
+        long createdAt,
+        long updatedAt
+){}
@@ -0,0 +1,21 @@
+package com.example.reactapt.config.DTO;
+
+/**
+ * 일괄 resolve 결과 한 줄 (NDJSON 한 줄 = 링크 하나)
+ * - 성공이면 result, 실패면 status/error 만 채움 → 한 링크 실패가 전체 배치를 깨지 않음
+ */
+public record ResolveBatchItem(
+        String url,
+        int status,               // HTTP 상태 코드 의미 (200, 404, 503 ...)
+        boolean cached,           // 캐시에서 바로 응답했으면 true
+        ResolveResponse result,
+        String error
+){
+    public static ResolveBatchItem ok(String url, ResolveResponse result, boolean cached) {
+        return new ResolveBatchItem(url, 200, cached, result, null);
+    }
+
+    public static ResolveBatchItem failed(String url, int status, String error) {
+        return new ResolveBatchItem(url, status, false, null, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.reactapt.config.DTO;
+
+import java.util.List;
+
+/** ScService.search 결과 한 페이지 */
+public record ScSearchPage(
+        List<TrackDto> tracks,
+        Integer nextOffset,       // next_href에서 뽑은 offset (없으면 null)
+        String rawNextHref
+) {}
@@ -1,5 +1,8 @@
 package com.example.reactapt.config.DTO;
 
+import com.example.reactapt.config.ArtworkUrlSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import java.util.List;
 
 public record ScSearchResponse(
@@ -11,7 +14,7 @@ public record ScSearchResponse(
             long id,
             String title,
             String artist,
-            String artwork,
+            @JsonSerialize(using = ArtworkUrlSerializer.class) String artwork,
             String permalink,
             Long playbackCount,
             Long durationMs
@@ -0,0 +1,20 @@
+package com.example.reactapt.config.DTO;
+
+import com.example.reactapt.config.ArtworkUrlSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+public record ScSuggestResponse(
+        String q,
+        List<Item> items,
+        boolean partial      // 시간 예산 초과로 후보 탐색을 중간에 멈췄으면 true
+){
+    public record Item(
+            long id,
+            String title,
+            String artist,
+            @JsonSerialize(using = ArtworkUrlSerializer.class) String artwork,
+            String permalink
+    ){}
+}
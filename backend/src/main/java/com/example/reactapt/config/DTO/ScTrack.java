@@ -1,13 +1,17 @@
 // ScTrack.java (그대로, @Data 제거!)
 package com.example.reactapt.config.DTO;
 
+import com.example.reactapt.config.ArtworkUrlSerializer;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record ScTrack(
         long id,
         String title,
         @JsonProperty("permalink_url") String permalinkUrl,
-        @JsonProperty("artwork_url")   String artworkUrl
+        @JsonProperty("artwork_url")
+        @JsonSerialize(using = ArtworkUrlSerializer.class) String artworkUrl,
+        ScUser user
 ) {}
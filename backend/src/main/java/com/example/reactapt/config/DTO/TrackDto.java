@@ -1,12 +1,15 @@
 package com.example.reactapt.config.DTO;
 
+import com.example.reactapt.config.ArtworkUrlSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 public record TrackDto(
-        String id,          // local uuid (서버에서 생성해도 되고, 그대로 내려줘도 됨)
+        String id,          // provider:externalId (결정적 → 같은 트랙은 매번 같은 id, 응답 ETag 가 안정적)
         String title,
         String artist,
         Long durationMs,
         String provider,    // "soundcloud"
         String externalId,  // SC track id
         String href,        // permalink
-        String artwork
+        @JsonSerialize(using = ArtworkUrlSerializer.class) String artwork // 응답에서는 /api/artwork 프록시 URL
 ) {}
@@ -0,0 +1,61 @@
+package com.example.reactapt.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 기본 캐시 금지 헤더 (Spring Security 기본값과 같은 writer: Cache-Control no-cache, no-store … + Pragma + Expires)
+ * - 응답이 커밋될 때(또는 요청이 끝날 때) 쓰고, 그때 이미 Cache-Control 이 있으면 그대로 둠 → ETag/max-age 응답(ConditionalResponses)이 이김
+ * - Security 의 HeaderWriterFilter 는 비동기(Mono) 요청이면 첫 디스패치가 끝날 때 써버려서 컨트롤러 값과 겹침
+ *   → 이 필터는 비동기 디스패치에서도 돌고, 비동기로 넘어간 첫 디스패치에서는 쓰지 않음
+ */
+final class DefaultCacheControlFilter extends OncePerRequestFilter {
+
+    private final HeaderWriter writer = new CacheControlHeadersWriter();
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        DefaultsOnCommit wrapped = new DefaultsOnCommit(request, response);
+        try {
+            chain.doFilter(request, wrapped);
+        } finally {
+            if (!request.isAsyncStarted()) wrapped.writeDefaults();
+        }
+    }
+
+    private final class DefaultsOnCommit extends OnCommittedResponseWrapper {
+
+        private final HttpServletRequest request;
+        private boolean written;
+
+        DefaultsOnCommit(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeDefaults();
+        }
+
+        void writeDefaults() {
+            if (written) return;
+            written = true;
+            writer.writeHeaders(request, (HttpServletResponse) getResponse());
+        }
+    }
+}
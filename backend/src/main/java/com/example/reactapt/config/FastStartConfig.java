@@ -0,0 +1,21 @@
+package com.example.reactapt.config;
+
+import com.example.reactapt.service.MusicService;
+import com.example.reactapt.service.ScSearchService;
+import com.example.reactapt.service.ScService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// config/FastStartConfig.java
+// spring.main.lazy-initialization=true (faststart 프로필) 에서도 시작 때 만들어야 하는 빈
+// - 캐시를 가진 서비스: 생성자에서 캐시를 ScCaches 에 등록해야 CacheSnapshots 가 ready 전에 스냅샷을 채울 수 있음
+//   (CacheSnapshots 는 SmartInitializingSingleton 이라 Spring Boot 가 알아서 지연 대상에서 뺌)
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerCacheOwners() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ScService.class, ScSearchService.class, MusicService.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 서버 playlist 저장소 설정 (playlist.store.*)
+ * - 변경은 op 로그에 추가만 (group commit), 주기적으로 스냅샷으로 압축
+ * - 재시작 시 마지막 스냅샷 + 그 뒤 로그만 재생
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "playlist.store")
+public class PlaylistStoreProperties {
+
+    /**
+     * /api/playlists 를 켤지 (기본 꺼짐)
+     * - 아직 사용자/기기별 구분이 없어 playlist 가 전부 공용이고 인증 없이 쓰기 가능 → 혼자 쓰는 로컬 환경에서만 켤 것
+     */
+    private boolean enabled = false;
+    /** 로그/스냅샷 디렉터리 */
+    private String dir = "data/playlists";
+    /** 배치마다 fsync (끄면 OS 버퍼까지만 → 빠르지만 전원 장애 시 마지막 배치 유실 가능) */
+    private boolean fsync = true;
+    /** group commit 한 번에 묶을 최대 레코드 수 */
+    private int groupCommitMaxBatch = 512;
+    /** 스냅샷 검사 주기 */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+    /** 마지막 스냅샷 이후 op 가 이만큼 쌓였을 때만 스냅샷 */
+    private int snapshotMinOps = 10_000;
+    /** playlist 하나의 최대 항목 수 */
+    private int maxItems = 10_000;
+}
@@ -0,0 +1,60 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 업스트림/클라이언트 유입 제한 설정 (sc.admission.*)
+ * - limiter: 업스트림 호스트별 동시 호출 수 상한. 지연을 보고 AIMD 로 조절 (빠르면 +1/limit, 느려지면 ×backoff-ratio)
+ *   사용자 요청(interactive)이 먼저, refresh-ahead/prefetch/미리 데우기(background)는 limit 의 일부만
+ *   대기열이 차거나 max-wait 안에 자리가 안 나면 바로 429 + Retry-After
+ * - client: /api/** 클라이언트 IP 별 토큰 버킷 (초당 rate-per-second, 최대 burst)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.admission")
+public class ScAdmissionProperties {
+
+    private Limiter limiter = new Limiter();
+    private Client client = new Client();
+
+    @Getter
+    @Setter
+    public static class Limiter {
+        private boolean enabled = true;
+        private int initialLimit = 16;
+        private int minLimit = 2;
+        private int maxLimit = 128;
+        /** 최근 지연(짧은 평균)이 평소 지연(긴 평균)의 이 배수를 넘으면 limit 을 줄임 */
+        private double latencyTolerance = 2.0;
+        /** 줄일 때 곱하는 값 (한 번 줄이면 평소 지연 한 번만큼은 다시 안 줄임) */
+        private double backoffRatio = 0.9;
+        /** background 호출이 쓸 수 있는 limit 비율 (나머지는 사용자 요청 몫) */
+        private double backgroundShare = 0.5;
+        /** 자리 기다리는 사용자 요청 최대 수. 넘으면 429 */
+        private int maxQueue = 64;
+        /** 자리 기다리는 background 호출 최대 수 */
+        private int maxBackgroundQueue = 16;
+        /** 자리 대기 상한. 넘으면 429 */
+        private Duration maxWait = Duration.ofSeconds(2);
+        /** 거절 응답의 Retry-After */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Client {
+        private boolean enabled = true;
+        /** 클라이언트 IP 하나가 초당 쓸 수 있는 요청 수 (평균) */
+        private double ratePerSecond = 20;
+        /** 한 번에 몰아서 쓸 수 있는 요청 수 (홈 첫 화면 + 스크롤 몇 번 정도) */
+        private int burst = 60;
+        /** 기억하는 클라이언트 수 상한 */
+        private int maxClients = 10_000;
+        /** 이 시간 동안 요청 없는 클라이언트는 잊음 (버킷이 다시 가득 찬 상태로 시작) */
+        private Duration idleTimeout = Duration.ofMinutes(10);
+    }
+}
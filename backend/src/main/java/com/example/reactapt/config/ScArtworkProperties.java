@@ -0,0 +1,40 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 아트워크 프록시 설정 (sc.artwork.*)
+ * - /api/artwork/{id}?size= : SoundCloud 이미지를 한 번 받아 고정 크기 썸네일로 만들어 디스크에 보관
+ * - id 는 SoundCloud 이미지 키 (artworks-xxx / avatars-xxx) → 이미지가 바뀌면 키도 바뀌어서 오래 캐시해도 됨
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.artwork")
+public class ScArtworkProperties {
+
+    private boolean enabled = true;
+    /** 응답 DTO 의 SoundCloud 이미지 URL 을 프록시 URL 로 바꿔서 내려줌 */
+    private boolean rewriteUrls = true;
+    /** 원본을 받는 CDN (키만 붙여서 부름 → 임의 URL 은 받지 않음) */
+    private String origin = "https://i1.sndcdn.com";
+    /** 원본으로 받을 SoundCloud 크기 (-large 는 100px 라서 더 큰 걸 받아 줄임) */
+    private String sourceVariant = "t500x500";
+    /** 만들어 두는 썸네일 크기 (정사각형 px). 요청 크기는 이 중 가장 가까운 큰 값으로 */
+    private List<Integer> sizes = new ArrayList<>(List.of(64, 160, 300, 500));
+    /** size 없이 오거나 DTO 에 넣는 크기 */
+    private int defaultSize = 300;
+    private float jpegQuality = 0.85f;
+    /** 썸네일 디렉터리 */
+    private String dir = "data/artwork";
+    /** 디스크 상한. 넘으면 오래 안 쓴 파일부터 지움 */
+    private DataSize maxBytes = DataSize.ofMegabytes(512);
+    /** 브라우저/CDN 캐시 기간 (같은 id 는 같은 이미지) */
+    private Duration maxAge = Duration.ofDays(365);
+}
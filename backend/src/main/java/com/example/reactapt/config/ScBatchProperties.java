@@ -0,0 +1,32 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 일괄 호출 설정 (sc.batch.*)
+ * - POST /api/sc/resolve/batch 한 번에 받을 수 있는 링크 수와 업스트림 동시 호출 수
+ * - GET /api/sc/stream 한 번에 흘려보낼 수 있는 최대 트랙 수
+ * - playlist hydration: id 만 온 트랙을 /tracks?ids= 로 몇 개씩 묶어 몇 개 동시에 받을지
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.batch")
+public class ScBatchProperties {
+
+    /** 요청 1건에 담을 수 있는 최대 링크 수 (중복 제거 전 기준) */
+    private int maxItems = 1000;
+    /** 캐시 미스를 업스트림에 동시에 보낼 최대 수 */
+    private int concurrency = 8;
+    /** 링크 1개의 최대 대기 시간. 넘으면 그 링크만 에러로 응답 */
+    private Duration itemTimeout = Duration.ofSeconds(15);
+    /** 스트림 요청 1건의 최대 트랙 수 (count 상한) */
+    private int streamMaxItems = 500;
+    /** /tracks?ids= 한 번에 넣을 id 수 */
+    private int hydrateChunkSize = 50;
+    /** playlist 하나를 채울 때 동시에 보낼 /tracks 호출 수 */
+    private int hydrateConcurrency = 4;
+}
@@ -0,0 +1,26 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 업스트림 페이지 버퍼 설정 (sc.buffer.*)
+ * - 프론트는 limit=20(트렌딩)/12(검색)씩 스크롤하지만 SoundCloud 는 한 번에 50개까지 줌
+ * - 켜면 업스트림은 upstream-limit 으로 크게 받아 페이지 캐시에 두고, 요청마다 limit 만큼 잘라서 응답
+ *   → 남은 조각은 다음 커서 요청에서 메모리로 바로 (버퍼 메모리 상한 = 페이지 캐시 max-size)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.buffer")
+public class ScBufferProperties {
+
+    private boolean enabled = true;
+    /** 업스트림에 요청할 페이지 크기 (SoundCloud 최대 50) */
+    private int upstreamLimit = 50;
+
+    /** 요청 limit 에 대해 실제로 업스트림에 보낼 limit */
+    public int upstreamLimit(int requested) {
+        return enabled ? Math.max(requested, Math.min(50, upstreamLimit)) : requested;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * SoundCloud 응답 캐시 설정 (sc.cache.*)
+ * - soft-ttl: 이 시간이 지나면 오래된 값을 바로 내려주고 백그라운드에서 갱신
+ * - hard-ttl: 이 시간이 지나면 완전히 만료 (다음 요청이 업스트림 왕복을 기다림)
+ * - max-size: 대략적인 바이트 기준 최대 크기
+ * - snapshot: 자주 쓰는 엔트리를 파일로 남겨 재시작 후 그대로 다시 채움 (sc.cache.snapshot.*)
+ * - last-good: 키별 마지막 정상 값을 hard-ttl 보다 오래 보관, 업스트림 장애(5xx/429/타임아웃/차단) 때 대신 내려줌
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.cache")
+public class ScCacheProperties {
+
+    private Spec search = new Spec(Duration.ofSeconds(60), Duration.ofMinutes(10), DataSize.ofMegabytes(16));
+    private Spec resolve = new Spec(Duration.ofMinutes(10), Duration.ofHours(1), DataSize.ofMegabytes(16));
+    private Spec trending = new Spec(Duration.ofSeconds(60), Duration.ofMinutes(10), DataSize.ofMegabytes(8));
+    /** /api/sc/search 업스트림 페이지 (버퍼 모드에서 잘라 내려줄 나머지도 여기 남음) */
+    private Spec searchPages = new Spec(Duration.ofSeconds(60), Duration.ofMinutes(10), DataSize.ofMegabytes(8));
+    /** playlist hydration 용 트랙 단건 캐시 (playlist 끼리 겹치는 트랙은 다시 안 받음) */
+    private Spec track = new Spec(Duration.ofMinutes(30), Duration.ofHours(6), DataSize.ofMegabytes(16));
+
+    /** refresh-ahead: 자주 조회되는 키를 soft-ttl 전에 미리 갱신 */
+    private RefreshAhead refreshAhead = new RefreshAhead();
+
+    /** 캐시 스냅샷: 종료 시/주기적으로 저장, 시작 시 남은 TTL 그대로 복원 */
+    private Snapshot snapshot = new Snapshot();
+
+    /** 업스트림 장애 때 내려줄 마지막 정상 값 (캐시마다 따로) */
+    private LastGood lastGood = new LastGood();
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private Duration softTtl;
+        private Duration hardTtl;
+        private DataSize maxSize;
+
+        public Spec() {
+        }
+
+        public Spec(Duration softTtl, Duration hardTtl, DataSize maxSize) {
+            this.softTtl = softTtl;
+            this.hardTtl = hardTtl;
+            this.maxSize = maxSize;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class RefreshAhead {
+        /** 검사 주기 */
+        private Duration interval = Duration.ofSeconds(10);
+        /** 캐시당 검사할 상위 hot key 수 (0이면 끔) */
+        private int hotKeys = 50;
+        /** soft-ttl 대비 이 비율만큼 지난 hot key를 미리 갱신 */
+        private double ratio = 0.8;
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        private boolean enabled = true;
+        /** 스냅샷 파일 디렉터리 */
+        private String dir = "data/cache";
+        /** 주기 저장 간격 (종료 시에도 한 번) */
+        private Duration interval = Duration.ofMinutes(5);
+        /** 캐시당 저장할 최대 엔트리 수 (자주 쓰는 것부터) */
+        private int maxEntries = 5_000;
+        /** hard-ttl 이 이것보다 적게 남은 엔트리는 저장/복원하지 않음 */
+        private Duration minRemainingTtl = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class LastGood {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofHours(6);
+        /** 캐시당 대략적인 바이트 상한 (캐시와 같은 weigher) */
+        private DataSize maxSize = DataSize.ofMegabytes(4);
+    }
+}
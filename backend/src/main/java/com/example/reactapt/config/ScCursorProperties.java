@@ -0,0 +1,28 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 커서 토큰 설정 (sc.cursor.*)
+ * - 프론트에는 next_href 대신 토큰만 내려가고, 토큰 안에 검색 상태(q/장르/limit/offset)가 암호화돼 들어 있음 (서버 표 없음)
+ * - 같은 next_href 는 항상 같은 토큰 → 페이지 캐시/prefetch 키로 그대로 씀
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.cursor")
+public class ScCursorProperties {
+
+    /**
+     * 토큰 키를 만들 비밀값 (환경 변수 SC_CURSOR_SECRET). 여러 노드가 같은 클라이언트를 받으면 모두 같은 값으로
+     * 비우면 시작할 때마다 키를 새로 만듦 → 재시작하면 이전 토큰은 410
+     * 바꾸면 이전에 내려준 토큰은 모두 410
+     */
+    private String secret = "";
+    /**
+     * secret 없이 만든 키를 캐시 스냅샷 파일에 평문으로 같이 저장 (한 노드에서 재시작해도 이전 토큰이 풀림)
+     * 스냅샷 파일을 읽을 수 있으면 토큰을 만들 수 있으므로 기본은 끔. 가능하면 secret 을 쓰는 쪽으로
+     */
+    private boolean persistGeneratedKey = false;
+}
@@ -0,0 +1,50 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 홈 피드 설정 (sc.home.*)
+ * - 레일 여러 개를 동시에 받고, deadline 안에 못 받은 레일은 빼고 응답
+ * - rows: GET /api/home 기본 레일 (POST 로 직접 지정 가능)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.home")
+public class ScHomeProperties {
+
+    /** 전체 레일 공통 마감 시간 */
+    private Duration deadline = Duration.ofMillis(1500);
+    /** 요청 1건의 최대 레일 수 */
+    private int maxRows = 12;
+    /** 기본 레일: 기존 트렌딩 하나. 늘리려면 sc.home.rows[n].* 로 (프론트는 응답의 rows 대로 레일을 그림) */
+    private List<Row> rows = new ArrayList<>(List.of(
+            new Row("trending", "Trending", "all-music", null, 20)));
+
+    @Getter
+    @Setter
+    public static class Row {
+        private String id;
+        /** 화면에 보일 레일 제목 (없으면 id) */
+        private String title;
+        private String genre;
+        private String q;
+        private int limit = 20;
+
+        public Row() {
+        }
+
+        public Row(String id, String title, String genre, String q, int limit) {
+            this.id = id;
+            this.title = title;
+            this.genre = genre;
+            this.q = q;
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 다음 페이지 미리 가져오기 설정 (sc.prefetch.*)
+ * - 페이지 N을 응답한 뒤 N+1..N+depth 를 백그라운드로 받아서 커서 기준으로 잠깐 보관
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.prefetch")
+public class ScPrefetchProperties {
+
+    private boolean enabled = true;
+    /** 몇 페이지 앞까지 미리 가져올지 */
+    private int depth = 1;
+    /** 동시에 진행할 수 있는 prefetch 수 (예산). 넘으면 건너뜀 */
+    private int maxInFlight = 8;
+    /** 보관할 수 있는 최대 페이지 수 */
+    private int maxPages = 256;
+    /** 보관 시간. 그 안에 안 쓰이면 버려짐(waste) */
+    private Duration ttl = Duration.ofSeconds(30);
+    /** 응답 직후 바로 치지 않고 잠깐 쉬었다가 시작 (현재 요청과 경쟁하지 않게) */
+    private Duration delay = Duration.ofMillis(100);
+}
@@ -0,0 +1,39 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 트렌딩 미리 데우기 설정 (sc.prewarm.*)
+ * - GenreMapper 에 있는 장르 + genres 목록의 트렌딩 앞 pages 페이지를 주기적으로 캐시에 다시 채움
+ * - 시작 직후 한 번 바로 돌아서 새로 뜬 노드도 첫 요청부터 메모리에서 응답
+ * - 주기는 트렌딩 soft-ttl(60s)보다 짧게, 여러 노드가 동시에 치지 않게 jitter
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.prewarm")
+public class ScPrewarmProperties {
+
+    private boolean enabled = true;
+    /** GenreMapper 외에 추가로 데울 장르 slug */
+    private List<String> genres = new ArrayList<>();
+    /** 장르마다 앞에서 몇 페이지 (업스트림 페이지 기준, 버퍼 모드면 페이지당 50곡) */
+    private int pages = 2;
+    /** 첫 페이지 요청 limit (프론트 트렌딩 기본값과 같아야 같은 캐시 키) */
+    private int limit = 20;
+    /** 주기 */
+    private Duration interval = Duration.ofSeconds(45);
+    /** 주기 흔들기 비율 (0.2 → interval ± 20%) */
+    private double jitter = 0.2;
+    /** 이보다 최근에 로드된 페이지는 건너뜀 (사용자 요청/refresh-ahead 가 이미 갱신) */
+    private Duration minAge = Duration.ofSeconds(20);
+    /** 한 주기에 쓸 수 있는 업스트림 호출 수. 다 쓰면 나머지는 다음 주기로 */
+    private int maxCallsPerCycle = 24;
+    /** 동시에 데우는 장르 수 */
+    private int concurrency = 2;
+}
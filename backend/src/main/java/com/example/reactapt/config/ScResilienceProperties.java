@@ -0,0 +1,71 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * SoundCloud 업스트림 장애 대응 설정 (sc.resilience.*)
+ * - hedge: 첫 요청이 최근 지연 분포의 percentile 을 넘기면 같은 요청을 한 번 더 보내고 먼저 온 응답 사용
+ * - retry: 고정 횟수 대신 예산(성공 요청 대비 비율 + 초당 최소량) 안에서만 재시도. hedge 도 같은 예산 사용
+ * - breaker: 최근 호출 실패율이 높으면 일정 시간 업스트림 호출을 막고 바로 실패
+ *   (캐시를 거치는 호출은 캐시의 마지막 정상 값으로 응답: sc.cache.last-good.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.resilience")
+public class ScResilienceProperties {
+
+    private boolean enabled = true;
+    /** 시도 1회당 상한 (넘으면 타임아웃 → 재시도 대상) */
+    private Duration attemptTimeout = Duration.ofSeconds(8);
+
+    private Hedge hedge = new Hedge();
+    private Retry retry = new Retry();
+    private Breaker breaker = new Breaker();
+
+    @Getter
+    @Setter
+    public static class Hedge {
+        private boolean enabled = true;
+        /** 이 percentile 지연을 넘기면 hedge 요청 */
+        private double percentile = 0.95;
+        /** percentile 계산에 쓰는 최근 성공 호출 수 */
+        private int window = 256;
+        /** 샘플이 이만큼 모이기 전에는 hedge 안 함 */
+        private int minSamples = 20;
+        private Duration minDelay = Duration.ofMillis(50);
+        private Duration maxDelay = Duration.ofSeconds(3);
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        /** 안전장치: 예산이 남아 있어도 한 호출당 최대 시도 수 */
+        private int maxAttempts = 3;
+        /** 요청 1건당 적립되는 재시도 토큰 (0.1 = 요청 10건당 재시도 1건) */
+        private double budgetRatio = 0.1;
+        /** 트래픽이 적을 때도 보장하는 초당 재시도 수 */
+        private double minPerSecond = 1.0;
+        /** 적립 상한 (장애 직후 재시도 폭주 방지) */
+        private double maxBalance = 20;
+        /** 첫 재시도 대기. 이후 2배씩 + jitter */
+        private Duration backoff = Duration.ofMillis(100);
+    }
+
+    @Getter
+    @Setter
+    public static class Breaker {
+        /** 실패율 계산에 쓰는 최근 호출 수 */
+        private int windowSize = 20;
+        /** 최소 이만큼 호출이 쌓여야 열릴 수 있음 */
+        private int minCalls = 10;
+        private double failureRateThreshold = 0.5;
+        /** 열린 뒤 이 시간이 지나면 half-open 으로 시험 호출 허용 */
+        private Duration openDuration = Duration.ofSeconds(30);
+        /** half-open 에서 동시에 허용할 시험 호출 수 */
+        private int halfOpenProbes = 1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+/**
+ * 목록 응답 HTTP 캐시 헤더 설정 (sc.response-cache.*)
+ * - /api/charts/trending, /api/search, /api/sc/search 에 ETag + Cache-Control
+ * - 같은 요청이면 같은 본문(트랙 id 도 결정적) → 브라우저/프록시가 max-age 동안 재사용, 이후엔 If-None-Match → 304
+ * - 커서 세션 응답은 세션 상태에 따라 달라지므로 private + no-cache (ETag 재검증만)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.response-cache")
+public class ScResponseCacheProperties {
+
+    private boolean enabled = true;
+    /** 공유 캐시(브라우저/프록시)가 재검증 없이 쓸 시간 (서버 페이지 캐시 soft-ttl 보다 짧게) */
+    private Duration maxAge = Duration.ofSeconds(30);
+    /** max-age 가 지난 뒤 백그라운드 재검증하며 기존 응답을 더 쓸 수 있는 시간 */
+    private Duration staleWhileRevalidate = Duration.ofSeconds(60);
+
+    public CacheControl shared() {
+        if (!enabled) return CacheControl.noStore();
+        return CacheControl.maxAge(maxAge).cachePublic().staleWhileRevalidate(staleWhileRevalidate);
+    }
+
+    public CacheControl perSession() {
+        return enabled ? CacheControl.noCache().cachePrivate() : CacheControl.noStore();
+    }
+}
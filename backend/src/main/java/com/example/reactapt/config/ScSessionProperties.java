@@ -0,0 +1,32 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 커서 세션 설정 (sc.session.*)
+ * - /api/charts/trending, /api/sc/search 에 session=new 로 시작하면 이미 내려준 트랙 id 를 서버가 기억하고 중복을 빼서 응답
+ * - 세션 1개 최대 메모리 ≈ max(exact-max-ids × 16B, bloom-bits / 8) → 기본값 기준 16KB × max-sessions(2048) ≈ 32MB
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.session")
+public class ScSessionProperties {
+
+    private boolean enabled = true;
+    /** 동시에 유지할 최대 세션 수 (넘으면 오래 안 쓴 것부터 버림) */
+    private int maxSessions = 2048;
+    /** 이 시간 동안 요청이 없으면 세션 만료 */
+    private Duration idleTimeout = Duration.ofMinutes(15);
+    /** 이 개수까지는 정확한 long 해시셋, 넘으면 bloom filter 로 전환 */
+    private int exactMaxIds = 1024;
+    /** bloom filter 비트 수 (2의 거듭제곱으로 올림) */
+    private int bloomBits = 1 << 16;
+    /** bloom filter 해시 함수 수 */
+    private int bloomHashes = 4;
+    /** 중복을 빼고 모자랄 때 추가로 받아올 업스트림 페이지 수 (요청 1건당) */
+    private int maxTopUpPages = 3;
+}
@@ -0,0 +1,33 @@
+package com.example.reactapt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 로컬 자동완성 인덱스 설정 (sc.suggest.*)
+ * - 검색/트렌딩/resolve 응답에서 본 트랙을 메모리에 모아 /api/sc/suggest 로 바로 응답
+ * - max-entries 를 넘거나 ttl 동안 안 보인 트랙은 재색인 때 빠짐 (점수 = 최근성 + 인기도)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sc.suggest")
+public class ScSuggestProperties {
+
+    private boolean enabled = true;
+    /** 인덱스에 남길 최대 트랙 수 */
+    private int maxEntries = 50_000;
+    /** 마지막으로 본 뒤 이 시간이 지나면 제거 */
+    private Duration ttl = Duration.ofHours(24);
+    /** 최근성 점수 반감기 */
+    private Duration halfLife = Duration.ofHours(6);
+    /** 변경이 있을 때 검색용 스냅샷을 다시 만드는 주기 */
+    private Duration rebuildInterval = Duration.ofSeconds(2);
+    /** 기본/최대 결과 수 */
+    private int defaultLimit = 8;
+    private int maxLimit = 20;
+    /** 질의 1건의 시간 예산. 넘으면 그때까지 찾은 후보로 응답 */
+    private Duration budget = Duration.ofMillis(2);
+}
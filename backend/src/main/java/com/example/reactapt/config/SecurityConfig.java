@@ -3,8 +3,10 @@ package com.example.reactapt.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.header.HeaderWriterFilter;
 
 @Configuration
 public class SecurityConfig {
@@ -13,7 +15,15 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> {}) // CorsFilter와 연동됨
-                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+                // 캐시 금지 기본값은 응답 커밋 시점에 (비동기 응답의 ETag/Cache-Control 을 덮지 않게, DefaultCacheControlFilter)
+                .headers(headers -> headers.cacheControl(cache -> cache.disable()))
+                .addFilterAfter(new DefaultCacheControlFilter(), HeaderWriterFilter.class)
+                // 운영용(메트릭 스크랩, 내부 통계)은 HTTP Basic + OPS 역할 (계정: spring.security.user.*), 나머지 API 는 공개
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**", "/api/sc/stats", "/api/artwork/stats", "/api/playlists/stats").hasRole("OPS")
+                        .anyRequest().permitAll())
+                .httpBasic(Customizer.withDefaults());
         return http.build();
     }
 }
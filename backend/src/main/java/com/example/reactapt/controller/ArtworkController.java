@@ -0,0 +1,121 @@
+package com.example.reactapt.controller;
+
+import com.example.reactapt.config.ArtworkUrls;
+import com.example.reactapt.config.ScArtworkProperties;
+import com.example.reactapt.service.ArtworkService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * 아트워크 프록시: /api/artwork/{id}?size=
+ * - 디스크에 있으면 요청 스레드에서 바로 보냄: Tomcat sendfile (커널이 파일 → 소켓 복사)
+ *   sendfile 이 안 되는 컨테이너면 FileChannel.transferTo 로 응답 스트림에
+ *   (Tomcat 은 비동기 요청에서는 sendfile 을 처리하지 않아서, 이 경로는 Mono 를 거치지 않음)
+ * - 없으면 원본을 받아 썸네일을 만든 뒤 그 파일로 응답 (처음 한 번)
+ * - id 가 이미지 버전이라 ETag = id + 크기, Cache-Control: public, max-age=1년, immutable
+ */
+@RestController
+@RequestMapping("/api/artwork")
+@ConditionalOnProperty(prefix = "sc.artwork", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ArtworkController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ArtworkService artwork;
+    private final CacheControl cacheControl;
+
+    public ArtworkController(ArtworkService artwork, ScArtworkProperties props) {
+        this.artwork = artwork;
+        this.cacheControl = CacheControl.maxAge(props.getMaxAge()).cachePublic().immutable();
+    }
+
+    /** 캐시 적중/304 는 response 에 직접 쓰고 null (요청 처리 끝), 처음 만드는 경우만 Mono */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Resource>> artwork(@PathVariable String id,
+                                                  @RequestParam(required = false) Integer size,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                  HttpServletRequest request,
+                                                  HttpServletResponse response) throws IOException {
+        if (!ArtworkUrls.isValidId(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "unknown artwork id");
+        }
+        int s = artwork.sizeFor(size);
+        String etag = "\"" + id + "-" + s + "\"";
+
+        if (ConditionalResponses.matches(ifNoneMatch, etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            cacheHeaders(response, etag);
+            return null;
+        }
+        ArtworkService.Thumbnail cached = artwork.cached(id, s);
+        if (cached != null) {
+            send(cached, etag, request, response);
+            return null;
+        }
+        return artwork.render(id, s)
+                .map(t -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .contentLength(t.length())
+                        .body(new FileSystemResource(t.path())));
+    }
+
+    private void send(ArtworkService.Thumbnail t, String etag, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(t.length());
+        cacheHeaders(response, etag);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 본문은 Tomcat 이 응답 헤더를 보낸 뒤 파일에서 직접 보냄
+            // 파일은 이 메서드가 끝난 뒤에 열림 → 그새 밀려나도 ArtworkStore 가 DELETE_GRACE 동안 지우지 않고 둠
+            request.setAttribute(SENDFILE_FILENAME, t.path().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, t.length());
+            return;
+        }
+        try (FileChannel file = FileChannel.open(t.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long pos = 0; pos < t.length(); ) {
+                pos += file.transferTo(pos, t.length() - pos, out);
+            }
+        }
+    }
+
+    private void cacheHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+    }
+
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> stats() {
+        return artwork.stats();
+    }
+}
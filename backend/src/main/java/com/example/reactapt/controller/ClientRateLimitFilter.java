@@ -0,0 +1,64 @@
+package com.example.reactapt.controller;
+
+import com.example.reactapt.config.ArtworkUrls;
+import com.example.reactapt.service.Admission;
+import com.example.reactapt.service.ClientRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * /api/** 클라이언트별 요청 제한 → 넘으면 컨트롤러까지 가지 않고 바로 429 + Retry-After
+ * (CORS 필터 뒤에서 돌아서 브라우저도 429 를 읽을 수 있음)
+ * - 클라이언트 = getRemoteAddr(). 프록시(ngrok) 뒤에서는 server.forward-headers-strategy=native 의 RemoteIpValve 가
+ *   X-Forwarded-For 를 오른쪽부터 읽어 정한 주소 (클라이언트가 헤더 앞쪽에 써 넣은 값으로는 버킷을 못 바꿈)
+ * - /api/artwork/** 는 제외: 피드 한 페이지(최대 60개)의 썸네일만으로 버킷이 비어 다음 API 호출이 429 가 됨
+ *   (캐시 적중은 디스크 파일 전송뿐이고, 처음 만드는 경우의 원본 호출은 ScUpstream 의 호스트별 동시 호출 제한을 탐)
+ */
+@Slf4j
+@Component
+public class ClientRateLimitFilter extends OncePerRequestFilter {
+
+    private final ClientRateLimiter limiter;
+
+    public ClientRateLimitFilter(ClientRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !limiter.enabled() || !uri.startsWith("/api/") || uri.startsWith(ArtworkUrls.PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = request.getRemoteAddr();
+        Duration wait = limiter.tryAcquire(client);
+        if (wait == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        log.atDebug().setMessage("client rate limited")
+                .addKeyValue("client", client).addKeyValue("path", request.getRequestURI()).log();
+        long seconds = Admission.retryAfterSeconds(wait);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"status\":429,\"error\":\"Too Many Requests\",\"retryAfter\":" + seconds + "}")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
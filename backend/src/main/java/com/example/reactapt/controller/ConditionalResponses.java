@@ -0,0 +1,40 @@
+package com.example.reactapt.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * ETag 조건부 응답
+ * - If-None-Match 가 맞으면 본문 없이 304 (직렬화 안 함)
+ * - 아니면 200 + ETag + Cache-Control
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> of(T body, String etag, String ifNoneMatch, CacheControl cacheControl) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body);
+    }
+
+    /** 캐시하면 안 되는 응답 (업스트림 실패를 빈 페이지로 돌려줄 때 등) */
+    static <T> ResponseEntity<T> uncached(T body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body);
+    }
+
+    /** If-None-Match: "*", 여러 값(쉼표), 약한 비교(W/) 허용 */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*")) return true;
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.reactapt.controller;
+
+import com.example.reactapt.config.DTO.HomeFeed;
+import com.example.reactapt.config.DTO.HomeRowSpec;
+import com.example.reactapt.config.ScResponseCacheProperties;
+import com.example.reactapt.service.ContentHash;
+import com.example.reactapt.service.HomeFeedService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 홈 화면 레일을 한 번에 (레일마다 /api/charts/trending 을 따로 부르지 않게)
+ * - GET: 설정(sc.home.rows)의 기본 레일. 다 받았으면 ETag/Cache-Control, 일부가 빠졌으면 캐시 금지
+ * - POST: body = [{id, genre | q, limit}, ...] 로 레일 직접 지정
+ * - 이어서 스크롤은 각 레일의 next 를 cursor 로 기존 엔드포인트에
+ */
+@RestController
+@RequestMapping("/api")
+public class HomeController {
+
+    private final HomeFeedService home;
+    private final ScResponseCacheProperties responseCache;
+
+    public HomeController(HomeFeedService home, ScResponseCacheProperties responseCache) {
+        this.home = home;
+        this.responseCache = responseCache;
+    }
+
+    @GetMapping(value = "/home", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<HomeFeed>> homeFeed(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return home.feed(home.defaultRows())
+                .map(f -> f.partial()
+                        ? ConditionalResponses.uncached(f)
+                        : ConditionalResponses.of(f, ContentHash.homeFeed(f), ifNoneMatch, responseCache.shared()));
+    }
+
+    @PostMapping(value = "/home",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<HomeFeed> homeFeed(@RequestBody List<HomeRowSpec> rows) {
+        return home.feed(rows);
+    }
+}
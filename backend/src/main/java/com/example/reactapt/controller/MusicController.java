@@ -4,22 +4,40 @@ package com.example.reactapt.controller;
 import com.example.reactapt.config.DTO.ScChartItem;
 import com.example.reactapt.config.DTO.ScPaging;
 import com.example.reactapt.config.DTO.ScTrack;
+import com.example.reactapt.config.ScResponseCacheProperties;
+import com.example.reactapt.service.Admission;
+import com.example.reactapt.service.ContentHash;
+import com.example.reactapt.service.CursorSessions;
 import com.example.reactapt.service.MusicService;
+import com.example.reactapt.service.ScResilience;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @RestController
 @RequestMapping("/api")
 public class MusicController {
 
     private final MusicService svc;
-    public MusicController(MusicService svc) { this.svc = svc; }
+    private final CursorSessions sessions;
+    private final ScResponseCacheProperties responseCache;
+    public MusicController(MusicService svc, CursorSessions sessions, ScResponseCacheProperties responseCache) {
+        this.svc = svc;
+        this.sessions = sessions;
+        this.responseCache = responseCache;
+    }
 
     // 임시 엔드포인트
 //    @GetMapping(value = "/charts/trending", produces = "application/json")
@@ -38,11 +56,16 @@ public class MusicController {
 
     //  서비스로 되돌릴 "진짜" 엔드포인트
 
+    // 응답: ETag(내용 해시) + Cache-Control. If-None-Match 가 맞으면 본문 없이 304
     @GetMapping("/charts/trending")
-    public ScPaging<ScChartItem> trendingReal(
+    public Mono<ResponseEntity<ScPaging<ScChartItem>>> trendingReal(
             @RequestParam(defaultValue = "") String genre,
             @RequestParam(defaultValue = "20") int limit,
-            @RequestParam(required = false) String cursor
+            @RequestParam(required = false) String cursor,
+            // 선택: session=new 로 시작 → 응답 헤더 X-Cursor-Session 값을 다음 요청에 그대로
+            @RequestParam(required = false) String session,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response
     ) {
         // ── 1) 입력 가드 ─────────────────────────────────────────
         // 빈/누락/undefined/null 방어
@@ -59,34 +82,73 @@ public class MusicController {
             genre = "soundcloud:genres:" + genre;
         }
 
-        System.out.println("[CTRL] /charts/trending REAL genre=" + genre + ", limit=" + limit + ", cursor=" + cursor);
-
-        try {
-            // ── 2) 서비스 호출 ────────────────────────────────────
-            var r = svc.getTrending(genre, limit, cursor);
+        // 요청 경로 로그는 DEBUG (레벨이 꺼져 있으면 문자열 조립도 안 함)
+        log.atDebug().setMessage("trending request")
+                .addKeyValue("genre", genre).addKeyValue("limit", limit).addKeyValue("cursor", cursor).log();
+
+        // ── 2) 서비스 호출 (논블로킹: 업스트림 대기 중 톰캣 워커를 잡지 않음) ──
+        return trendingPage(genre, limit, cursor, session, response)
+                .doOnNext(r -> {
+                    if (log.isDebugEnabled()) {
+                        log.atDebug().setMessage("trending served")
+                                .addKeyValue("size", r.collection() == null ? 0 : r.collection().size()).log();
+                    }
+                })
+                .defaultIfEmpty(emptyPage()) // null 방지
+                .map(p -> ConditionalResponses.of(p, ContentHash.chartPage(p), ifNoneMatch,
+                        session == null ? responseCache.shared() : responseCache.perSession()))
+                // ── 3) 친절한 예외 처리 ─────────────────────────────────
+                .onErrorResume(WebClientResponseException.BadRequest.class, e -> {
+                    // SC 파라미터 문제 → 502 성격. 컨트롤러 시그니처가 바디만 반환이라 빈 페이지로 회복
+                    log.atWarn().setMessage("trending upstream error")
+                            .addKeyValue("status", 400).addKeyValue("body", e.getResponseBodyAsString()).log();
+                    return Mono.just(ConditionalResponses.uncached(emptyPage()));
+                })
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    // 다음 페이지 없을 때도 종종 옴 → 빈 페이지 반환
+                    log.atDebug().setMessage("trending upstream not found")
+                            .addKeyValue("status", 404).log();
+                    return Mono.just(ConditionalResponses.uncached(emptyPage()));
+                })
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    // 기타 SC 에러 → 메시지 로깅 후 빈 페이지
+                    log.atWarn().setMessage("trending upstream error")
+                            .addKeyValue("status", e.getStatusCode().value()).addKeyValue("body", e.getResponseBodyAsString()).log();
+                    return Mono.just(ConditionalResponses.uncached(emptyPage()));
+                })
+                .onErrorResume(Admission.RejectedException.class, e -> {
+                    // 업스트림 자리가 없음 (마지막 정상 응답도 없음) → 빈 페이지로 덮지 말고 429 로 다시 오게
+                    return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.retryAfterSeconds()))
+                            .cacheControl(CacheControl.noStore())
+                            .<ScPaging<ScChartItem>>build());
+                })
+                .onErrorResume(ScResilience.UpstreamUnavailableException.class, e -> {
+                    // 브레이커 열림 + 마지막 정상 응답도 없음 → 업스트림 안 부르고 바로 빈 페이지
+                    log.atDebug().setMessage("trending skipped, upstream unavailable")
+                            .addKeyValue("reason", e.getReason()).log();
+                    return Mono.just(ConditionalResponses.uncached(emptyPage()));
+                })
+                .onErrorResume(e -> !(e instanceof ResponseStatusException), e -> {
+                    // 예기치 않은 에러 → 스택트레이스와 함께 빈 페이지
+                    // (풀리지 않는 커서의 410 등 상태 코드가 정해진 에러는 그대로: 빈 페이지면 프론트가 목록 끝으로 오해)
+                    log.error("trending failed", e);
+                    return Mono.just(ConditionalResponses.uncached(emptyPage()));
+                });
+    }
 
-            int size = (r == null || r.collection() == null) ? 0 : r.collection().size();
-            System.out.println("[CTRL] REAL OK: collection=" + size);
-            return (r != null) ? r : emptyPage(); // null 방지
-        }
-        // ── 3) 친절한 예외 처리 ─────────────────────────────────
-        catch (WebClientResponseException.BadRequest e) {
-            // SC 파라미터 문제 → 502 성격. 컨트롤러 시그니처가 바디만 반환이라 빈 페이지로 회복
-            System.out.println("[CTRL] REAL ERR 400(BadRequest) from SC: " + e.getResponseBodyAsString());
-            return emptyPage();
-        } catch (WebClientResponseException.NotFound e) {
-            // 다음 페이지 없을 때도 종종 옴 → 빈 페이지 반환
-            System.out.println("[CTRL] REAL ERR 404(NotFound) from SC: " + e.getResponseBodyAsString());
-            return emptyPage();
-        } catch (WebClientResponseException e) {
-            // 기타 SC 에러 → 메시지 로깅 후 빈 페이지
-            System.out.println("[CTRL] REAL ERR from SC: " + e.getRawStatusCode() + " " + e.getResponseBodyAsString());
-            return emptyPage();
-        } catch (Exception e) {
-            // 예기치 않은 에러 → 스택트레이스와 함께 빈 페이지
-            e.printStackTrace();
-            return emptyPage();
-        }
+    // 세션이 있으면 이미 내려준 트랙을 빼고 limit 개를 채워서 (없으면 기존 그대로)
+    private Mono<ScPaging<ScChartItem>> trendingPage(String genre, int limit, String cursor,
+                                                     String session, HttpServletResponse response) {
+        if (session == null || !sessions.enabled()) return svc.getTrending(genre, limit, cursor);
+
+        CursorSessions.Session s = sessions.open(session);
+        response.setHeader(CursorSessions.HEADER, s.id());
+        return sessions.serve(s, "trending:" + genre, cursor, limit,
+                        c -> svc.getTrending(genre, limit, c)
+                                .map(p -> new CursorSessions.Chunk<>(p.collection(), p.nextHref())),
+                        item -> item.track() == null ? 0 : item.track().id())
+                .map(c -> new ScPaging<>(c.items(), c.next(), null, 0));
     }
 
     //SoundCloud 빈 결과를 표준화해서 돌려주는 헬퍼
@@ -104,17 +166,18 @@ public class MusicController {
 
 
     @GetMapping("/search")
-    public ScPaging<ScTrack> search(
+    public Mono<ResponseEntity<ScPaging<ScTrack>>> search(
             @RequestParam String q,
             @RequestParam(defaultValue = "20") int limit,
-            @RequestParam(required = false) String cursor
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return svc.searchTracks(q, limit, cursor);
+        return svc.searchTracks(q, limit, cursor)
+                .map(p -> ConditionalResponses.of(p, ContentHash.trackPage(p), ifNoneMatch, responseCache.shared()));
     }
 
     @GetMapping("/ping")
     public String ping() {
-        System.out.println("[CTRL] ping");
         return "ok";
     }
 }
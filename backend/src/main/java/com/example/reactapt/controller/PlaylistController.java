@@ -0,0 +1,93 @@
+package com.example.reactapt.controller;
+
+import com.example.reactapt.config.DTO.PlaylistDto;
+import com.example.reactapt.config.DTO.PlaylistItem;
+import com.example.reactapt.config.DTO.PlaylistSummary;
+import com.example.reactapt.service.PlaylistStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 서버 playlist (프론트 playlistStore.js 와 같은 항목 모양)
+ * - 변경 API 는 디스크 반영(fsync) 후 응답
+ * - 항목 추가/삭제/이동은 그 op 하나만 기록 → 큰 playlist 도 요청 크기/비용이 항목 수와 무관
+ * - playlist.store.enabled=true 일 때만 (기본 꺼짐: 사용자 구분 없는 공용 저장소라서)
+ */
+@RestController
+@RequestMapping("/api/playlists")
+@ConditionalOnProperty(prefix = "playlist.store", name = "enabled", havingValue = "true")
+public class PlaylistController {
+
+    private final PlaylistStore store;
+
+    public PlaylistController(PlaylistStore store) {
+        this.store = store;
+    }
+
+    public record NameBody(String name) {}
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<PlaylistSummary> list() {
+        return store.list();
+    }
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<PlaylistSummary> create(@RequestBody(required = false) NameBody body) {
+        return store.create(body == null ? null : body.name());
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PlaylistDto> get(@PathVariable String id) {
+        return store.get(id);
+    }
+
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> rename(@PathVariable String id, @RequestBody NameBody body) {
+        return store.rename(id, body.name());
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable String id) {
+        return store.delete(id);
+    }
+
+    // 항목 하나 추가 (중복이면 추가 안 하고 정리된 항목만 돌려줌)
+    @PostMapping(value = "/{id}/items", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PlaylistItem> addItem(@PathVariable String id, @RequestBody PlaylistItem item) {
+        return store.addItem(id, item);
+    }
+
+    // 항목 전체 교체 (프론트 setItems)
+    @PutMapping("/{id}/items")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> replaceItems(@PathVariable String id, @RequestBody List<PlaylistItem> items) {
+        return store.replaceItems(id, items);
+    }
+
+    @DeleteMapping("/{id}/items/{itemId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> removeItem(@PathVariable String id, @PathVariable String itemId) {
+        return store.removeItem(id, itemId);
+    }
+
+    // 순서 이동: /{id}/items/{itemId}/move?to=3
+    @PostMapping("/{id}/items/{itemId}/move")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> moveItem(@PathVariable String id, @PathVariable String itemId, @RequestParam int to) {
+        return store.moveItem(id, itemId, to);
+    }
+
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> stats() {
+        return store.stats();
+    }
+}
@@ -1,48 +1,88 @@
 package com.example.reactapt.controller;
 
+import com.example.reactapt.config.DTO.ScPaging;
+import com.example.reactapt.config.DTO.ScTrack;
+import com.example.reactapt.service.ScJsonDecoder;
+import com.example.reactapt.service.ScUpstream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.function.Function;
 
+@Slf4j
 @Component
 public class ScClient {
-    private static final String BASE = "https://api-v2.soundcloud.com";
-
+    private final String base;
     private final WebClient http;
     private final String clientId;
+    private final ScUpstream upstream;
 
-    public ScClient(@Value("${soundcloud.client-id:}") String clientId) {
+    public ScClient(@Value("${soundcloud.client-id:}") String clientId,
+                    @Value("${sc.api.base:https://api-v2.soundcloud.com}") String base,
+                    @Qualifier("scClientV2") WebClient scClientV2,
+                    ScUpstream upstream) {
+        this.base = base;
         this.clientId = clientId == null ? "" : clientId.trim();
-        System.out.println("[CONFIG] SoundCloud client_id exists? " + !this.clientId.isEmpty());
-        System.out.println("[CLASS] ScClient@" + System.identityHashCode(this)
-                + " from " + ScClient.class.getProtectionDomain().getCodeSource().getLocation());
+        this.upstream = upstream;
+        log.info("SoundCloud client_id exists? {}", !this.clientId.isEmpty());
 
-        this.http = WebClient.builder()
-                .baseUrl(BASE)
+        // 공용 api-v2 커넥션 풀(ScHttpTransport) 위에 브라우저 흉내 헤더만 추가
+        this.http = scClientV2.mutate()
                 .defaultHeader(HttpHeaders.ACCEPT, "application/json")
                 .defaultHeader("Origin", "https://soundcloud.com")
                 .defaultHeader("Referer", "https://soundcloud.com/")
                 .defaultHeader(HttpHeaders.USER_AGENT,
                         "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                // 네트워크 가드(선택): 느린 응답 시 끊어주고 재시도는 호출부에서
+                // 네트워크 가드: connect/response 타임아웃은 sc.http.*, 전체 상한은 exchange()의 timeout
                 .build();
     }
 
-    /** BASE + path (+ query) 호출 */
-    public <T> T get(String path, String query, ParameterizedTypeReference<T> type) {
+    /** base + path (+ query) 트랙 페이지 호출: Map/databind 대신 스트리밍 디코더로 ScTrack만 바로 생성 */
+    public Mono<ScPaging<ScTrack>> getTrackPage(String path, String query) {
+        var url = buildUrl(path, query);
+        log.debug("SC GET {}", url);
+
+        return exchange("sc-client:track-page", url,
+                spec -> spec.bodyToMono(byte[].class).map(ScJsonDecoder::scTrackPage));
+    }
+
+    /** prepare() 로 base/기본 파라미터까지 붙인 URL 호출 (커서 토큰 경로) */
+    public Mono<ScPaging<ScTrack>> getPreparedTrackPage(String url) {
+        log.debug("SC ABS {}", url);
+
+        return exchange("sc-client:track-page", url,
+                spec -> spec.bodyToMono(byte[].class).map(ScJsonDecoder::scTrackPage));
+    }
+
+    /** base + path (+ query) 최종 URL (기본 파라미터 포함). 첫 페이지 커서 토큰 발급용 */
+    public String url(String path, String query) {
+        return buildUrl(path, query);
+    }
+
+    /** next_href 또는 커서 토큰의 상대 URL(/search/tracks?...) → 실제로 호출할 최종 URL (base + 기본 파라미터) */
+    public String prepare(String nextHref) {
+        if (nextHref == null || nextHref.isBlank()) return null;
+        return withDefaults(nextHref.startsWith("/") ? base + nextHref : nextHref);
+    }
+
+    private String buildUrl(String path, String query) {
         // client_id 없으면 SC가 빈 배열을 주는 일이 많으므로 즉시 경고
         if (clientId.isEmpty()) {
-            System.err.println("[SC WARN] client_id is empty. Check application.yml and ENV (SC_CLIENT_ID).");
+            log.warn("client_id is empty. Check application.yml and ENV (SC_CLIENT_ID).");
         }
+        return buildUrl(base, clientId, path, query);
+    }
 
-        var b = UriComponentsBuilder.fromHttpUrl(BASE).path(path);
+    // 요청마다 타는 경로 → JMH(ScClientUrlBenchmark)에서 측정하려고 static 으로 분리
+    static String buildUrl(String base, String clientId, String path, String query) {
+        var b = UriComponentsBuilder.fromHttpUrl(base).path(path);
 
         // 1) 먼저 raw query 적용 (사용자 쿼리를 보존)
         if (query != null && !query.isBlank()) b.query(query);
@@ -54,24 +94,14 @@ public class ScClient {
         if (!qp.containsKey("app_locale"))          b.queryParam("app_locale", "en");
         if (!qp.containsKey("app_version"))         b.queryParam("app_version", "1760349581");
 
-        var url = b.build(true).toUriString();
-        System.out.println("[SC GET] " + url);
-
-        return http.get()
-                .uri(url)
-                .retrieve()
-                .onStatus(s -> !s.is2xxSuccessful(), resp ->
-                        resp.bodyToMono(String.class)
-                                .doOnNext(body -> System.err.println("[SC BODY] " + body))
-                                .then(Mono.error(new RuntimeException("SC " + resp.statusCode())))
-                )
-                .bodyToMono(type)
-                .timeout(Duration.ofSeconds(20))
-                .block();
+        return b.build(true).toUriString();
     }
 
-    /** next_href 절대 URL 호출 (부족한 기본 파라미터만 보강) */
-    public <T> T getAbsolute(String nextHref, ParameterizedTypeReference<T> type) {
+    private String withDefaults(String nextHref) {
+        return withDefaults(clientId, nextHref);
+    }
+
+    static String withDefaults(String clientId, String nextHref) {
         var b  = UriComponentsBuilder.fromHttpUrl(nextHref);
         var qp = b.build(true).getQueryParams();
 
@@ -81,20 +111,23 @@ public class ScClient {
         if (!qp.containsKey("app_version"))         b.queryParam("app_version", "1760349581");
 
         // ❗ next_href는 이미 완성된 URL일 확률이 높음 → encode 호출하지 않음
-        var url = b.build(true).toUriString();
-
-        System.out.println("[SC ABS] " + url);
-
-        return http.get()
-                .uri(url)
-                .retrieve()
-                .onStatus(s -> !s.is2xxSuccessful(), resp ->
-                        resp.bodyToMono(String.class)
-                                .doOnNext(body -> System.err.println("[SC ABS BODY] " + body))
-                                .then(Mono.error(new RuntimeException("SC " + resp.statusCode())))
-                )
-                .bodyToMono(type)
-                .timeout(Duration.ofSeconds(20))
-                .block();
+        return b.build(true).toUriString();
+    }
+
+    private <T> Mono<T> exchange(String op, String url,
+                                 Function<WebClient.ResponseSpec, Mono<T>> body) {
+        return upstream.call(op, url, () -> body.apply(http.get()
+                        .uri(url)
+                        .retrieve()
+                        // 상태코드를 담은 WebClientResponseException → 5xx/429만 재시도·브레이커 집계 대상
+                        .onStatus(s -> !s.is2xxSuccessful(), resp ->
+                                resp.createException()
+                                        .doOnNext(e -> log.atWarn().setMessage("SoundCloud error response")
+                                                .addKeyValue("op", op)
+                                                .addKeyValue("status", e.getStatusCode().value())
+                                                .addKeyValue("body", e.getResponseBodyAsString()).log())
+                                        .flatMap(Mono::error)
+                        ))
+                .timeout(Duration.ofSeconds(20)));
     }
 }
@@ -1,41 +1,187 @@
 // src/main/java/com/example/reactapt/controller/ScController.java
 package com.example.reactapt.controller;
 
+import com.example.reactapt.config.DTO.ResolveBatchItem;
 import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.config.DTO.ScSuggestResponse;
+import com.example.reactapt.config.ScHttpTransport;
+import com.example.reactapt.config.ScResponseCacheProperties;
+import com.example.reactapt.service.ClientRateLimiter;
+import com.example.reactapt.service.ContentHash;
+import com.example.reactapt.service.CursorSessions;
+import com.example.reactapt.service.CursorTokens;
+import com.example.reactapt.service.ScCaches;
+import com.example.reactapt.service.ScPrefetchers;
+import com.example.reactapt.service.ScResilience;
 import com.example.reactapt.service.ScSearchService;
+import com.example.reactapt.service.ScService;
+import com.example.reactapt.service.ScUpstream;
+import com.example.reactapt.service.TrackIndex;
+import com.example.reactapt.service.TrendingPrewarmer;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/sc")
 public class ScController {
 
     private final ScSearchService service;
+    private final ScUpstream upstream;
+    private final ScCaches caches;
+    private final ScPrefetchers prefetchers;
+    private final ScHttpTransport transport;
+    private final ScResilience resilience;
+    private final TrackIndex index;
+    private final ScService scService;
+    private final CursorSessions sessions;
+    private final CursorTokens cursors;
+    private final ScResponseCacheProperties responseCache;
+    private final TrendingPrewarmer prewarmer;
+    private final ClientRateLimiter clientLimiter;
 
-    public ScController(ScSearchService service) {
+    public ScController(ScSearchService service, ScUpstream upstream, ScCaches caches,
+                        ScPrefetchers prefetchers, ScHttpTransport transport, ScResilience resilience,
+                        TrackIndex index, ScService scService, CursorSessions sessions,
+                        CursorTokens cursors, ScResponseCacheProperties responseCache,
+                        TrendingPrewarmer prewarmer, ClientRateLimiter clientLimiter) {
         this.service = service;
+        this.upstream = upstream;
+        this.caches = caches;
+        this.prefetchers = prefetchers;
+        this.transport = transport;
+        this.resilience = resilience;
+        this.index = index;
+        this.scService = scService;
+        this.sessions = sessions;
+        this.cursors = cursors;
+        this.responseCache = responseCache;
+        this.prewarmer = prewarmer;
+        this.clientLimiter = clientLimiter;
     }
 
+    // 응답: ETag(내용 해시) + Cache-Control. If-None-Match 가 맞으면 본문 없이 304
     @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ScSearchResponse> search(
+    public Mono<ResponseEntity<ScSearchResponse>> search(
 
             @RequestParam(name = "q", required = false, defaultValue = "") String q,
             @RequestParam(name = "genre", required = false, defaultValue = "all-music") String genre,
             @RequestParam(required = false) Integer limit,
-            @RequestParam(required = false) String cursor
+            @RequestParam(required = false) String cursor,
+            // 선택: 커서 세션 (session=new 로 시작, 응답 헤더 X-Cursor-Session 값을 이어서 보냄)
+            @RequestParam(required = false) String session,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response
     ) {
         // 둘 다 비면 장르 기본값으로
         if (q.isBlank() && (genre == null || genre.isBlank())) {
             genre = "all-music";
         }
-        return service.search(q, genre, limit, cursor);
+        if (session == null || !sessions.enabled()) {
+            return service.search(q, genre, limit, cursor)
+                    .map(r -> ConditionalResponses.of(r, ContentHash.searchResponse(r), ifNoneMatch,
+                            responseCache.shared()));
+        }
+
+        // 세션: 이미 내려준 트랙은 빼고 limit 개를 채움 (모자라면 다음 페이지에서)
+        CursorSessions.Session s = sessions.open(session);
+        response.setHeader(CursorSessions.HEADER, s.id());
+        String g = genre;
+        // limit 클램프 (trending 과 같이 1..50): 채울 목록 크기/보충 페이지 수가 이 값에 비례
+        int want = Math.max(1, Math.min(50, limit == null ? 12 : limit));
+        return sessions.serve(s, "search:" + q + ":" + g, cursor, want,
+                        c -> service.search(q, g, want, c)
+                                .map(r -> new CursorSessions.Chunk<>(r.items(), r.next())),
+                        ScSearchResponse.Item::id)
+                .map(c -> new ScSearchResponse(c.items().size(), c.items(), c.next()))
+                .map(r -> ConditionalResponses.of(r, ContentHash.searchResponse(r), ifNoneMatch,
+                        responseCache.perSession()));
     }
 
+    // 여러 페이지를 이어서 트랙 단위로 (NDJSON 한 줄 = 트랙 하나). "전체 재생" 큐/라디오 채우기용
+    // next 체인은 서버가 따라가고, 클라이언트가 읽는 속도에 맞춰 진행
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ScSearchResponse.Item> stream(
+            @RequestParam(name = "q", required = false, defaultValue = "") String q,
+            @RequestParam(name = "genre", required = false, defaultValue = "all-music") String genre,
+            @RequestParam(required = false) Integer count,
+            @RequestParam(required = false) String cursor
+    ) {
+        return service.stream(q, genre, count, cursor);
+    }
+
+    // 같은 스트림을 SSE 로 (EventSource 용): event=track (id = 순번), 끝나면 event=end, 실패하면 event=error
+    @GetMapping(value = "/stream/sse", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamSse(
+            @RequestParam(name = "q", required = false, defaultValue = "") String q,
+            @RequestParam(name = "genre", required = false, defaultValue = "all-music") String genre,
+            @RequestParam(required = false) Integer count,
+            @RequestParam(required = false) String cursor
+    ) {
+        AtomicLong seq = new AtomicLong();
+        return service.stream(q, genre, count, cursor)
+                .map(item -> ServerSentEvent.<Object>builder(item)
+                        .id(String.valueOf(seq.incrementAndGet())).event("track").build())
+                .concatWith(Mono.fromSupplier(() -> ServerSentEvent.<Object>builder(Map.of("count", seq.get()))
+                        .event("end").build()))
+                // 헤더가 이미 나간 뒤라 상태 코드로 못 알림 → 마지막 이벤트로
+                // 내려주는 건 상태 코드/종류만: 업스트림 에러 메시지에는 client_id 가 붙은 URL 이 들어 있음
+                .onErrorResume(e -> {
+                    log.atWarn().setMessage("sse stream failed")
+                            .addKeyValue("sent", seq.get()).addKeyValue("error", e.toString()).log();
+                    return Mono.just(ServerSentEvent.<Object>builder(Map.of("error", ScResilience.statusTag(e)))
+                            .event("error").build());
+                });
+    }
+
+    // 자동완성: 지금까지 본 트랙에서 바로 응답 (업스트림 호출 없음)
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ScSuggestResponse suggest(
+            @RequestParam(name = "q", required = false, defaultValue = "") String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return index.suggest(q, limit);
+    }
+
+    // 링크 여러 개 한 번에 resolve: body = ["https://soundcloud.com/...", ...]
+    // 끝나는 순서대로 한 줄씩(NDJSON) 내려감, 링크별 실패는 그 줄의 status/error 로
+    @PostMapping(value = "/resolve/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ResolveBatchItem> resolveBatch(@RequestBody List<String> urls) {
+        return scService.resolveBatch(urls);
+    }
 
     // 선택: 헬스체크
     @GetMapping("/ping")
     public Object ping() {
         return java.util.Map.of("ok", true, "clientId", service.clientIdMasked());
     }
+
+    // 선택: 업스트림 호출/캐시 통계
+    @GetMapping("/stats")
+    public Object stats() {
+        return java.util.Map.of(
+                "coalescing", upstream.coalescingStats(),
+                "resilience", resilience.stats(),
+                "caches", caches.stats(),
+                "prefetch", prefetchers.stats(),
+                "pools", transport.poolStats(),
+                "suggest", index.stats(),
+                "sessions", sessions.stats(),
+                "cursors", cursors.stats(),
+                "prewarm", prewarmer.stats(),
+                "clients", clientLimiter.stats());
+    }
 }
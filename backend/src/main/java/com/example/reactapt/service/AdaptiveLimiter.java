@@ -0,0 +1,252 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScAdmissionProperties;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 호스트별 업스트림 동시 호출 상한 (AIMD, 지연 기반)
+ * - 성공 지연을 짧은 평균(최근)/긴 평균(평소) 두 개로 추적
+ * - 최근 > 평소 × tolerance 거나 타임아웃/5xx/429 → limit × backoff-ratio (평소 지연 한 번에 한 번까지만)
+ *   아니고 limit 절반 이상 쓰는 중이면 → limit + 1/limit (호출 limit 번마다 +1)
+ * - 자리가 없으면 우선순위별 대기열. 자리가 나면 사용자 요청부터
+ *   background 는 limit × background-share 까지만, 사용자 요청이 기다리는 동안은 못 들어감
+ * - 대기열이 찼거나 max-wait 안에 자리가 안 나면 {@link Admission.RejectedException}
+ */
+final class AdaptiveLimiter {
+
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.01;
+
+    /** 받은 자리. release 는 여러 번 불러도 한 번만 반영 */
+    final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) AdaptiveLimiter.this.release();
+        }
+    }
+
+    private static final class Waiter {
+        final MonoSink<Permit> sink;
+        final Admission.Priority priority;
+        Permit granted;
+
+        Waiter(MonoSink<Permit> sink, Admission.Priority priority) {
+            this.sink = sink;
+            this.priority = priority;
+        }
+    }
+
+    private final ScAdmissionProperties.Limiter cfg;
+    private final LongSupplier nanoClock;
+
+    private final ArrayDeque<Waiter> interactive = new ArrayDeque<>();
+    private final ArrayDeque<Waiter> background = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double shortRttNanos = -1;
+    private double longRttNanos = -1;
+    private long decreasedAt;
+
+    private long granted;
+    private long queued;
+    private long rejected;
+    private long timedOut;
+    private long decreases;
+
+    AdaptiveLimiter(ScAdmissionProperties.Limiter cfg) {
+        this(cfg, System::nanoTime);
+    }
+
+    AdaptiveLimiter(ScAdmissionProperties.Limiter cfg, LongSupplier nanoClock) {
+        this.cfg = cfg;
+        this.nanoClock = nanoClock;
+        this.limit = clamp(cfg.getInitialLimit());
+    }
+
+    /** 자리 받기 (없으면 대기열에서 max-wait 까지 기다림) */
+    Mono<Permit> acquire(Admission.Priority priority) {
+        return Mono.<Permit>create(sink -> {
+                    Waiter w = new Waiter(sink, priority);
+                    Permit now;
+                    synchronized (this) {
+                        now = tryGrant(priority);
+                        if (now == null) {
+                            ArrayDeque<Waiter> queue = queueOf(priority);
+                            if (queue.size() >= maxQueue(priority)) {
+                                rejected++;
+                            } else {
+                                queue.addLast(w);
+                                queued++;
+                                sink.onCancel(() -> cancel(w));
+                                return;
+                            }
+                        }
+                    }
+                    if (now != null) {
+                        sink.success(now);
+                    } else {
+                        sink.error(reject(priority + " queue full"));
+                    }
+                })
+                .timeout(cfg.getMaxWait())
+                .onErrorMap(TimeoutException.class, e -> {
+                    synchronized (this) {
+                        timedOut++;
+                    }
+                    return reject("no upstream slot within " + cfg.getMaxWait().toMillis() + "ms");
+                });
+    }
+
+    /** 기다리지 않고 자리 받기 (hedge 처럼 없어도 되는 호출). 없으면 empty */
+    Mono<Permit> tryAcquire(Admission.Priority priority) {
+        return Mono.fromSupplier(() -> {
+            synchronized (this) {
+                return tryGrant(priority);
+            }
+        });
+    }
+
+    /** 성공 호출 지연 */
+    void onSuccess(long nanos) {
+        List<Waiter> ready;
+        synchronized (this) {
+            if (longRttNanos < 0) {
+                shortRttNanos = nanos;
+                longRttNanos = nanos;
+            } else {
+                shortRttNanos += (nanos - shortRttNanos) * SHORT_ALPHA;
+                longRttNanos += (nanos - longRttNanos) * LONG_ALPHA;
+            }
+            if (shortRttNanos > longRttNanos * cfg.getLatencyTolerance()) {
+                decrease();
+            } else if (inFlight * 2 >= limit) {
+                limit = clamp(limit + 1.0 / limit);
+            }
+            ready = drain();
+        }
+        grant(ready);
+    }
+
+    /** 업스트림 과부하 신호 (타임아웃/5xx/429) */
+    synchronized void onDropped() {
+        decrease();
+    }
+
+    private void release() {
+        List<Waiter> ready;
+        synchronized (this) {
+            inFlight--;
+            ready = drain();
+        }
+        grant(ready);
+    }
+
+    private void cancel(Waiter w) {
+        Permit orphan;
+        synchronized (this) {
+            if (w.granted == null) {
+                queueOf(w.priority).remove(w);
+                return;
+            }
+            orphan = w.granted; // 자리를 받은 직후 취소됨 → 쓰지 않고 반납
+        }
+        orphan.release();
+    }
+
+    // ── 아래는 synchronized 안에서만 ──
+
+    private Permit tryGrant(Admission.Priority priority) {
+        if (inFlight >= capacity(priority)) return null;
+        if (priority == Admission.Priority.BACKGROUND && !interactive.isEmpty()) return null;
+        inFlight++;
+        granted++;
+        return new Permit();
+    }
+
+    private List<Waiter> drain() {
+        List<Waiter> ready = null;
+        for (ArrayDeque<Waiter> queue : List.of(interactive, background)) {
+            for (Iterator<Waiter> it = queue.iterator(); it.hasNext(); ) {
+                Waiter w = it.next();
+                Permit p = tryGrant(w.priority);
+                if (p == null) break;
+                it.remove();
+                w.granted = p;
+                if (ready == null) ready = new ArrayList<>();
+                ready.add(w);
+            }
+        }
+        return ready == null ? List.of() : ready;
+    }
+
+    private int capacity(Admission.Priority priority) {
+        int full = (int) limit;
+        if (priority == Admission.Priority.INTERACTIVE) return full;
+        return Math.max(1, (int) (full * cfg.getBackgroundShare()));
+    }
+
+    private void decrease() {
+        long now = nanoClock.getAsLong();
+        if (decreases > 0 && now - decreasedAt < Math.max(0, (long) longRttNanos)) return;
+        decreasedAt = now;
+        decreases++;
+        limit = clamp(limit * cfg.getBackoffRatio());
+    }
+
+    private ArrayDeque<Waiter> queueOf(Admission.Priority priority) {
+        return priority == Admission.Priority.INTERACTIVE ? interactive : background;
+    }
+
+    private int maxQueue(Admission.Priority priority) {
+        return priority == Admission.Priority.INTERACTIVE ? cfg.getMaxQueue() : cfg.getMaxBackgroundQueue();
+    }
+
+    private double clamp(double v) {
+        return Math.max(cfg.getMinLimit(), Math.min(cfg.getMaxLimit(), v));
+    }
+
+    // sink 호출은 락 밖에서 (구독자 코드가 바로 돌 수 있음)
+    private static void grant(List<Waiter> ready) {
+        for (Waiter w : ready) w.sink.success(w.granted);
+    }
+
+    private Admission.RejectedException reject(String reason) {
+        return new Admission.RejectedException("upstream busy: " + reason, cfg.getRetryAfter());
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("limit", (int) limit);
+        out.put("inFlight", inFlight);
+        out.put("queuedInteractive", interactive.size());
+        out.put("queuedBackground", background.size());
+        out.put("granted", granted);
+        out.put("queued", queued);
+        out.put("rejected", rejected);
+        out.put("timedOut", timedOut);
+        out.put("decreases", decreases);
+        out.put("shortRttMs", shortRttNanos < 0 ? null : shortRttNanos / 1_000_000.0);
+        out.put("longRttMs", longRttNanos < 0 ? null : longRttNanos / 1_000_000.0);
+        return out;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.reactapt.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+
+/**
+ * 업스트림 호출 우선순위 + 유입 제한 거절
+ * - 우선순위는 Reactor Context 로 전달 (없으면 INTERACTIVE)
+ * - background 로 표시하는 곳: 캐시 갱신(SwrCache reload/refresh), 다음 페이지 prefetch, 트렌딩 미리 데우기
+ */
+public final class Admission {
+
+    public enum Priority { INTERACTIVE, BACKGROUND }
+
+    private static final String KEY = Admission.class.getName() + ".priority";
+
+    private Admission() {
+    }
+
+    public static <T> Mono<T> background(Mono<T> mono) {
+        return mono.contextWrite(ctx -> ctx.put(KEY, Priority.BACKGROUND));
+    }
+
+    public static <T> Flux<T> background(Flux<T> flux) {
+        return flux.contextWrite(ctx -> ctx.put(KEY, Priority.BACKGROUND));
+    }
+
+    static Priority priorityOf(ContextView ctx) {
+        return ctx.getOrDefault(KEY, Priority.INTERACTIVE);
+    }
+
+    /** 대기열이 찼거나 자리를 못 받음 → 429 + Retry-After (업스트림은 부르지 않음) */
+    public static class RejectedException extends ResponseStatusException {
+        private final Duration retryAfter;
+
+        public RejectedException(String reason, Duration retryAfter) {
+            super(HttpStatus.TOO_MANY_REQUESTS, reason);
+            this.retryAfter = retryAfter;
+        }
+
+        /** Retry-After 헤더 값 (초, 최소 1) */
+        public long retryAfterSeconds() {
+            return Admission.retryAfterSeconds(retryAfter);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds()));
+            return headers;
+        }
+    }
+
+    public static long retryAfterSeconds(Duration d) {
+        return Math.max(1, (d.toMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ArtworkUrls;
+import com.example.reactapt.config.ScArtworkProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 아트워크 프록시 (sc.artwork.*)
+ * - 캐시에 없으면 원본(t500x500)을 한 번 받아 설정된 크기 전부를 만들어 디스크에 저장
+ * - 원본 호출은 ScUpstream 경유: 같은 id 동시 요청은 한 번만 받고 리사이즈도 한 번, 호스트별 브레이커/동시 호출 제한 적용
+ * - 서빙(sendfile/transferTo)은 ArtworkController 가 저장된 파일로
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "sc.artwork", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ArtworkService {
+
+    /** 저장된 썸네일 파일 */
+    public record Thumbnail(Path path, long length) {}
+
+    private final ScArtworkProperties props;
+    private final WebClient http;
+    private final ScUpstream upstream;
+    private final ArtworkStore store;
+    private final List<Integer> sizes; // 오름차순
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rendered = new LongAdder();
+    private final LongAdder sourceBytes = new LongAdder();
+
+    public ArtworkService(ScArtworkProperties props,
+                          @Qualifier("scArtworkClient") WebClient http,
+                          ScUpstream upstream,
+                          MeterRegistry registry) throws IOException {
+        this.props = props;
+        this.http = http;
+        this.upstream = upstream;
+        this.sizes = props.getSizes().stream().filter(s -> s > 0).distinct().sorted().toList();
+        if (sizes.isEmpty()) throw new IllegalStateException("sc.artwork.sizes is empty");
+        this.store = new ArtworkStore(Path.of(props.getDir()).toAbsolutePath(), props.getMaxBytes().toBytes());
+
+        FunctionCounter.builder("sc.artwork.requests", hits, LongAdder::sum).tag("result", "hit").register(registry);
+        FunctionCounter.builder("sc.artwork.requests", misses, LongAdder::sum).tag("result", "miss").register(registry);
+        FunctionCounter.builder("sc.artwork.rendered", rendered, LongAdder::sum).register(registry);
+    }
+
+    /** 요청 크기 → 만들어 두는 크기 중 그 이상인 가장 작은 것 (없으면 가장 큰 것) */
+    public int sizeFor(Integer requested) {
+        int want = requested == null || requested <= 0 ? props.getDefaultSize() : requested;
+        for (int s : sizes) {
+            if (s >= want) return s;
+        }
+        return sizes.get(sizes.size() - 1);
+    }
+
+    /** 디스크에 있으면 바로 (업스트림/리사이즈 없음), 없으면 null */
+    public Thumbnail cached(String id, int size) {
+        Thumbnail t = store.get(id, size);
+        if (t != null) hits.increment();
+        return t;
+    }
+
+    /**
+     * 원본을 받아 모든 크기를 만들고 요청 크기 파일을 돌려줌
+     * - 원본 404 → 404, 이미지가 아니면 502
+     */
+    public Mono<Thumbnail> render(String id, int size) {
+        if (!ArtworkUrls.isValidId(id)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "unknown artwork id"));
+        }
+        misses.increment();
+        String source = ArtworkUrls.source(props.getOrigin(), id, props.getSourceVariant());
+        return upstream.call("artwork", source, () -> fetch(source)
+                        .flatMap(bytes -> Mono.fromCallable(() -> storeAll(id, bytes))
+                                .subscribeOn(Schedulers.boundedElastic())))
+                .map(all -> all.get(size))
+                .onErrorMap(WebClientResponseException.NotFound.class,
+                        e -> new ResponseStatusException(HttpStatus.NOT_FOUND, "artwork not found"))
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_GATEWAY, "unreadable artwork", e));
+    }
+
+    private Mono<byte[]> fetch(String source) {
+        return http.get().uri(source).retrieve().bodyToMono(byte[].class);
+    }
+
+    // 디코딩/리사이즈/인코딩 + 디스크 쓰기 (boundedElastic 에서)
+    private Map<Integer, Thumbnail> storeAll(String id, byte[] source) {
+        sourceBytes.add(source.length);
+        Map<Integer, Thumbnail> out = new LinkedHashMap<>();
+        ArtworkThumbnails.render(source, sizes, props.getJpegQuality())
+                .forEach((size, jpeg) -> out.put(size, store.put(id, size, jpeg)));
+        rendered.increment();
+        log.atDebug().setMessage("artwork rendered")
+                .addKeyValue("id", id).addKeyValue("sourceBytes", source.length).log();
+        return out;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("sizes", sizes);
+        out.put("hits", hits.sum());
+        out.put("misses", misses.sum());
+        out.put("rendered", rendered.sum());
+        out.put("sourceBytes", sourceBytes.sum());
+        out.put("store", store.stats());
+        return out;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.reactapt.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * 썸네일 디스크 저장소
+ * - 파일 이름 = sha256(아트워크 id) + 크기 (<dir>/<앞 2글자>/<hash>-<size>.jpg). id 가 이미지 버전이라 이름이 곧 내용
+ * - 총 바이트 기준 LRU: 넘으면 가장 오래 안 쓴 파일부터 지움
+ * - 쓰기는 임시 파일 → 이름 바꾸기 (읽는 쪽은 완성된 파일만 봄)
+ * - 재시작하면 접근 순서는 없어지고 파일 수정 시각(쓴 순서)으로 다시 쌓음
+ * - 밀려난 파일은 목록에서만 바로 빠지고 실제 삭제는 DELETE_GRACE 뒤 (다음 put 때)
+ *   Tomcat sendfile 은 컨트롤러가 돌려준 뒤에야 파일 이름으로 열고, 처음 만든 썸네일(FileSystemResource)도 응답을 쓸 때 엶
+ *   → 그 사이 다른 put 이 지우면 응답이 끊김. 한 번 열린 파일은 지워져도 끝까지 읽힘
+ */
+final class ArtworkStore {
+
+    /** 밀려난 파일을 지우기 전에 기다리는 시간 (응답이 파일을 여는 데 걸리는 시간보다 넉넉히) */
+    static final Duration DELETE_GRACE = Duration.ofMinutes(1);
+
+    private final Path dir;
+    private final long maxBytes;
+    private final LongSupplier nanoClock;
+
+    /** 파일 이름 → 썸네일 (접근 순서) */
+    private final LinkedHashMap<String, ArtworkService.Thumbnail> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    /** 목록에서 빠졌지만 아직 안 지운 파일: 이름 → (경로, 빠진 시각). 빠진 순서 */
+    private final LinkedHashMap<String, Evicted> evicted = new LinkedHashMap<>();
+    private long bytes;
+    private long evictions;
+
+    private record Evicted(Path path, long at) {}
+
+    ArtworkStore(Path dir, long maxBytes) throws IOException {
+        this(dir, maxBytes, System::nanoTime);
+    }
+
+    ArtworkStore(Path dir, long maxBytes, LongSupplier nanoClock) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.nanoClock = nanoClock;
+        Files.createDirectories(dir);
+
+        record Found(Path path, BasicFileAttributes attrs) {}
+        List<Found> found = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(dir, 2)) {
+            for (Path p : files.filter(Files::isRegularFile).toList()) {
+                if (p.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(p); // 쓰다 죽은 파일
+                } else if (p.getFileName().toString().endsWith(".jpg")) {
+                    found.add(new Found(p, Files.readAttributes(p, BasicFileAttributes.class)));
+                }
+            }
+        }
+        found.sort(Comparator.comparing(f -> f.attrs().lastModifiedTime()));
+        List<Path> victims;
+        synchronized (this) {
+            for (Found f : found) {
+                entries.put(f.path().getFileName().toString(), new ArtworkService.Thumbnail(f.path(), f.attrs().size()));
+                bytes += f.attrs().size();
+            }
+            evict();
+            // 시작할 때는 보내는 중인 응답이 없으니 바로 지움
+            victims = evicted.values().stream().map(Evicted::path).toList();
+            evicted.clear();
+        }
+        delete(victims);
+    }
+
+    static String name(String id, int size) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 20) + "-" + size + ".jpg";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path pathOf(String name) {
+        return dir.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    /** 있으면 썸네일 (가장 최근 사용으로 옮김), 없으면 null */
+    synchronized ArtworkService.Thumbnail get(String id, int size) {
+        return entries.get(name(id, size));
+    }
+
+    /** @throws UncheckedIOException 디스크 쓰기 실패 */
+    ArtworkService.Thumbnail put(String id, int size, byte[] jpeg) {
+        String name = name(id, size);
+        Path target = pathOf(name);
+        try {
+            Files.createDirectories(target.getParent());
+            // 같은 썸네일을 동시에 쓰는 경우(hedge 등)도 임시 파일은 따로
+            Path tmp = Files.createTempFile(target.getParent(), name, ".tmp");
+            Files.write(tmp, jpeg);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("artwork write failed: " + target, e);
+        }
+        ArtworkService.Thumbnail thumbnail = new ArtworkService.Thumbnail(target, jpeg.length);
+        List<Path> victims;
+        synchronized (this) {
+            evicted.remove(name); // 삭제 대기 중에 다시 썼으면 지우지 않음 (같은 이름 = 같은 내용)
+            ArtworkService.Thumbnail previous = entries.put(name, thumbnail);
+            if (previous != null) bytes -= previous.length();
+            bytes += jpeg.length;
+            evict();
+            victims = expired();
+        }
+        delete(victims);
+        return thumbnail;
+    }
+
+    // synchronized 안에서: 상한을 넘는 만큼 오래된 것부터 목록에서 빼서 삭제 대기로 (방금 쓴 것 하나는 남김)
+    private void evict() {
+        long now = nanoClock.getAsLong();
+        Iterator<Map.Entry<String, ArtworkService.Thumbnail>> it = entries.entrySet().iterator();
+        while (bytes > maxBytes && entries.size() > 1 && it.hasNext()) {
+            Map.Entry<String, ArtworkService.Thumbnail> e = it.next();
+            it.remove();
+            bytes -= e.getValue().length();
+            evictions++;
+            evicted.put(e.getKey(), new Evicted(e.getValue().path(), now));
+        }
+    }
+
+    // synchronized 안에서: DELETE_GRACE 가 지난 삭제 대기 파일을 빼서 돌려줌
+    private List<Path> expired() {
+        long now = nanoClock.getAsLong();
+        List<Path> victims = new ArrayList<>();
+        Iterator<Evicted> it = evicted.values().iterator();
+        while (it.hasNext()) {
+            Evicted e = it.next();
+            if (now - e.at() < DELETE_GRACE.toNanos()) break;
+            it.remove();
+            victims.add(e.path());
+        }
+        return victims;
+    }
+
+    // 지우기는 락 밖에서 (이미 열린 파일은 지워져도 끝까지 읽힘)
+    private static void delete(List<Path> victims) {
+        for (Path p : victims) {
+            try {
+                Files.deleteIfExists(p);
+            } catch (IOException e) {
+                // 다음 시작 때 다시 목록에 오르고 상한 검사에서 지워짐
+            }
+        }
+    }
+
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("dir", dir.toString());
+        out.put("files", entries.size());
+        out.put("bytes", bytes);
+        out.put("maxBytes", maxBytes);
+        out.put("evictions", evictions);
+        out.put("pendingDeletes", evicted.size());
+        return out;
+    }
+}
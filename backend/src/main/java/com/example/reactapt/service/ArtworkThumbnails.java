@@ -0,0 +1,105 @@
+package com.example.reactapt.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 원본 이미지 → 정사각형 JPEG 썸네일 여러 개
+ * - 가운데 기준 정사각형으로 자르고, 큰 크기부터 앞 단계 결과를 다시 줄임 (매번 원본에서 줄이지 않음)
+ * - 한 번에 절반 이하로는 줄이지 않음 (bilinear 한 번에 크게 줄이면 계단/뭉개짐)
+ * - 원본보다 큰 크기는 늘리지 않고 원본 크기로
+ * - 투명(png)/흑백 원본은 흰 배경 RGB 로
+ */
+final class ArtworkThumbnails {
+
+    static {
+        ImageIO.setUseCache(false); // 디코딩마다 임시 파일 만들지 않게 (메모리에서 처리)
+    }
+
+    private ArtworkThumbnails() {
+    }
+
+    /** @throws IllegalArgumentException 읽을 수 없는 이미지 */
+    static Map<Integer, byte[]> render(byte[] source, Collection<Integer> sizes, float quality) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(source));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("unreadable image: " + e.getMessage(), e);
+        }
+        if (image == null) throw new IllegalArgumentException("unsupported image format");
+
+        BufferedImage current = square(image);
+        Map<Integer, byte[]> out = new LinkedHashMap<>();
+        for (int size : sizes.stream().distinct().sorted(Comparator.reverseOrder()).toList()) {
+            current = scale(current, Math.min(size, current.getWidth()));
+            out.put(size, jpeg(current, quality));
+        }
+        return out;
+    }
+
+    private static BufferedImage square(BufferedImage src) {
+        int side = Math.min(src.getWidth(), src.getHeight());
+        int x = (src.getWidth() - side) / 2;
+        int y = (src.getHeight() - side) / 2;
+        BufferedImage rgb = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, side, side);
+            g.drawImage(src, 0, 0, side, side, x, y, x + side, y + side, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static BufferedImage scale(BufferedImage src, int target) {
+        BufferedImage current = src;
+        while (current.getWidth() > target) {
+            int next = Math.max(target, current.getWidth() / 2);
+            BufferedImage smaller = new BufferedImage(next, next, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = smaller.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, next, next, null);
+            } finally {
+                g.dispose();
+            }
+            current = smaller;
+        }
+        return current;
+    }
+
+    private static byte[] jpeg(BufferedImage image, float quality) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(image.getWidth() * image.getHeight() / 4);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new IllegalStateException("jpeg encoding failed", e); // 메모리 스트림이라 실제로는 없음
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.reactapt.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캐시 스냅샷 파일 (cache-snapshot.bin)
+ * - 헤더: magic, version, 저장 시각(epoch ms), 섹션 수
+ * - 섹션: 이름 + 블록 수 + [int 길이][블록] 반복. 섹션 이름 = 캐시 이름, 커서 토큰 키는 cursor-key
+ *   - 캐시 블록: age ms, 남은 hard-ttl ms, 키 JSON, 값 JSON
+ *   - 키 블록: 시작 때 만든 커서 토큰 키 (sc.cursor.secret 을 안 주고 sc.cursor.persist-generated-key 를 켰을 때만)
+ * - 읽을 때는 파일 전체를 mmap 하고 블록은 slice 로 (디코딩할 때까지 복사 없음)
+ * - 쓰기는 임시 파일 → fsync → 이름 바꾸기 (중간에 죽어도 이전 스냅샷은 그대로)
+ */
+final class CacheSnapshot {
+
+    static final String FILE = "cache-snapshot.bin";
+    static final String CURSOR_KEY = "cursor-key";
+
+    private static final int MAGIC = 0x43534E31; // "CSN1"
+    private static final int VERSION = 1;
+
+    /** 읽은 스냅샷: 섹션 이름 → 블록들 (매핑된 파일의 slice) */
+    record Loaded(long savedAtMillis, long size, Map<String, List<ByteBuffer>> sections) {
+        List<ByteBuffer> section(String name) {
+            return sections.getOrDefault(name, List.of());
+        }
+    }
+
+    /** 캐시 블록 디코딩 결과 (키/값은 JSON 바이트 slice) */
+    record CacheBlock(Duration age, Duration remaining, ByteBuffer key, ByteBuffer value) {}
+
+    private CacheSnapshot() {
+    }
+
+    static Loaded read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("cache snapshot too large: " + size);
+            // 채널을 닫아도 매핑은 GC 될 때까지 유효
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt() != MAGIC || map.getInt() != VERSION) {
+                throw new IOException("not a cache snapshot: " + file);
+            }
+            long savedAt = map.getLong();
+            int sectionCount = map.getInt();
+
+            Map<String, List<ByteBuffer>> sections = new LinkedHashMap<>();
+            for (int s = 0; s < sectionCount; s++) {
+                String name = getString(map);
+                int count = map.getInt();
+                List<ByteBuffer> blocks = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int len = map.getInt();
+                    blocks.add(map.slice(map.position(), len));
+                    map.position(map.position() + len);
+                }
+                sections.put(name, blocks);
+            }
+            return new Loaded(savedAt, size, sections);
+        } catch (RuntimeException e) {
+            // 잘린 파일 등 (BufferUnderflow/IndexOutOfBounds)
+            throw new IOException("corrupt cache snapshot: " + file + " (" + e + ")", e);
+        }
+    }
+
+    /** @return 쓴 파일 크기 */
+    static long write(Path file, long savedAtMillis, Map<String, List<byte[]>> sections) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(savedAtMillis);
+            out.writeInt(sections.size());
+            for (Map.Entry<String, List<byte[]>> section : sections.entrySet()) {
+                putString(out, section.getKey());
+                out.writeInt(section.getValue().size());
+                for (byte[] block : section.getValue()) {
+                    out.writeInt(block.length);
+                    out.write(block);
+                }
+            }
+            out.flush();
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return Files.size(file);
+    }
+
+    static byte[] cacheBlock(Duration age, Duration remaining, byte[] key, byte[] value) {
+        ByteBuffer b = ByteBuffer.allocate(8 + 8 + 4 + key.length + 4 + value.length);
+        b.putLong(age.toMillis()).putLong(remaining.toMillis());
+        b.putInt(key.length).put(key);
+        b.putInt(value.length).put(value);
+        return b.array();
+    }
+
+    static CacheBlock cacheBlock(ByteBuffer block) {
+        ByteBuffer b = block.duplicate();
+        Duration age = Duration.ofMillis(b.getLong());
+        Duration remaining = Duration.ofMillis(b.getLong());
+        ByteBuffer key = bytes(b);
+        ByteBuffer value = bytes(b);
+        return new CacheBlock(age, remaining, key, value);
+    }
+
+    private static ByteBuffer bytes(ByteBuffer b) {
+        int len = b.getInt();
+        ByteBuffer slice = b.slice(b.position(), len);
+        b.position(b.position() + len);
+        return slice;
+    }
+
+    private static void putString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String getString(ByteBuffer b) {
+        return StandardCharsets.UTF_8.decode(bytes(b)).toString();
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScCacheProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 캐시 스냅샷 (sc.cache.snapshot.*): 재시작/배포 직후에도 캐시가 찬 상태로 시작
+ * - 저장: interval 마다 + 종료 시(@PreDestroy, graceful shutdown 으로 요청이 끝난 뒤)
+ *   ScCaches.persist 로 등록한 캐시의 자주 쓰는 엔트리(max-entries) + 커서 토큰 키(만들어 쓰는 경우)
+ * - 복원: 모든 빈 생성 직후 (웹 서버가 뜨고 ready 가 되기 전) 파일을 mmap 해서 읽음
+ *   저장 뒤 지난 시간만큼 TTL 을 줄여 넣고, 거의 만료된 엔트리(min-remaining-ttl)는 버림
+ * - 키/값은 일반 ObjectMapper 의 JSON (응답용 직렬화 설정 없이 원본 그대로). DTO 가 바뀌어 못 읽는 엔트리는 건너뜀
+ * - 캐시가 전부 비어 있으면 쓰지 않음 (막 뜬 노드가 좋은 스냅샷을 빈 파일로 덮지 않게)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "sc.cache.snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheSnapshots implements SmartInitializingSingleton {
+
+    private final ScCaches caches;
+    private final CursorTokens cursors;
+    private final ScCacheProperties.Snapshot props;
+    private final Path file;
+    private final ObjectMapper json = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final Timer writeTimer;
+    private final Timer restoreTimer;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder restored = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public CacheSnapshots(ScCaches caches, CursorTokens cursors, MeterRegistry registry) throws IOException {
+        this.caches = caches;
+        this.cursors = cursors;
+        this.props = caches.properties().getSnapshot();
+        Path dir = Path.of(props.getDir()).toAbsolutePath();
+        Files.createDirectories(dir);
+        this.file = dir.resolve(CacheSnapshot.FILE);
+
+        this.writeTimer = Timer.builder("sc.cache.snapshot.duration").tag("op", "write").register(registry);
+        this.restoreTimer = Timer.builder("sc.cache.snapshot.duration").tag("op", "restore").register(registry);
+        FunctionCounter.builder("sc.cache.snapshot.entries", written, LongAdder::sum).tag("op", "write").register(registry);
+        FunctionCounter.builder("sc.cache.snapshot.entries", restored, LongAdder::sum).tag("op", "restore").register(registry);
+        FunctionCounter.builder("sc.cache.snapshot.entries", skipped, LongAdder::sum).tag("op", "skip").register(registry);
+        Gauge.builder("sc.cache.snapshot.bytes", bytes, AtomicLong::get).register(registry);
+    }
+
+    /** 모든 싱글톤(캐시를 만드는 서비스들) 생성 뒤, 웹 서버 시작 전 */
+    @Override
+    public void afterSingletonsInstantiated() {
+        restore();
+    }
+
+    @Scheduled(fixedDelayString = "${sc.cache.snapshot.interval:5m}", initialDelayString = "${sc.cache.snapshot.interval:5m}")
+    void scheduled() {
+        writeQuietly();
+    }
+
+    @PreDestroy
+    void onShutdown() {
+        writeQuietly();
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            log.warn("cache snapshot failed: {}", e.toString());
+        }
+    }
+
+    /** @return 저장한 캐시 엔트리 수 (캐시가 비어 있어 안 썼으면 0) */
+    synchronized int write() throws IOException {
+        long started = System.nanoTime();
+        Map<String, List<byte[]>> sections = new LinkedHashMap<>();
+        int entries = 0;
+        for (ScCaches.Persisted<?, ?> p : caches.persisted()) {
+            List<byte[]> blocks = encode(p);
+            sections.put(p.cache().name(), blocks);
+            entries += blocks.size();
+        }
+        if (entries == 0) return 0;
+
+        // 페이지 캐시 키/next 토큰이 이 키로 만들어졌으므로 같이 저장
+        byte[] key = cursors.generatedKey();
+        if (key != null) sections.put(CacheSnapshot.CURSOR_KEY, List.of(key));
+
+        long size = CacheSnapshot.write(file, System.currentTimeMillis(), sections);
+        long elapsed = System.nanoTime() - started;
+        writeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        written.add(entries);
+        bytes.set(size);
+        log.info("cache snapshot written: {} entries, {} bytes in {} ms", entries, size, millis(elapsed));
+        return entries;
+    }
+
+    private <K, V> List<byte[]> encode(ScCaches.Persisted<K, V> p) {
+        List<byte[]> blocks = new ArrayList<>();
+        for (SwrCache.Entry<K, V> e : p.cache().hottest(props.getMaxEntries())) {
+            if (e.remaining().compareTo(props.getMinRemainingTtl()) < 0) continue;
+            try {
+                blocks.add(CacheSnapshot.cacheBlock(e.age(), e.remaining(),
+                        json.writeValueAsBytes(e.key()), json.writeValueAsBytes(e.value())));
+            } catch (IOException ex) {
+                skipped.increment();
+            }
+        }
+        return blocks;
+    }
+
+    /** @return 복원한 캐시 엔트리 수 */
+    synchronized int restore() {
+        if (!Files.isRegularFile(file)) {
+            log.info("no cache snapshot at {}, starting cold", file);
+            return 0;
+        }
+        long started = System.nanoTime();
+        CacheSnapshot.Loaded loaded;
+        try {
+            loaded = CacheSnapshot.read(file);
+        } catch (IOException e) {
+            log.warn("skip unreadable cache snapshot {}: {}", file, e.toString());
+            return 0;
+        }
+        // 저장 뒤 꺼져 있던 시간만큼 TTL 에서 뺌
+        Duration offline = Duration.ofMillis(Math.max(0, System.currentTimeMillis() - loaded.savedAtMillis()));
+
+        for (ByteBuffer b : loaded.section(CacheSnapshot.CURSOR_KEY)) {
+            byte[] key = new byte[b.remaining()];
+            b.duplicate().get(key);
+            cursors.restoreKey(key);
+        }
+
+        int entries = 0;
+        int dropped = 0;
+        for (ScCaches.Persisted<?, ?> p : caches.persisted()) {
+            for (ByteBuffer b : loaded.section(p.cache().name())) {
+                if (restore(p, b, offline)) entries++;
+                else dropped++;
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        restoreTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        restored.add(entries);
+        skipped.add(dropped);
+        bytes.set(loaded.size());
+        log.info("cache snapshot restored: {} entries ({} expired/unreadable), {} bytes, saved {} s ago, in {} ms",
+                entries, dropped, loaded.size(), offline.toSeconds(), millis(elapsed));
+        return entries;
+    }
+
+    private <K, V> boolean restore(ScCaches.Persisted<K, V> p, ByteBuffer block, Duration offline) {
+        try {
+            CacheSnapshot.CacheBlock b = CacheSnapshot.cacheBlock(block);
+            Duration remaining = b.remaining().minus(offline);
+            if (remaining.compareTo(props.getMinRemainingTtl()) < 0) return false;
+            K key = json.readValue(new ByteBufferBackedInputStream(b.key()), p.keyType());
+            V value = json.readValue(new ByteBufferBackedInputStream(b.value()), p.valueType());
+            return p.cache().restore(key, value, b.age().plus(offline), remaining);
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
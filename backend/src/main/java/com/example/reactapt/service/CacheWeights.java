@@ -0,0 +1,77 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ResolveResponse;
+import com.example.reactapt.config.DTO.ScChartItem;
+import com.example.reactapt.config.DTO.ScPaging;
+import com.example.reactapt.config.DTO.ScSearchPage;
+import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.config.DTO.ScTrack;
+import com.example.reactapt.config.DTO.TrackDto;
+
+import java.util.List;
+
+/**
+ * 캐시 weigher용 대략적인 힙 사용량 계산 (정확한 값이 아니라 상대적인 크기 비교용)
+ * - 객체 헤더/참조 ~16B, String ~40B + 문자당 2B 로 근사
+ */
+final class CacheWeights {
+
+    private static final long OBJECT = 16;
+    private static final long REF = 8;
+
+    private CacheWeights() {
+    }
+
+    static long string(String s) {
+        return s == null ? 0 : 40 + 2L * s.length();
+    }
+
+    static long track(TrackDto t) {
+        if (t == null) return 0;
+        return OBJECT + 8 * REF
+                + string(t.id()) + string(t.title()) + string(t.artist()) + string(t.provider())
+                + string(t.externalId()) + string(t.href()) + string(t.artwork())
+                + (t.durationMs() == null ? 0 : OBJECT);
+    }
+
+    static long tracks(List<TrackDto> tracks) {
+        if (tracks == null) return 0;
+        long sum = OBJECT + REF * tracks.size();
+        for (TrackDto t : tracks) sum += track(t);
+        return sum;
+    }
+
+    static long scTrack(ScTrack t) {
+        if (t == null) return 0;
+        return OBJECT + 8 + 3 * REF + string(t.title()) + string(t.permalinkUrl()) + string(t.artworkUrl());
+    }
+
+    static long searchPage(ScSearchPage p) {
+        return OBJECT + 3 * REF + tracks(p.tracks()) + string(p.rawNextHref()) + OBJECT;
+    }
+
+    static long searchResponse(ScSearchResponse r) {
+        long sum = OBJECT + 2 * REF + 4 + string(r.next());
+        if (r.items() != null) {
+            sum += OBJECT + REF * r.items().size();
+            for (ScSearchResponse.Item it : r.items()) {
+                sum += OBJECT + 8 + 6 * REF + string(it.title()) + string(it.artist())
+                        + string(it.artwork()) + string(it.permalink()) + 2 * OBJECT;
+            }
+        }
+        return sum;
+    }
+
+    static long resolve(ResolveResponse r) {
+        return OBJECT + 4 * REF + string(r.type()) + track(r.track()) + string(r.title()) + tracks(r.tracks());
+    }
+
+    static long chartPage(ScPaging<ScChartItem> p) {
+        long sum = OBJECT + 4 * REF + string(p.nextHref()) + string(p.queryUrn());
+        if (p.collection() != null) {
+            sum += OBJECT + REF * p.collection().size();
+            for (ScChartItem item : p.collection()) sum += OBJECT + REF + scTrack(item.track());
+        }
+        return sum;
+    }
+}
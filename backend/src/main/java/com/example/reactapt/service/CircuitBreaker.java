@@ -0,0 +1,131 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScResilienceProperties;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 호스트별 서킷 브레이커 (최근 N회 호출 기준)
+ * - CLOSED: 실패율이 threshold 이상이면 OPEN
+ * - OPEN: open-duration 동안 호출 차단 → 이후 HALF_OPEN
+ * - HALF_OPEN: 시험 호출(half-open-probes)만 허용, 성공하면 CLOSED, 실패하면 다시 OPEN
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ScResilienceProperties.Breaker cfg;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] outcomes; // true = 실패
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probes;
+
+    private long opened;
+    private long rejected;
+
+    CircuitBreaker(ScResilienceProperties.Breaker cfg) {
+        this(cfg, System::nanoTime);
+    }
+
+    CircuitBreaker(ScResilienceProperties.Breaker cfg, LongSupplier nanoClock) {
+        this.cfg = cfg;
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[Math.max(1, cfg.getWindowSize())];
+    }
+
+    /** 호출 가능하면 true. HALF_OPEN 에서 true 를 받았다면 결과를 반드시 onSuccess/onFailure/onCancel 로 알려야 함 */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < cfg.getOpenDuration().toNanos()) {
+                rejected++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probes = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probes >= cfg.getHalfOpenProbes()) {
+                rejected++;
+                return false;
+            }
+            probes++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= cfg.getMinCalls() && failureRate() >= cfg.getFailureRateThreshold()) {
+                open();
+            }
+        }
+    }
+
+    /** 결과 없이 끝난 호출 (hedge 에서 진 쪽 등). 시험 호출 자리만 돌려줌 */
+    synchronized void onCancel() {
+        if (state == State.HALF_OPEN && probes > 0) probes--;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private double failureRate() {
+        return recorded == 0 ? 0.0 : (double) failures / recorded;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        opened++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        Arrays.fill(outcomes, false);
+    }
+
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("state", state.name());
+        out.put("failureRate", failureRate());
+        out.put("calls", recorded);
+        out.put("opened", opened);
+        out.put("rejected", rejected);
+        return out;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScAdmissionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * /api/** 클라이언트(IP)별 요청 제한 (sc.admission.client.*)
+ * - 클라이언트마다 토큰 버킷. 오래 안 보인 클라이언트는 잊음 (메모리 상한 = max-clients)
+ * - 한 클라이언트의 무한 스크롤 폭주가 다른 사용자 몫의 업스트림 자리/client_id 쿼터를 먹지 않게
+ */
+@Component
+public class ClientRateLimiter {
+
+    private final ScAdmissionProperties.Client cfg;
+    private final LongSupplier nanoClock;
+    private final Cache<String, TokenBucket> buckets;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+
+    @Autowired
+    public ClientRateLimiter(ScAdmissionProperties props, MeterRegistry registry) {
+        this(props, System::nanoTime);
+        FunctionCounter.builder("sc.admission.client.requests", allowed, LongAdder::sum)
+                .tag("result", "allowed").register(registry);
+        FunctionCounter.builder("sc.admission.client.requests", limited, LongAdder::sum)
+                .tag("result", "limited").register(registry);
+    }
+
+    ClientRateLimiter(ScAdmissionProperties props, LongSupplier nanoClock) {
+        this.cfg = props.getClient();
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(cfg.getMaxClients())
+                .expireAfterAccess(cfg.getIdleTimeout())
+                .build();
+    }
+
+    public boolean enabled() {
+        return cfg.isEnabled();
+    }
+
+    /** 요청 1건. 통과면 null, 아니면 다음 요청까지 기다릴 시간 */
+    public Duration tryAcquire(String client) {
+        TokenBucket bucket = buckets.get(client,
+                k -> new TokenBucket(cfg.getRatePerSecond(), cfg.getBurst(), nanoClock));
+        long waitNanos = bucket.tryTake();
+        if (waitNanos == 0) {
+            allowed.increment();
+            return null;
+        }
+        limited.increment();
+        return Duration.ofNanos(waitNanos);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", cfg.isEnabled());
+        out.put("clients", buckets.estimatedSize());
+        out.put("allowed", allowed.sum());
+        out.put("limited", limited.sum());
+        return out;
+    }
+}
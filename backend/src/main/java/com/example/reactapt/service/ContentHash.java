@@ -0,0 +1,90 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.HomeFeed;
+import com.example.reactapt.config.DTO.ScChartItem;
+import com.example.reactapt.config.DTO.ScPaging;
+import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.config.DTO.ScTrack;
+
+/**
+ * 응답 DTO 의 가벼운 내용 해시 (ETag 용)
+ * - 직렬화된 바이트가 아니라 DTO 필드로 계산 → 304 를 줄 때 본문을 JSON 으로 만들 필요가 없음
+ * - 문자열은 String.hashCode (한 번 계산되면 String 안에 캐시) + 길이를 64비트로 섞음
+ *   → 캐시된 페이지를 다시 응답할 때는 필드 수만큼의 곱셈 정도
+ */
+public final class ContentHash {
+
+    private long h = 0x9E3779B97F4A7C15L;
+
+    public ContentHash add(long v) {
+        h = LongBloomFilter.mix64(h ^ v) + 0x9E3779B97F4A7C15L;
+        return this;
+    }
+
+    public ContentHash add(String s) {
+        return s == null ? add(-1L) : add(((long) s.length() << 32) | (s.hashCode() & 0xFFFFFFFFL));
+    }
+
+    /** 강한 ETag 값 ("..." 포함) */
+    public String etag() {
+        return "\"" + Long.toHexString(h) + "\"";
+    }
+
+    public static String chartPage(ScPaging<ScChartItem> page) {
+        ContentHash c = new ContentHash().add(page.nextHref())
+                .add(page.totalResults() == null ? -1 : page.totalResults());
+        if (page.collection() != null) {
+            for (ScChartItem item : page.collection()) track(c, item.track());
+        }
+        return c.etag();
+    }
+
+    public static String trackPage(ScPaging<ScTrack> page) {
+        ContentHash c = new ContentHash().add(page.nextHref())
+                .add(page.totalResults() == null ? -1 : page.totalResults());
+        if (page.collection() != null) {
+            for (ScTrack t : page.collection()) track(c, t);
+        }
+        return c.etag();
+    }
+
+    public static String searchResponse(ScSearchResponse r) {
+        ContentHash c = new ContentHash().add(r.next()).add(r.count());
+        if (r.items() != null) {
+            for (ScSearchResponse.Item it : r.items()) searchItem(c, it);
+        }
+        return c.etag();
+    }
+
+    public static String homeFeed(HomeFeed feed) {
+        ContentHash c = new ContentHash().add(feed.rows().size());
+        for (HomeFeed.Row row : feed.rows()) {
+            c.add(row.id()).add(row.title()).add(row.status()).add(row.next()).add(row.items().size());
+            for (Object item : row.items()) {
+                if (item instanceof ScChartItem ci) track(c, ci.track());
+                else if (item instanceof ScSearchResponse.Item it) searchItem(c, it);
+                else c.add(String.valueOf(item));
+            }
+        }
+        return c.etag();
+    }
+
+    private static void searchItem(ContentHash c, ScSearchResponse.Item it) {
+        c.add(it.id()).add(it.title()).add(it.artist()).add(it.artwork()).add(it.permalink())
+                .add(it.playbackCount() == null ? -1 : it.playbackCount())
+                .add(it.durationMs() == null ? -1 : it.durationMs());
+    }
+
+    private static void track(ContentHash c, ScTrack t) {
+        if (t == null) {
+            c.add(0L);
+            return;
+        }
+        c.add(t.id()).add(t.title()).add(t.permalinkUrl()).add(t.artworkUrl());
+        if (t.user() == null) {
+            c.add(0L);
+            return;
+        }
+        c.add(t.user().id()).add(t.user().username()).add(t.user().permalinkUrl()).add(t.user().avatarUrl());
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScSessionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 서버 쪽 커서 세션 (무한 스크롤 중복 제거)
+ * - 프론트(useInfinitePage 의 seenRef)는 이미 받아서 직렬화/전송된 뒤에 중복을 버림 → 서버에서 미리 빼고 limit 개를 채워서 응답
+ * - 세션마다 내려준 트랙 id 를 long 해시셋에 기억, exact-max-ids 를 넘으면 bloom filter 로 전환 (메모리 상한 고정)
+ * - 중복을 빼고 모자라면 next 커서를 따라 max-top-up-pages 까지 더 받음 (prefetch/캐시 경로 그대로)
+ * - 마지막으로 받은 페이지에서 limit 을 넘친 새 항목은 세션에 남겨뒀다가(carry) 같은 커서로 다음 요청이 오면 먼저 내려줌
+ * - Caffeine: idle-timeout 동안 안 쓰면 만료, max-sessions 넘으면 오래 안 쓴 것부터 제거
+ */
+@Component
+public class CursorSessions {
+
+    /** 세션 id 를 돌려주는 응답 헤더 */
+    public static final String HEADER = "X-Cursor-Session";
+    /** 업스트림 마지막 페이지인데 carry 가 남았을 때 내려주는 커서 (이 커서는 carry 만 내려주고 업스트림은 안 부름) */
+    public static final String TAIL_CURSOR = "session:tail";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ScSessionProperties props;
+    private final Cache<String, Session> sessions;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder topUps = new LongAdder();
+    private final LongAdder carried = new LongAdder();
+
+    /** 업스트림 페이지를 세션 처리용으로 맞춘 형태 (트렌딩 ScPaging / 검색 ScSearchResponse 공용) */
+    public record Chunk<T>(List<T> items, String next) {}
+
+    @Autowired
+    public CursorSessions(ScSessionProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(props.getIdleTimeout())
+                .maximumSize(props.getMaxSessions())
+                .build();
+        Gauge.builder("sc.session.active", sessions, Cache::estimatedSize).register(registry);
+    }
+
+    CursorSessions(ScSessionProperties props) {
+        this(props, new SimpleMeterRegistry());
+    }
+
+    public boolean enabled() {
+        return props.isEnabled();
+    }
+
+    /**
+     * 요청의 session 파라미터로 세션 찾기
+     * - "new"/빈 값/만료되거나 모르는 id → 새 세션 (중복 기억은 처음부터)
+     */
+    public Session open(String requested) {
+        if (requested != null && !requested.isBlank() && !"new".equalsIgnoreCase(requested)) {
+            Session s = sessions.getIfPresent(requested);
+            if (s != null) return s;
+        }
+        byte[] raw = new byte[16];
+        RANDOM.nextBytes(raw);
+        Session s = new Session(Base64.getUrlEncoder().withoutPadding().encodeToString(raw), props);
+        sessions.put(s.id(), s);
+        created.increment();
+        return s;
+    }
+
+    /**
+     * 세션 기준으로 한 페이지 응답
+     * @param kind   엔드포인트 구분 (carry 가 다른 목록으로 새지 않게)
+     * @param cursor 프론트가 보낸 커서 (null = 첫 페이지)
+     * @param fetch  커서 → 업스트림 페이지 (null = 첫 페이지)
+     * @param idOf   항목 → 트랙 id (0 = id 모름 → 중복 검사 없이 통과)
+     */
+    public <T> Mono<Chunk<T>> serve(Session s, String kind, String cursor, int limit,
+                                    Function<String, Mono<Chunk<T>>> fetch, ToLongFunction<T> idOf) {
+        int want = Math.max(1, limit);
+        List<T> out = new ArrayList<>(want);
+
+        // 1) 지난 응답에서 남긴 항목부터
+        List<T> carry = s.takeCarry(kind, cursor);
+        if (carry != null) {
+            int i = drain(s, carry, 0, out, want, idOf);
+            carried.add(out.size());
+            if (out.size() >= want) {
+                List<T> rest = unseen(s, carry, i, idOf);
+                if (!rest.isEmpty()) s.putCarry(kind, cursor, rest);
+                return Mono.just(done(out, rest.isEmpty() && TAIL_CURSOR.equals(cursor) ? null : cursor));
+            }
+        }
+        if (TAIL_CURSOR.equals(cursor)) return Mono.just(done(out, null));
+
+        // 2) 업스트림 페이지 (모자라면 다음 페이지로)
+        return step(s, kind, cursor, want, out, fetch, idOf, props.getMaxTopUpPages(), true);
+    }
+
+    private <T> Mono<Chunk<T>> step(Session s, String kind, String cursor, int want, List<T> out,
+                                    Function<String, Mono<Chunk<T>>> fetch, ToLongFunction<T> idOf,
+                                    int pagesLeft, boolean first) {
+        return fetch.apply(cursor)
+                .defaultIfEmpty(new Chunk<>(List.of(), null))
+                .flatMap(page -> {
+                    List<T> items = page.items() == null ? List.of() : page.items();
+                    int i = drain(s, items, 0, out, want, idOf);
+                    String next = page.next() == null || page.next().isBlank() ? null : page.next();
+
+                    if (out.size() >= want) {
+                        List<T> rest = unseen(s, items, i, idOf);
+                        if (rest.isEmpty()) return Mono.just(done(out, next));
+                        String key = next != null ? next : TAIL_CURSOR;
+                        s.putCarry(kind, key, rest);
+                        return Mono.just(done(out, key));
+                    }
+                    if (next == null || pagesLeft <= 0) return Mono.just(done(out, next));
+
+                    topUps.increment();
+                    return step(s, kind, next, want, out, fetch, idOf, pagesLeft - 1, false);
+                })
+                // 보충 페이지 실패는 지금까지 모은 것만 응답 (커서는 실패한 페이지 → 프론트가 다시 시도)
+                .onErrorResume(e -> !first, e -> Mono.just(done(out, cursor)));
+    }
+
+    /** from 부터 새 항목을 out 에 채우고(본 것으로 기록) 멈춘 위치를 돌려줌 */
+    private <T> int drain(Session s, List<T> items, int from, List<T> out, int want, ToLongFunction<T> idOf) {
+        int i = from;
+        for (; i < items.size() && out.size() < want; i++) {
+            T item = items.get(i);
+            if (item == null) continue;
+            long id = idOf.applyAsLong(item);
+            if (id == 0 || s.markSeen(id)) {
+                out.add(item);
+            } else {
+                dropped.increment();
+            }
+        }
+        return i;
+    }
+
+    /** 아직 안 내려준 나머지 (기록은 하지 않음: 실제로 내려줄 때 기록) */
+    private static <T> List<T> unseen(Session s, List<T> items, int from, ToLongFunction<T> idOf) {
+        List<T> rest = new ArrayList<>();
+        for (int i = from; i < items.size(); i++) {
+            T item = items.get(i);
+            if (item == null) continue;
+            long id = idOf.applyAsLong(item);
+            if (id == 0 || !s.seen(id)) rest.add(item);
+        }
+        return rest;
+    }
+
+    private <T> Chunk<T> done(List<T> out, String next) {
+        served.add(out.size());
+        return new Chunk<>(out, next);
+    }
+
+    public Map<String, Object> stats() {
+        long bloom = 0, bytes = 0;
+        for (Session s : sessions.asMap().values()) {
+            if (s.usesBloom()) bloom++;
+            bytes += s.bytes();
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("active", sessions.estimatedSize());
+        out.put("bloom", bloom);
+        out.put("bytes", bytes);
+        out.put("created", created.sum());
+        out.put("served", served.sum());
+        out.put("duplicatesDropped", dropped.sum());
+        out.put("topUpPages", topUps.sum());
+        out.put("carried", carried.sum());
+        return out;
+    }
+
+    /**
+     * 세션 1개: 내려준 트랙 id + carry
+     * 같은 세션으로 동시에 요청이 와도 깨지지 않게 메서드 단위 동기화 (보통 한 화면에서 순서대로 옴)
+     */
+    public static final class Session {
+        private final String id;
+        private final int exactMax;
+        private final int bloomBits;
+        private final int bloomHashes;
+
+        private LongHashSet exact = new LongHashSet(16);
+        private LongBloomFilter bloom;
+
+        private String carryKind;
+        private String carryCursor;
+        private List<?> carry;
+
+        Session(String id, ScSessionProperties props) {
+            this.id = id;
+            this.exactMax = Math.max(16, props.getExactMaxIds());
+            this.bloomBits = props.getBloomBits();
+            this.bloomHashes = props.getBloomHashes();
+        }
+
+        public String id() {
+            return id;
+        }
+
+        /** 처음 보는 id 면 기록하고 true */
+        synchronized boolean markSeen(long trackId) {
+            if (bloom != null) return bloom.add(trackId);
+            if (!exact.add(trackId)) return false;
+            if (exact.size() > exactMax) {
+                // 정확한 셋이 상한을 넘으면 bloom 으로 옮기고 셋은 버림
+                LongBloomFilter b = new LongBloomFilter(bloomBits, bloomHashes);
+                exact.forEach(b::add);
+                bloom = b;
+                exact = null;
+            }
+            return true;
+        }
+
+        synchronized boolean seen(long trackId) {
+            return bloom != null ? bloom.mightContain(trackId) : exact.contains(trackId);
+        }
+
+        synchronized boolean usesBloom() {
+            return bloom != null;
+        }
+
+        synchronized long bytes() {
+            return bloom != null ? bloom.bytes() : exact.bytes();
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <T> List<T> takeCarry(String kind, String cursor) {
+            if (carry == null || !Objects.equals(kind, carryKind) || !Objects.equals(key(cursor), carryCursor)) return null;
+            List<T> out = (List<T>) carry;
+            carry = null;
+            carryKind = null;
+            carryCursor = null;
+            return out;
+        }
+
+        synchronized void putCarry(String kind, String cursor, List<?> items) {
+            carryKind = kind;
+            carryCursor = key(cursor);
+            carry = items;
+        }
+
+        /** 프론트가 next_href 를 decode 해서 보내는 경우가 있어 prefetch 와 같은 키로 비교 */
+        private static String key(String cursor) {
+            return cursor == null ? null : PagePrefetcher.key(cursor);
+        }
+    }
+}
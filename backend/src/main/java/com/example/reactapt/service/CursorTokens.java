@@ -0,0 +1,261 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScCursorProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커서 토큰 ↔ (업스트림 페이지, 페이지 안 위치)
+ * - SoundCloud next_href(긴 절대 URL + client_id)를 프론트에 그대로 넘기지 않고 "c" + 암호화한 토큰만 내려줌
+ * - 토큰에는 검색 상태만 (q, 장르 필터, limit, offset, 페이지 안 위치): client_id/app_version/query_urn 등은 넣지 않음
+ *   → next_href 보다 훨씬 짧고, 풀 때 서버가 정해진 모양의 URL 로 다시 만듦 (호출할 호스트/기본 파라미터는 부르는 쪽이 붙임)
+ * - AES-GCM 으로 암호화 + 위조 검사 → 서버 표 없이 어느 노드에서나, 재시작 뒤에도 풀림
+ * - nonce = 상태의 HMAC → 같은 페이지는 항상 같은 토큰 (캐시 키로 안정적). 같은 nonce 는 같은 평문에만 쓰임
+ * - 업스트림 페이지를 크게 받아 잘라 내려줄 때는 (페이지, 그 안 위치) 를 가리키는 토큰 → 같은 페이지(캐시)에서 다음 조각
+ * - 키: sc.cursor.secret. 비어 있으면 시작할 때 키를 만들고, sc.cursor.persist-generated-key 일 때만 캐시 스냅샷에 같이 저장
+ */
+@Slf4j
+@Component
+public class CursorTokens {
+
+    /** 토큰으로 만들 수 있는 업스트림 경로 (트렌딩/검색 모두 search/tracks) */
+    static final String PATH = "/search/tracks";
+
+    private static final char PREFIX = 'c';
+    private static final int KEY_BYTES = 32;
+    private static final int NONCE_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    /** 평문 고정 부분: 페이지 안 위치(2) + limit(2) + offset(4) + q 길이(2) */
+    private static final int FIXED_BYTES = 10;
+    /** "c" + base64url(nonce + 고정 부분 + 태그) 보다 짧으면 토큰이 아님 */
+    private static final int MIN_TOKEN_LENGTH = 1 + (NONCE_BYTES + FIXED_BYTES + TAG_BITS / 8) * 4 / 3;
+
+    private final boolean configured;
+    private final boolean persistGenerated;
+    private volatile Keys keys;
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder resolved = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 토큰이 가리키는 곳
+     * @param url       업스트림 페이지 (PATH + 정해진 순서의 쿼리, 상대 경로. 호스트/client_id 는 부르는 쪽이 붙임)
+     * @param offset    그 페이지 안에서 몇 번째 항목부터
+     * @param pageToken 페이지 자체의 키 (캐시 키, offset 0 토큰과 같음)
+     */
+    public record Target(String url, int offset, String pageToken) {}
+
+    /** 토큰에 넣는 검색 상태 (genre = filter.genre_or_tag, 없으면 빈 문자열) */
+    private record Query(String q, String genre, int limit, int offset) {
+
+        String url() {
+            StringBuilder sb = new StringBuilder(PATH).append("?q=").append(UriUtils.encode(q, StandardCharsets.UTF_8));
+            if (!genre.isEmpty()) {
+                sb.append("&filter.genre_or_tag=").append(UriUtils.encode(genre, StandardCharsets.UTF_8));
+            }
+            if (limit > 0) sb.append("&limit=").append(limit);
+            if (offset > 0) sb.append("&offset=").append(offset);
+            return sb.toString();
+        }
+
+        /** @throws IllegalArgumentException search/tracks 가 아니거나 숫자 파라미터가 이상하면 */
+        static Query parse(String url) {
+            UriComponents u = UriComponentsBuilder.fromUriString(url).build(true);
+            if (!PATH.equals(u.getPath())) throw new IllegalArgumentException("not a cursor url: " + u.getPath());
+            MultiValueMap<String, String> qp = u.getQueryParams();
+            return new Query(param(qp, "q"), param(qp, "filter.genre_or_tag"),
+                    number(param(qp, "limit")), number(param(qp, "offset")));
+        }
+
+        private static String param(MultiValueMap<String, String> qp, String name) {
+            String v = qp.getFirst(name);
+            return v == null ? "" : URLDecoder.decode(v, StandardCharsets.UTF_8);
+        }
+
+        private static int number(String v) {
+            if (v.isEmpty()) return 0;
+            int n = Integer.parseInt(v);
+            if (n < 0) throw new IllegalArgumentException("negative cursor parameter: " + v);
+            return n;
+        }
+    }
+
+    /** 마스터 키에서 HMAC 키(nonce)와 AES 키를 따로 뽑음 */
+    private record Keys(byte[] master, SecretKeySpec mac, SecretKeySpec aes) {
+        static Keys of(byte[] master) {
+            return new Keys(master.clone(),
+                    new SecretKeySpec(hmac(master, "nonce"), "HmacSHA256"),
+                    new SecretKeySpec(hmac(master, "aes"), "AES"));
+        }
+
+        private static byte[] hmac(byte[] key, String label) {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(key, "HmacSHA256"));
+                return mac.doFinal(label.getBytes(StandardCharsets.UTF_8));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Autowired
+    public CursorTokens(ScCursorProperties props, MeterRegistry registry) {
+        String secret = props.getSecret();
+        this.configured = secret != null && !secret.isBlank();
+        this.persistGenerated = !configured && props.isPersistGeneratedKey();
+        if (configured) {
+            this.keys = Keys.of(sha256(secret.getBytes(StandardCharsets.UTF_8)));
+        } else {
+            byte[] master = new byte[KEY_BYTES];
+            new SecureRandom().nextBytes(master);
+            this.keys = Keys.of(master);
+            if (persistGenerated) {
+                log.info("sc.cursor.secret not set: cursor tokens use a generated key kept in the cache snapshot");
+            } else {
+                log.warn("sc.cursor.secret not set: cursor tokens use a generated key and are gone (410) after a restart "
+                        + "(set sc.cursor.secret, the same on every node)");
+            }
+        }
+        FunctionCounter.builder("sc.cursor.rejected", rejected, LongAdder::sum).register(registry);
+    }
+
+    CursorTokens(ScCursorProperties props) {
+        this(props, new SimpleMeterRegistry());
+    }
+
+    /** 토큰 모양인지 (next_href 원문이나 offset 커서와 구분) */
+    public static boolean isToken(String cursor) {
+        return cursor != null && cursor.length() >= MIN_TOKEN_LENGTH && cursor.charAt(0) == PREFIX;
+    }
+
+    /** 업스트림 페이지 URL(next_href, 절대/상대) → 토큰 (null 이면 null = 마지막 페이지). search/tracks 가 아니면 400 */
+    public String issue(String upstreamUrl) {
+        return issue(upstreamUrl, 0);
+    }
+
+    /** 업스트림 페이지의 offset 번째 항목부터를 가리키는 토큰 */
+    public String issue(String upstreamUrl, int offset) {
+        if (upstreamUrl == null || upstreamUrl.isBlank()) return null;
+        Query query;
+        try {
+            query = Query.parse(upstreamUrl);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unsupported cursor");
+        }
+        return seal(query, offset);
+    }
+
+    private String seal(Query query, int offset) {
+        byte[] q = query.q().getBytes(StandardCharsets.UTF_8);
+        byte[] genre = query.genre().getBytes(StandardCharsets.UTF_8);
+        if (offset > Character.MAX_VALUE || query.limit() > Character.MAX_VALUE || q.length > Character.MAX_VALUE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unsupported cursor");
+        }
+        byte[] plain = ByteBuffer.allocate(FIXED_BYTES + q.length + genre.length)
+                .putChar((char) offset).putChar((char) query.limit()).putInt(query.offset())
+                .putChar((char) q.length).put(q).put(genre)
+                .array();
+        Keys k = keys;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(k.mac());
+            byte[] nonce = Arrays.copyOf(mac.doFinal(plain), NONCE_BYTES);
+            Cipher aes = Cipher.getInstance("AES/GCM/NoPadding");
+            aes.init(Cipher.ENCRYPT_MODE, k.aes(), new GCMParameterSpec(TAG_BITS, nonce));
+            byte[] out = Arrays.copyOf(nonce, NONCE_BYTES + aes.getOutputSize(plain.length));
+            aes.doFinal(plain, 0, plain.length, out, NONCE_BYTES);
+            issued.increment();
+            return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(out);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 토큰 → 업스트림 페이지 (+ 위치). 모양이 틀리거나 다른 키로 만든(키가 바뀐 뒤의, 위조한) 토큰이면 410 */
+    public Target resolve(String token) {
+        byte[] plain = isToken(token) ? open(token.substring(1)) : null;
+        if (plain == null) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.GONE, "cursor expired");
+        }
+        ByteBuffer b = ByteBuffer.wrap(plain);
+        int offset = b.getChar();
+        int limit = b.getChar();
+        int upstreamOffset = b.getInt();
+        byte[] q = new byte[b.getChar()];
+        b.get(q);
+        Query query = new Query(new String(q, StandardCharsets.UTF_8), StandardCharsets.UTF_8.decode(b).toString(),
+                limit, upstreamOffset);
+        resolved.increment();
+        return new Target(query.url(), offset, offset == 0 ? token : seal(query, 0));
+    }
+
+    private byte[] open(String body) {
+        try {
+            byte[] raw = Base64.getUrlDecoder().decode(body);
+            Cipher aes = Cipher.getInstance("AES/GCM/NoPadding");
+            aes.init(Cipher.DECRYPT_MODE, keys.aes(), new GCMParameterSpec(TAG_BITS, raw, 0, NONCE_BYTES));
+            byte[] plain = aes.doFinal(raw, NONCE_BYTES, raw.length - NONCE_BYTES);
+            // 같은 키로 만든 토큰이면 모양은 항상 맞음. 길이만 한 번 더 확인
+            return plain.length >= FIXED_BYTES
+                    && FIXED_BYTES + ByteBuffer.wrap(plain).getChar(FIXED_BYTES - 2) <= plain.length ? plain : null;
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return null; // base64 가 아님 / 태그 불일치
+        }
+    }
+
+    /** 스냅샷에 같이 저장할 키 (sc.cursor.persist-generated-key 로 켠 경우만, 아니면 null) */
+    byte[] generatedKey() {
+        return persistGenerated ? keys.master().clone() : null;
+    }
+
+    /** 스냅샷의 키로 교체 (복원 시, 요청을 받기 전). 저장하도록 켠 경우만 */
+    void restoreKey(byte[] master) {
+        if (persistGenerated && master.length == KEY_BYTES) keys = Keys.of(master);
+    }
+
+    private static byte[] sha256(byte[] in) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(in);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("key", configured ? "configured" : persistGenerated ? "generated, persisted" : "generated");
+        out.put("issued", issued.sum());
+        out.put("resolved", resolved.sum());
+        out.put("rejected", rejected.sum());
+        return out;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.HomeFeed;
+import com.example.reactapt.config.DTO.HomeRowSpec;
+import com.example.reactapt.config.ScHomeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 홈 피드: 레일 여러 개(트렌딩/검색)를 한 요청에 모아서
+ * - 레일은 전부 동시에 시작하고 응답 순서는 요청 순서 그대로
+ * - 마감 시간은 요청 하나에 하나(공유). 넘긴 레일만 504 로 빠지고 나머지는 응답 (partial)
+ * - 마감으로 끊긴 레일도 캐시 로드는 계속됨 (SwrCache 가 취소를 막음) → 다음 요청은 캐시에서
+ */
+@Slf4j
+@Service
+public class HomeFeedService {
+
+    private final MusicService music;
+    private final ScSearchService search;
+    private final ScHomeProperties props;
+
+    public HomeFeedService(MusicService music, ScSearchService search, ScHomeProperties props) {
+        this.music = music;
+        this.search = search;
+        this.props = props;
+    }
+
+    /** 설정의 기본 레일 (GET /api/home) */
+    public List<HomeRowSpec> defaultRows() {
+        return props.getRows().stream()
+                .map(r -> new HomeRowSpec(r.getId(), r.getTitle(), r.getGenre(), r.getQ(), r.getLimit()))
+                .toList();
+    }
+
+    public Mono<HomeFeed> feed(List<HomeRowSpec> specs) {
+        if (specs == null || specs.isEmpty()) return Mono.just(new HomeFeed(List.of(), false));
+        if (specs.size() > props.getMaxRows()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "too many rows (max " + props.getMaxRows() + ")"));
+        }
+
+        // 모든 레일이 같은 타이머를 봄 (레일별로 따로 재면 늦게 시작한 레일만큼 마감이 밀림)
+        Mono<Long> deadline = Mono.delay(props.getDeadline()).cache();
+        return Flux.fromIterable(specs)
+                .flatMapSequential(spec -> row(spec)
+                                .timeout(deadline, Mono.fromSupplier(() ->
+                                        HomeFeed.Row.failed(spec, HttpStatus.GATEWAY_TIMEOUT.value(), "timeout")))
+                                .onErrorResume(e -> Mono.just(failed(spec, e))),
+                        specs.size())
+                .collectList()
+                .map(rows -> new HomeFeed(rows, rows.stream().anyMatch(r -> r.status() != 200)));
+    }
+
+    private Mono<HomeFeed.Row> row(HomeRowSpec spec) {
+        int limit = spec.limit() == null ? 20 : spec.limit();
+        if (spec.isSearch()) {
+            return search.search(spec.q(), spec.genre(), limit, null)
+                    .map(r -> HomeFeed.Row.ok(spec, r.items(), r.next()));
+        }
+        return music.getTrending(spec.genre(), limit, null)
+                .map(p -> HomeFeed.Row.ok(spec, p.collection(), p.nextHref()));
+    }
+
+    private static HomeFeed.Row failed(HomeRowSpec spec, Throwable e) {
+        log.atWarn().setMessage("home row failed")
+                .addKeyValue("row", spec.key()).addKeyValue("error", e.toString()).log();
+        if (e instanceof WebClientResponseException w) {
+            return HomeFeed.Row.failed(spec, w.getStatusCode().value(), w.getStatusText());
+        }
+        if (e instanceof ResponseStatusException r) {
+            return HomeFeed.Row.failed(spec, r.getStatusCode().value(),
+                    r.getReason() != null ? r.getReason() : r.getStatusCode().toString());
+        }
+        return HomeFeed.Row.failed(spec, HttpStatus.BAD_GATEWAY.value(), e.getClass().getSimpleName());
+    }
+}
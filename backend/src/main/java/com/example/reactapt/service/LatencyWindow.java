@@ -0,0 +1,60 @@
+package com.example.reactapt.service;
+
+import java.util.Arrays;
+
+/**
+ * 최근 N건 성공 호출 지연(ns) 링 버퍼
+ * - percentile 은 매번 정렬하지 않고 16건 기록마다 다시 계산해 둔 값을 씀
+ */
+final class LatencyWindow {
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private int next;
+    private int size;
+    private int sinceRecompute;
+
+    private final double percentile;
+    private long cachedPercentile = -1;
+    private long cachedMedian = -1;
+
+    LatencyWindow(int capacity, double percentile) {
+        this.samples = new long[Math.max(1, capacity)];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) size++;
+        if (++sinceRecompute >= RECOMPUTE_EVERY || cachedPercentile < 0) {
+            recompute();
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /** 설정된 percentile 지연 (샘플 없으면 -1) */
+    synchronized long percentileNanos() {
+        return cachedPercentile;
+    }
+
+    synchronized long medianNanos() {
+        return cachedMedian;
+    }
+
+    private void recompute() {
+        sinceRecompute = 0;
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        cachedPercentile = sorted[index(sorted.length, percentile)];
+        cachedMedian = sorted[index(sorted.length, 0.5)];
+    }
+
+    private static int index(int n, double p) {
+        return Math.min(n - 1, Math.max(0, (int) Math.ceil(p * n) - 1));
+    }
+}
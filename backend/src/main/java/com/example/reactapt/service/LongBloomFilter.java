@@ -0,0 +1,65 @@
+package com.example.reactapt.service;
+
+/**
+ * long 전용 bloom filter (비트 배열 고정 크기)
+ * - 해시 k 개는 mix64 두 번으로 만든 h1 + i·h2 (double hashing)
+ * - 오탐(본 적 없는데 봤다고 함)만 있고 누락은 없음 → 세션 중복 제거에서는 새 트랙이 아주 가끔 빠지는 정도
+ */
+final class LongBloomFilter {
+
+    private final long[] words;
+    private final int mask;
+    private final int hashes;
+    private int added;
+
+    LongBloomFilter(int bits, int hashes) {
+        int cap = 64;
+        while (cap < bits) cap <<= 1;
+        this.words = new long[cap >>> 6];
+        this.mask = cap - 1;
+        this.hashes = Math.max(1, hashes);
+    }
+
+    /** 새로 들어갔으면(비트가 하나라도 바뀌었으면) true */
+    boolean add(long v) {
+        long h1 = mix64(v);
+        long h2 = mix64(h1) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) (h1 + i * h2) & mask;
+            long m = 1L << bit;
+            int w = bit >>> 6;
+            if ((words[w] & m) == 0) {
+                words[w] |= m;
+                changed = true;
+            }
+        }
+        if (changed) added++;
+        return changed;
+    }
+
+    boolean mightContain(long v) {
+        long h1 = mix64(v);
+        long h2 = mix64(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) (h1 + i * h2) & mask;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    int added() {
+        return added;
+    }
+
+    long bytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /** splitmix64 finalizer: 연속된 트랙 id 도 고르게 퍼지도록 */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
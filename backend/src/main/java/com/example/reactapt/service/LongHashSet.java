@@ -0,0 +1,70 @@
+package com.example.reactapt.service;
+
+import java.util.function.LongConsumer;
+
+/**
+ * long 전용 open addressing 해시셋 (박싱 없음, 원소당 16B 이하)
+ * - 0 은 빈 칸 표시로 쓰므로 넣을 수 없음 (호출 쪽에서 id 0 = "id 모름" 으로 걸러서 들어옴)
+ * - 적재율 50% 넘으면 2배로 키움. 동기화는 호출 쪽에서
+ */
+final class LongHashSet {
+
+    private long[] slots;
+    private int size;
+
+    LongHashSet(int expected) {
+        int cap = 16;
+        while (cap < expected * 2) cap <<= 1;
+        this.slots = new long[cap];
+    }
+
+    /** 새로 들어갔으면 true, 이미 있었으면 false */
+    boolean add(long v) {
+        if (v == 0) throw new IllegalArgumentException("0 is reserved");
+        if ((size + 1) * 2 > slots.length) grow();
+        if (!insert(slots, v)) return false;
+        size++;
+        return true;
+    }
+
+    boolean contains(long v) {
+        int mask = slots.length - 1;
+        for (int i = (int) LongBloomFilter.mix64(v) & mask; ; i = (i + 1) & mask) {
+            long s = slots[i];
+            if (s == 0) return false;
+            if (s == v) return true;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** 대략적인 메모리 사용량 (바이트) */
+    long bytes() {
+        return (long) slots.length * Long.BYTES;
+    }
+
+    /** 들어있는 값 순회 (bloom 전환용) */
+    void forEach(LongConsumer c) {
+        for (long s : slots) if (s != 0) c.accept(s);
+    }
+
+    private static boolean insert(long[] table, long v) {
+        int mask = table.length - 1;
+        for (int i = (int) LongBloomFilter.mix64(v) & mask; ; i = (i + 1) & mask) {
+            long s = table[i];
+            if (s == 0) {
+                table[i] = v;
+                return true;
+            }
+            if (s == v) return false;
+        }
+    }
+
+    private void grow() {
+        long[] next = new long[slots.length * 2];
+        for (long s : slots) if (s != 0) insert(next, s);
+        slots = next;
+    }
+}
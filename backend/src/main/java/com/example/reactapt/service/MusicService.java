@@ -4,27 +4,61 @@ import com.example.reactapt.controller.ScClient;
 import com.example.reactapt.config.DTO.ScPaging;
 import com.example.reactapt.config.DTO.ScChartItem;
 import com.example.reactapt.config.DTO.ScTrack;
-import org.springframework.core.ParameterizedTypeReference;
+import com.example.reactapt.config.ScBufferProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
+@Slf4j
 @Service
 public class MusicService {
     private final ScClient sc;
-    public MusicService(ScClient sc) { this.sc = sc; }
+    private final TrackIndex index;
+    private final CursorTokens cursors;
+
+    // 트렌딩 페이지 캐시 (sc.cache.trending.*). 첫 페이지/커서 페이지 모두 업스트림 URL 의 토큰 단위로 캐시
+    // 버퍼 모드에서는 업스트림 페이지를 크게(upstream-limit) 받아 두고 여기서 limit 만큼씩 잘라 내려줌
+    private final SwrCache<String, ScPaging<ScChartItem>> trendingCache;
+
+    // 다음 페이지 미리 받아두기 (sc.prefetch.*)
+    private final PagePrefetcher<ScPaging<ScChartItem>> prefetcher;
+
+    private final ScBufferProperties buffer;
+
+    public MusicService(ScClient sc, ScCaches caches, ScPrefetchers prefetchers, TrackIndex index,
+                        CursorTokens cursors, ScBufferProperties buffer) {
+        this.sc = sc;
+        this.index = index;
+        this.cursors = cursors;
+        this.buffer = buffer;
+        this.trendingCache = caches.create("sc-trending", caches.properties().getTrending(),
+                this::fetchTrending, CacheWeights::chartPage);
+        caches.persist(trendingCache, String.class, new TypeReference<ScPaging<ScChartItem>>() {});
+        this.prefetcher = prefetchers.create("sc-trending",
+                this::fetchCursorPage,
+                ScPaging::nextHref,
+                cursor -> trendingCache.getIfReady(cursor) != null);
+    }
 
     /**
      * ✅ charts 대신 search/tracks로 대체
      * - 첫 페이지: /search/tracks?q=<genre>&limit=<n>
-     * - 다음 페이지: next_href(절대 URL)를 그대로 getAbsolute로 호출
+     * - 다음 페이지: 응답의 next_href 는 커서 토큰 → 토큰 안의 최종 URL 로 바로 호출
+     *   (예전 클라이언트가 보내는 next_href 원문도 토큰으로 바꿔서 같은 캐시를 씀)
+     * - 버퍼 모드: 업스트림은 upstream-limit(50) 으로 받고 limit 만큼만 응답. 남은 조각은 같은 캐시 페이지에서
+     *   (next 토큰 = 그 페이지 안 위치) → 스크롤 몇 번에 업스트림 1번
      * - "undefined"/"null" 가드 + limit 클램프
      * - 빈 응답이면 nextHref를 null로 돌려 무한 스크롤 종료
      */
     // 기존 getTrending 그대로 두고, "첫 페이지: search/tracks" 만드는 부분만 교체
-    public ScPaging<ScChartItem> getTrending(String genre, int limit, String cursor) {
+    public Mono<ScPaging<ScChartItem>> getTrending(String genre, int limit, String cursor) {
         // 입력 가드
         if (genre == null || genre.isBlank()
                 || "undefined".equalsIgnoreCase(genre) || "null".equalsIgnoreCase(genre)) {
@@ -35,48 +69,125 @@ public class MusicService {
         }
         limit = Math.max(1, Math.min(50, limit));
 
-        System.out.println("[SRV] getTrending(search) genre=" + genre + ", limit=" + limit + ", cursor=" + cursor);
-
-        // 다음 페이지: next_href(절대 URL) 그대로
-        if (cursor != null) {
-            var page = sc.getAbsolute(cursor, new ParameterizedTypeReference<ScPaging<ScTrack>>() {});
-            return toChartPage(page);
-        }
+        log.atDebug().setMessage("getTrending")
+                .addKeyValue("genre", genre).addKeyValue("limit", limit).addKeyValue("cursor", cursor).log();
 
-        // ── 🔧 여기부터가 핵심 패치 ─────────────────────────────────────────
         // charts 네임스페이스 제거: "soundcloud:genres:all-music" → "all-music"
         String g = genre;
         if (g.startsWith("soundcloud:genres:")) {
             g = g.substring("soundcloud:genres:".length());
         }
 
+        // 커서 원문 → 토큰 변환이 URL 파싱이라 실패도 Mono 에러로 (컨트롤러의 onErrorResume 이 받게)
+        String c = cursor, slug = g;
+        int n = limit;
+        return Mono.fromCallable(() -> c != null ? target(c) : firstPage(slug, n))
+                // 페이지 끝까지 내려줄 때 다음 업스트림 페이지 미리 받기
+                .flatMap(t -> PageSlices.take(cursors, t, n, trendingCache::get,
+                        ScPaging::collection, ScPaging::nextHref, prefetcher::afterServed))
+                .map(s -> new ScPaging<>(s.items(), s.next(), s.page().queryUrn(), s.page().totalResults()))
+                .doOnNext(p -> index.addChartItems(p.collection())); // 자동완성 인덱스에 수집
+    }
+
+    /** 미리 데우기 결과 (장르 하나): 새로 받은 페이지 / 충분히 새거라 건너뛴 페이지 / 예산이 모자라 멈췄는지 */
+    public record Prewarm(int refreshed, int fresh, boolean outOfBudget) {
+        public static final Prewarm NONE = new Prewarm(0, 0, false);
+    }
+
+    /**
+     * 트렌딩 앞 pages 페이지를 캐시에 다시 채움 (TrendingPrewarmer 가 주기적으로 호출)
+     * - getTrending 과 같은 첫 페이지 토큰에서 시작해 next 토큰을 따라감 → 사용자 요청과 같은 캐시 키
+     * - minAge 안에 로드된 페이지는 그대로 두고 다음 토큰만 따라감 (업스트림 호출 없음)
+     * - 업스트림 호출 전마다 budget 확인, 없으면 거기서 멈춤
+     */
+    public Mono<Prewarm> prewarm(String genre, int limit, int pages, Duration minAge, BooleanSupplier budget) {
+        int n = Math.max(1, Math.min(50, limit));
+        return Mono.fromCallable(() -> firstPage(genre, n).pageToken())
+                .flatMap(token -> prewarmFrom(token, pages, minAge, budget, Prewarm.NONE));
+    }
+
+    private Mono<Prewarm> prewarmFrom(String token, int left, Duration minAge, BooleanSupplier budget, Prewarm acc) {
+        if (token == null || left <= 0) return Mono.just(acc);
+
+        ScPaging<ScChartItem> cached = trendingCache.getIfReady(token);
+        boolean fresh = cached != null
+                && trendingCache.ageOf(token).map(age -> age.compareTo(minAge) < 0).orElse(false);
+        if (fresh) {
+            return prewarmFrom(cached.nextHref(), left - 1, minAge, budget,
+                    new Prewarm(acc.refreshed(), acc.fresh() + 1, false));
+        }
+        if (!budget.getAsBoolean()) {
+            return Mono.just(new Prewarm(acc.refreshed(), acc.fresh(), true));
+        }
+        return trendingCache.refresh(token)
+                .doOnNext(p -> index.addChartItems(p.collection()))
+                .flatMap(p -> prewarmFrom(p.nextHref(), left - 1, minAge, budget,
+                        new Prewarm(acc.refreshed() + 1, acc.fresh(), false)));
+    }
+
+    /** 첫 페이지 URL 만들고 토큰 발급 */
+    private CursorTokens.Target firstPage(String g, int limit) {
+        // ── 🔧 여기부터가 핵심 패치 ─────────────────────────────────────────
         // search/tracks는 장르를 q가 아니라 filter.genre_or_tag로 거는 게 맞음
         // all-music은 사실상 전체이므로 필터 생략, 검색어(q)는 빈 문자열로
         StringBuilder sb = new StringBuilder();
         sb.append("q=").append(encode(""));               // ← q는 비우기
-        sb.append("&limit=").append(limit);
+        sb.append("&limit=").append(buffer.upstreamLimit(limit));
         sb.append("&linked_partitioning=1");              // 페이지네이션
 
         if (!"all-music".equalsIgnoreCase(g) && !g.isBlank()) {
             sb.append("&filter.genre_or_tag=").append(encode(g)); // ← 장르 필터는 여기
         }
-
-        var page = sc.get("/search/tracks", sb.toString(),
-                new ParameterizedTypeReference<ScPaging<ScTrack>>() {});
         // ────────────────────────────────────────────────────────────────
+        return cursors.resolve(cursors.issue(sc.url("/search/tracks", sb.toString())));
+    }
+
+    /** 요청 커서 → 가리키는 페이지/위치 */
+    private CursorTokens.Target target(String cursor) {
+        return cursors.resolve(tokenOf(cursor));
+    }
+
+    /** 캐시 미스/갱신 시 실제 업스트림 호출 (키 = 페이지 토큰). 미리 받아둔 페이지가 있으면 그걸 사용 */
+    private Mono<ScPaging<ScChartItem>> fetchTrending(String pageToken) {
+        var prefetched = prefetcher.take(pageToken);
+        if (prefetched != null) return Mono.just(prefetched);
+        return fetchCursorPage(pageToken);
+    }
+
+    /** 커서 토큰 → 토큰의 검색 상태로 최종 URL 을 다시 만들어 호출 (풀리지 않는 토큰이면 410) */
+    private Mono<ScPaging<ScChartItem>> fetchCursorPage(String token) {
+        return Mono.fromCallable(() -> sc.prepare(cursors.resolve(token).url()))
+                .flatMap(sc::getPreparedTrackPage)
+                .map(MusicService::toChartPage)
+                .map(this::withCursorToken);
+    }
+
+    /** 요청 커서 → 토큰 (next_href 원문이면 검색 상태만 뽑아 토큰 발급) */
+    private String tokenOf(String cursor) {
+        return CursorTokens.isToken(cursor) ? cursor : cursors.issue(cursor);
+    }
 
-        return toChartPage(page);
+    /** 업스트림 next_href → 커서 토큰 (client_id 가 프론트로 안 나가게) */
+    private <T> ScPaging<T> withCursorToken(ScPaging<T> page) {
+        if (page.nextHref() == null) return page;
+        return new ScPaging<>(page.collection(), cursors.issue(page.nextHref()),
+                page.queryUrn(), page.totalResults());
     }
 
 
     /** 기존 공개 검색 엔드포인트 (필요 시 유지) */
-    public ScPaging<ScTrack> searchTracks(String q, int limit, String cursor) {
+    public Mono<ScPaging<ScTrack>> searchTracks(String q, int limit, String cursor) {
         if (cursor != null && !cursor.isBlank()
                 && !"undefined".equalsIgnoreCase(cursor) && !"null".equalsIgnoreCase(cursor)) {
-            return sc.getAbsolute(cursor, new ParameterizedTypeReference<ScPaging<ScTrack>>() {});
+            return Mono.fromCallable(() -> sc.prepare(cursors.resolve(tokenOf(cursor)).url()))
+                    .flatMap(sc::getPreparedTrackPage)
+                    .map(this::withCursorToken)
+                    .doOnNext(p -> index.addScTracks(p.collection()));
         }
         var query = "q=" + encode(q) + "&limit=" + limit + "&linked_partitioning=1";
-        return sc.get("/search/tracks", query, new ParameterizedTypeReference<ScPaging<ScTrack>>() {});
+        return sc.getTrackPage("/search/tracks", query)
+                .map(this::withCursorToken)
+                .doOnNext(p -> index.addScTracks(p.collection()));
     }
 
     // ─────────────────────────────────────────────────────────────
@@ -86,7 +197,7 @@ public class MusicService {
     }
 
     /** ScPaging<ScTrack> → ScPaging<ScChartItem> 매핑 + 빈 응답 시 nextHref null 처리 */
-    private ScPaging<ScChartItem> toChartPage(ScPaging<ScTrack> page) {
+    static ScPaging<ScChartItem> toChartPage(ScPaging<ScTrack> page) {
         if (page == null || page.collection() == null || page.collection().isEmpty()) {
             return new ScPaging<>(List.of(), null, page == null ? null : page.queryUrn(), 0);
         }
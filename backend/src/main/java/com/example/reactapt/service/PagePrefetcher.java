@@ -0,0 +1,169 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScPrefetchProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 무한 스크롤용 다음 페이지 prefetch
+ * - 페이지를 응답한 뒤(afterServed) next 커서 페이지를 백그라운드로 받아서 커서 키로 잠깐 보관
+ * - 후속 커서 요청은 take()로 메모리에서 바로 응답
+ * - 동시 prefetch 수(max-in-flight)를 넘으면 건너뜀, ttl 안에 안 쓰인 페이지는 waste로 집계
+ *
+ * 생성은 {@link ScPrefetchers#create} 로만
+ */
+public class PagePrefetcher<T> {
+
+    private final String name;
+    private final ScPrefetchProperties props;
+    private final Function<String, Mono<T>> fetchByCursor;
+    private final Function<T, String> nextCursorOf;
+    private final Predicate<String> cachedElsewhere;
+
+    private final Cache<String, T> parked;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder wasted = new LongAdder();
+    private final LongAdder skippedBudget = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    PagePrefetcher(String name, ScPrefetchProperties props,
+                   Function<String, Mono<T>> fetchByCursor,
+                   Function<T, String> nextCursorOf,
+                   Predicate<String> cachedElsewhere) {
+        this.name = name;
+        this.props = props;
+        this.fetchByCursor = fetchByCursor;
+        this.nextCursorOf = nextCursorOf;
+        this.cachedElsewhere = cachedElsewhere;
+        this.parked = Caffeine.newBuilder()
+                .expireAfterWrite(props.getTtl())
+                .maximumSize(props.getMaxPages())
+                .removalListener((String key, T page, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) wasted.increment(); // 만료/용량 초과로 한 번도 안 쓰이고 버려짐
+                })
+                .build();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** 커서 요청이 오면 먼저 확인. 미리 받아둔 페이지가 있으면 꺼내서 반환(한 번만), 없으면 null */
+    public T take(String cursor) {
+        if (cursor == null) return null;
+        T page = parked.asMap().remove(key(cursor));
+        if (page != null) hits.increment();
+        return page;
+    }
+
+    /** 페이지 하나를 응답한 직후 호출 → 다음 페이지들(depth)을 백그라운드로 */
+    public void afterServed(T page) {
+        if (!props.isEnabled() || page == null) return;
+        prefetch(nextCursorOf.apply(page), props.getDepth());
+    }
+
+    private void prefetch(String cursor, int remaining) {
+        if (cursor == null || cursor.isBlank() || remaining <= 0) return;
+        String key = key(cursor);
+
+        T already = parked.getIfPresent(key);
+        if (already != null) {
+            // 이미 받아둔 페이지면 그 다음 페이지로 진행
+            prefetch(nextCursorOf.apply(already), remaining - 1);
+            return;
+        }
+        if (cachedElsewhere.test(cursor) || !inFlight.add(key)) return;
+
+        if (running.incrementAndGet() > props.getMaxInFlight()) {
+            running.decrementAndGet();
+            inFlight.remove(key);
+            skippedBudget.increment();
+            return;
+        }
+
+        issued.increment();
+        // 업스트림 자리는 사용자 요청 다음 (background)
+        Admission.background(Mono.delay(props.getDelay())
+                        .then(Mono.defer(() -> fetchByCursor.apply(cursor))))
+                .doFinally(signal -> {
+                    running.decrementAndGet();
+                    inFlight.remove(key);
+                })
+                .subscribe(
+                        next -> {
+                            parked.put(key, next);
+                            prefetch(nextCursorOf.apply(next), remaining - 1);
+                        },
+                        error -> failed.increment());
+    }
+
+    /**
+     * 커서 키: 프론트가 next_href를 여러 번 decode 해서 보내는 경우가 있어서
+     * 완전히 decode 된 형태로 맞춤
+     */
+    static String key(String cursor) {
+        String prev = cursor;
+        for (int i = 0; i < 3; i++) {
+            String decoded = UriUtils.decode(prev, StandardCharsets.UTF_8);
+            if (decoded.equals(prev)) break;
+            prev = decoded;
+        }
+        return prev;
+    }
+
+    /** sc.prefetch{name, stat}: 스크랩 때 stat 마다 해당 카운터 하나만 읽음 (stats() 맵은 안 만듦) */
+    void registerMeters(MeterRegistry registry) {
+        gauge(registry, "issued", p -> p.issued.sum());
+        gauge(registry, "hits", p -> p.hits.sum());
+        gauge(registry, "wasted", p -> p.wasted.sum());
+        gauge(registry, "skippedBudget", p -> p.skippedBudget.sum());
+        gauge(registry, "failed", p -> p.failed.sum());
+        gauge(registry, "hitRatio", p -> ratio(p.hits, p.issued));
+        gauge(registry, "wasteRatio", p -> ratio(p.wasted, p.issued));
+        gauge(registry, "parked", p -> p.parked.estimatedSize());
+        gauge(registry, "inFlight", p -> p.running.get());
+    }
+
+    private void gauge(MeterRegistry registry, String stat, ToDoubleFunction<PagePrefetcher<T>> value) {
+        Gauge.builder("sc.prefetch", this, value).tag("name", name).tag("stat", stat).register(registry);
+    }
+
+    private static double ratio(LongAdder part, LongAdder total) {
+        long t = total.sum();
+        return t == 0 ? 0.0 : (double) part.sum() / t;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("issued", issued.sum());
+        out.put("hits", hits.sum());
+        out.put("wasted", wasted.sum());
+        out.put("skippedBudget", skippedBudget.sum());
+        out.put("failed", failed.sum());
+        out.put("hitRatio", ratio(hits, issued));
+        out.put("wasteRatio", ratio(wasted, issued));
+        out.put("parked", parked.estimatedSize());
+        out.put("inFlight", running.get());
+        return out;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.reactapt.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 크게 받은 업스트림 페이지를 limit 개씩 잘라 내려주기 (sc.buffer.*)
+ * - 시작 위치 = 커서 토큰이 가리키는 (페이지 URL, offset)
+ * - 페이지 끝에서 모자라면 next 페이지(캐시/prefetch 경로)에서 이어서 채움 → 응답은 항상 limit 개 (마지막 페이지 제외)
+ * - next 커서: 페이지 안에서 멈췄으면 그 위치 토큰, 페이지를 다 썼으면 업스트림 next 토큰
+ */
+final class PageSlices {
+
+    private PageSlices() {
+    }
+
+    /** 잘라낸 결과 + 마지막으로 읽은 페이지 (query_urn 등 메타데이터용) */
+    record Slice<P, T>(P page, List<T> items, String next) {}
+
+    /**
+     * @param load            페이지 토큰 → 페이지 (캐시)
+     * @param pageConsumed    페이지 끝까지 내려주고 멈출 때 (다음 페이지 prefetch)
+     */
+    static <P, T> Mono<Slice<P, T>> take(CursorTokens cursors, CursorTokens.Target start, int limit,
+                                         Function<String, Mono<P>> load,
+                                         Function<P, List<T>> itemsOf,
+                                         Function<P, String> nextOf,
+                                         Consumer<P> pageConsumed) {
+        return take(cursors, start, limit, load, itemsOf, nextOf, pageConsumed, new ArrayList<>(limit));
+    }
+
+    private static <P, T> Mono<Slice<P, T>> take(CursorTokens cursors, CursorTokens.Target at, int limit,
+                                                  Function<String, Mono<P>> load,
+                                                  Function<P, List<T>> itemsOf,
+                                                  Function<P, String> nextOf,
+                                                  Consumer<P> pageConsumed,
+                                                  List<T> out) {
+        return load.apply(at.pageToken()).flatMap(page -> {
+            List<T> items = itemsOf.apply(page);
+            int size = items == null ? 0 : items.size();
+            int from = Math.min(at.offset(), size);
+            int to = Math.min(from + limit - out.size(), size);
+            if (to > from) out.addAll(items.subList(from, to));
+
+            // 페이지 안에서 다 채움 → 다음은 같은 페이지(메모리)의 다음 위치
+            if (to < size) return Mono.just(new Slice<>(page, List.copyOf(out), cursors.issue(at.url(), to)));
+
+            String next = nextOf.apply(page);
+            if (out.size() >= limit || next == null || size == 0) {
+                pageConsumed.accept(page);
+                return Mono.just(new Slice<>(page, List.copyOf(out), next));
+            }
+            // 페이지 끝에서 모자람 → 다음 업스트림 페이지에서 이어서
+            return Mono.fromCallable(() -> cursors.resolve(next))
+                    .flatMap(t -> take(cursors, t, limit, load, itemsOf, nextOf, pageConsumed, out));
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.PlaylistItem;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * playlist 저장소 바이너리 인코딩 (op 로그 레코드 / 스냅샷 블록 공용)
+ * - 문자열: int 길이(-1 = null) + UTF-8 바이트, 숫자: 빅엔디언 고정 길이
+ * - 읽기는 ByteBuffer 기준이라 mmap 한 스냅샷/로그를 복사 없이 바로 디코딩
+ */
+final class PlaylistCodec {
+
+    private PlaylistCodec() {
+    }
+
+    /** 늘어나는 byte[] 위에 쓰는 간단한 writer (DataOutputStream 보다 할당 적음) */
+    static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            this.buf = new byte[Math.max(16, capacity)];
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+
+        Writer putByte(int v) {
+            ensure(1);
+            buf[pos++] = (byte) v;
+            return this;
+        }
+
+        Writer putInt(int v) {
+            ensure(4);
+            buf[pos++] = (byte) (v >>> 24);
+            buf[pos++] = (byte) (v >>> 16);
+            buf[pos++] = (byte) (v >>> 8);
+            buf[pos++] = (byte) v;
+            return this;
+        }
+
+        Writer putLong(long v) {
+            putInt((int) (v >>> 32));
+            return putInt((int) v);
+        }
+
+        Writer putString(String s) {
+            if (s == null) return putInt(-1);
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            putInt(b.length);
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    static String getString(ByteBuffer b) {
+        int len = b.getInt();
+        if (len < 0) return null;
+        String s;
+        if (b.hasArray()) {
+            s = new String(b.array(), b.arrayOffset() + b.position(), len, StandardCharsets.UTF_8);
+        } else {
+            byte[] tmp = new byte[len];
+            b.get(b.position(), tmp);
+            s = new String(tmp, StandardCharsets.UTF_8);
+        }
+        b.position(b.position() + len);
+        return s;
+    }
+
+    static void putItem(Writer w, PlaylistItem it) {
+        w.putString(it.id())
+                .putString(it.kind())
+                .putString(it.source())
+                .putString(it.externalId())
+                .putString(it.title())
+                .putString(it.subtitle())
+                .putLong(it.durationMs() == null ? -1 : it.durationMs())
+                .putString(it.thumbnail())
+                .putString(it.url())
+                .putLong(it.addedAt());
+    }
+
+    static PlaylistItem getItem(ByteBuffer b) {
+        String id = getString(b);
+        String kind = getString(b);
+        String source = getString(b);
+        String externalId = getString(b);
+        String title = getString(b);
+        String subtitle = getString(b);
+        long duration = b.getLong();
+        String thumbnail = getString(b);
+        String url = getString(b);
+        long addedAt = b.getLong();
+        return new PlaylistItem(id, kind, source, externalId, title, subtitle,
+                duration < 0 ? null : duration, thumbnail, url, addedAt);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.reactapt.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * playlist op 로그 (추가 전용, 세그먼트 파일 log-<번호>.bin)
+ * - 레코드: int 길이 + int CRC32C + payload
+ * - group commit: 요청 스레드는 큐에 넣고 future 만 받음. 쓰기 스레드 하나가 쌓인 레코드를 한 번에 write + fsync 1회
+ *   → 동시 요청이 많을수록 fsync 1회당 레코드 수가 늘어남
+ * - rotate(): 큐 순서대로 처리되므로 그 전에 넣은 레코드는 이전 세그먼트, 이후 레코드는 새 세그먼트
+ * - write/fsync/전환이 한 번 실패하면 로그는 멈춤: 파일 상태를 알 수 없으므로 이어 쓰지 않고 이후 레코드는 모두 실패
+ *   (호출자는 실패한 레코드 뒤에 넣은 레코드도 반영되지 않았다고 보면 됨)
+ */
+final class PlaylistLog implements AutoCloseable {
+
+    private static final int HEADER = 8;
+
+    private final Path dir;
+    private final boolean fsync;
+    private final int maxBatch;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    /** 처음 실패한 쓰기 (null 이면 정상) */
+    private volatile IOException failed;
+
+    // 쓰기 스레드 전용
+    private FileChannel channel;
+    private volatile long segment;
+
+    private final LongAdder records = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    /** rotate 면 payload 없이 done 에 닫은 세그먼트 번호 */
+    private record Pending(byte[] payload, CompletableFuture<Long> done) {}
+
+    PlaylistLog(Path dir, long segment, boolean fsync, int maxBatch) throws IOException {
+        this.dir = dir;
+        this.fsync = fsync;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.segment = segment;
+        this.channel = open(segment);
+        this.writer = new Thread(this::run, "playlist-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    private FileChannel open(long n) throws IOException {
+        return FileChannel.open(segmentPath(dir, n),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static Path segmentPath(Path dir, long n) {
+        return dir.resolve(String.format("log-%016d.bin", n));
+    }
+
+    /** 디렉터리의 세그먼트 번호 (오름차순) */
+    static List<Long> segments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith("log-") && n.endsWith(".bin"))
+                    .map(n -> Long.parseLong(n.substring(4, n.length() - 4)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    long segment() {
+        return segment;
+    }
+
+    /** 레코드 추가. fsync(설정 시)까지 끝나면 완료 */
+    CompletableFuture<Long> append(byte[] payload) {
+        return enqueue(payload);
+    }
+
+    /** 새 세그먼트로 전환. 완료 값 = 방금 닫은 세그먼트 번호 */
+    CompletableFuture<Long> rotate() {
+        return enqueue(null);
+    }
+
+    private CompletableFuture<Long> enqueue(byte[] payload) {
+        if (closed) return CompletableFuture.failedFuture(new IllegalStateException("playlist log closed"));
+        if (failed != null) return CompletableFuture.failedFuture(stopped());
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        queue.add(new Pending(payload, done));
+        return done;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Pending> batch) {
+        int from = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).payload() == null) {
+                flush(batch.subList(from, i));
+                from = i + 1;
+                Pending rotate = batch.get(i);
+                if (failed != null) {
+                    rotate.done().completeExceptionally(stopped());
+                    continue;
+                }
+                try {
+                    long closedSegment = segment;
+                    channel.force(true);
+                    channel.close();
+                    channel = open(closedSegment + 1);
+                    segment = closedSegment + 1;
+                    rotate.done().complete(closedSegment);
+                } catch (IOException e) {
+                    failed = e;
+                    rotate.done().completeExceptionally(e);
+                }
+            }
+        }
+        flush(batch.subList(from, batch.size()));
+    }
+
+    private void flush(List<Pending> batch) {
+        if (batch.isEmpty()) return;
+        if (failed != null) {
+            IOException e = stopped();
+            for (Pending p : batch) p.done().completeExceptionally(e);
+            return;
+        }
+        int total = 0;
+        for (Pending p : batch) total += HEADER + p.payload().length;
+
+        ByteBuffer buf = ByteBuffer.allocate(total);
+        CRC32C crc = new CRC32C();
+        for (Pending p : batch) {
+            crc.reset();
+            crc.update(p.payload());
+            buf.putInt(p.payload().length).putInt((int) crc.getValue()).put(p.payload());
+        }
+        buf.flip();
+        try {
+            while (buf.hasRemaining()) channel.write(buf);
+            if (fsync) channel.force(false);
+            records.add(batch.size());
+            batches.increment();
+            bytes.add(total);
+            long seg = segment;
+            for (Pending p : batch) p.done().complete(seg);
+        } catch (IOException e) {
+            failed = e;
+            for (Pending p : batch) p.done().completeExceptionally(e);
+        }
+    }
+
+    private IOException stopped() {
+        return new IOException("playlist log stopped after a failed write", failed);
+    }
+
+    /**
+     * 세그먼트 재생 (mmap 으로 읽음)
+     * - 마지막 레코드가 잘렸거나(쓰다 죽음) CRC 가 안 맞으면 거기서 멈춤
+     * @return 재생한 레코드 수
+     */
+    static long replay(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size == 0) return 0;
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+            long count = 0;
+            while (map.remaining() >= HEADER) {
+                int len = map.getInt();
+                int expected = map.getInt();
+                if (len < 0 || len > map.remaining()) break;
+                ByteBuffer payload = map.slice(map.position(), len);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != expected) break;
+                consumer.accept(payload);
+                map.position(map.position() + len);
+                count++;
+            }
+            return count;
+        }
+    }
+
+    Map<String, Object> stats() {
+        long b = batches.sum();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("segment", segment);
+        out.put("records", records.sum());
+        out.put("commits", b);
+        out.put("recordsPerCommit", b == 0 ? 0 : (double) records.sum() / b);
+        out.put("bytes", bytes.sum());
+        out.put("queued", queue.size());
+        out.put("failed", failed == null ? null : failed.toString());
+        return out;
+    }
+
+    /** 큐에 남은 레코드까지 쓰고 닫음 */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 닫히는 순간 끼어든 레코드는 실패로
+        Pending p;
+        while ((p = queue.poll()) != null) {
+            p.done().completeExceptionally(new IllegalStateException("playlist log closed"));
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.reactapt.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * playlist 스냅샷 파일 (snapshot-<마지막으로 포함한 로그 세그먼트 번호>.bin)
+ * - 헤더: magic, version, covered(세그먼트 번호), playlist 수
+ * - 본문: [int 길이][블록] 반복. 블록 = playlist 하나 (id, name, createdAt, updatedAt, 항목 수, 항목들)
+ * - 열 때는 블록 길이만 따라가며 id → 위치 인덱스만 만들고, 내용은 요청 때 mmap 에서 바로 디코딩
+ * - 2GB 넘는 파일은 한 번에 매핑할 수 없어 위치 지정 read 로 대체
+ */
+final class PlaylistSnapshot implements AutoCloseable {
+
+    private static final int MAGIC = 0x504C5331; // "PLS1"
+    private static final int VERSION = 1;
+
+    private final Path path;
+    private final long covered;
+    private final long size;
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    /** id → {블록 시작 위치, 길이} */
+    private final Map<String, long[]> index;
+
+    private PlaylistSnapshot(Path path, long covered, long size, FileChannel channel,
+                             MappedByteBuffer map, Map<String, long[]> index) {
+        this.path = path;
+        this.covered = covered;
+        this.size = size;
+        this.channel = channel;
+        this.map = map;
+        this.index = index;
+    }
+
+    static PlaylistSnapshot empty() {
+        return new PlaylistSnapshot(null, 0, 0, null, null, Map.of());
+    }
+
+    static Path path(Path dir, long covered) {
+        return dir.resolve(String.format("snapshot-%016d.bin", covered));
+    }
+
+    /** 스냅샷 파일들 (covered 오름차순) */
+    static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                        String n = p.getFileName().toString();
+                        return n.startsWith("snapshot-") && n.endsWith(".bin");
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static PlaylistSnapshot open(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = ch.size();
+            MappedByteBuffer map = size <= Integer.MAX_VALUE ? ch.map(FileChannel.MapMode.READ_ONLY, 0, size) : null;
+
+            ByteBuffer header = read(ch, map, 0, 20);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("not a playlist snapshot: " + path);
+            }
+            long covered = header.getLong();
+            int count = header.getInt();
+
+            Map<String, long[]> index = new HashMap<>(count * 2);
+            long pos = 20;
+            for (int i = 0; i < count; i++) {
+                int len = read(ch, map, pos, 4).getInt();
+                // 블록 맨 앞이 id
+                ByteBuffer head = read(ch, map, pos + 4, Math.min(len, 4 + 4 * 1024));
+                index.put(PlaylistCodec.getString(head), new long[]{pos + 4, len});
+                pos += 4 + len;
+            }
+            return new PlaylistSnapshot(path, covered, size, ch, map, index);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuffer read(FileChannel ch, MappedByteBuffer map, long pos, int len) throws IOException {
+        if (map != null) return map.slice((int) pos, len);
+        ByteBuffer buf = ByteBuffer.allocate(len);
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, pos + buf.position()) < 0) throw new IOException("unexpected end of snapshot");
+        }
+        return buf.flip();
+    }
+
+    long covered() {
+        return covered;
+    }
+
+    long size() {
+        return size;
+    }
+
+    Set<String> ids() {
+        return index.keySet();
+    }
+
+    int count() {
+        return index.size();
+    }
+
+    /** playlist 블록 (없으면 null). 매핑된 파일이면 복사 없는 slice */
+    ByteBuffer block(String id) {
+        long[] at = index.get(id);
+        if (at == null) return null;
+        try {
+            return read(channel, map, at[0], (int) at[1]);
+        } catch (IOException e) {
+            throw new IllegalStateException("playlist snapshot read failed: " + path, e);
+        }
+    }
+
+    /**
+     * 새 스냅샷 쓰기: 임시 파일에 다 쓰고 fsync 후 이름 바꾸기 (중간에 죽어도 이전 스냅샷은 그대로)
+     */
+    static Path write(Path dir, long covered, int count, Iterator<ByteBuffer> blocks) throws IOException {
+        Path target = path(dir, covered);
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream raw = Channels.newOutputStream(ch);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(raw, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(covered);
+            out.writeInt(count);
+            int written = 0;
+            while (blocks.hasNext()) {
+                ByteBuffer b = blocks.next();
+                out.writeInt(b.remaining());
+                if (b.hasArray()) {
+                    out.write(b.array(), b.arrayOffset() + b.position(), b.remaining());
+                } else {
+                    byte[] tmpBuf = new byte[b.remaining()];
+                    b.duplicate().get(tmpBuf);
+                    out.write(tmpBuf);
+                }
+                written++;
+            }
+            if (written != count) throw new IllegalStateException("snapshot count mismatch " + written + " != " + count);
+            out.flush();
+            ch.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+}
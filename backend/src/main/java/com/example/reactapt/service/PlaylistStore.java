@@ -0,0 +1,725 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.PlaylistDto;
+import com.example.reactapt.config.DTO.PlaylistItem;
+import com.example.reactapt.config.DTO.PlaylistSummary;
+import com.example.reactapt.config.PlaylistStoreProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 서버 playlist 저장소 (/api/playlists)
+ *
+ * 쓰기
+ * - 변경(추가/삭제/순서 이동/이름 변경 …)은 op 하나로 표현해서 메모리에 적용 + op 로그에 추가만 함 (문서 전체 재작성 없음)
+ * - 로그는 group commit: 동시에 들어온 op 들을 한 번의 write + fsync 로 (PlaylistLog)
+ * - 응답은 fsync 가 끝난 뒤 (Mono 완료 시점 = 디스크 반영)
+ * - 메모리 적용은 로그보다 먼저 (중복/범위 검사가 적용 순서를 따라야 해서). 로그 쓰기가 실패하면 그 op 와
+ *   같은 playlist 에 뒤이어 적용된 op 를 역순으로 되돌림 → 읽기에 디스크에 없는 상태가 남지 않음
+ *
+ * 읽기
+ * - 마지막 스냅샷 이후 바뀐 playlist 만 메모리(live)에 있고, 나머지는 mmap 한 스냅샷에서 바로 디코딩
+ * - 스냅샷을 새로 만들면 그 사이 안 바뀐 live playlist 는 메모리에서 내림
+ *
+ * 복구
+ * - 가장 최근 스냅샷을 열고, 그 스냅샷이 포함한 세그먼트 이후의 로그만 재생
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "playlist.store", name = "enabled", havingValue = "true")
+public class PlaylistStore implements AutoCloseable {
+
+    private final PlaylistStoreProperties props;
+    private final Path dir;
+    private final PlaylistLog oplog;
+
+    private final ConcurrentHashMap<String, Live> live = new ConcurrentHashMap<>();
+    /** op 적용(읽기 잠금)과 스냅샷 시작 시점의 로그 전환/동결(쓰기 잠금)을 구분 */
+    private final ReentrantReadWriteLock rotation = new ReentrantReadWriteLock();
+    private volatile PlaylistSnapshot snapshot;
+    /** 교체 직후에도 이전 스냅샷을 읽는 요청이 있을 수 있어 한 번 늦게 닫음 */
+    private PlaylistSnapshot retired;
+
+    private final LongAdder opsSinceSnapshot = new LongAdder();
+    private final LongAdder ops = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder rolledBack = new LongAdder();
+    private volatile long recoveredOps;
+    private volatile double recoveryMs;
+    private volatile double lastSnapshotMs;
+
+    public PlaylistStore(PlaylistStoreProperties props, MeterRegistry registry) throws IOException {
+        this.props = props;
+        this.dir = Path.of(props.getDir()).toAbsolutePath();
+        Files.createDirectories(dir);
+
+        long started = System.nanoTime();
+        this.snapshot = openLatestSnapshot();
+        long covered = snapshot.covered();
+        long last = covered;
+        long replayed = 0;
+        for (long seg : PlaylistLog.segments(dir)) {
+            if (seg <= covered) continue;
+            replayed += PlaylistLog.replay(PlaylistLog.segmentPath(dir, seg), b -> replay(Op.decode(b)));
+            last = seg;
+        }
+        // 재생한 세그먼트에는 이어 쓰지 않고 새 세그먼트부터 (잘린 꼬리가 있어도 그대로 둠)
+        this.oplog = new PlaylistLog(dir, last + 1, props.isFsync(), props.getGroupCommitMaxBatch());
+        opsSinceSnapshot.add(replayed);
+        this.recoveredOps = replayed;
+        this.recoveryMs = (System.nanoTime() - started) / 1_000_000.0;
+        log.info("playlist store recovered: {} playlists (snapshot {} + {} ops) in {} ms from {}",
+                count(), snapshot.count(), replayed, String.format(Locale.ROOT, "%.1f", recoveryMs), dir);
+
+        Gauge.builder("playlist.store.live", live, Map::size).register(registry);
+        Gauge.builder("playlist.store.ops.since.snapshot", opsSinceSnapshot, LongAdder::sum).register(registry);
+    }
+
+    private PlaylistSnapshot openLatestSnapshot() throws IOException {
+        try (var tmp = Files.list(dir)) {
+            for (Path p : tmp.filter(p -> p.getFileName().toString().endsWith(".tmp")).toList()) {
+                Files.deleteIfExists(p); // 쓰다 죽은 스냅샷
+            }
+        }
+        List<Path> all = PlaylistSnapshot.list(dir);
+        for (int i = all.size() - 1; i >= 0; i--) {
+            try {
+                return PlaylistSnapshot.open(all.get(i));
+            } catch (IOException | RuntimeException e) {
+                log.warn("skip unreadable playlist snapshot {}: {}", all.get(i), e.toString());
+            }
+        }
+        return PlaylistSnapshot.empty();
+    }
+
+    // ───────────────────────── 읽기 ─────────────────────────
+
+    public Mono<PlaylistDto> get(String id) {
+        return Mono.fromSupplier(() -> find(id))
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    PlaylistDto find(String id) {
+        for (;;) {
+            Live l = live.get(id);
+            if (l == null) {
+                ByteBuffer block = snapshot.block(id);
+                return block == null ? null : Live.decode(block).toDto();
+            }
+            synchronized (l) {
+                if (l.evicted) continue;
+                return l.deleted ? null : l.toDto();
+            }
+        }
+    }
+
+    public List<PlaylistSummary> list() {
+        List<PlaylistSummary> out = new ArrayList<>();
+        PlaylistSnapshot s = snapshot;
+        for (Live l : live.values()) {
+            synchronized (l) {
+                if (!l.deleted && !l.evicted) out.add(l.summary());
+            }
+        }
+        for (String id : s.ids()) {
+            if (live.containsKey(id)) continue;
+            ByteBuffer block = s.block(id);
+            if (block != null) out.add(Live.summary(block));
+        }
+        out.sort(Comparator.comparingLong(PlaylistSummary::createdAt).thenComparing(PlaylistSummary::id));
+        return out;
+    }
+
+    int count() {
+        int n = 0;
+        for (Live l : live.values()) if (!l.deleted) n++;
+        for (String id : snapshot.ids()) if (!live.containsKey(id)) n++;
+        return n;
+    }
+
+    // ───────────────────────── 쓰기 ─────────────────────────
+
+    public Mono<PlaylistSummary> create(String name) {
+        return Mono.defer(() -> {
+            long now = System.currentTimeMillis();
+            Op.Create op = new Op.Create(UUID.randomUUID().toString(), now, blankTo(name, "(Untitled)"));
+            Live l = new Live(op.pid(), op.name(), now, now, new ArrayList<>());
+            CompletableFuture<Long> done;
+            rotation.readLock().lock();
+            try {
+                synchronized (l) {
+                    live.put(l.id, l);
+                    done = track(l, commit(op), () -> {
+                        l.deleted = true;
+                        live.remove(l.id, l);
+                    });
+                }
+            } finally {
+                rotation.readLock().unlock();
+            }
+            return Mono.fromFuture(done, true).thenReturn(l.summaryLocked());
+        });
+    }
+
+    public Mono<Void> rename(String id, String name) {
+        return mutate(new Op.Rename(id, System.currentTimeMillis(), blankTo(name, "(Untitled)")));
+    }
+
+    public Mono<Void> delete(String id) {
+        return mutate(new Op.Delete(id, System.currentTimeMillis()));
+    }
+
+    /** 항목 추가 (프론트와 같은 중복 규칙이면 추가 안 함). 정리된 항목 반환 */
+    public Mono<PlaylistItem> addItem(String id, PlaylistItem raw) {
+        long now = System.currentTimeMillis();
+        PlaylistItem item = sanitize(raw, now);
+        return mutate(new Op.Add(id, now, item)).thenReturn(item);
+    }
+
+    public Mono<Void> removeItem(String id, String itemId) {
+        return mutate(new Op.Remove(id, System.currentTimeMillis(), itemId));
+    }
+
+    /** 항목 하나를 to 위치로 이동 (범위 밖이면 양 끝으로) */
+    public Mono<Void> moveItem(String id, String itemId, int to) {
+        return mutate(new Op.Move(id, System.currentTimeMillis(), itemId, to));
+    }
+
+    /** 항목 전체 교체 (프론트 setItems). 큰 playlist 는 가능하면 add/remove/move 로 */
+    public Mono<Void> replaceItems(String id, List<PlaylistItem> items) {
+        long now = System.currentTimeMillis();
+        List<PlaylistItem> sanitized = new ArrayList<>(items == null ? 0 : items.size());
+        if (items != null) for (PlaylistItem it : items) sanitized.add(sanitize(it, now));
+        if (sanitized.size() > props.getMaxItems()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "too many items (max " + props.getMaxItems() + ")"));
+        }
+        return mutate(new Op.Replace(id, now, sanitized));
+    }
+
+    private Mono<Void> mutate(Op op) {
+        return Mono.defer(() -> {
+            CompletableFuture<Long> done;
+            rotation.readLock().lock();
+            try {
+                done = applyAndCommit(op);
+            } finally {
+                rotation.readLock().unlock();
+            }
+            return done == null ? Mono.<Void>empty() : Mono.fromFuture(done, true).then();
+        });
+    }
+
+    /** @return 로그 future (변경 없음이면 null) */
+    private CompletableFuture<Long> applyAndCommit(Op op) {
+        for (;;) {
+            Live l = materialize(op.pid());
+            if (l == null) throw notFound(op.pid());
+            synchronized (l) {
+                if (l.evicted) continue; // 스냅샷 직후 메모리에서 내려감 → 다시 올림
+                if (l.deleted) throw notFound(op.pid());
+                if (op instanceof Op.Add && l.items.size() >= props.getMaxItems()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "playlist is full (max " + props.getMaxItems() + ")");
+                }
+                Runnable undo = l.undoOf(op);
+                if (!l.apply(op)) return null;
+                return track(l, commit(op), undo);
+            }
+        }
+    }
+
+    /**
+     * 호출자가 playlist 잠금을 쥔 상태. 로그 반영 전까지 되돌리는 동작을 들고 있다가
+     * - 성공: 버림
+     * - 실패: 이 op 와 그 뒤에 적용된 op 를 최신 것부터 되돌림 (로그가 멈췄으므로 뒤 op 도 어차피 실패)
+     */
+    private CompletableFuture<Long> track(Live l, CompletableFuture<Long> done, Runnable undo) {
+        Live.Unsynced u = new Live.Unsynced(undo);
+        l.unsynced.addLast(u);
+        done.whenComplete((seg, e) -> {
+            synchronized (l) {
+                if (e == null) {
+                    l.unsynced.remove(u);
+                    return;
+                }
+                if (!l.unsynced.contains(u)) return; // 앞선 op 실패 때 이미 되돌림
+                Live.Unsynced last;
+                do {
+                    last = l.unsynced.removeLast();
+                    last.undo.run();
+                } while (last != u);
+                rolledBack.increment();
+            }
+        });
+        return done;
+    }
+
+    /** 호출자가 playlist 잠금을 쥔 상태 → 같은 playlist 의 op 는 적용 순서대로 로그에 들어감 */
+    private CompletableFuture<Long> commit(Op op) {
+        PlaylistCodec.Writer w = new PlaylistCodec.Writer(128);
+        op.encode(w);
+        ops.increment();
+        opsSinceSnapshot.increment();
+        return oplog.append(w.toByteArray());
+    }
+
+    private Live materialize(String id) {
+        return live.computeIfAbsent(id, k -> {
+            ByteBuffer block = snapshot.block(k);
+            return block == null ? null : Live.decode(block);
+        });
+    }
+
+    private void replay(Op op) {
+        if (op instanceof Op.Create c) {
+            live.put(c.pid(), new Live(c.pid(), c.name(), c.ts(), c.ts(), new ArrayList<>()));
+            return;
+        }
+        Live l = materialize(op.pid());
+        if (l != null && !l.deleted) l.apply(op);
+    }
+
+    // ───────────────────────── 스냅샷 ─────────────────────────
+
+    @Scheduled(fixedDelayString = "${playlist.store.snapshot-interval:5m}")
+    void snapshotIfNeeded() {
+        if (opsSinceSnapshot.sum() >= props.getSnapshotMinOps()) {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                log.warn("playlist snapshot failed: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * 1) 쓰기 잠금 잠깐: 로그 세그먼트 전환 + live playlist 동결(항목 배열 복사)
+     * 2) 잠금 없이: 동결본 + 이전 스냅샷 블록(그대로 복사)으로 새 스냅샷 파일
+     * 3) 교체 후 그 사이 안 바뀐 live 는 메모리에서 내리고, 포함된 로그 세그먼트/이전 스냅샷 삭제
+     */
+    synchronized void snapshot() throws IOException {
+        long started = System.nanoTime();
+        long covered;
+        Map<String, Frozen> frozen = new HashMap<>();
+        rotation.writeLock().lock();
+        try {
+            covered = oplog.rotate().join();
+            for (Live l : live.values()) {
+                synchronized (l) {
+                    frozen.put(l.id, l.freeze());
+                }
+            }
+            opsSinceSnapshot.reset();
+        } finally {
+            rotation.writeLock().unlock();
+        }
+
+        PlaylistSnapshot old = snapshot;
+        Set<String> ids = new LinkedHashSet<>(old.ids());
+        ids.addAll(frozen.keySet());
+        ids.removeIf(id -> {
+            Frozen f = frozen.get(id);
+            return f != null && f.deleted;
+        });
+
+        Iterator<String> it = ids.iterator();
+        Iterator<ByteBuffer> blocks = new Iterator<>() {
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            public ByteBuffer next() {
+                String id = it.next();
+                Frozen f = frozen.get(id);
+                return f != null ? ByteBuffer.wrap(f.encode()) : old.block(id);
+            }
+        };
+        Path written = PlaylistSnapshot.write(dir, covered, ids.size(), blocks);
+        PlaylistSnapshot next = PlaylistSnapshot.open(written);
+
+        snapshot = next;
+        // 동결 이후 안 바뀐 playlist 는 새 스냅샷 내용과 같으므로 메모리에서 내림
+        frozen.forEach((id, f) -> {
+            Live l = live.get(id);
+            if (l == null) return;
+            synchronized (l) {
+                if (l.version == f.version) {
+                    l.evicted = true;
+                    live.remove(id, l);
+                }
+            }
+        });
+
+        if (retired != null) retired.close();
+        retired = old;
+        for (long seg : PlaylistLog.segments(dir)) {
+            if (seg <= covered) Files.deleteIfExists(PlaylistLog.segmentPath(dir, seg));
+        }
+        for (Path p : PlaylistSnapshot.list(dir)) {
+            if (!p.equals(written)) Files.deleteIfExists(p);
+        }
+        snapshots.increment();
+        lastSnapshotMs = (System.nanoTime() - started) / 1_000_000.0;
+        log.info("playlist snapshot {}: {} playlists, {} bytes in {} ms",
+                covered, next.count(), next.size(), String.format(Locale.ROOT, "%.1f", lastSnapshotMs));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("dir", dir.toString());
+        out.put("playlists", count());
+        out.put("live", live.size());
+        out.put("snapshotPlaylists", snapshot.count());
+        out.put("snapshotBytes", snapshot.size());
+        out.put("ops", ops.sum());
+        out.put("opsSinceSnapshot", opsSinceSnapshot.sum());
+        out.put("snapshots", snapshots.sum());
+        out.put("rolledBack", rolledBack.sum());
+        out.put("lastSnapshotMs", lastSnapshotMs);
+        out.put("recoveredOps", recoveredOps);
+        out.put("recoveryMs", recoveryMs);
+        out.put("log", oplog.stats());
+        return out;
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        oplog.close();
+        snapshot.close();
+        if (retired != null) retired.close();
+    }
+
+    // ───────────────────────── 정규화 ─────────────────────────
+
+    /** 프론트 sanitizeItem 과 같은 기본값 */
+    static PlaylistItem sanitize(PlaylistItem raw, long now) {
+        if (raw == null) raw = new PlaylistItem(null, null, null, null, null, null, null, null, null, 0);
+        String kind = "video".equals(raw.kind()) ? "video" : "track";
+        return new PlaylistItem(
+                blankTo(raw.id(), UUID.randomUUID().toString()),
+                kind,
+                blankTo(raw.source(), "video".equals(kind) ? "youtube" : "spotify"),
+                raw.externalId() == null ? "" : raw.externalId(),
+                blankTo(raw.title(), "(Untitled)"),
+                raw.subtitle() == null ? "" : raw.subtitle(),
+                raw.durationMs(),
+                raw.thumbnail() == null ? "" : raw.thumbnail(),
+                raw.url() == null ? "" : raw.url(),
+                raw.addedAt() > 0 ? raw.addedAt() : now);
+    }
+
+    private static String blankTo(String s, String fallback) {
+        return s == null || s.isBlank() ? fallback : s;
+    }
+
+    private static ResponseStatusException notFound(String id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "playlist not found: " + id);
+    }
+
+    // ───────────────────────── op ─────────────────────────
+
+    /** 로그 레코드 하나 = op 하나. 실행 중 적용과 복구 재생이 같은 apply 를 탐 */
+    sealed interface Op {
+        byte CREATE = 1, RENAME = 2, DELETE = 3, ADD = 4, REMOVE = 5, MOVE = 6, REPLACE = 7;
+
+        String pid();
+
+        long ts();
+
+        void encodeBody(PlaylistCodec.Writer w);
+
+        byte type();
+
+        default void encode(PlaylistCodec.Writer w) {
+            w.putByte(type()).putString(pid()).putLong(ts());
+            encodeBody(w);
+        }
+
+        static Op decode(ByteBuffer b) {
+            byte type = b.get();
+            String pid = PlaylistCodec.getString(b);
+            long ts = b.getLong();
+            return switch (type) {
+                case CREATE -> new Create(pid, ts, PlaylistCodec.getString(b));
+                case RENAME -> new Rename(pid, ts, PlaylistCodec.getString(b));
+                case DELETE -> new Delete(pid, ts);
+                case ADD -> new Add(pid, ts, PlaylistCodec.getItem(b));
+                case REMOVE -> new Remove(pid, ts, PlaylistCodec.getString(b));
+                case MOVE -> new Move(pid, ts, PlaylistCodec.getString(b), b.getInt());
+                case REPLACE -> {
+                    int n = b.getInt();
+                    List<PlaylistItem> items = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) items.add(PlaylistCodec.getItem(b));
+                    yield new Replace(pid, ts, items);
+                }
+                default -> throw new IllegalStateException("unknown playlist op " + type);
+            };
+        }
+
+        record Create(String pid, long ts, String name) implements Op {
+            public byte type() { return CREATE; }
+            public void encodeBody(PlaylistCodec.Writer w) { w.putString(name); }
+        }
+
+        record Rename(String pid, long ts, String name) implements Op {
+            public byte type() { return RENAME; }
+            public void encodeBody(PlaylistCodec.Writer w) { w.putString(name); }
+        }
+
+        record Delete(String pid, long ts) implements Op {
+            public byte type() { return DELETE; }
+            public void encodeBody(PlaylistCodec.Writer w) { }
+        }
+
+        record Add(String pid, long ts, PlaylistItem item) implements Op {
+            public byte type() { return ADD; }
+            public void encodeBody(PlaylistCodec.Writer w) { PlaylistCodec.putItem(w, item); }
+        }
+
+        record Remove(String pid, long ts, String itemId) implements Op {
+            public byte type() { return REMOVE; }
+            public void encodeBody(PlaylistCodec.Writer w) { w.putString(itemId); }
+        }
+
+        record Move(String pid, long ts, String itemId, int to) implements Op {
+            public byte type() { return MOVE; }
+            public void encodeBody(PlaylistCodec.Writer w) { w.putString(itemId).putInt(to); }
+        }
+
+        record Replace(String pid, long ts, List<PlaylistItem> items) implements Op {
+            public byte type() { return REPLACE; }
+            public void encodeBody(PlaylistCodec.Writer w) {
+                w.putInt(items.size());
+                for (PlaylistItem it : items) PlaylistCodec.putItem(w, it);
+            }
+        }
+    }
+
+    // ───────────────────────── 메모리 상태 ─────────────────────────
+
+    private record Frozen(String id, String name, long createdAt, long updatedAt, PlaylistItem[] items,
+                          boolean deleted, long version) {
+        byte[] encode() {
+            PlaylistCodec.Writer w = new PlaylistCodec.Writer(64 + items.length * 160);
+            w.putString(id).putString(name).putLong(createdAt).putLong(updatedAt).putInt(items.length);
+            for (PlaylistItem it : items) PlaylistCodec.putItem(w, it);
+            return w.toByteArray();
+        }
+    }
+
+    /** 스냅샷 이후 바뀐 playlist (모든 접근은 synchronized(this)) */
+    private static final class Live {
+        final String id;
+        String name;
+        final long createdAt;
+        long updatedAt;
+        final ArrayList<PlaylistItem> items;
+        /** 중복 검사용 키 → 개수 (처음 add 때 만듦) */
+        Map<String, Integer> keys;
+        boolean deleted;
+        boolean evicted;
+        long version;
+        /** 메모리엔 적용했지만 로그 반영 전인 op 의 되돌리기 (적용 순서) */
+        final ArrayDeque<Unsynced> unsynced = new ArrayDeque<>(2);
+
+        /** 같은 동작이라도 op 마다 따로 찾도록 식별용으로 감쌈 */
+        static final class Unsynced {
+            final Runnable undo;
+
+            Unsynced(Runnable undo) {
+                this.undo = undo;
+            }
+        }
+
+        Live(String id, String name, long createdAt, long updatedAt, ArrayList<PlaylistItem> items) {
+            this.id = id;
+            this.name = name;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.items = items;
+        }
+
+        static Live decode(ByteBuffer b) {
+            String id = PlaylistCodec.getString(b);
+            String name = PlaylistCodec.getString(b);
+            long createdAt = b.getLong();
+            long updatedAt = b.getLong();
+            int n = b.getInt();
+            ArrayList<PlaylistItem> items = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) items.add(PlaylistCodec.getItem(b));
+            return new Live(id, name, createdAt, updatedAt, items);
+        }
+
+        /** 블록 앞부분(헤더)만 읽어서 목록용 요약 */
+        static PlaylistSummary summary(ByteBuffer b) {
+            String id = PlaylistCodec.getString(b);
+            String name = PlaylistCodec.getString(b);
+            long createdAt = b.getLong();
+            long updatedAt = b.getLong();
+            return new PlaylistSummary(id, name, b.getInt(), createdAt, updatedAt);
+        }
+
+        /** @return 실제로 바뀌었으면 true */
+        boolean apply(Op op) {
+            boolean changed;
+            if (op instanceof Op.Rename r) {
+                changed = !r.name().equals(name);
+                name = r.name();
+            } else if (op instanceof Op.Delete) {
+                deleted = true;
+                items.clear();
+                keys = null;
+                changed = true;
+            } else if (op instanceof Op.Add a) {
+                changed = !isDuplicate(a.item());
+                if (changed) {
+                    items.add(a.item());
+                    addKeys(a.item(), 1);
+                }
+            } else if (op instanceof Op.Remove r) {
+                int at = indexOf(r.itemId());
+                changed = at >= 0;
+                if (changed) addKeys(items.remove(at), -1);
+            } else if (op instanceof Op.Move m) {
+                int at = indexOf(m.itemId());
+                int to = Math.max(0, Math.min(items.size() - 1, m.to()));
+                changed = at >= 0 && to != at;
+                if (changed) items.add(to, items.remove(at));
+            } else if (op instanceof Op.Replace r) {
+                items.clear();
+                items.addAll(r.items());
+                keys = null;
+                changed = true;
+            } else {
+                changed = false; // Create 는 Live 생성으로 처리
+            }
+            if (changed) {
+                updatedAt = Math.max(updatedAt, op.ts());
+                version++;
+            }
+            return changed;
+        }
+
+        /** apply 직전에 호출: 이 op 를 되돌리는 동작 (apply 가 바꾼 경우에만, 그 뒤 op 를 먼저 되돌린 상태에서 실행) */
+        Runnable undoOf(Op op) {
+            String oldName = name;
+            long oldUpdatedAt = updatedAt;
+            Runnable restore;
+            if (op instanceof Op.Delete || op instanceof Op.Replace) {
+                List<PlaylistItem> oldItems = List.copyOf(items);
+                restore = () -> {
+                    deleted = false;
+                    items.clear();
+                    items.addAll(oldItems);
+                    keys = null;
+                };
+            } else if (op instanceof Op.Add) {
+                restore = () -> addKeys(items.remove(items.size() - 1), -1);
+            } else if (op instanceof Op.Remove r) {
+                int at = indexOf(r.itemId());
+                PlaylistItem removed = at >= 0 ? items.get(at) : null;
+                restore = () -> {
+                    items.add(at, removed);
+                    addKeys(removed, 1);
+                };
+            } else if (op instanceof Op.Move m) {
+                int at = indexOf(m.itemId());
+                int to = Math.max(0, Math.min(items.size() - 1, m.to()));
+                restore = () -> items.add(at, items.remove(to));
+            } else {
+                restore = () -> {}; // Rename: 이름만
+            }
+            return () -> {
+                restore.run();
+                name = oldName;
+                updatedAt = oldUpdatedAt;
+                version++;
+            };
+        }
+
+        private int indexOf(String itemId) {
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).id().equals(itemId)) return i;
+            }
+            return -1;
+        }
+
+        /** 프론트 isDup: 같은 id, 같은 kind+externalId, 같은 제목+부제(대소문자/공백 무시) */
+        private boolean isDuplicate(PlaylistItem it) {
+            if (keys == null) {
+                keys = new HashMap<>(items.size() * 4);
+                for (PlaylistItem e : items) addKeys(e, 1);
+            }
+            for (String k : keysOf(it)) {
+                if (keys.containsKey(k)) return true;
+            }
+            return false;
+        }
+
+        private void addKeys(PlaylistItem it, int delta) {
+            if (keys == null) return;
+            for (String k : keysOf(it)) {
+                keys.merge(k, delta, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        private static List<String> keysOf(PlaylistItem it) {
+            List<String> out = new ArrayList<>(3);
+            out.add("id:" + it.id());
+            if (it.externalId() != null && !it.externalId().isEmpty()) out.add("ext:" + it.kind() + ":" + it.externalId());
+            out.add("ts:" + norm(it.title()) + "::" + norm(it.subtitle()));
+            return out;
+        }
+
+        private static String norm(String s) {
+            return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+        }
+
+        Frozen freeze() {
+            return new Frozen(id, name, createdAt, updatedAt, items.toArray(PlaylistItem[]::new), deleted, version);
+        }
+
+        PlaylistDto toDto() {
+            return new PlaylistDto(id, name, createdAt, updatedAt, List.copyOf(items));
+        }
+
+        PlaylistSummary summary() {
+            return new PlaylistSummary(id, name, items.size(), createdAt, updatedAt);
+        }
+
+        PlaylistSummary summaryLocked() {
+            synchronized (this) {
+                return summary();
+            }
+        }
+    }
+}
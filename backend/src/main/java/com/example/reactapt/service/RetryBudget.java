@@ -0,0 +1,57 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScResilienceProperties;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 재시도 예산 (토큰 방식)
+ * - 요청 1건마다 budget-ratio 만큼 적립, 재시도/hedge 1건마다 1 차감
+ * - 트래픽이 적어도 min-per-second 만큼은 시간에 비례해 채워짐
+ * → 업스트림이 죽었을 때 재시도가 트래픽을 (1 + ratio)배 이상으로 불리지 않음
+ */
+final class RetryBudget {
+
+    private final ScResilienceProperties.Retry cfg;
+    private final LongSupplier nanoClock;
+
+    private double balance;
+    private long refilledAt;
+
+    RetryBudget(ScResilienceProperties.Retry cfg) {
+        this(cfg, System::nanoTime);
+    }
+
+    RetryBudget(ScResilienceProperties.Retry cfg, LongSupplier nanoClock) {
+        this.cfg = cfg;
+        this.nanoClock = nanoClock;
+        this.refilledAt = nanoClock.getAsLong();
+        this.balance = Math.min(cfg.getMaxBalance(), Math.max(1.0, cfg.getMinPerSecond()));
+    }
+
+    /** 원 요청 1건 */
+    synchronized void deposit() {
+        refill();
+        balance = Math.min(cfg.getMaxBalance(), balance + cfg.getBudgetRatio());
+    }
+
+    /** 재시도/hedge 1건. 예산이 없으면 false */
+    synchronized boolean tryWithdraw() {
+        refill();
+        if (balance < 1.0) return false;
+        balance -= 1.0;
+        return true;
+    }
+
+    synchronized double balance() {
+        refill();
+        return balance;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        double seconds = (now - refilledAt) / 1_000_000_000.0;
+        refilledAt = now;
+        balance = Math.min(cfg.getMaxBalance(), balance + seconds * cfg.getMinPerSecond());
+    }
+}
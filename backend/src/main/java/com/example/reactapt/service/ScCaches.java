@@ -0,0 +1,106 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScCacheProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 도메인별 SwrCache 생성/관리
+ * - 각 서비스가 자기 타입의 캐시를 만들고, refresh-ahead 주기 작업과 통계는 여기서 일괄 처리
+ * - 캐시마다 cache.gets/puts/evictions/load.duration(cache=이름) 메트릭 등록
+ * - persist 로 키/값 타입을 등록한 캐시는 CacheSnapshots 가 재시작 사이에 파일로 보존
+ */
+@Component
+public class ScCaches {
+
+    private final ScCacheProperties props;
+    private final MeterRegistry registry;
+    private final LongSupplier nanoClock;
+    private final List<SwrCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+    private final List<Persisted<?, ?>> persisted = new CopyOnWriteArrayList<>();
+
+    /** 스냅샷 대상 캐시 + 키/값 JSON 타입 */
+    record Persisted<K, V>(SwrCache<K, V> cache, JavaType keyType, JavaType valueType) {}
+
+    @Autowired
+    public ScCaches(ScCacheProperties props, MeterRegistry registry) {
+        this(props, registry, System::nanoTime);
+    }
+
+    /** 테스트용: TTL 시계를 직접 움직임 */
+    ScCaches(ScCacheProperties props, MeterRegistry registry, LongSupplier nanoClock) {
+        this.props = props;
+        this.registry = registry;
+        this.nanoClock = nanoClock;
+    }
+
+    public ScCacheProperties properties() {
+        return props;
+    }
+
+    public <K, V> SwrCache<K, V> create(String name, ScCacheProperties.Spec spec,
+                                        Function<K, Mono<V>> loader, ToLongFunction<V> weigher) {
+        SwrCache<K, V> cache = new SwrCache<>(name, spec, props.getLastGood(), loader, weigher, nanoClock);
+        caches.add(cache);
+        CaffeineCacheMetrics.monitor(registry, cache.caffeine(), name);
+        FunctionCounter.builder("sc.cache.refreshed.ahead", cache, SwrCache::refreshedAhead)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("sc.cache.last.good.served", cache, SwrCache::lastGoodServed)
+                .tag("cache", name).register(registry);
+        return cache;
+    }
+
+    /** 스냅샷 대상으로 등록 (키/값은 JSON 으로 저장되므로 Jackson 으로 왕복 가능한 타입이어야 함) */
+    public <K, V> void persist(SwrCache<K, V> cache, Class<K> keyType, Class<V> valueType) {
+        persist(cache, (Type) keyType, valueType);
+    }
+
+    /** 제네릭 값 타입용 (예: ScPaging<ScChartItem>) */
+    public <K, V> void persist(SwrCache<K, V> cache, Class<K> keyType, TypeReference<V> valueType) {
+        persist(cache, keyType, valueType.getType());
+    }
+
+    private <K, V> void persist(SwrCache<K, V> cache, Type keyType, Type valueType) {
+        TypeFactory types = TypeFactory.defaultInstance();
+        persisted.add(new Persisted<>(cache, types.constructType(keyType), types.constructType(valueType)));
+    }
+
+    List<Persisted<?, ?>> persisted() {
+        return List.copyOf(persisted);
+    }
+
+    public List<SwrCache<?, ?>> all() {
+        return List.copyOf(caches);
+    }
+
+    @Scheduled(fixedDelayString = "${sc.cache.refresh-ahead.interval:10s}")
+    void refreshAhead() {
+        var ra = props.getRefreshAhead();
+        for (SwrCache<?, ?> cache : caches) {
+            cache.refreshHotKeys(ra.getHotKeys(), ra.getRatio());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (SwrCache<?, ?> cache : caches) out.put(cache.name(), cache.stats());
+        return out;
+    }
+}
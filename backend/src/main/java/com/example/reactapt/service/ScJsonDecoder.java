@@ -0,0 +1,259 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ResolveResponse;
+import com.example.reactapt.config.DTO.ScPaging;
+import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.config.DTO.ScTrack;
+import com.example.reactapt.config.DTO.ScUser;
+import com.example.reactapt.config.DTO.TrackDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.core.codec.DecodingException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * SoundCloud 응답 스트리밍 디코더
+ * - bodyToMono(Map.class)처럼 LinkedHashMap 트리를 통째로 만들지 않고 토큰 단위로 읽음
+ * - 필요한 필드(id, title, duration, permalink_url, artwork_url, playback_count, user.username/avatar_url)만 꺼내고
+ *   나머지(media.transcodings, waveform_url, publisher_metadata 등)는 skipChildren()으로 건너뜀
+ */
+public final class ScJsonDecoder {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private ScJsonDecoder() {
+    }
+
+    /** collection 페이지 공통 결과 */
+    public record Page<T>(List<T> items, String nextHref, String queryUrn, Integer totalResults) {}
+
+    /** ScSearchService 용: collection → ScSearchResponse.Item */
+    public static ScSearchResponse searchResponse(byte[] body) {
+        Page<ScSearchResponse.Item> page = page(body, TrackFields::toSearchItem);
+        return new ScSearchResponse(page.items().size(), page.items(), page.nextHref());
+    }
+
+    /** ScService.search 용: collection → TrackDto */
+    public static Page<TrackDto> trackDtoPage(byte[] body) {
+        return page(body, TrackFields::toTrackDto);
+    }
+
+    /** MusicService(트렌딩/검색) 용: collection → ScTrack */
+    public static ScPaging<ScTrack> scTrackPage(byte[] body) {
+        Page<ScTrack> page = page(body, TrackFields::toScTrack);
+        return new ScPaging<>(page.items(), page.nextHref(), page.queryUrn(), page.totalResults());
+    }
+
+    public static <T> Page<T> page(byte[] body, Function<TrackFields, T> mapper) {
+        try (JsonParser p = JSON.createParser(body)) {
+            List<T> items = new ArrayList<>();
+            String nextHref = null;
+            String queryUrn = null;
+            Integer totalResults = null;
+
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "collection" -> {
+                        if (value == JsonToken.START_ARRAY) {
+                            while (p.nextToken() == JsonToken.START_OBJECT) {
+                                items.add(mapper.apply(TrackFields.read(p)));
+                            }
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                    case "next_href" -> nextHref = text(p);
+                    case "query_urn" -> queryUrn = text(p);
+                    case "total_results" -> {
+                        Long n = number(p);
+                        totalResults = n == null ? null : n.intValue();
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+            return new Page<>(items, nextHref, queryUrn, totalResults);
+        } catch (IOException e) {
+            throw new DecodingException("SoundCloud JSON decoding error: " + e.getMessage(), e);
+        }
+    }
+
+    /** /tracks?ids= 응답: 트랙 객체 배열 (collection 으로 감싸 오는 경우도 처리) */
+    public static List<TrackDto> trackDtos(byte[] body) {
+        try (JsonParser p = JSON.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_ARRAY) {
+                return page(body, TrackFields::toTrackDto).items();
+            }
+            List<TrackDto> items = new ArrayList<>();
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                items.add(TrackFields.read(p).toTrackDto());
+            }
+            return items;
+        } catch (IOException e) {
+            throw new DecodingException("SoundCloud JSON decoding error: " + e.getMessage(), e);
+        }
+    }
+
+    /** 큰 playlist 의 tracks 뒤쪽처럼 id 만 있는 stub 인지 (제목/링크 없음) */
+    public static boolean isStub(TrackDto t) {
+        return t.href() == null && (t.title() == null || t.title().isEmpty());
+    }
+
+    /**
+     * TrackDto.id: provider + 외부 id 로 결정적으로 (예: "soundcloud:123")
+     * 매 매핑마다 UUID 를 만들면 SecureRandom 을 타고, 같은 응답도 바이트가 달라져 ETag/캐시가 안 됨
+     */
+    public static String trackId(String provider, String externalId) {
+        return provider + ":" + externalId;
+    }
+
+    /** /resolve 응답: track 이면 트랙 하나, playlist 면 tracks 배열 */
+    public static ResolveResponse resolve(byte[] body) {
+        try (JsonParser p = JSON.createParser(body)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+
+            String kind = null;
+            List<TrackDto> tracks = new ArrayList<>();
+            TrackFields self = new TrackFields();
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("kind".equals(field)) {
+                    kind = text(p);
+                } else if ("tracks".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        tracks.add(TrackFields.read(p).toTrackDto());
+                    }
+                } else {
+                    self.accept(field, p);
+                }
+            }
+
+            if ("track".equals(kind)) {
+                return new ResolveResponse("track", self.toTrackDto(), null, null);
+            } else if ("playlist".equals(kind)) {
+                return new ResolveResponse("playlist", null, self.title == null ? "" : self.title, tracks);
+            }
+            // 알 수 없는 타입은 그대로 전달
+            return new ResolveResponse(kind, null, null, List.of());
+        } catch (IOException e) {
+            throw new DecodingException("SoundCloud JSON decoding error: " + e.getMessage(), e);
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static String text(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NULL) return null;
+        if (t.isScalarValue()) return p.getText();
+        p.skipChildren();
+        return null;
+    }
+
+    private static Long number(JsonParser p) throws IOException {
+        if (p.currentToken().isNumeric()) return p.getLongValue();
+        p.skipChildren();
+        return null;
+    }
+
+    /** 트랙 객체 하나에서 필요한 필드만 모음 */
+    public static final class TrackFields {
+        Long id;
+        String title;
+        Long duration;
+        Long playbackCount;
+        String permalinkUrl;
+        String artworkUrl;
+        Long userId;
+        String username;
+        String userPermalinkUrl;
+        String avatarUrl;
+
+        /** 현재 토큰이 START_OBJECT 인 상태에서 호출, END_OBJECT 에서 끝남 */
+        static TrackFields read(JsonParser p) throws IOException {
+            TrackFields t = new TrackFields();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                t.accept(field, p);
+            }
+            return t;
+        }
+
+        /** 필드 하나 처리. 모르는 필드는 하위 트리째 건너뜀 */
+        void accept(String field, JsonParser p) throws IOException {
+            switch (field) {
+                case "id" -> id = number(p);
+                case "title" -> title = text(p);
+                case "duration" -> duration = number(p);
+                case "playback_count" -> playbackCount = number(p);
+                case "permalink_url" -> permalinkUrl = text(p);
+                case "artwork_url" -> artworkUrl = text(p);
+                case "user" -> readUser(p);
+                default -> p.skipChildren();
+            }
+        }
+
+        private void readUser(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                return;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "id" -> userId = number(p);
+                    case "username" -> username = text(p);
+                    case "permalink_url" -> userPermalinkUrl = text(p);
+                    case "avatar_url" -> avatarUrl = text(p);
+                    default -> p.skipChildren();
+                }
+            }
+        }
+
+        ScSearchResponse.Item toSearchItem() {
+            return new ScSearchResponse.Item(
+                    id == null ? 0 : id,
+                    title == null ? "" : title,
+                    username == null ? "" : username,
+                    artworkUrl,
+                    permalinkUrl,
+                    playbackCount,
+                    duration
+            );
+        }
+
+        TrackDto toTrackDto() {
+            return new TrackDto(
+                    trackId("soundcloud", id == null ? permalinkUrl : String.valueOf(id)),
+                    title == null ? "" : title,
+                    username == null ? "" : username,
+                    duration,
+                    "soundcloud",
+                    String.valueOf(id),
+                    permalinkUrl,
+                    artworkUrl != null ? artworkUrl : avatarUrl
+            );
+        }
+
+        ScTrack toScTrack() {
+            ScUser user = username == null ? null
+                    : new ScUser(userId == null ? 0 : userId, username, userPermalinkUrl, avatarUrl);
+            return new ScTrack(id == null ? 0 : id, title, permalinkUrl, artworkUrl, user);
+        }
+    }
+}
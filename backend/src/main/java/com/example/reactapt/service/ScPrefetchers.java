@@ -0,0 +1,52 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScPrefetchProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 서비스별 PagePrefetcher 생성/통계 (설정은 sc.prefetch.* 공통)
+ * - 메트릭: sc.prefetch{name, stat=issued/hits/wasted/...}
+ */
+@Component
+public class ScPrefetchers {
+
+    private final ScPrefetchProperties props;
+    private final MeterRegistry registry;
+    private final List<PagePrefetcher<?>> prefetchers = new CopyOnWriteArrayList<>();
+
+    public ScPrefetchers(ScPrefetchProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+    }
+
+    /**
+     * @param fetchByCursor   커서(next_href)로 페이지 받아오기
+     * @param nextCursorOf    페이지에서 다음 커서 꺼내기
+     * @param cachedElsewhere 이미 다른 캐시에 있는 커서면 true (중복 prefetch 방지)
+     */
+    public <T> PagePrefetcher<T> create(String name,
+                                        Function<String, Mono<T>> fetchByCursor,
+                                        Function<T, String> nextCursorOf,
+                                        Predicate<String> cachedElsewhere) {
+        PagePrefetcher<T> prefetcher = new PagePrefetcher<>(name, props, fetchByCursor, nextCursorOf, cachedElsewhere);
+        prefetchers.add(prefetcher);
+        // 카운터/비율/현재 보관 수가 섞여 있어서 gauge
+        prefetcher.registerMeters(registry);
+        return prefetcher;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (PagePrefetcher<?> p : prefetchers) out.put(p.name(), p.stats());
+        return out;
+    }
+}
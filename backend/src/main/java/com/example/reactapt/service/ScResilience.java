@@ -0,0 +1,284 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScAdmissionProperties;
+import com.example.reactapt.config.ScResilienceProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SoundCloud 업스트림 장애 대응 (sc.resilience.*)
+ * - 호스트별로 브레이커/재시도 예산/지연 분포를 따로 관리 (api-v2 장애가 api-v1 호출을 막지 않게)
+ * - 시도 1회: 브레이커 통과 → attempt-timeout → 결과를 브레이커/지연 분포에 기록
+ * - hedge: 첫 시도가 최근 p95(설정값)보다 늦으면 같은 요청을 한 번 더 보내고 먼저 성공한 쪽 사용
+ * - retry: 5xx/429/타임아웃/연결 오류만, 재시도 예산 안에서 지수 backoff
+ * - 차단 중이면 바로 503 (마지막 정상 값은 결과 타입을 아는 SwrCache 가 키별로 보관하고 대신 내려줌)
+ * - 시도마다 호스트별 동시 호출 자리({@link AdaptiveLimiter}, sc.admission.limiter.*)를 먼저 받음
+ *   자리를 못 받으면 업스트림은 안 부르고 429. hedge 는 자리가 있을 때만
+ * - 메트릭: sc.upstream.requests(op/host/status 별 지연 히스토그램), sc.upstream.in.flight, 브레이커/hedge/retry 카운터
+ *
+ * {@link ScUpstream#call} 안에서만 호출됨 (합치기 → 장애 대응 → 실제 호출 순서)
+ */
+@Slf4j
+@Component
+public class ScResilience {
+
+    private final ScResilienceProperties props;
+    private final ScAdmissionProperties admission;
+    private final MeterRegistry registry;
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ScResilience(ScResilienceProperties props, ScAdmissionProperties admission, MeterRegistry registry) {
+        this.props = props;
+        this.admission = admission;
+        this.registry = registry;
+    }
+
+    /** 테스트용: 메트릭은 메모리에만 */
+    ScResilience(ScResilienceProperties props) {
+        this(props, new ScAdmissionProperties(), new SimpleMeterRegistry());
+    }
+
+    /** 브레이커가 열려 있어서 업스트림을 부르지 않았음 */
+    public static class UpstreamUnavailableException extends ResponseStatusException {
+        public UpstreamUnavailableException(String host) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, "SoundCloud temporarily unavailable (" + host + ")");
+        }
+    }
+
+    /**
+     * @param host 브레이커/예산 구분 단위
+     * @param key  합치기 키 (정규화된 op + URL, 메트릭 op 태그용)
+     */
+    public <T> Mono<T> execute(String host, String key, Supplier<Mono<T>> call) {
+        if (!props.isEnabled()) return Mono.defer(call);
+        Upstream u = upstreams.computeIfAbsent(host, Upstream::new);
+        String op = opOf(key);
+
+        // 재시도는 안쪽 Mono 만 다시 구독 → 예산 적립은 원 요청 1건당 한 번 (재시도가 자기 예산을 채우지 않게)
+        Mono<T> attempts = Mono.defer(() -> hedged(u, op, call)).retryWhen(retry(u));
+        return Mono.defer(() -> {
+                    u.budget.deposit();
+                    return attempts;
+                });
+    }
+
+    private <T> Mono<T> hedged(Upstream u, String op, Supplier<Mono<T>> call) {
+        Duration delay = u.hedgeDelay();
+        Mono<T> primary = attempt(u, op, call, false);
+        if (delay == null) return primary;
+
+        // hedge 쪽 실패/빈 응답은 무시하고 첫 시도를 계속 기다림
+        Mono<T> hedge = Mono.delay(delay)
+                .flatMap(t -> {
+                    if (!u.budget.tryWithdraw()) {
+                        u.hedgesSkipped.increment();
+                        return Mono.<T>never();
+                    }
+                    u.hedges.increment();
+                    return attempt(u, op, call, true).doOnNext(v -> u.hedgeWins.increment());
+                })
+                .onErrorResume(e -> Mono.never())
+                .switchIfEmpty(Mono.never());
+        return Mono.firstWithSignal(primary, hedge);
+    }
+
+    /** @param optional true 면 동시 호출 자리가 없을 때 기다리지 않고 empty (hedge) */
+    private <T> Mono<T> attempt(Upstream u, String op, Supplier<Mono<T>> call, boolean optional) {
+        if (!admission.getLimiter().isEnabled()) return attempt(u, op, call, (AdaptiveLimiter.Permit) null);
+        return Mono.deferContextual(ctx -> {
+                    Admission.Priority priority = Admission.priorityOf(ctx);
+                    return optional ? u.limiter.tryAcquire(priority) : u.limiter.acquire(priority);
+                })
+                .flatMap(permit -> attempt(u, op, call, permit));
+    }
+
+    private <T> Mono<T> attempt(Upstream u, String op, Supplier<Mono<T>> call, AdaptiveLimiter.Permit permit) {
+        return Mono.defer(() -> {
+            if (!u.breaker.tryAcquire()) {
+                if (permit != null) permit.release();
+                return Mono.error(new UpstreamUnavailableException(u.host));
+            }
+            long started = System.nanoTime();
+            u.inFlight.incrementAndGet();
+            return Mono.defer(call)
+                    .timeout(props.getAttemptTimeout())
+                    .doOnSuccess(v -> {
+                        long nanos = System.nanoTime() - started;
+                        u.latency.record(nanos);
+                        u.limiter.onSuccess(nanos);
+                        u.breaker.onSuccess();
+                        u.record(op, "200", nanos);
+                    })
+                    .doOnError(e -> {
+                        if (isFailure(e)) {
+                            u.breaker.onFailure();
+                            u.limiter.onDropped();
+                        } else {
+                            u.breaker.onSuccess(); // 4xx 는 업스트림이 살아 있다는 뜻
+                        }
+                        u.record(op, statusTag(e), System.nanoTime() - started);
+                    })
+                    .doOnCancel(() -> {
+                        u.breaker.onCancel();
+                        u.record(op, "CANCELLED", System.nanoTime() - started);
+                    })
+                    .doFinally(signal -> {
+                        u.inFlight.decrementAndGet();
+                        if (permit != null) permit.release();
+                    });
+        });
+    }
+
+    private Retry retry(Upstream u) {
+        ScResilienceProperties.Retry cfg = props.getRetry();
+        return Retry.from(signals -> signals.concatMap(s -> {
+            Throwable e = s.failure();
+            // 브레이커 차단/유입 제한 거절은 업스트림 장애가 아님 → 재시도 안 함
+            if (e instanceof UpstreamUnavailableException || e instanceof Admission.RejectedException || !isFailure(e)) {
+                return Mono.error(e);
+            }
+            if (s.totalRetries() + 1 >= cfg.getMaxAttempts()) {
+                return Mono.error(e);
+            }
+            if (!u.budget.tryWithdraw()) {
+                u.retriesSkipped.increment();
+                return Mono.error(e);
+            }
+            u.retries.increment();
+            long base = cfg.getBackoff().toMillis() << s.totalRetries();
+            long jittered = base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+            return Mono.delay(Duration.ofMillis(jittered));
+        }));
+    }
+
+    /** 키("op url")에서 메트릭 태그용 op 만 */
+    private static String opOf(String key) {
+        int space = key.indexOf(' ');
+        return space < 0 ? key : key.substring(0, space);
+    }
+
+    /** 메트릭 status 태그: HTTP 상태코드 또는 TIMEOUT/IO_ERROR/에러 이름 (URL 등 에러 메시지는 담지 않음 → 클라이언트에 내려도 됨) */
+    public static String statusTag(Throwable e) {
+        if (e instanceof WebClientResponseException w) return String.valueOf(w.getStatusCode().value());
+        if (e instanceof ResponseStatusException r) return String.valueOf(r.getStatusCode().value());
+        if (e instanceof TimeoutException) return "TIMEOUT";
+        if (e instanceof WebClientRequestException || e instanceof IOException) return "IO_ERROR";
+        return e.getClass().getSimpleName();
+    }
+
+    /** 업스트림이 아픈 것으로 볼 에러 (브레이커 실패 집계 + 재시도 대상 + SwrCache 의 마지막 정상 값 대상) */
+    static boolean isFailure(Throwable e) {
+        if (e instanceof WebClientResponseException w) return unhealthy(w.getStatusCode());
+        if (e instanceof ResponseStatusException r) return unhealthy(r.getStatusCode());
+        return e instanceof TimeoutException
+                || e instanceof WebClientRequestException
+                || e instanceof IOException;
+    }
+
+    private static boolean unhealthy(HttpStatusCode status) {
+        return status.is5xxServerError() || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    /** 호스트별 상태 (/api/sc/stats 에서 노출) */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        upstreams.forEach((host, u) -> out.put(host, u.stats()));
+        return out;
+    }
+
+    private final class Upstream {
+        final String host;
+        final CircuitBreaker breaker = new CircuitBreaker(props.getBreaker());
+        final RetryBudget budget = new RetryBudget(props.getRetry());
+        final LatencyWindow latency = new LatencyWindow(props.getHedge().getWindow(), props.getHedge().getPercentile());
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(admission.getLimiter());
+
+        final LongAdder hedges = new LongAdder();
+        final LongAdder hedgeWins = new LongAdder();
+        final LongAdder hedgesSkipped = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder retriesSkipped = new LongAdder();
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        Upstream(String host) {
+            this.host = host;
+            Gauge.builder("sc.upstream.in.flight", inFlight, AtomicInteger::get)
+                    .tag("host", host).register(registry);
+            Gauge.builder("sc.upstream.breaker.state", breaker, b -> b.state().ordinal())
+                    .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                    .tag("host", host).register(registry);
+            Gauge.builder("sc.upstream.retry.budget", budget, RetryBudget::balance)
+                    .tag("host", host).register(registry);
+            Gauge.builder("sc.upstream.limit", limiter, AdaptiveLimiter::limit)
+                    .tag("host", host).register(registry);
+            counter("sc.upstream.hedges", hedges, "issued");
+            counter("sc.upstream.hedges", hedgeWins, "won");
+            counter("sc.upstream.hedges", hedgesSkipped, "skipped");
+            counter("sc.upstream.retries", retries, "issued");
+            counter("sc.upstream.retries", retriesSkipped, "skipped");
+        }
+
+        private void counter(String name, LongAdder adder, String result) {
+            FunctionCounter.builder(name, adder, LongAdder::sum)
+                    .tag("host", host).tag("result", result).register(registry);
+        }
+
+        /** 시도 1회 지연 (histogram 은 management.metrics.distribution.percentiles-histogram.sc.upstream.requests) */
+        void record(String op, String status, long nanos) {
+            Timer.builder("sc.upstream.requests")
+                    .tag("op", op).tag("host", host).tag("status", status)
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        /** hedge 대기 시간 (샘플 부족/비활성이면 null) */
+        Duration hedgeDelay() {
+            ScResilienceProperties.Hedge cfg = props.getHedge();
+            if (!cfg.isEnabled() || latency.size() < cfg.getMinSamples()) return null;
+            long nanos = Math.max(cfg.getMinDelay().toNanos(),
+                    Math.min(cfg.getMaxDelay().toNanos(), latency.percentileNanos()));
+            return Duration.ofNanos(nanos);
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("breaker", breaker.stats());
+            out.put("limiter", limiter.stats());
+            out.put("hedges", hedges.sum());
+            out.put("hedgeWins", hedgeWins.sum());
+            out.put("hedgesSkipped", hedgesSkipped.sum());
+            out.put("retries", retries.sum());
+            out.put("retriesSkipped", retriesSkipped.sum());
+            out.put("retryBudget", budget.balance());
+            out.put("p50Ms", latency.medianNanos() / 1_000_000.0);
+            out.put("hedgeDelayMs", hedgeDelay() == null ? null : hedgeDelay().toNanos() / 1_000_000.0);
+            return out;
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.example.reactapt.service;
 
 import com.example.reactapt.Mapper.GenreMapper;
 import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.config.ScBatchProperties;
+import com.example.reactapt.config.ScBufferProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -12,15 +15,18 @@ import org.springframework.util.MultiValueMapAdapter;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * SoundCloud 검색 서비스
- * - next_href 커서/offset 모두 지원
+ * - 커서 토큰(응답의 next)/next_href 원문/offset 모두 지원. 응답의 next 는 항상 토큰 (client_id 안 나감)
  * - 4xx/5xx 에러를 500로 뭉개지 않게 전달
  * - 에러 본문 서버로그 남김
  */
@@ -29,16 +35,45 @@ import java.util.*;
 public class ScSearchService {
 
     private final WebClient http;
+    private final String base;
     private final String clientId;
+    private final ScUpstream upstream;
+    private final PagePrefetcher<ScSearchResponse> prefetcher;
+    private final TrackIndex index;
+    private final CursorTokens cursors;
+    private final ScBufferProperties buffer;
+    private final ScBatchProperties batch;
+
+    // 업스트림 검색 페이지 (sc.cache.search-pages.*). 키 = 페이지 URL 토큰
+    // 버퍼 모드에서는 upstream-limit 으로 크게 받은 페이지를 두고 limit 만큼씩 잘라 내려줌
+    private final SwrCache<String, ScSearchResponse> pages;
 
     public ScSearchService(
-            WebClient.Builder builder,
-            @Value("${sc.api.base:https://api-v2.soundcloud.com}") String baseUrl,
+            @Qualifier("scClientV2") WebClient http, // 공용 api-v2 커넥션 풀 (sc.api.base)
+            @Value("${sc.api.base:https://api-v2.soundcloud.com}") String base,
+            ScUpstream upstream,
+            ScCaches caches,
+            ScPrefetchers prefetchers,
+            TrackIndex index,
+            CursorTokens cursors,
+            ScBufferProperties buffer,
+            ScBatchProperties batch,
             // 환경변수 SC_CLIENT_ID → sc.client-id → soundcloud.client-id 순서로 시도
             @Value("${SC_CLIENT_ID:${sc.client-id:${soundcloud.client-id:}}}") String clientId
     ) {
-        this.http = builder.baseUrl(baseUrl).build();
+        this.http = http;
+        this.base = base;
         this.clientId = clientId;
+        this.upstream = upstream;
+        this.index = index;
+        this.cursors = cursors;
+        this.buffer = buffer;
+        this.batch = batch;
+        this.pages = caches.create("sc-search-pages", caches.properties().getSearchPages(),
+                this::fetchPage, CacheWeights::searchResponse);
+        caches.persist(pages, String.class, ScSearchResponse.class);
+        this.prefetcher = prefetchers.create("sc-search", this::fetchByCursor, ScSearchResponse::next,
+                cursor -> pages.getIfReady(cursor) != null);
     }
 
     public Mono<ScSearchResponse> search(String q, String genreSlug, Integer limit, String cursor) {
@@ -48,39 +83,92 @@ public class ScSearchService {
             return Mono.error(new ResponseStatusException(
                     HttpStatus.SERVICE_UNAVAILABLE, "SoundCloud client_id missing"));
         }
+        int n = Math.max(1, Math.min(50, Objects.requireNonNullElse(limit, 12)));
+
+        // next_href 원문 커서 → 토큰 변환이 URL 파싱이라 실패도 Mono 에러로
+        return Mono.fromCallable(() -> target(q, genreSlug, n, cursor))
+                // 페이지 끝까지 내려줄 때 다음 업스트림 페이지 미리 받기
+                .flatMap(t -> PageSlices.take(cursors, t, n, pages::get,
+                        ScSearchResponse::items, ScSearchResponse::next, prefetcher::afterServed))
+                .map(s -> new ScSearchResponse(s.items().size(), s.items(), s.next()))
+                .doOnNext(r -> index.addSearchItems(r.items())); // 자동완성 인덱스에 수집
+    }
 
-        // 1) next_href를 cursor로 그대로 받은 경우(권장): 그대로 호출
-        if (cursor != null && cursor.startsWith("http")) {
-            URI u = URI.create(cursor);
-
-            // cursor query에 client_id 있는지 체크
-            boolean hasClientId = false;
-            String query = u.getQuery();
-            if (query != null) {
-                for (String p : query.split("&")) {
-                    if (p.startsWith("client_id=")) { hasClientId = true; break; }
-                }
-            }
-
-            URI finalUri = hasClientId
-                    ? u
-                    : UriComponentsBuilder.fromUri(u)
-                    .queryParam("client_id", clientId)
-                    .build(true)
-                    .toUri();
-
-            return http.get()
-                    .uri(finalUri)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .exchangeToMono(this::handleScResponse);
+    /**
+     * 여러 업스트림 페이지를 이어서 트랙 단위로 흘려보냄 (GET /api/sc/stream: "전체 재생" 큐, 라디오 등)
+     * - next 체인은 서버에서 따라감. 페이지 하나를 받으면 그 페이지를 내보내기 전에 다음 페이지 요청부터 시작
+     *   → 업스트림 대기와 매핑/직렬화/전송이 겹침 (앞서 받는 건 한 페이지까지만)
+     * - 페이지는 sc-search-pages 캐시를 거침 → 같은 검색의 일반 스크롤/다른 스트림과 공유
+     * - 구독자가 요청한 만큼만 내보냄 (느린 클라이언트면 다음 페이지 이후로는 진행하지 않음)
+     * - 페이지 사이 중복 트랙은 한 번만
+     */
+    public Flux<ScSearchResponse.Item> stream(String q, String genreSlug, Integer count, String cursor) {
+        if (clientId == null || clientId.isBlank()) {
+            log.error("SoundCloud client_id missing. Set SC_CLIENT_ID or soundcloud.client-id");
+            return Flux.error(new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "SoundCloud client_id missing"));
         }
+        int n = Math.max(1, Math.min(batch.getStreamMaxItems(), Objects.requireNonNullElse(count, 200)));
+
+        return Flux.defer(() -> {
+            LongHashSet seen = new LongHashSet(n);
+            return Mono.fromCallable(() -> target(q, genreSlug, 50, cursor))
+                    .flatMapMany(t -> walk(pages.get(t.pageToken()), t.offset()))
+                    .filter(it -> it.id() == 0 || seen.add(it.id()))
+                    .take(n, true);
+        });
+    }
 
+    private Flux<ScSearchResponse.Item> walk(Mono<ScSearchResponse> current, int skip) {
+        return current.flatMapMany(page -> {
+            index.addSearchItems(page.items());
+            List<ScSearchResponse.Item> items = page.items();
+            Flux<ScSearchResponse.Item> here = Flux.fromIterable(
+                    skip > 0 ? items.subList(Math.min(skip, items.size()), items.size()) : items);
+            if (page.next() == null || items.isEmpty()) return here;
+
+            // 다음 페이지는 지금 바로 시작 (구독을 기다리지 않음). 스트림이 먼저 끝나도 로드는 캐시에 남음
+            CompletableFuture<ScSearchResponse> ahead = pages.get(page.next()).toFuture();
+            return here.concatWith(Flux.defer(() -> walk(Mono.fromFuture(ahead, true), 0)));
+        });
+    }
 
-        // 2) 새 검색
+    /** 요청 → 가리키는 업스트림 페이지/위치 */
+    private CursorTokens.Target target(String q, String genreSlug, int limit, String cursor) {
+        // 1) 커서 토큰(권장) 또는 next_href 원문
+        if (CursorTokens.isToken(cursor)) return cursors.resolve(cursor);
+        if (cursor != null && cursor.startsWith("http")) return cursors.resolve(cursors.issue(cursor));
+
+        // 2) 새 검색 (offset 커서 포함): 버퍼 모드면 upstream-limit 으로 크게
         String keyword = (q == null || q.isBlank())
                 ? GenreMapper.toKeyword(Objects.toString(genreSlug, "all-music"))
                 : q;
+        MultiValueMapAdapter<String, String> query = searchParams(clientId, keyword, buffer.upstreamLimit(limit), cursor);
+        return cursors.resolve(cursors.issue(pageUrl(base, query)));
+    }
 
+    /** 캐시 미스/갱신 시: 미리 받아둔 페이지가 있으면 그걸, 없으면 업스트림 */
+    private Mono<ScSearchResponse> fetchPage(String pageToken) {
+        ScSearchResponse prefetched = prefetcher.take(pageToken);
+        if (prefetched != null) return Mono.just(prefetched);
+        return fetchByCursor(pageToken);
+    }
+
+    /** 새 검색 최종 URL (값은 전부 엄격하게 인코딩 → 검색 상태를 뽑아 토큰 발급) */
+    static String pageUrl(String base, MultiValueMapAdapter<String, String> query) {
+        StringBuilder sb = new StringBuilder(base).append("/search/tracks");
+        char sep = '?';
+        for (Map.Entry<String, List<String>> e : new TreeMap<>(query).entrySet()) {
+            for (String v : e.getValue()) {
+                sb.append(sep).append(e.getKey()).append('=').append(UriUtils.encode(v, StandardCharsets.UTF_8));
+                sep = '&';
+            }
+        }
+        return sb.toString();
+    }
+
+    /** 새 검색 쿼리 파라미터 */
+    static MultiValueMapAdapter<String, String> searchParams(String clientId, String keyword, Integer limit, String cursor) {
         Map<String, List<String>> params = new HashMap<>();
         params.put("client_id", List.of(clientId));
         params.put("q", List.of(Objects.toString(keyword, "")));
@@ -92,22 +180,30 @@ public class ScSearchService {
         if (cursor != null && !cursor.isBlank()) {
             params.put("offset", List.of(cursor));
         }
+        return new MultiValueMapAdapter<>(params);
+    }
+
+    /** 커서 토큰으로 다음 페이지 호출 (prefetch도 이 경로 사용): 토큰의 검색 상태 + base/client_id 로 최종 URL */
+    private Mono<ScSearchResponse> fetchByCursor(String token) {
+        return Mono.fromCallable(() -> upstreamUrl(cursors.resolve(token).url()))
+                .flatMap(url -> upstream.call("sc-search", url, () -> http.get()
+                        .uri(URI.create(url))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .exchangeToMono(this::handleScResponse)));
+    }
 
-        return http.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/search/tracks")
-                        .queryParams(new MultiValueMapAdapter<>(params))
-                        .build()
-                )
-                .accept(MediaType.APPLICATION_JSON)
-                .exchangeToMono(this::handleScResponse);
+    /** 토큰의 상대 URL(/search/tracks?q=...) → 호출할 최종 URL (새 검색과 같은 기본 파라미터) */
+    private String upstreamUrl(String tokenUrl) {
+        return base + tokenUrl + "&client_id=" + UriUtils.encode(clientId, StandardCharsets.UTF_8)
+                + "&app_locale=en&linked_partitioning=1";
     }
 
     /** SC 응답 공통 처리: 2xx → DTO, 4xx/5xx → 상태/본문 보존하여 예외 */
     private Mono<ScSearchResponse> handleScResponse(ClientResponse resp) {
         HttpStatusCode status = resp.statusCode();
         if (status.is2xxSuccessful()) {
-            return resp.bodyToMono(Map.class).map(this::mapToDto);
+            // Map 트리 없이 필요한 필드만 스트리밍으로 디코딩
+            return resp.bodyToMono(byte[].class).map(ScJsonDecoder::searchResponse).map(this::withCursorToken);
         }
         return resp.bodyToMono(String.class).defaultIfEmpty("")
                 .flatMap(body -> {
@@ -121,27 +217,10 @@ public class ScSearchService {
                 });
     }
 
-    @SuppressWarnings("unchecked")
-    private ScSearchResponse mapToDto(Map<String, Object> scJson) {
-        List<Map<String, Object>> collection =
-                (List<Map<String, Object>>) scJson.getOrDefault("collection", List.of());
-        String nextHref = (String) scJson.get("next_href");
-
-        List<ScSearchResponse.Item> items = new ArrayList<>();
-        for (Map<String, Object> t : collection) {
-            Map<String, Object> user = (Map<String, Object>) t.getOrDefault("user", Map.of());
-            items.add(new ScSearchResponse.Item(
-                    ((Number) t.getOrDefault("id", 0)).longValue(),
-                    Objects.toString(t.get("title"), ""),
-                    Objects.toString(user.get("username"), ""),
-                    Objects.toString(t.get("artwork_url"), null),
-                    Objects.toString(t.get("permalink_url"), null),
-                    (t.get("playback_count") instanceof Number) ? ((Number) t.get("playback_count")).longValue() : null,
-                    (t.get("duration") instanceof Number) ? ((Number) t.get("duration")).longValue() : null
-            ));
-        }
-
-        return new ScSearchResponse(items.size(), items, nextHref);
+    /** 업스트림 next_href → 커서 토큰 */
+    private ScSearchResponse withCursorToken(ScSearchResponse r) {
+        if (r.next() == null || r.next().isBlank()) return r;
+        return new ScSearchResponse(r.count(), r.items(), cursors.issue(r.next()));
     }
 
     /** 선택: 상태 확인용(컨트롤러 /ping 등에서 사용) */
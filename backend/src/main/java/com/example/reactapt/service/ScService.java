@@ -2,39 +2,153 @@ package com.example.reactapt.service;
 
 // service/ScService.java
 
+import com.example.reactapt.config.DTO.ScSearchPage;
 import com.example.reactapt.config.DTO.TrackDto;
+import com.example.reactapt.config.DTO.ResolveBatchItem;
 import com.example.reactapt.config.DTO.ResolveResponse;
-import com.github.benmanes.caffeine.cache.*;
+import com.example.reactapt.config.ScBatchProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
-import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 @Service
 public class ScService {
     private final WebClient v2;
     private final WebClient v1;
+    // v1 호출의 합치기 키/브레이커 호스트용 (상대 경로면 ScUpstream 이 api-v2 로 봄)
+    private final String v1Base;
     private final String clientId;
+    private final ScUpstream upstream;
+    private final TrackIndex index;
+    private final ScBatchProperties batch;
 
-    private final Cache<String, Object> cache =
-            Caffeine.newBuilder().expireAfterWrite(60, TimeUnit.SECONDS).maximumSize(1000).build();
+    // 도메인별 캐시 (TTL/크기는 sc.cache.search.*, sc.cache.resolve.*)
+    private final SwrCache<SearchKey, ScSearchPage> searchCache;
+    private final SwrCache<String, ResolveResponse> resolveCache;
+    private final SwrCache<Long, TrackDto> trackCache;
 
-    public ScService(WebClient scClient, WebClient scClientV1, String scClientId) {
-        this.v2 = scClient;
+    record SearchKey(String q, int limit, int offset) {}
+
+    public ScService(@Qualifier("scClientV2") WebClient scClientV2,
+                     @Qualifier("scClientV1") WebClient scClientV1,
+                     @Value("${sc.api.v1-base:https://api.soundcloud.com}") String v1Base,
+                     String scClientId,
+                     ScUpstream upstream, ScCaches caches, TrackIndex index, ScBatchProperties batch) {
+        this.v2 = scClientV2;
         this.v1 = scClientV1;
+        this.v1Base = v1Base;
         this.clientId = scClientId;
+        this.upstream = upstream;
+        this.index = index;
+        this.batch = batch;
+        this.searchCache = caches.create("sc-search", caches.properties().getSearch(),
+                this::fetchSearch, CacheWeights::searchPage);
+        this.resolveCache = caches.create("sc-resolve", caches.properties().getResolve(),
+                this::fetchResolve, CacheWeights::resolve);
+        caches.persist(searchCache, SearchKey.class, ScSearchPage.class);
+        caches.persist(resolveCache, String.class, ResolveResponse.class);
+        this.trackCache = caches.create("sc-track", caches.properties().getTrack(),
+                id -> fetchTracks(List.of(id)).flatMap(list -> Mono.justOrEmpty(list.stream().findFirst())),
+                CacheWeights::track);
+    }
+
+    public Mono<ScSearchPage> search(String q, int limit, int offset) {
+        return searchCache.get(new SearchKey(q, limit, offset))
+                .doOnNext(p -> index.addTrackDtos(p.tracks())); // 자동완성 인덱스에 수집
+    }
+
+    public Mono<ResolveResponse> resolve(String permalink) {
+        return resolveCache.get(permalink)
+                .doOnNext(this::indexResolved);
     }
 
-    public Mono<Map<String, Object>> search(String q, int limit, int offset) {
-        String key = "search:" + q + ":" + limit + ":" + offset;
-        Object cached = cache.getIfPresent(key);
-        if (cached != null) return Mono.just((Map<String, Object>) cached);
+    /**
+     * 여러 링크 한 번에 resolve
+     * - 중복 제거 → 캐시에 이미 있는 건 바로, 미스만 sc.batch.concurrency 개씩 업스트림 호출
+     * - 결과는 끝나는 순서대로 흘려보냄 (입력 순서 아님, 각 항목에 url 포함)
+     * - 링크별 에러는 해당 항목의 status/error 로만 → 배치 전체는 실패하지 않음
+     */
+    public Flux<ResolveBatchItem> resolveBatch(List<String> permalinks) {
+        if (permalinks == null || permalinks.isEmpty()) return Flux.empty();
+        if (permalinks.size() > batch.getMaxItems()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "too many urls (max " + batch.getMaxItems() + ")"));
+        }
+
+        Set<String> unique = new LinkedHashSet<>();
+        for (String p : permalinks) {
+            if (p != null && !p.isBlank()) unique.add(p.trim());
+        }
+
+        List<ResolveBatchItem> hits = new ArrayList<>();
+        List<String> misses = new ArrayList<>();
+        for (String url : unique) {
+            ResolveResponse cached = resolveCache.getIfReady(url);
+            if (cached != null) {
+                indexResolved(cached);
+                hits.add(ResolveBatchItem.ok(url, cached, true));
+            } else {
+                misses.add(url);
+            }
+        }
 
-        return v2.get()
+        Flux<ResolveBatchItem> fetched = Flux.fromIterable(misses)
+                .flatMap(url -> resolve(url)
+                        .timeout(batch.getItemTimeout())
+                        .map(r -> ResolveBatchItem.ok(url, r, false))
+                        .onErrorResume(e -> Mono.just(failed(url, e)))
+                        .defaultIfEmpty(ResolveBatchItem.failed(url, 404, "not found")),
+                        Math.max(1, batch.getConcurrency()));
+
+        return Flux.concat(Flux.fromIterable(hits), fetched);
+    }
+
+    private static ResolveBatchItem failed(String url, Throwable e) {
+        if (e instanceof WebClientResponseException w) {
+            return ResolveBatchItem.failed(url, w.getStatusCode().value(), w.getStatusText());
+        }
+        if (e instanceof ResponseStatusException r) {
+            return ResolveBatchItem.failed(url, r.getStatusCode().value(),
+                    r.getReason() != null ? r.getReason() : r.getStatusCode().toString());
+        }
+        if (e instanceof TimeoutException) {
+            return ResolveBatchItem.failed(url, HttpStatus.GATEWAY_TIMEOUT.value(), "timeout");
+        }
+        return ResolveBatchItem.failed(url, HttpStatus.BAD_GATEWAY.value(), e.getClass().getSimpleName());
+    }
+
+    private void indexResolved(ResolveResponse r) {
+        if (r.track() != null) index.addTrackDtos(List.of(r.track()));
+        index.addTrackDtos(r.tracks());
+    }
+
+    private Mono<ScSearchPage> fetchSearch(SearchKey key) {
+        String q = key.q();
+        int limit = key.limit();
+        int offset = key.offset();
+
+        // 캐시 미스가 동시에 몰려도 업스트림 호출은 한 번 (cold key stampede 방지)
+        // 합치기 키는 인코딩된 URL: q 에 & = # 이 있어도 다른 검색과 같은 키가 되지 않게
+        String url = UriComponentsBuilder.fromPath("/search/tracks")
+                .queryParam("q", q)
+                .queryParam("limit", limit)
+                .queryParam("offset", offset)
+                .queryParam("client_id", clientId)
+                .encode().build().toUriString();
+
+        return upstream.call("sc-service:search", url, () -> v2.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/search/tracks")
                         .queryParam("q", q)
@@ -43,109 +157,135 @@ public class ScService {
                         .queryParam("client_id", clientId)
                         .build())
                 .retrieve()
-                .bodyToMono(Map.class)
-                .map(raw -> {
-                    List<Map<String, Object>> col = (List<Map<String, Object>>) raw.getOrDefault("collection", List.of());
-                    List<TrackDto> tracks = new ArrayList<>();
-                    for (Map<String, Object> t : col) {
-                        Map<String, Object> user = (Map<String, Object>) t.get("user");
-                        String scId = String.valueOf(t.get("id"));
-                        String title = (String) t.getOrDefault("title", "");
-                        String artist = user != null ? (String) user.getOrDefault("username", "") : "";
-                        Long duration = t.get("duration") instanceof Number n ? n.longValue() : null;
-                        String permalink = (String) t.getOrDefault("permalink_url", null);
-                        String artwork = (String) t.getOrDefault("artwork_url", null);
-                        if (artwork == null && user != null) artwork = (String) user.getOrDefault("avatar_url", null);
-                        tracks.add(new TrackDto(
-                                UUID.randomUUID().toString(),
-                                title, artist, duration, "soundcloud", scId, permalink, artwork
-                        ));
-                    }
+                .bodyToMono(byte[].class))
+                // Map 트리 없이 필요한 필드만 스트리밍으로 디코딩
+                .map(body -> {
+                    ScJsonDecoder.Page<TrackDto> page = ScJsonDecoder.trackDtoPage(body);
 
-                    String nextHref = (String) raw.get("next_href");
-                    Integer nextOffset = null;
-                    if (nextHref != null) {
-                        try {
-                            URI u = URI.create(nextHref);
-                            String qs = u.getQuery();
-                            for (String p : qs.split("&")) {
-                                String[] kv = p.split("=");
-                                if (kv.length == 2 && kv[0].equals("offset")) {
-                                    nextOffset = Integer.valueOf(kv[1]);
-                                }
-                            }
-                        } catch (Exception ignored) {}
-                    }
-                    Map<String, Object> out = new HashMap<>();
-                    out.put("tracks", tracks);
-                    out.put("nextOffset", nextOffset);
-                    out.put("rawNextHref", nextHref);
-                    cache.put(key, out);
-                    return out;
+                    String nextHref = page.nextHref();
+                    return new ScSearchPage(page.items(), nextOffset(nextHref), nextHref);
                 });
     }
 
-    public Mono<ResolveResponse> resolve(String permalink) {
-        String key = "resolve:" + permalink;
-        Object cached = cache.getIfPresent(key);
-        if (cached != null) return Mono.just((ResolveResponse) cached);
+    /** next_href 의 offset 파라미터 (없거나 깨졌으면 null) */
+    static Integer nextOffset(String nextHref) {
+        Integer nextOffset = null;
+        if (nextHref != null) {
+            try {
+                URI u = URI.create(nextHref);
+                String qs = u.getQuery();
+                for (String p : qs.split("&")) {
+                    String[] kv = p.split("=");
+                    if (kv.length == 2 && kv[0].equals("offset")) {
+                        nextOffset = Integer.valueOf(kv[1]);
+                    }
+                }
+            } catch (Exception ignored) {}
+        }
+        return nextOffset;
+    }
 
-        return v1.get()
+    private Mono<ResolveResponse> fetchResolve(String permalink) {
+        // 절대 URL: 키와 브레이커/동시 호출 제한이 api-v1 호스트로 잡힘 (api-v2 장애와 서로 안 섞이게)
+        String url = UriComponentsBuilder.fromHttpUrl(v1Base).path("/resolve")
+                .queryParam("url", permalink)
+                .queryParam("client_id", clientId)
+                .encode().build().toUriString();
+
+        return upstream.call("sc-service:resolve", url, () -> v1.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/resolve")
                         .queryParam("url", permalink)
                         .queryParam("client_id", clientId)
                         .build())
                 .retrieve()
-                .bodyToMono(Map.class)
-                .map(raw -> {
-                    String kind = (String) raw.get("kind");
-                    if ("track".equals(kind)) {
-                        Map<String, Object> user = (Map<String, Object>) raw.get("user");
-                        TrackDto track = new TrackDto(
-                                UUID.randomUUID().toString(),
-                                (String) raw.getOrDefault("title",""),
-                                user != null ? (String) user.getOrDefault("username","") : "",
-                                raw.get("duration") instanceof Number n ? n.longValue() : null,
-                                "soundcloud",
-                                String.valueOf(raw.get("id")),
-                                (String) raw.getOrDefault("permalink_url", null),
-                                (String) Optional.ofNullable(raw.get("artwork_url")).orElseGet(() ->
-                                        user != null ? (String) user.getOrDefault("avatar_url", null) : null)
-                        );
-                        ResolveResponse resp = new ResolveResponse("track", track, null, null);
-                        cache.put(key, resp);
-                        return resp;
-                    } else if ("playlist".equals(kind)) {
-                        List<Map<String, Object>> arr = (List<Map<String, Object>>) raw.getOrDefault("tracks", List.of());
-                        List<TrackDto> tracks = new ArrayList<>();
-                        for (Map<String, Object> t : arr) {
-                            Map<String, Object> user = (Map<String, Object>) t.get("user");
-                            tracks.add(new TrackDto(
-                                    UUID.randomUUID().toString(),
-                                    (String) t.getOrDefault("title",""),
-                                    user != null ? (String) user.getOrDefault("username","") : "",
-                                    t.get("duration") instanceof Number n ? n.longValue() : null,
-                                    "soundcloud",
-                                    String.valueOf(t.get("id")),
-                                    (String) t.getOrDefault("permalink_url", null),
-                                    (String) Optional.ofNullable(t.get("artwork_url")).orElseGet(() ->
-                                            user != null ? (String) user.getOrDefault("avatar_url", null) : null)
-                            ));
-                        }
-                        ResolveResponse resp = new ResolveResponse("playlist",
-                                null,
-                                (String) raw.getOrDefault("title",""),
-                                tracks);
-                        cache.put(key, resp);
-                        return resp;
-                    } else {
-                        // 알 수 없는 타입은 그대로 전달
-                        ResolveResponse resp = new ResolveResponse(kind, null, null, List.of());
-                        cache.put(key, resp);
-                        return resp;
+                .bodyToMono(byte[].class))
+                .map(ScJsonDecoder::resolve)
+                .flatMap(this::hydrate);
+    }
+
+    /**
+     * playlist hydration
+     * - 큰 playlist 는 앞쪽 몇 개만 전체 객체, 나머지는 id 만 있는 stub 으로 옴
+     * - stub id 중 트랙 캐시에 없는 것만 /tracks?ids= 로 hydrate-chunk-size 개씩, hydrate-concurrency 개 동시에 받음
+     * - 받은 트랙(과 원래 전체 객체로 온 트랙)은 트랙 캐시에 하나씩 넣음 → 겹치는 playlist 는 업스트림 생략
+     * - 원래 순서대로 끼워 넣고, 끝내 못 받은 트랙(삭제/비공개)은 stub 그대로 둠
+     */
+    private Mono<ResolveResponse> hydrate(ResolveResponse r) {
+        if (!"playlist".equals(r.type()) || r.tracks() == null || r.tracks().isEmpty()) return Mono.just(r);
+
+        Map<Long, TrackDto> known = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (TrackDto t : r.tracks()) {
+            Long id = trackId(t);
+            if (id == null) continue;
+            if (!ScJsonDecoder.isStub(t)) {
+                trackCache.put(id, t);
+                continue;
+            }
+            TrackDto cached = trackCache.getIfReady(id);
+            if (cached != null) known.put(id, cached);
+            else missing.add(id);
+        }
+        if (missing.isEmpty() && known.isEmpty()) return Mono.just(r);
+
+        int chunk = Math.max(1, batch.getHydrateChunkSize());
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> ids = new ArrayList<>(missing);
+        for (int i = 0; i < ids.size(); i += chunk) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + chunk)));
+        }
+
+        return Flux.fromIterable(chunks)
+                .flatMap(c -> fetchTracks(c)
+                        // 청크 하나 실패는 그 청크만 stub 으로 남김
+                        .onErrorResume(e -> Mono.just(List.of())),
+                        Math.max(1, batch.getHydrateConcurrency()))
+                .collect(() -> new HashMap<>(known), (map, list) -> {
+                    for (TrackDto t : list) {
+                        Long id = trackId(t);
+                        if (id == null) continue;
+                        trackCache.put(id, t);
+                        map.put(id, t);
+                    }
+                })
+                .map(map -> {
+                    List<TrackDto> merged = new ArrayList<>(r.tracks().size());
+                    for (TrackDto t : r.tracks()) {
+                        Long id = trackId(t);
+                        TrackDto full = id != null && ScJsonDecoder.isStub(t) ? map.get(id) : null;
+                        merged.add(full != null ? full : t);
                     }
+                    return new ResolveResponse(r.type(), r.track(), r.title(), merged);
                 });
     }
+
+    /** /tracks?ids=1,2,3 (api-v2) */
+    private Mono<List<TrackDto>> fetchTracks(List<Long> ids) {
+        String joined = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String url = UriComponentsBuilder.fromPath("/tracks")
+                .queryParam("ids", joined)
+                .queryParam("client_id", clientId)
+                .encode().build().toUriString();
+
+        return upstream.call("sc-service:tracks", url, () -> v2.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/tracks")
+                        .queryParam("ids", joined)
+                        .queryParam("client_id", clientId)
+                        .build())
+                .retrieve()
+                .bodyToMono(byte[].class))
+                .map(ScJsonDecoder::trackDtos);
+    }
+
+    private static Long trackId(TrackDto t) {
+        if (t == null || t.externalId() == null) return null;
+        try {
+            return Long.valueOf(t.externalId());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
 
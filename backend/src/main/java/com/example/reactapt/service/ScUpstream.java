@@ -0,0 +1,145 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScResilienceProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SoundCloud 업스트림 호출 공통 진입점
+ * - 같은 URL로 동시에 들어온 요청은 하나의 업스트림 호출로 합침(single-flight)
+ * - 먼저 온 요청(leader)의 결과/에러를 뒤따라온 요청들이 그대로 공유
+ * - 호출이 끝나면 키를 비워서 다음 요청은 다시 업스트림으로 감
+ * - leader 호출은 {@link ScResilience}(hedge/재시도 예산/브레이커/마지막 정상 응답)를 거침
+ */
+@Component
+public class ScUpstream {
+
+    private final ScResilience resilience;
+    // 상대 경로(/search/tracks?...)는 이 base 기준으로 정규화 → 같은 호스트 브레이커로 묶임
+    private final String base;
+
+    private final ConcurrentHashMap<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    @Autowired
+    public ScUpstream(ScResilience resilience,
+                      @Value("${sc.api.base:https://api-v2.soundcloud.com}") String base,
+                      MeterRegistry registry) {
+        this.resilience = resilience;
+        this.base = base;
+        FunctionCounter.builder("sc.upstream.coalescing", upstreamCalls, LongAdder::sum)
+                .tag("result", "leader").register(registry);
+        FunctionCounter.builder("sc.upstream.coalescing", coalescedCalls, LongAdder::sum)
+                .tag("result", "coalesced").register(registry);
+        Gauge.builder("sc.upstream.coalescing.in.flight", inFlight, Map::size).register(registry);
+    }
+
+    /** 테스트용: 장애 대응 끔 */
+    ScUpstream() {
+        this(new ScResilience(disabled()), "https://api-v2.soundcloud.com", new SimpleMeterRegistry());
+    }
+
+    private static ScResilienceProperties disabled() {
+        ScResilienceProperties p = new ScResilienceProperties();
+        p.setEnabled(false);
+        return p;
+    }
+
+    /**
+     * @param op   호출 종류 (같은 URL이라도 결과 타입이 다르면 op로 구분)
+     * @param url  업스트림 URL (절대/상대 모두 가능, 키 생성 시 정규화)
+     * @param call 실제 업스트림 호출 (leader 한 번만 구독됨)
+     */
+    public <T> Mono<T> call(String op, String url, Supplier<Mono<T>> call) {
+        String absolute = url.startsWith("/") ? base + url : url;
+        String key = op + " " + normalize(absolute);
+        String host = UriComponentsBuilder.fromUriString(absolute).build().getHost();
+        return coalesce(key, () -> resilience.execute(host == null ? "unknown" : host.toLowerCase(), key, call));
+    }
+
+    @SuppressWarnings("unchecked") // 같은 키 = 같은 op → 같은 결과 타입
+    <T> Mono<T> coalesce(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Mono<?> running = inFlight.get(key);
+            if (running != null) {
+                coalescedCalls.increment();
+                return (Mono<T>) running;
+            }
+            Mono<T> created = shared(key, call);
+            Mono<?> raced = inFlight.putIfAbsent(key, created);
+            if (raced != null) {
+                coalescedCalls.increment();
+                return (Mono<T>) raced;
+            }
+            upstreamCalls.increment();
+            return created;
+        });
+    }
+
+    // share(): 첫 구독 때 한 번만 실행, 늦게 온 구독자도 같은 결과를 받음. 개별 구독자 취소로 업스트림이 끊기지 않음
+    private <T> Mono<T> shared(String key, Supplier<Mono<T>> call) {
+        AtomicReference<Mono<T>> self = new AtomicReference<>();
+        Mono<T> mono = Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(mono);
+        return mono;
+    }
+
+    /** 합치기 통계 (/api/sc/stats 에서 노출) */
+    public Map<String, Object> coalescingStats() {
+        long upstream = upstreamCalls.sum();
+        long coalesced = coalescedCalls.sum();
+        long total = upstream + coalesced;
+        return Map.of(
+                "upstreamCalls", upstream,
+                "coalescedCalls", coalesced,
+                "coalescedRatio", total == 0 ? 0.0 : (double) coalesced / total,
+                "inFlight", inFlight.size()
+        );
+    }
+
+    /**
+     * URL 정규화: host 소문자, 쿼리 파라미터 이름순 정렬
+     * (같은 파라미터 이름 안에서는 원래 순서 유지)
+     */
+    static String normalize(String url) {
+        UriComponents u = UriComponentsBuilder.fromUriString(url).build();
+        StringBuilder sb = new StringBuilder(url.length());
+        if (u.getScheme() != null) sb.append(u.getScheme().toLowerCase()).append("://");
+        if (u.getHost() != null) sb.append(u.getHost().toLowerCase());
+        if (u.getPort() != -1) sb.append(':').append(u.getPort());
+        if (u.getPath() != null) sb.append(u.getPath());
+
+        MultiValueMap<String, String> qp = u.getQueryParams();
+        if (!qp.isEmpty()) {
+            char sep = '?';
+            for (Map.Entry<String, List<String>> e : new TreeMap<>(qp).entrySet()) {
+                for (String v : e.getValue()) {
+                    sb.append(sep).append(e.getKey());
+                    if (v != null) sb.append('=').append(v);
+                    sep = '&';
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
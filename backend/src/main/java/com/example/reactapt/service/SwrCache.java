@@ -0,0 +1,268 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * stale-while-revalidate 캐시 (Caffeine AsyncLoadingCache 래핑)
+ * - soft-ttl 이후: 기존 값을 바로 반환하고 백그라운드에서 갱신 (refreshAfterWrite)
+ * - hard-ttl 이후: 만료 → 다음 요청이 로더 완료를 기다림
+ * - 크기 제한은 엔트리 수가 아니라 대략적인 바이트 수 (weigher)
+ * - 같은 키 동시 미스는 로더 한 번만 실행
+ * - 스냅샷 복원(restore): hard-ttl 은 남은 시간 그대로, soft-ttl 이 이미 지난 값은 다음 조회 때 백그라운드 갱신
+ * - 마지막 정상 값(sc.cache.last-good.*): 로드가 업스트림 장애로 실패하면 hard-ttl 이 지난 키라도 이 값으로 응답
+ *
+ * 생성은 {@link ScCaches#create} 로만 (refresh-ahead/통계를 한 곳에서 관리)
+ */
+@Slf4j
+public class SwrCache<K, V> {
+
+    private final String name;
+    private final Duration softTtl;
+    private final Duration hardTtl;
+    private final Function<K, Mono<V>> loader;
+    private final LongSupplier nanoClock;
+    private final AsyncLoadingCache<K, V> cache;
+    private final LongAdder refreshedAhead = new LongAdder();
+    /** 키별 마지막 정상 값 (꺼져 있으면 null) */
+    private final Cache<K, V> lastGood;
+    private final LongAdder lastGoodServed = new LongAdder();
+    /** 복원한 키 → soft-ttl 이 끝나는 시각(nanoClock). 복원 때 쓰기 시각이 지금으로 바뀌어서 따로 기억 */
+    private final Map<K, Long> restoredRefreshAt = new ConcurrentHashMap<>();
+
+    /** 스냅샷 엔트리: 값 + 마지막 로드 후 지난 시간 + hard-ttl 까지 남은 시간 */
+    record Entry<K, V>(K key, V value, Duration age, Duration remaining) {}
+
+    SwrCache(String name, ScCacheProperties.Spec spec, ScCacheProperties.LastGood lastGoodSpec,
+             Function<K, Mono<V>> loader, ToLongFunction<V> weigher, LongSupplier nanoClock) {
+        this.name = name;
+        this.nanoClock = nanoClock;
+        this.softTtl = spec.getSoftTtl();
+        this.hardTtl = spec.getHardTtl();
+        this.lastGood = lastGoodSpec.isEnabled()
+                ? Caffeine.newBuilder()
+                        .ticker(nanoClock::getAsLong)
+                        .expireAfterWrite(lastGoodSpec.getTtl())
+                        .maximumWeight(lastGoodSpec.getMaxSize().toBytes())
+                        .weigher((K key, V value) -> (int) Math.min(Integer.MAX_VALUE,
+                                CacheWeights.string(key.toString()) + weigher.applyAsLong(value)))
+                        .build()
+                : null;
+        this.loader = lastGood == null ? loader : key -> loader.apply(key)
+                .doOnNext(v -> lastGood.put(key, v))
+                .onErrorResume(ScResilience::isFailure, e -> lastGoodOr(key, e));
+        long hardTtlNanos = spec.getHardTtl().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .ticker(nanoClock::getAsLong)
+                .refreshAfterWrite(spec.getSoftTtl())
+                // hard-ttl: 쓰기(로드/갱신) 기준. 가변 만료로 만들어서 키별 남은 TTL 지정도 가능하게 둠
+                .expireAfter(new Expiry<K, V>() {
+                    @Override
+                    public long expireAfterCreate(K key, V value, long currentTime) {
+                        return hardTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                        return hardTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumWeight(spec.getMaxSize().toBytes())
+                .weigher((K key, V value) -> (int) Math.min(Integer.MAX_VALUE,
+                        CacheWeights.string(key.toString()) + weigher.applyAsLong(value)))
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<K, V>() {
+                    @Override
+                    public CompletableFuture<? extends V> asyncLoad(K key, Executor executor) {
+                        return SwrCache.this.loader.apply(key).toFuture();
+                    }
+
+                    // soft-ttl 갱신/refresh-ahead: 기존 값이 있으니 업스트림 자리는 사용자 요청 다음
+                    @Override
+                    public CompletableFuture<? extends V> asyncReload(K key, V oldValue, Executor executor) {
+                        return Admission.background(SwrCache.this.loader.apply(key)).toFuture();
+                    }
+                });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** 메트릭 등록용 (ScCaches) */
+    AsyncLoadingCache<K, V> caffeine() {
+        return cache;
+    }
+
+    long refreshedAhead() {
+        return refreshedAhead.sum();
+    }
+
+    long lastGoodServed() {
+        return lastGoodServed.sum();
+    }
+
+    // 업스트림 장애(5xx/429/타임아웃/브레이커 차단)로 로드 실패 → 마지막 정상 값이 있으면 그걸로
+    private Mono<V> lastGoodOr(K key, Throwable e) {
+        V last = lastGood.getIfPresent(key);
+        if (last == null) return Mono.error(e);
+        lastGoodServed.increment();
+        log.warn("{}: upstream unavailable ({}), serving last good value for {}", name, e.toString(), key);
+        return Mono.just(last);
+    }
+
+    /** 캐시 조회 (없으면 로드, soft-ttl 지났으면 기존 값 + 백그라운드 갱신) */
+    public Mono<V> get(K key) {
+        if (!restoredRefreshAt.isEmpty()) refreshIfRestoredStale(key);
+        // suppressCancel: 구독자 하나가 취소해도 공유 중인 로드는 계속
+        return Mono.fromFuture(() -> cache.get(key), true);
+    }
+
+    /** 이미 로드가 끝난 값만 반환 (없거나 로딩 중이면 null) */
+    public V getIfReady(K key) {
+        CompletableFuture<V> f = cache.getIfPresent(key);
+        if (f == null || !f.isDone() || f.isCompletedExceptionally()) return null;
+        return f.join();
+    }
+
+    public void put(K key, V value) {
+        cache.put(key, CompletableFuture.completedFuture(value));
+        if (lastGood != null) lastGood.put(key, value);
+    }
+
+    /**
+     * 지금 바로 로더로 다시 받아 교체 (없으면 로드). 같은 키 갱신이 진행 중이면 그걸 같이 기다림
+     * 미리 데우기용이라 업스트림 우선순위는 background
+     */
+    public Mono<V> refresh(K key) {
+        if (cache.getIfPresent(key) == null) {
+            return Mono.fromFuture(() -> cache.get(key,
+                    (k, executor) -> Admission.background(loader.apply(k)).toFuture()), true);
+        }
+        return Mono.fromFuture(() -> cache.synchronous().refresh(key), true);
+    }
+
+    /** 마지막 로드/갱신 후 지난 시간 (없으면 empty) */
+    public Optional<Duration> ageOf(K key) {
+        return cache.synchronous().policy().refreshAfterWrite().flatMap(r -> r.ageOf(key));
+    }
+
+    /**
+     * refresh-ahead: 자주 조회되는 키 중 soft-ttl × ratio 만큼 지난 키를 미리 갱신
+     * → hot key는 soft-ttl에 도달하기 전에 새 값으로 바뀌어 있음
+     */
+    int refreshHotKeys(int limit, double ratio) {
+        // 복원 후 조회 없이 빠진 키 정리
+        if (!restoredRefreshAt.isEmpty()) restoredRefreshAt.keySet().removeIf(k -> cache.getIfPresent(k) == null);
+
+        Policy<K, V> policy = cache.synchronous().policy();
+        var eviction = policy.eviction();
+        var refresh = policy.refreshAfterWrite();
+        if (limit <= 0 || eviction.isEmpty() || refresh.isEmpty()) return 0;
+
+        long thresholdNanos = (long) (softTtl.toNanos() * ratio);
+        int refreshed = 0;
+        for (K key : eviction.get().hottest(limit).keySet()) {
+            Optional<Duration> age = refresh.get().ageOf(key);
+            if (age.isPresent() && age.get().toNanos() >= thresholdNanos) {
+                cache.synchronous().refresh(key);
+                refreshed++;
+            }
+        }
+        refreshedAhead.add(refreshed);
+        return refreshed;
+    }
+
+    /** 자주 조회되는 순서로 최대 limit 개 (로드가 끝난 값만) */
+    List<Entry<K, V>> hottest(int limit) {
+        Policy<K, V> policy = cache.synchronous().policy();
+        var eviction = policy.eviction();
+        var refresh = policy.refreshAfterWrite();
+        var expiry = policy.expireVariably();
+        if (limit <= 0 || eviction.isEmpty() || refresh.isEmpty() || expiry.isEmpty()) return List.of();
+
+        List<Entry<K, V>> out = new ArrayList<>();
+        eviction.get().hottest(limit).forEach((key, value) -> {
+            Optional<Duration> age = refresh.get().ageOf(key);
+            Optional<Duration> remaining = expiry.get().getExpiresAfter(key);
+            if (age.isPresent() && remaining.isPresent()) {
+                // 로드 직후 잠깐은 아직 로딩 중 만료값(사실상 무한)이 남아 있음 → hard-ttl 로
+                out.add(new Entry<>(key, value, age.get(), min(remaining.get(), hardTtl)));
+            }
+        });
+        return out;
+    }
+
+    /**
+     * 스냅샷 값 넣기: hard-ttl 은 남은 시간으로, soft-ttl 은 age 만큼 지난 것으로 취급
+     * 이미 있는 키(새로 받은 값)는 덮어쓰지 않음
+     */
+    boolean restore(K key, V value, Duration age, Duration remaining) {
+        var expiry = cache.synchronous().policy().expireVariably();
+        if (expiry.isEmpty() || remaining.isNegative() || remaining.isZero()) return false;
+        // 저장 뒤 hard-ttl 설정이 줄었으면 새 설정 기준
+        if (expiry.get().putIfAbsent(key, value, min(remaining, hardTtl)) != null) return false;
+        if (lastGood != null) lastGood.asMap().putIfAbsent(key, value);
+        restoredRefreshAt.put(key, nanoClock.getAsLong() + Math.max(0, softTtl.minus(age).toNanos()));
+        return true;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    // 복원한 값의 soft-ttl 이 지났으면 기존 값은 그대로 내려주고 백그라운드 갱신 (한 번만)
+    private void refreshIfRestoredStale(K key) {
+        Long at = restoredRefreshAt.get(key);
+        if (at != null && nanoClock.getAsLong() - at >= 0 && restoredRefreshAt.remove(key, at)
+                && cache.getIfPresent(key) != null) {
+            cache.synchronous().refresh(key);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = cache.synchronous().stats();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("size", cache.synchronous().estimatedSize());
+        out.put("weightedBytes", cache.synchronous().policy().eviction()
+                .map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        out.put("hits", s.hitCount());
+        out.put("misses", s.missCount());
+        out.put("hitRate", s.hitRate());
+        out.put("evictions", s.evictionCount());
+        out.put("loadFailures", s.loadFailureCount());
+        out.put("avgLoadMs", s.averageLoadPenalty() / 1_000_000.0);
+        out.put("refreshedAhead", refreshedAhead.sum());
+        out.put("lastGoodSize", lastGood == null ? 0 : lastGood.estimatedSize());
+        out.put("lastGoodServed", lastGoodServed.sum());
+        return out;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.reactapt.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 토큰 버킷 (클라이언트 하나)
+ * - 초당 rate 만큼 채워지고 최대 burst 까지 쌓임, 요청 1건에 1개
+ */
+final class TokenBucket {
+
+    private final double ratePerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000.0;
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /** 토큰 1개 사용. 성공이면 0, 없으면 다음 토큰까지 남은 시간(ns) */
+    synchronized long tryTake() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+        refilledAt = now;
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return 0;
+        }
+        return ratePerNano <= 0 ? Long.MAX_VALUE : (long) Math.ceil((1.0 - tokens) / ratePerNano);
+    }
+}
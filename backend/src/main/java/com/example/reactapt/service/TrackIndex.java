@@ -0,0 +1,375 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ScChartItem;
+import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.config.DTO.ScSuggestResponse;
+import com.example.reactapt.config.DTO.ScTrack;
+import com.example.reactapt.config.DTO.TrackDto;
+import com.example.reactapt.config.ScSuggestProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 로컬 자동완성 인덱스 (/api/sc/suggest)
+ * - 검색/트렌딩/resolve 응답에서 본 트랙(제목 + 아티스트)을 모아둠. 응답할 때마다 "본 횟수/마지막으로 본 시각" 갱신
+ * - 질의는 불변 스냅샷만 읽음 (락 없음): 정렬된 term 사전 + term별 posting(트랙 번호) 배열
+ * - 트랙 번호는 점수(최근성 + 인기도) 내림차순이라 posting 앞쪽일수록 좋은 후보
+ * - 변경이 있으면 rebuild-interval 마다 스냅샷 재생성, 이때 ttl 지난 트랙/max-entries 초과분 제거
+ * - 정규화: NFKD + 결합 문자 제거 + 소문자 → "Beyoncé" 를 "beyonce" 로 찾음, 한글은 자모 단위라 "하" 로 "한..." 도 찾음
+ */
+@Component
+public class TrackIndex {
+
+    /** 점수(최근성)가 시간에 따라 바뀌므로 변경이 없어도 이 주기로는 다시 만듦 */
+    private static final long STALE_REBUILD_MILLIS = 60_000;
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    private final ScSuggestProperties props;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<Long, Tracked> tracks = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long builtAt;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder partial = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile double lastRebuildMs;
+
+    @Autowired
+    public TrackIndex(ScSuggestProperties props, MeterRegistry registry) {
+        this(props, System::currentTimeMillis, registry);
+    }
+
+    TrackIndex(ScSuggestProperties props, LongSupplier clock) {
+        this(props, clock, new SimpleMeterRegistry());
+    }
+
+    private TrackIndex(ScSuggestProperties props, LongSupplier clock, MeterRegistry registry) {
+        this.props = props;
+        this.clock = clock;
+        Gauge.builder("sc.suggest.entries", tracks, Map::size).register(registry);
+        Gauge.builder("sc.suggest.terms", this, i -> i.snapshot.terms.length).register(registry);
+    }
+
+    // ───────────────────────── 수집 ─────────────────────────
+
+    public void addSearchItems(List<ScSearchResponse.Item> items) {
+        if (items == null) return;
+        for (var i : items) add(i.id(), i.title(), i.artist(), i.artwork(), i.permalink(), i.playbackCount());
+    }
+
+    public void addTrackDtos(List<TrackDto> items) {
+        if (items == null) return;
+        for (var t : items) {
+            if (t == null || t.externalId() == null) continue;
+            try {
+                add(Long.parseLong(t.externalId()), t.title(), t.artist(), t.artwork(), t.href(), null);
+            } catch (NumberFormatException ignored) {
+                // id 없는 stub 트랙
+            }
+        }
+    }
+
+    public void addChartItems(List<ScChartItem> items) {
+        if (items == null) return;
+        for (var c : items) {
+            if (c != null && c.track() != null) addScTrack(c.track());
+        }
+    }
+
+    public void addScTracks(List<ScTrack> items) {
+        if (items == null) return;
+        for (var t : items) {
+            if (t != null) addScTrack(t);
+        }
+    }
+
+    private void addScTrack(ScTrack t) {
+        add(t.id(), t.title(), t.user() == null ? null : t.user().username(), t.artworkUrl(), t.permalinkUrl(), null);
+    }
+
+    void add(long id, String title, String artist, String artwork, String permalink, Long playbacks) {
+        if (!props.isEnabled() || id <= 0 || title == null || title.isBlank()) return;
+        long now = clock.getAsLong();
+
+        Tracked t = tracks.get(id);
+        if (t == null) {
+            // 재색인 전에 새 트랙이 폭주해도 메모리는 max-entries 의 2배까지만
+            if (tracks.size() >= props.getMaxEntries() * 2) return;
+            t = tracks.computeIfAbsent(id, Tracked::new);
+        }
+        boolean changed = t.update(title, artist, artwork, permalink, playbacks, now);
+        if (changed) dirty.set(true);
+    }
+
+    // ───────────────────────── 재색인 ─────────────────────────
+
+    @Scheduled(fixedDelayString = "${sc.suggest.rebuild-interval:2s}")
+    void rebuildIfNeeded() {
+        if (dirty.get() || clock.getAsLong() - builtAt >= STALE_REBUILD_MILLIS) {
+            rebuild();
+        }
+    }
+
+    synchronized void rebuild() {
+        long started = System.nanoTime();
+        dirty.set(false);
+        long now = clock.getAsLong();
+        long ttl = props.getTtl().toMillis();
+        double halfLife = Math.max(1, props.getHalfLife().toMillis());
+
+        // 1) 만료 제거 + 점수 계산
+        List<Scored> alive = new ArrayList<>(tracks.size());
+        for (Tracked t : tracks.values()) {
+            long age = now - t.lastSeen;
+            if (age > ttl) {
+                if (tracks.remove(t.id, t)) evicted.increment();
+                continue;
+            }
+            double recency = Math.pow(0.5, age / halfLife);
+            double popularity = Math.log10(1 + Math.max(0, t.playbacks)) / 9.0;
+            double seen = Math.log10(1 + t.seen.get()) / 3.0;
+            alive.add(new Scored(t, 2.0 * recency + 1.5 * popularity + seen));
+        }
+
+        // 2) 점수 내림차순 → 트랙 번호 = 순위. 넘치는 꼬리는 제거
+        alive.sort(Comparator.comparingDouble(Scored::score).reversed());
+        int max = props.getMaxEntries();
+        if (alive.size() > max) {
+            for (Scored s : alive.subList(max, alive.size())) {
+                if (tracks.remove(s.t.id, s.t)) evicted.increment();
+            }
+            alive = new ArrayList<>(alive.subList(0, max));
+        }
+
+        // 3) term → posting (번호 오름차순으로 쌓이므로 별도 정렬 불필요)
+        int n = alive.size();
+        Entry[] entries = new Entry[n];
+        double[] scores = new double[n];
+        Map<String, int[]> postings = new HashMap<>();
+        Map<String, Integer> sizes = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Tracked t = alive.get(i).t;
+            String titleNorm = normalize(t.title);
+            String artistNorm = t.artist == null ? "" : normalize(t.artist);
+            entries[i] = new Entry(t.id, t.title, t.artist, t.artwork, t.permalink, titleNorm, artistNorm);
+            scores[i] = alive.get(i).score;
+
+            Set<String> seen = new LinkedHashSet<>(tokens(titleNorm));
+            seen.addAll(tokens(artistNorm));
+            for (String term : seen) {
+                int size = sizes.getOrDefault(term, 0);
+                int[] list = postings.get(term);
+                if (list == null) {
+                    list = new int[2];
+                } else if (size == list.length) {
+                    list = Arrays.copyOf(list, size * 2);
+                }
+                list[size] = i;
+                postings.put(term, list);
+                sizes.put(term, size + 1);
+            }
+        }
+
+        String[] terms = postings.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        int[] offsets = new int[terms.length + 1];
+        int total = 0;
+        for (int i = 0; i < terms.length; i++) {
+            offsets[i] = total;
+            total += sizes.get(terms[i]);
+        }
+        offsets[terms.length] = total;
+        int[] flat = new int[total];
+        for (int i = 0; i < terms.length; i++) {
+            System.arraycopy(postings.get(terms[i]), 0, flat, offsets[i], sizes.get(terms[i]));
+        }
+
+        snapshot = new Snapshot(entries, scores, terms, offsets, flat);
+        builtAt = now;
+        rebuilds.increment();
+        lastRebuildMs = (System.nanoTime() - started) / 1_000_000.0;
+    }
+
+    // ───────────────────────── 질의 ─────────────────────────
+
+    public ScSuggestResponse suggest(String q, Integer limit) {
+        queries.increment();
+        int k = Math.max(1, Math.min(props.getMaxLimit(), limit == null ? props.getDefaultLimit() : limit));
+        String qn = q == null ? "" : normalize(q);
+        List<String> qt = tokens(qn);
+        Snapshot s = snapshot;
+        if (!props.isEnabled() || qt.isEmpty() || s.entries.length == 0) {
+            return new ScSuggestResponse(q, List.of(), false);
+        }
+
+        long deadline = System.nanoTime() + props.getBudget().toNanos();
+        boolean cut = false;
+
+        // 모든 토큰을 접두어로 보고 교집합 ("daft pu" → daft* ∩ pu*)
+        BitSet acc = null;
+        for (String token : qt) {
+            BitSet hits = new BitSet(s.entries.length);
+            for (int ti = lowerBound(s.terms, token); ti < s.terms.length && s.terms[ti].startsWith(token); ti++) {
+                for (int p = s.offsets[ti]; p < s.offsets[ti + 1]; p++) hits.set(s.postings[p]);
+                if ((ti & 63) == 0 && System.nanoTime() > deadline) {
+                    cut = true;
+                    break;
+                }
+            }
+            if (acc == null) acc = hits;
+            else acc.and(hits);
+            if (acc.isEmpty() || cut) break;
+        }
+
+        // 번호가 작을수록 기본 점수가 높음 → 앞쪽 후보 몇 배수만 보고 질의 일치도로 재정렬
+        int window = k * 4;
+        List<Integer> picked = new ArrayList<>(window);
+        for (int i = acc.nextSetBit(0); i >= 0 && picked.size() < window; i = acc.nextSetBit(i + 1)) {
+            picked.add(i);
+        }
+        picked.sort(Comparator.comparingDouble((Integer c) -> -(s.scores[c] + boost(s.entries[c], qn))));
+
+        List<ScSuggestResponse.Item> items = new ArrayList<>(Math.min(k, picked.size()));
+        for (int i = 0; i < picked.size() && items.size() < k; i++) {
+            Entry e = s.entries[picked.get(i)];
+            items.add(new ScSuggestResponse.Item(e.id, e.title, e.artist, e.artwork, e.permalink));
+        }
+        if (cut) partial.increment();
+        return new ScSuggestResponse(q, items, cut);
+    }
+
+    /** 제목/아티스트가 질의 전체로 시작하면 가산 */
+    private static double boost(Entry e, String qn) {
+        if (e.titleNorm.startsWith(qn)) return 1.5;
+        if (!e.artistNorm.isEmpty() && e.artistNorm.startsWith(qn)) return 1.0;
+        return 0;
+    }
+
+    private static int lowerBound(String[] terms, String key) {
+        int lo = 0, hi = terms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terms[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // ───────────────────────── 정규화 ─────────────────────────
+
+    /** NFKD + 결합 문자 제거 + 소문자, 글자/숫자 외에는 공백 */
+    static String normalize(String s) {
+        String d = Normalizer.normalize(s, Normalizer.Form.NFKD);
+        StringBuilder sb = new StringBuilder(d.length());
+        boolean space = true;
+        for (int i = 0; i < d.length(); i++) {
+            char c = d.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                    || type == Character.ENCLOSING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int len = sb.length();
+        if (len > 0 && sb.charAt(len - 1) == ' ') sb.setLength(len - 1);
+        return sb.toString();
+    }
+
+    /** 정규화된 문자열 → 토큰 (너무 긴 토큰은 앞부분만) */
+    static List<String> tokens(String normalized) {
+        if (normalized.isEmpty()) return List.of();
+        List<String> out = new ArrayList<>();
+        for (String t : normalized.split(" ")) {
+            if (!t.isEmpty()) out.add(t.length() > MAX_TOKEN_LENGTH ? t.substring(0, MAX_TOKEN_LENGTH) : t);
+        }
+        return out;
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot s = snapshot;
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("tracks", tracks.size());
+        out.put("indexed", s.entries.length);
+        out.put("terms", s.terms.length);
+        out.put("postings", s.postings.length);
+        out.put("queries", queries.sum());
+        out.put("partial", partial.sum());
+        out.put("evicted", evicted.sum());
+        out.put("rebuilds", rebuilds.sum());
+        out.put("lastRebuildMs", lastRebuildMs);
+        return out;
+    }
+
+    // ───────────────────────── 내부 구조 ─────────────────────────
+
+    /** 수집용 가변 엔트리 (필드 갱신 경쟁은 허용: 마지막 값이 이김) */
+    private static final class Tracked {
+        final long id;
+        volatile String title;
+        volatile String artist;
+        volatile String artwork;
+        volatile String permalink;
+        volatile long playbacks;
+        volatile long lastSeen;
+        final AtomicInteger seen = new AtomicInteger();
+
+        Tracked(long id) {
+            this.id = id;
+        }
+
+        /** @return 검색 텍스트가 새로 생기거나 바뀌었으면 true */
+        boolean update(String title, String artist, String artwork, String permalink, Long playbacks, long now) {
+            boolean changed = !title.equals(this.title)
+                    || (artist != null && !artist.equals(this.artist));
+            this.title = title;
+            if (artist != null && !artist.isBlank()) this.artist = artist;
+            if (artwork != null) this.artwork = artwork;
+            if (permalink != null) this.permalink = permalink;
+            if (playbacks != null) this.playbacks = playbacks;
+            this.lastSeen = now;
+            seen.incrementAndGet();
+            return changed;
+        }
+    }
+
+    private record Scored(Tracked t, double score) {}
+
+    private record Entry(long id, String title, String artist, String artwork, String permalink,
+                         String titleNorm, String artistNorm) {}
+
+    private record Snapshot(Entry[] entries, double[] scores, String[] terms, int[] offsets, int[] postings) {
+        static final Snapshot EMPTY = new Snapshot(new Entry[0], new double[0], new String[0], new int[1], new int[0]);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.Mapper.GenreMapper;
+import com.example.reactapt.config.ScPrewarmProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 트렌딩 미리 데우기 (sc.prewarm.*)
+ * - 시작 직후(ApplicationReadyEvent) 한 번, 이후 interval ± jitter 마다 장르별 앞 pages 페이지를 다시 받아 캐시에 채움
+ *   → soft-ttl 만료 뒤 첫 방문자가 업스트림을 기다리지 않음
+ * - 주기마다 업스트림 호출 예산(max-calls-per-cycle). 다 쓰면 남은 장르/페이지는 다음 주기로
+ * - @Scheduled 는 고정 주기라 jitter 를 못 넣어서, 한 주기가 끝나면 다음 주기를 직접 예약
+ */
+@Slf4j
+@Component
+public class TrendingPrewarmer {
+
+    private final MusicService music;
+    private final ScPrewarmProperties props;
+
+    private final LongAdder cycles = new LongAdder();
+    private final LongAdder refreshed = new LongAdder();
+    private final LongAdder fresh = new LongAdder();
+    private final LongAdder outOfBudget = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile long lastCycleMs;
+    private volatile int lastCalls;
+
+    private volatile Disposable next;
+    private volatile boolean stopped;
+
+    public TrendingPrewarmer(MusicService music, ScPrewarmProperties props, MeterRegistry registry) {
+        this.music = music;
+        this.props = props;
+        FunctionCounter.builder("sc.prewarm.cycles", cycles, LongAdder::sum).register(registry);
+        FunctionCounter.builder("sc.prewarm.pages", refreshed, LongAdder::sum).tag("result", "refreshed").register(registry);
+        FunctionCounter.builder("sc.prewarm.pages", fresh, LongAdder::sum).tag("result", "fresh").register(registry);
+        FunctionCounter.builder("sc.prewarm.budget.exhausted", outOfBudget, LongAdder::sum).register(registry);
+        FunctionCounter.builder("sc.prewarm.failures", failures, LongAdder::sum).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!props.isEnabled()) return;
+        log.info("trending prewarm: genres={} pages={} interval={}", genres(), props.getPages(), props.getInterval());
+        schedule(Duration.ZERO);
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+        Disposable d = next;
+        if (d != null) d.dispose();
+    }
+
+    private void schedule(Duration delay) {
+        if (stopped) return;
+        next = Mono.delay(delay)
+                .then(runOnce())
+                .doFinally(s -> schedule(nextDelay()))
+                .subscribe(r -> { }, e -> log.warn("trending prewarm cycle failed: {}", e.toString()));
+    }
+
+    /** interval ± jitter */
+    Duration nextDelay() {
+        long base = props.getInterval().toMillis();
+        double j = Math.max(0, Math.min(1, props.getJitter()));
+        double factor = 1 + (ThreadLocalRandom.current().nextDouble() * 2 - 1) * j;
+        return Duration.ofMillis(Math.max(1000, (long) (base * factor)));
+    }
+
+    /** 대상 장르: GenreMapper + 설정 목록 (정렬 → 예산이 모자라도 매번 같은 순서로) */
+    List<String> genres() {
+        TreeSet<String> all = new TreeSet<>(GenreMapper.slugs());
+        for (String g : props.getGenres()) {
+            if (g != null && !g.isBlank()) all.add(g.trim());
+        }
+        return List.copyOf(all);
+    }
+
+    /** 한 주기 실행 (장르별 실패는 세고 넘어감) */
+    public Mono<MusicService.Prewarm> runOnce() {
+        AtomicInteger budget = new AtomicInteger(props.getMaxCallsPerCycle());
+        long started = System.nanoTime();
+        return Flux.fromIterable(genres())
+                .flatMap(g -> music.prewarm(g, props.getLimit(), props.getPages(), props.getMinAge(),
+                                        () -> budget.getAndDecrement() > 0)
+                                .onErrorResume(e -> {
+                                    failures.increment();
+                                    log.warn("trending prewarm failed genre={}: {}", g, e.toString());
+                                    return Mono.just(MusicService.Prewarm.NONE);
+                                }),
+                        Math.max(1, props.getConcurrency()))
+                .reduce(MusicService.Prewarm.NONE, (a, b) -> new MusicService.Prewarm(
+                        a.refreshed() + b.refreshed(), a.fresh() + b.fresh(), a.outOfBudget() || b.outOfBudget()))
+                .doOnNext(total -> {
+                    cycles.increment();
+                    refreshed.add(total.refreshed());
+                    fresh.add(total.fresh());
+                    if (total.outOfBudget()) outOfBudget.increment();
+                    lastCycleMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+                    lastCalls = total.refreshed();
+                    log.atDebug().setMessage("trending prewarm")
+                            .addKeyValue("refreshed", total.refreshed()).addKeyValue("fresh", total.fresh())
+                            .addKeyValue("outOfBudget", total.outOfBudget()).addKeyValue("ms", lastCycleMs).log();
+                });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", props.isEnabled());
+        out.put("genres", genres().size());
+        out.put("cycles", cycles.sum());
+        out.put("refreshed", refreshed.sum());
+        out.put("fresh", fresh.sum());
+        out.put("budgetExhausted", outOfBudget.sum());
+        out.put("failures", failures.sum());
+        out.put("lastCycleMs", lastCycleMs);
+        out.put("lastCalls", lastCalls);
+        return out;
+    }
+}
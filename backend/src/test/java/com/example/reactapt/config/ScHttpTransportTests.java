@@ -0,0 +1,65 @@
+package com.example.reactapt.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ScHttpTransportTests {
+
+    private final HttpServer stub = startStub();
+    private final ScHttpTransport transport = new ScHttpTransport(new ScHttpProperties(), WebClient.builder());
+
+    @AfterEach
+    void stop() {
+        transport.destroy();
+        stub.stop(0);
+    }
+
+    @Test
+    void clientsForSameHostShareOnePoolAndReportItsState() {
+        String base = "http://localhost:" + stub.getAddress().getPort();
+        // ScClient / ScService 처럼 같은 호스트 이름으로 WebClient 를 따로 만들어도
+        WebClient a = transport.webClient("api-v2", base);
+        WebClient b = transport.webClient("api-v2", base);
+
+        for (WebClient client : new WebClient[]{a, b, a}) {
+            assertThat(client.get().uri("/ping").retrieve().bodyToMono(String.class).block()).isEqualTo("ok");
+        }
+
+        // 풀 하나 (원격 주소 단위), 응답이 끝난 커넥션은 풀로 돌아가 idle
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertThat(transport.poolStats()).hasSize(1).allSatisfy((name, stats) -> {
+                    assertThat(name).startsWith("sc-api-v2 ");
+                    var pool = assertThat(stats).asInstanceOf(InstanceOfAssertFactories.map(String.class, Integer.class));
+                    pool.containsEntry("active", 0).containsEntry("pending", 0);
+                    pool.extractingByKey("idle").isEqualTo(((Map<?, ?>) stats).get("allocated"));
+                }));
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/ping", exchange -> {
+                byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
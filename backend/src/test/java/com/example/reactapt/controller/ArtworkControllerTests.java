@@ -0,0 +1,136 @@
+package com.example.reactapt.controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 피드 한 번 보기 = 목록 API 몇 번 + 썸네일 수십 장 → 썸네일은 클라이언트 요청 제한(기본 burst 60)을 쓰지 않음
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "sc.admission.client.rate-per-second=0.01")
+class ArtworkControllerTests {
+
+    private static final int FEED_SIZE = 60;
+    private static final Pattern ARTWORK = Pattern.compile("\"(/api/artwork/[^\"]+)\"");
+    private static final Pattern NEXT = Pattern.compile("\"next_href\":\"([^\"]+)\"");
+
+    private static final HttpServer stub = startStub();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) throws IOException {
+        String base = "http://localhost:" + stub.getAddress().getPort();
+        registry.add("sc.api.base", () -> base);
+        registry.add("sc.artwork.origin", () -> base);
+        registry.add("sc.artwork.dir", Files.createTempDirectory("artwork-test")::toString);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void loadingAFullFeedWithItsThumbnailsIsNotRateLimited() {
+        // 목록 두 페이지(30 + 30)
+        List<String> artwork = new ArrayList<>();
+        String next = page("/api/charts/trending?genre=artwork&limit=30", artwork);
+        assertThat(next).isNotNull();
+        page("/api/charts/trending?genre=artwork&limit=30&cursor=" + URLEncoder.encode(next, StandardCharsets.UTF_8), artwork);
+        assertThat(artwork).hasSize(FEED_SIZE).doesNotHaveDuplicates();
+
+        // 썸네일 60장 (처음이라 전부 만들고) → 목록 2 + 썸네일 60 이 burst 60 을 넘지만 429 없음
+        for (String url : artwork) {
+            HttpResponse<byte[]> image = client.sendAsync(request(url), HttpResponse.BodyHandlers.ofByteArray()).join();
+            assertThat(image.statusCode()).as(url).isEqualTo(200);
+            assertThat(image.headers().firstValue("Content-Type")).hasValue("image/jpeg");
+        }
+
+        // 다음 API 호출도 버킷이 남아 있음
+        assertThat(get("/api/ping").statusCode()).isEqualTo(200);
+    }
+
+    private String page(String path, List<String> artwork) {
+        HttpResponse<String> response = get(path);
+        assertThat(response.statusCode()).isEqualTo(200);
+        Matcher m = ARTWORK.matcher(response.body());
+        while (m.find()) artwork.add(m.group(1));
+        Matcher n = NEXT.matcher(response.body());
+        return n.find() ? n.group(1) : null;
+    }
+
+    private HttpResponse<String> get(String path) {
+        return client.sendAsync(request(path), HttpResponse.BodyHandlers.ofString()).join();
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/search/tracks", exchange -> {
+                StringBuilder body = new StringBuilder("{\"collection\":[");
+                for (int i = 1; i <= FEED_SIZE; i++) {
+                    if (i > 1) body.append(',');
+                    body.append("{\"id\":").append(i).append(",\"title\":\"track-").append(i)
+                            .append("\",\"permalink_url\":\"https://soundcloud.com/a/").append(i)
+                            .append("\",\"artwork_url\":\"https://i1.sndcdn.com/artworks-0000").append(i)
+                            .append("-abc-large.jpg\"}");
+                }
+                body.append("],\"next_href\":null}");
+                send(exchange, "application/json", body.toString().getBytes(StandardCharsets.UTF_8));
+            });
+            byte[] source = image();
+            server.createContext("/", exchange -> send(exchange, "image/png", source));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void send(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static byte[] image() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(500, 500, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.reactapt.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 프록시 뒤 클라이언트 구분: 테스트 요청은 루프백(= 신뢰하는 프록시)에서 오므로 X-Forwarded-For 의 오른쪽 값이 클라이언트
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "sc.admission.client.burst=3",
+                "sc.admission.client.rate-per-second=0.01"
+        })
+class ClientRateLimitFilterTests {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void spoofedLeftmostForwardedForDoesNotGetAFreshBucket() {
+        // 프록시가 붙인 오른쪽 값이 같으면 앞에 뭘 써 넣어도 같은 버킷
+        for (int i = 0; i < 3; i++) {
+            assertThat(ping("10.9.9." + i + ", 203.0.113.7")).isEqualTo(200);
+        }
+        assertThat(ping("198.51.100.1, 203.0.113.7")).isEqualTo(429);
+
+        // 다른 클라이언트는 자기 버킷
+        assertThat(ping("203.0.113.8")).isEqualTo(200);
+    }
+
+    private int ping(String forwardedFor) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/ping"))
+                .header("X-Forwarded-For", forwardedFor).build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).join().statusCode();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.reactapt.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 느린 업스트림(SC 스텁, 응답당 800ms) 상대로 톰캣 워커(4개)보다 많은 요청을 동시에 처리하는지 확인
+ * - 블로킹 구조라면 32건 / 4스레드 × 800ms ≈ 6.4초 이상
+ * - 논블로킹이면 업스트림 동시 호출이 워커 수를 넘고 전체가 몇 라운드 안에 끝남
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.tomcat.threads.max=4",
+                "server.tomcat.threads.min-spare=1"
+        })
+class MusicControllerLoadTests {
+
+    private static final int WORKERS = 4;
+    private static final int REQUESTS = 32;
+    private static final long UPSTREAM_DELAY_MS = 800;
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+    private static final HttpServer stub = startStub();
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("sc.api.base", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void slowUpstreamDoesNotLimitConcurrencyToWorkerThreads() {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        long started = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            // 장르를 모두 다르게 → 요청 합치기 없이 각자 업스트림 호출
+            URI uri = URI.create("http://localhost:" + port + "/api/charts/trending?genre=load-" + i + "&limit=20");
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        for (var r : responses) {
+            assertThat(r.join().statusCode()).isEqualTo(200);
+            assertThat(r.join().body()).contains("\"title\":\"stub-track\"");
+        }
+        assertThat(peakInFlight.get()).isGreaterThan(WORKERS);
+        assertThat(elapsedMs).isLessThan(REQUESTS / WORKERS * UPSTREAM_DELAY_MS);
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/search/tracks", exchange -> {
+                int now = inFlight.incrementAndGet();
+                peakInFlight.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(UPSTREAM_DELAY_MS);
+                    byte[] body = ("{\"collection\":[{\"id\":1,\"title\":\"stub-track\","
+                            + "\"permalink_url\":\"https://soundcloud.com/a/b\",\"artwork_url\":null}],"
+                            + "\"next_href\":null}").getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                    exchange.close();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
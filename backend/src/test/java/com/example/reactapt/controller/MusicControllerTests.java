@@ -0,0 +1,103 @@
+package com.example.reactapt.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MusicControllerTests {
+
+    private static final HttpServer stub = startStub();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("sc.api.base", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void unresolvableCursorIsGoneInsteadOfAnEmptyPage() {
+        HttpResponse<String> first = get("/api/charts/trending?genre=cursor&limit=1");
+        assertThat(first.statusCode()).isEqualTo(200);
+
+        // 다른 키로 만든(다른 노드, 키 교체 전) 토큰 모양 → 빈 200 이 아니라 410 (프론트가 목록 끝으로 오해하지 않게)
+        HttpResponse<String> foreign = get("/api/charts/trending?genre=cursor&limit=1&cursor=c" + "A".repeat(60));
+        assertThat(foreign.statusCode()).isEqualTo(410);
+    }
+
+    @Test
+    void repeatedRequestWithMatchingEtagIsNotModified() {
+        String path = "/api/charts/trending?genre=etag&limit=20";
+        HttpResponse<String> first = get(path);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertThat(first.statusCode()).isEqualTo(200);
+        // 응답이 정한 Cache-Control 만 (보안 기본값 no-cache/Pragma/Expires 가 섞이지 않음)
+        assertThat(first.headers().allValues("Cache-Control")).singleElement().asString()
+                .contains("max-age=30").contains("public").doesNotContain("no-store");
+        assertThat(first.headers().firstValue("Pragma")).isEmpty();
+        assertThat(first.headers().firstValue("Expires")).isEmpty();
+
+        // 같은 내용 → 같은 ETag, If-None-Match 로 오면 본문 없이 304
+        assertThat(get(path).headers().firstValue("ETag")).hasValue(etag);
+
+        HttpResponse<String> conditional = get(path, "If-None-Match", etag);
+        assertThat(conditional.statusCode()).isEqualTo(304);
+        assertThat(conditional.body()).isEmpty();
+    }
+
+    @Test
+    void responsesWithoutOwnCacheHeadersAreNotStored() {
+        // 비동기(Mono) 응답도 기본값은 캐시 금지
+        HttpResponse<String> ping = get("/api/ping");
+        assertThat(ping.statusCode()).isEqualTo(200);
+        assertThat(ping.headers().firstValue("Cache-Control")).hasValueSatisfying(v -> assertThat(v).contains("no-store"));
+    }
+
+    private HttpResponse<String> get(String path, String... headers) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (headers.length > 0) request.headers(headers);
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString()).join();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/search/tracks", exchange -> {
+                byte[] body = ("{\"collection\":[{\"id\":1,\"title\":\"stub-track\","
+                        + "\"permalink_url\":\"https://soundcloud.com/a/b\",\"artwork_url\":null}],"
+                        + "\"next_href\":null}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
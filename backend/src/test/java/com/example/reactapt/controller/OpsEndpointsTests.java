@@ -0,0 +1,102 @@
+package com.example.reactapt.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 운영용 엔드포인트: 메트릭 스크랩/내부 통계는 ops 계정으로만, health 와 일반 API 는 공개
+ */
+@AutoConfigureObservability // 테스트에서도 Prometheus 레지스트리 켜기 (기본은 꺼짐)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.security.user.password=test-ops")
+class OpsEndpointsTests {
+
+    private static final String OPS = "Basic " + Base64.getEncoder()
+            .encodeToString("ops:test-ops".getBytes(StandardCharsets.UTF_8));
+    private static final HttpServer stub = startStub();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("sc.api.base", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void opsEndpointsRequireCredentials() {
+        assertThat(get("/actuator/prometheus", null).statusCode()).isEqualTo(401);
+        assertThat(get("/api/sc/stats", null).statusCode()).isEqualTo(401);
+        assertThat(get("/api/artwork/stats", null).statusCode()).isEqualTo(401);
+        // playlist 저장소는 기본 꺼짐 → 컨트롤러가 없어도 인증부터 요구
+        assertThat(get("/api/playlists/stats", null).statusCode()).isEqualTo(401);
+        assertThat(get("/actuator/health", null).statusCode()).isEqualTo(200);
+        assertThat(get("/api/ping", null).statusCode()).isEqualTo(200);
+
+        assertThat(get("/api/sc/stats", OPS).statusCode()).isEqualTo(200);
+        assertThat(get("/api/artwork/stats", OPS).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void scrapeExposesEndpointUpstreamAndCacheMetrics() {
+        assertThat(get("/api/charts/trending?genre=metrics&limit=20", null).statusCode()).isEqualTo(200);
+
+        HttpResponse<String> scrape = get("/actuator/prometheus", OPS);
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+                .contains("http_server_requests_seconds_bucket")
+                .contains("sc_upstream_requests_seconds_bucket")
+                .contains("sc_upstream_in_flight")
+                .contains("cache_gets_total{application=\"ReactApi\",cache=\"sc-trending\"");
+    }
+
+    private HttpResponse<String> get(String path, String authorization) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (authorization != null) request.header("Authorization", authorization);
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString()).join();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/search/tracks", exchange -> {
+                byte[] body = ("{\"collection\":[{\"id\":1,\"title\":\"stub-track\","
+                        + "\"permalink_url\":\"https://soundcloud.com/a/b\",\"artwork_url\":null}],"
+                        + "\"next_href\":null}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.reactapt.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"sc.client-id=secret-client-id", "soundcloud.client-id=secret-client-id"})
+class ScControllerTests {
+
+    /** 검색 업스트림이 항상 403 */
+    private static final HttpServer stub = startStub();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("sc.api.base", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void sseErrorEventCarriesOnlyTheStatusNotTheUpstreamUrl() {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/sc/stream/sse?q=leak&count=5")).build();
+        String body = client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).join().body();
+
+        assertThat(body).contains("event:error").contains("\"error\":\"403\"");
+        // 업스트림 에러 메시지("403 from GET <URL>")의 URL/client_id 는 브라우저로 가지 않음
+        assertThat(body).doesNotContain("secret-client-id").doesNotContain("localhost");
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/search/tracks", exchange -> {
+                exchange.sendResponseHeaders(403, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScAdmissionProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionTests {
+
+    private static ScAdmissionProperties.Limiter limiter(int limit, int maxQueue) {
+        ScAdmissionProperties.Limiter cfg = new ScAdmissionProperties.Limiter();
+        cfg.setInitialLimit(limit);
+        cfg.setMinLimit(1);
+        cfg.setMaxQueue(maxQueue);
+        cfg.setMaxBackgroundQueue(maxQueue);
+        return cfg;
+    }
+
+    @Test
+    void queuedInteractiveCallsGoBeforeBackground() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(limiter(2, 8));
+        AdaptiveLimiter.Permit a = limiter.acquire(Admission.Priority.INTERACTIVE).block();
+        AdaptiveLimiter.Permit b = limiter.acquire(Admission.Priority.INTERACTIVE).block();
+
+        List<String> order = new ArrayList<>();
+        List<AdaptiveLimiter.Permit> held = new ArrayList<>();
+        limiter.acquire(Admission.Priority.BACKGROUND).subscribe(p -> { order.add("background"); held.add(p); });
+        limiter.acquire(Admission.Priority.INTERACTIVE).subscribe(p -> { order.add("interactive"); held.add(p); });
+        assertThat(order).isEmpty();
+
+        a.release();
+        assertThat(order).containsExactly("interactive");
+        // background 몫은 limit × 0.5 = 1 → 둘 다 반납돼야 들어감
+        b.release();
+        assertThat(order).containsExactly("interactive");
+        held.get(0).release();
+        assertThat(order).containsExactly("interactive", "background");
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueIsShedWithRetryAfter() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(limiter(1, 1));
+        limiter.acquire(Admission.Priority.INTERACTIVE).block();
+        limiter.acquire(Admission.Priority.INTERACTIVE).subscribe(); // 대기열 1칸 차지
+
+        assertThatThrownBy(() -> limiter.acquire(Admission.Priority.INTERACTIVE).block())
+                .isInstanceOf(Admission.RejectedException.class)
+                .satisfies(e -> assertThat(((Admission.RejectedException) e).getHeaders().getFirst("Retry-After"))
+                        .isEqualTo("1"));
+    }
+
+    @Test
+    void cancelledWaiterLeavesQueueAndDoesNotLeakPermit() {
+        ScAdmissionProperties.Limiter cfg = limiter(1, 8);
+        cfg.setMaxWait(Duration.ofMillis(50));
+        AdaptiveLimiter limiter = new AdaptiveLimiter(cfg);
+        AdaptiveLimiter.Permit held = limiter.acquire(Admission.Priority.INTERACTIVE).block();
+
+        assertThatThrownBy(() -> limiter.acquire(Admission.Priority.INTERACTIVE).block())
+                .isInstanceOf(Admission.RejectedException.class);
+        held.release();
+        held.release(); // 두 번 반납해도 한 번만
+
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.stats()).containsEntry("queuedInteractive", 0).containsEntry("timedOut", 1L);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRisesAndGrowsBackWhenItRecovers() {
+        AtomicLong now = new AtomicLong();
+        ScAdmissionProperties.Limiter cfg = limiter(20, 8);
+        AdaptiveLimiter limiter = new AdaptiveLimiter(cfg, now::get);
+        List<AdaptiveLimiter.Permit> busy = new ArrayList<>();
+        for (int i = 0; i < 15; i++) busy.add(limiter.acquire(Admission.Priority.INTERACTIVE).block());
+
+        for (int i = 0; i < 200; i++) {
+            now.addAndGet(100_000_000L);
+            limiter.onSuccess(100_000_000L); // 평소 100ms
+        }
+        int steady = limiter.limit();
+        assertThat(steady).isGreaterThanOrEqualTo(20);
+
+        for (int i = 0; i < 50; i++) {
+            now.addAndGet(1_000_000_000L);
+            limiter.onSuccess(1_000_000_000L); // 갑자기 1초
+        }
+        int shrunk = limiter.limit();
+        assertThat(shrunk).isLessThan(steady);
+
+        for (int i = 0; i < 2000; i++) {
+            now.addAndGet(100_000_000L);
+            limiter.onSuccess(100_000_000L);
+        }
+        assertThat(limiter.limit()).isGreaterThan(shrunk);
+        busy.forEach(AdaptiveLimiter.Permit::release);
+    }
+
+    @Test
+    void clientBucketAllowsBurstThenAsksToWait() {
+        AtomicLong now = new AtomicLong();
+        ScAdmissionProperties props = new ScAdmissionProperties();
+        props.getClient().setRatePerSecond(2);
+        props.getClient().setBurst(3);
+        ClientRateLimiter clients = new ClientRateLimiter(props, now::get);
+
+        for (int i = 0; i < 3; i++) assertThat(clients.tryAcquire("10.0.0.1")).isNull();
+        assertThat(clients.tryAcquire("10.0.0.1")).isEqualTo(Duration.ofMillis(500));
+        assertThat(clients.tryAcquire("10.0.0.2")).isNull(); // 다른 클라이언트는 따로
+
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(clients.tryAcquire("10.0.0.1")).isNull();
+    }
+
+    @Test
+    void backgroundPriorityTravelsInContext() {
+        Mono<Admission.Priority> probe = Mono.deferContextual(ctx -> Mono.just(Admission.priorityOf(ctx)));
+        assertThat(probe.block()).isEqualTo(Admission.Priority.INTERACTIVE);
+        assertThat(Admission.background(probe).block()).isEqualTo(Admission.Priority.BACKGROUND);
+    }
+}
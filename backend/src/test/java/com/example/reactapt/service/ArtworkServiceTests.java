@@ -0,0 +1,184 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ArtworkUrls;
+import com.example.reactapt.config.DTO.TrackDto;
+import com.example.reactapt.config.ScArtworkProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.SpringHandlerInstantiator;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArtworkServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<String> urls = new ArrayList<>();
+
+    /** CDN 스텁: artworks-missing 은 404, 나머지는 600×400 png (지연 50ms) */
+    private final WebClient cdn = WebClient.builder()
+            .exchangeFunction(request -> {
+                calls.incrementAndGet();
+                urls.add(request.url().toString());
+                if (request.url().getPath().contains("missing")) {
+                    return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+                }
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE)
+                                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(png(600, 400))))
+                                .build())
+                        .delayElement(Duration.ofMillis(50));
+            })
+            .build();
+
+    private ArtworkService service(long maxBytes) throws IOException {
+        ScArtworkProperties props = new ScArtworkProperties();
+        props.setDir(dir.toString());
+        props.setOrigin("https://cdn.test");
+        props.setMaxBytes(DataSize.ofBytes(maxBytes));
+        return new ArtworkService(props, cdn, new ScUpstream(), new SimpleMeterRegistry());
+    }
+
+    private static byte[] png(int w, int h) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, w, h);
+        g.dispose();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(img, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void firstRequestRendersEverySizeOnceAndLaterRequestsHitDisk() throws IOException {
+        ArtworkService service = service(1 << 20);
+        String id = "artworks-000123-abc";
+
+        // 같은 id 동시 요청 → 원본 1번, 리사이즈 1번
+        List<ArtworkService.Thumbnail> got = Flux.merge(
+                        service.render(id, service.sizeFor(300)),
+                        service.render(id, service.sizeFor(250)),
+                        service.render(id, service.sizeFor(64)))
+                .collectList().block();
+
+        assertThat(calls).hasValue(1);
+        assertThat(urls).containsExactly("https://cdn.test/artworks-000123-abc-t500x500.jpg");
+        assertThat(got).hasSize(3);
+        BufferedImage thumb = ImageIO.read(service.cached(id, 300).path().toFile());
+        assertThat(thumb.getWidth()).isEqualTo(300);
+        assertThat(thumb.getHeight()).isEqualTo(300);
+        // 원본(400px 정사각형)보다 큰 500 은 늘리지 않음
+        assertThat(ImageIO.read(service.cached(id, 500).path().toFile()).getWidth()).isEqualTo(400);
+        assertThat(service.sizeFor(null)).isEqualTo(300);
+        assertThat(service.sizeFor(1000)).isEqualTo(500);
+        assertThat(service.stats()).containsEntry("rendered", 1L);
+    }
+
+    @Test
+    void missingSourceIsNotFoundAndBadIdNeverGoesUpstream() throws IOException {
+        ArtworkService service = service(1 << 20);
+
+        assertThatThrownBy(() -> service.render("artworks-missing", 300).block())
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThatThrownBy(() -> service.render("../etc/passwd", 300).block())
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void storeEvictsLeastRecentlyUsedByBytesAndSurvivesRestart() throws IOException {
+        AtomicLong now = new AtomicLong();
+        ArtworkStore store = new ArtworkStore(dir, 250, now::get);
+        store.put("artworks-a", 64, new byte[100]);
+        store.put("artworks-b", 64, new byte[100]);
+        assertThat(store.get("artworks-a", 64)).isNotNull(); // a 가 최근 사용
+        Path b = stored("artworks-b");
+        store.put("artworks-c", 64, new byte[100]);
+
+        assertThat(store.get("artworks-b", 64)).isNull();
+        assertThat(store.get("artworks-a", 64)).isNotNull();
+        assertThat(store.stats()).containsEntry("bytes", 200L).containsEntry("evictions", 1L);
+        // 목록에서는 빠졌지만 방금 sendfile 로 넘긴 응답이 아직 열지 않았을 수 있어서 파일은 남김
+        assertThat(b).exists();
+        assertThat(fileCount()).isEqualTo(3);
+
+        // 삭제 대기 중에 다시 쓴 b 는 지우지 않고, 대신 밀려난 c 는 DELETE_GRACE 뒤 다음 put 에서 지움
+        store.put("artworks-b", 64, new byte[100]);
+        now.addAndGet(ArtworkStore.DELETE_GRACE.toNanos());
+        store.put("artworks-b", 64, new byte[100]);
+
+        assertThat(b).exists();
+        assertThat(stored("artworks-c")).doesNotExist();
+        assertThat(store.stats()).containsEntry("evictions", 2L).containsEntry("pendingDeletes", 0);
+        assertThat(fileCount()).isEqualTo(2);
+
+        ArtworkStore reopened = new ArtworkStore(dir, 250);
+        assertThat(reopened.get("artworks-b", 64).length()).isEqualTo(100);
+        assertThat(reopened.stats()).containsEntry("files", 2);
+    }
+
+    private Path stored(String id) {
+        String name = ArtworkStore.name(id, 64);
+        return dir.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private long fileCount() throws IOException {
+        try (var files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void dtoArtworkIsSerializedAsProxyUrl() throws IOException {
+        // Spring ObjectMapper 처럼 serializer 를 컨텍스트에서 만들어 설정 주입
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(ScArtworkProperties.class);
+        ObjectMapper json = new ObjectMapper();
+        json.setHandlerInstantiator(new SpringHandlerInstantiator(context.getAutowireCapableBeanFactory()));
+        TrackDto dto = new TrackDto("soundcloud:1", "t", "a", 1L, "soundcloud", "1", "https://soundcloud.com/a/t",
+                "https://i1.sndcdn.com/artworks-000123-abc-large.jpg");
+
+        assertThat(json.writeValueAsString(dto)).contains("\"artwork\":\"/api/artwork/artworks-000123-abc?size=300\"");
+        assertThat(new ObjectMapper().writeValueAsString(dto)).contains("artworks-000123-abc-large.jpg");
+        assertThat(ArtworkUrls.proxy("https://example.com/a.jpg", 300)).isEqualTo("https://example.com/a.jpg");
+        assertThat(ArtworkUrls.idOf("https://i3.sndcdn.com/avatars-xYz-0-t500x500.png")).isEqualTo("avatars-xYz-0.png");
+        assertThat(ArtworkUrls.source("https://cdn.test", "avatars-xYz-0.png", "t500x500"))
+                .isEqualTo("https://cdn.test/avatars-xYz-0-t500x500.png");
+        context.close();
+    }
+}
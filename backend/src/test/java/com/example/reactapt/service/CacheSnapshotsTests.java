@@ -0,0 +1,154 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ScChartItem;
+import com.example.reactapt.config.DTO.ScPaging;
+import com.example.reactapt.config.DTO.ScTrack;
+import com.example.reactapt.config.ScCacheProperties;
+import com.example.reactapt.config.ScCursorProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class CacheSnapshotsTests {
+
+    @TempDir
+    Path dir;
+
+    /** 캐시 TTL 시계 (노드끼리 공유 = 같은 머신에서 재시작) */
+    private final AtomicLong now = new AtomicLong();
+
+    record PageKey(String q, int offset) {}
+
+    /** 재시작을 흉내: 같은 디렉터리를 보는 새 캐시/커서 토큰 키 */
+    private class Node {
+        final AtomicInteger loads = new AtomicInteger();
+        final ScCaches caches;
+        final CursorTokens cursors;
+        final SwrCache<PageKey, ScPaging<ScChartItem>> pages;
+        final SwrCache<String, String> plain;
+        final CacheSnapshots snapshots;
+
+        Node(String name, Duration softTtl) throws IOException {
+            this(name, softTtl, true);
+        }
+
+        Node(String name, Duration softTtl, boolean persistKey) throws IOException {
+            ScCursorProperties cursorProps = new ScCursorProperties();
+            cursorProps.setPersistGeneratedKey(persistKey);
+            cursors = new CursorTokens(cursorProps);
+            ScCacheProperties props = new ScCacheProperties();
+            props.getSnapshot().setDir(dir.toString());
+            caches = new ScCaches(props, new SimpleMeterRegistry(), now::get);
+            ScCacheProperties.Spec spec = new ScCacheProperties.Spec(softTtl, Duration.ofMinutes(10), DataSize.ofMegabytes(1));
+            pages = caches.create("pages", spec, key -> {
+                loads.incrementAndGet();
+                // 느린 업스트림처럼 지연 (갱신이 기존 값 응답보다 먼저 끝나지 않게)
+                return Mono.just(page(name + ":" + key.q(), cursors.issue("https://up.test/search/tracks?q=" + key.q() + "&client_id=secret")))
+                        .delayElement(Duration.ofMillis(50));
+            }, p -> 100);
+            plain = caches.create("plain", spec, key -> Mono.just(key + "!"), CacheWeights::string);
+            caches.persist(pages, PageKey.class, new TypeReference<ScPaging<ScChartItem>>() {});
+            snapshots = new CacheSnapshots(caches, cursors, new SimpleMeterRegistry());
+        }
+    }
+
+    private static ScPaging<ScChartItem> page(String title, String next) {
+        return new ScPaging<>(List.of(new ScChartItem(new ScTrack(7, title, "https://sc.test/a/t",
+                "https://i1.sndcdn.com/artworks-000123-abc-large.jpg", null))), next, null, 1);
+    }
+
+    private static String title(ScPaging<ScChartItem> page) {
+        return page.collection().get(0).track().title();
+    }
+
+    @Test
+    void hotEntriesAndCursorTokensSurviveRestartWithRemainingTtl() throws IOException {
+        Node before = new Node("before", Duration.ofMinutes(5));
+        // 로드 대신 put: 끝난 값이라 만료/쓰기 시각이 바로 정해짐 (비동기 로드는 완료 콜백에서 정해져서 시계를 먼저 움직이면 어긋남)
+        ScPaging<ScChartItem> original = page("before:house", before.cursors.issue("https://up.test/search/tracks?q=house&client_id=secret"));
+        before.pages.put(new PageKey("house", 0), original);
+        before.plain.get("not-persisted").block();
+        now.addAndGet(Duration.ofMinutes(3).toNanos());
+        assertThat(before.snapshots.write()).isEqualTo(1);
+
+        Node after = new Node("after", Duration.ofMinutes(5));
+        assertThat(after.snapshots.restore()).isEqualTo(1);
+
+        // 업스트림(로더) 없이 같은 값, 다음 페이지 토큰도 그대로 풀림
+        assertThat(after.pages.get(new PageKey("house", 0)).block()).isEqualTo(original);
+        assertThat(after.loads).hasValue(0);
+        assertThat(after.cursors.resolve(original.nextHref()).url()).isEqualTo("/search/tracks?q=house");
+        assertThat(after.plain.getIfReady("not-persisted")).isNull();
+        // hard-ttl 은 새로 10분이 아니라 남은 7분 (저장 → 복원 사이 실제로 흐른 몇 ms 만큼 더 짧을 수 있음)
+        SwrCache.Entry<PageKey, ScPaging<ScChartItem>> e = after.pages.hottest(10).get(0);
+        assertThat(e.remaining()).isLessThanOrEqualTo(Duration.ofMinutes(7)).isGreaterThan(Duration.ofMinutes(6));
+    }
+
+    @Test
+    void generatedCursorKeyIsNotWrittenUnlessOptedIn() throws IOException {
+        Node before = new Node("before", Duration.ofMinutes(5), false);
+        String token = before.cursors.issue("https://up.test/search/tracks?q=house");
+        before.pages.put(new PageKey("house", 0), page("before:house", token));
+        before.snapshots.write();
+
+        // 캐시 값은 복원되지만 키는 파일에 없음 → 이전 토큰은 410
+        Node after = new Node("after", Duration.ofMinutes(5), false);
+        assertThat(after.snapshots.restore()).isEqualTo(1);
+        assertThatThrownBy(() -> after.cursors.resolve(token))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GONE));
+    }
+
+    @Test
+    void restoredValuePastSoftTtlIsServedThenRefreshedOnce() throws IOException {
+        Node before = new Node("before", Duration.ofSeconds(1));
+        before.pages.put(new PageKey("jazz", 0), page("before:jazz", null));
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        before.snapshots.write();
+
+        Node after = new Node("after", Duration.ofSeconds(1));
+        after.snapshots.restore();
+
+        // 복원 직후 쓰기 시각은 지금이지만 원래 age 가 soft-ttl 을 넘었으므로: 기존 값 + 백그라운드 갱신
+        // (시계는 복원 뒤 멈춰 있음 → Caffeine 자체 soft-ttl 갱신이 아니라 복원한 age 때문에 도는 갱신)
+        assertThat(title(after.pages.get(new PageKey("jazz", 0)).block())).isEqualTo("before:jazz");
+        await().untilAsserted(() ->
+                assertThat(title(after.pages.get(new PageKey("jazz", 0)).block())).isEqualTo("after:jazz"));
+        assertThat(after.loads).hasValue(1);
+    }
+
+    @Test
+    void emptyCachesKeepPreviousSnapshotAndCorruptFileStartsCold() throws IOException {
+        Node before = new Node("before", Duration.ofMinutes(1));
+        before.pages.get(new PageKey("rock", 0)).block();
+        before.snapshots.write();
+        long size = Files.size(dir.resolve(CacheSnapshot.FILE));
+
+        // 막 뜬(빈) 노드는 덮어쓰지 않음
+        assertThat(new Node("empty", Duration.ofMinutes(1)).snapshots.write()).isZero();
+        assertThat(Files.size(dir.resolve(CacheSnapshot.FILE))).isEqualTo(size);
+
+        Files.write(dir.resolve(CacheSnapshot.FILE), new byte[]{1, 2, 3});
+        Node after = new Node("after", Duration.ofMinutes(1));
+        assertThat(after.snapshots.restore()).isZero();
+        after.pages.get(new PageKey("rock", 0)).block();
+        assertThat(after.loads).hasValue(1);
+    }
+}
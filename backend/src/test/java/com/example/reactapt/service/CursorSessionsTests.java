@@ -0,0 +1,81 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScSessionProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorSessionsTests {
+
+    private final ScSessionProperties props = new ScSessionProperties();
+
+    /** 커서 → 업스트림 페이지 (겹치는 구간이 있는 페이지들) */
+    private final Map<String, CursorSessions.Chunk<Long>> pages = Map.of(
+            "first", new CursorSessions.Chunk<>(List.of(1L, 2L, 3L, 4L, 5L), "c2"),
+            "c2", new CursorSessions.Chunk<>(List.of(3L, 4L, 5L, 6L, 7L), "c3"),
+            "c3", new CursorSessions.Chunk<>(List.of(7L, 8L, 9L, 10L, 11L, 12L), null));
+    private final List<String> fetched = new ArrayList<>();
+    private final Function<String, Mono<CursorSessions.Chunk<Long>>> fetch = c -> {
+        String key = c == null ? "first" : c;
+        fetched.add(key);
+        return Mono.just(pages.get(key));
+    };
+
+    @Test
+    void dropsServedIdsAndTopsUpFromNextPages() {
+        CursorSessions sessions = new CursorSessions(props);
+        CursorSessions.Session s = sessions.open("new");
+
+        CursorSessions.Chunk<Long> p1 = sessions.serve(s, "t", null, 5, fetch, Long::longValue).block();
+        assertThat(p1.items()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(p1.next()).isEqualTo("c2");
+
+        // c2 는 새 항목이 2개뿐 → c3 로 채우고, 넘친 11, 12 는 세션에 남김
+        CursorSessions.Chunk<Long> p2 = sessions.serve(s, "t", p1.next(), 5, fetch, Long::longValue).block();
+        assertThat(p2.items()).containsExactly(6L, 7L, 8L, 9L, 10L);
+        assertThat(p2.next()).isEqualTo(CursorSessions.TAIL_CURSOR);
+
+        CursorSessions.Chunk<Long> p3 = sessions.serve(s, "t", p2.next(), 5, fetch, Long::longValue).block();
+        assertThat(p3.items()).containsExactly(11L, 12L);
+        assertThat(p3.next()).isNull();
+
+        assertThat(fetched).containsExactly("first", "c2", "c3");
+        assertThat(sessions.stats()).containsEntry("duplicatesDropped", 4L).containsEntry("topUpPages", 1L);
+
+        // 같은 id 로 다시 열면 같은 세션, 모르는 id 면 새 세션
+        assertThat(sessions.open(s.id())).isSameAs(s);
+        assertThat(sessions.open("expired").id()).isNotEqualTo(s.id());
+    }
+
+    @Test
+    void switchesToBloomFilterPastThresholdWithoutFalseNegatives() {
+        props.setExactMaxIds(64);
+        props.setBloomBits(1 << 14);
+        CursorSessions.Session s = new CursorSessions(props).open(null);
+
+        LongStream.rangeClosed(1, 1_000).forEach(id -> assertThat(s.markSeen(id)).isTrue());
+        assertThat(s.usesBloom()).isTrue();
+        assertThat(s.bytes()).isEqualTo((1 << 14) / 8);
+        LongStream.rangeClosed(1, 1_000).forEach(id -> assertThat(s.markSeen(id)).isFalse());
+
+        long falsePositives = LongStream.rangeClosed(1_000_001, 1_010_000).filter(s::seen).count();
+        assertThat(falsePositives).isLessThan(200); // 1000개 / 16K 비트 / 해시 4개 → 이론상 약 0.24%
+    }
+
+    @Test
+    void longHashSetGrowsAndKeepsEveryValue() {
+        LongHashSet set = new LongHashSet(4);
+        for (long v = 1; v <= 10_000; v++) assertThat(set.add(v * 7919)).isTrue();
+        assertThat(set.add(7919)).isFalse();
+        assertThat(set.size()).isEqualTo(10_000);
+        for (long v = 1; v <= 10_000; v++) assertThat(set.contains(v * 7919)).isTrue();
+        assertThat(set.contains(7918)).isFalse();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScCursorProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTokensTests {
+
+    private static final String NEXT = "https://api-v2.soundcloud.com/search/tracks?query_urn=soundcloud%3Asearch%3A8f2c1a"
+            + "&offset=20&q=&limit=20&linked_partitioning=1&client_id=secret-client-id&app_locale=en";
+
+    private final CursorTokens tokens = new CursorTokens(new ScCursorProperties());
+
+    /** NEXT 에서 검색 상태만 남겨 다시 만든 URL */
+    private static final String PAGE = "/search/tracks?q=&limit=20&offset=20";
+
+    @Test
+    void issuesStableTokensThatResolveToTheSearchState() {
+        String token = tokens.issue(NEXT);
+
+        assertThat(token).startsWith("c").doesNotContain("client_id", "secret-client-id", "%", "/", "+");
+        assertThat(token.length()).isLessThan(NEXT.length() / 2);
+        assertThat(CursorTokens.isToken(token)).isTrue();
+        assertThat(CursorTokens.isToken(NEXT)).isFalse();
+        assertThat(CursorTokens.isToken("40")).isFalse();
+
+        // 같은 상태 → 같은 토큰 (캐시 키로 씀), 다른 상태 → 다른 토큰. query_urn/client_id 등은 상태가 아님
+        assertThat(tokens.issue(NEXT)).isEqualTo(token);
+        assertThat(tokens.issue(PAGE)).isEqualTo(token);
+        assertThat(tokens.issue(NEXT.replace("offset=20", "offset=40"))).isNotEqualTo(token);
+
+        // 풀면 서버가 정한 모양의 상대 URL (호스트/client_id/app_version/query_urn 없음)
+        assertThat(tokens.resolve(token)).isEqualTo(new CursorTokens.Target(PAGE, 0, token));
+
+        // 같은 페이지 안 위치를 가리키는 토큰은 페이지 토큰(캐시 키)을 공유
+        CursorTokens.Target slice = tokens.resolve(tokens.issue(NEXT, 20));
+        assertThat(slice.offset()).isEqualTo(20);
+        assertThat(slice.pageToken()).isEqualTo(token);
+        assertThat(tokens.issue(null)).isNull();
+    }
+
+    @Test
+    void keepsQueryAndGenreFilter() {
+        String next = "https://api-v2.soundcloud.com/search/tracks?q=%ED%9E%99%ED%95%A9+%26+r%26b"
+                + "&filter.genre_or_tag=K-Pop&limit=50&offset=100&client_id=secret-client-id&app_version=1760349581";
+
+        assertThat(tokens.resolve(tokens.issue(next)).url())
+                .isEqualTo("/search/tracks?q=%ED%9E%99%ED%95%A9%20%26%20r%26b&filter.genre_or_tag=K-Pop&limit=50&offset=100");
+    }
+
+    @Test
+    void rejectsUrlsOtherThanTrackSearch() {
+        assertThatThrownBy(() -> tokens.issue("https://evil.test/users/1?client_id=x"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> tokens.issue("/search/tracks?q=x&offset=abc"))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void nodesWithTheSameSecretResolveEachOthersTokens() {
+        ScCursorProperties props = new ScCursorProperties();
+        props.setSecret("shared");
+        String token = new CursorTokens(props).issue(NEXT, 20);
+
+        // 표 없이 토큰만으로 풀림 (다른 노드/재시작)
+        assertThat(new CursorTokens(props).resolve(token)).extracting(CursorTokens.Target::url, CursorTokens.Target::offset)
+                .containsExactly(PAGE, 20);
+        assertGone(tokens, token); // 다른 키
+    }
+
+    @Test
+    void tamperedOrForeignTokenIsGone() {
+        String token = tokens.issue(NEXT);
+        char last = token.charAt(token.length() - 5);
+        String tampered = token.substring(0, token.length() - 5) + (last == 'A' ? 'B' : 'A') + token.substring(token.length() - 4);
+
+        assertGone(tokens, tampered);
+        assertGone(tokens, "c" + "A".repeat(60));
+        assertGone(tokens, "c!!!" + token.substring(4));
+        assertThat(tokens.stats()).containsEntry("rejected", 3L);
+    }
+
+    private static void assertGone(CursorTokens tokens, String token) {
+        assertThatThrownBy(() -> tokens.resolve(token))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GONE));
+    }
+
+    @Test
+    void generatedKeyIsPersistedOnlyWhenOptedIn() {
+        assertThat(tokens.generatedKey()).isNull();
+        assertThat(tokens.stats()).containsEntry("key", "generated");
+
+        ScCursorProperties optIn = new ScCursorProperties();
+        optIn.setPersistGeneratedKey(true);
+        assertThat(new CursorTokens(optIn).generatedKey()).hasSize(32);
+
+        // secret 을 주면 저장할 키가 없음
+        optIn.setSecret("shared");
+        assertThat(new CursorTokens(optIn).generatedKey()).isNull();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.HomeFeed;
+import com.example.reactapt.config.DTO.HomeRowSpec;
+import com.example.reactapt.config.ScBatchProperties;
+import com.example.reactapt.config.ScBufferProperties;
+import com.example.reactapt.config.ScCacheProperties;
+import com.example.reactapt.config.ScCursorProperties;
+import com.example.reactapt.config.ScHomeProperties;
+import com.example.reactapt.config.ScPrefetchProperties;
+import com.example.reactapt.config.ScSuggestProperties;
+import com.example.reactapt.controller.ScClient;
+import com.example.reactapt.support.ScFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HomeFeedServiceTests {
+
+    /** SC 스텁: 레일마다 300ms, filter.genre_or_tag=slow 만 5초 */
+    private final WebClient v2 = WebClient.builder()
+            .exchangeFunction(request -> {
+                var params = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams();
+                boolean slow = "slow".equals(params.getFirst("filter.genre_or_tag"));
+                int limit = Integer.parseInt(params.getFirst("limit"));
+                return Mono.delay(Duration.ofMillis(slow ? 5000 : 300))
+                        .map(t -> ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body(ScFixtures.searchPage(limit, 1, null))
+                                .build());
+            })
+            .build();
+
+    private HomeFeedService service(Duration deadline) {
+        ScPrefetchProperties prefetch = new ScPrefetchProperties();
+        prefetch.setEnabled(false);
+        ScCaches caches = new ScCaches(new ScCacheProperties(), new SimpleMeterRegistry());
+        ScPrefetchers prefetchers = new ScPrefetchers(prefetch, new SimpleMeterRegistry());
+        TrackIndex index = new TrackIndex(new ScSuggestProperties(), System::currentTimeMillis);
+        CursorTokens cursors = new CursorTokens(new ScCursorProperties());
+        ScBufferProperties buffer = new ScBufferProperties();
+        buffer.setEnabled(false);
+
+        MusicService music = new MusicService(new ScClient("cid", "https://api.test", v2, new ScUpstream()),
+                caches, prefetchers, index, cursors, buffer);
+        ScSearchService search = new ScSearchService(v2, "https://api.test", new ScUpstream(),
+                caches, prefetchers, index, cursors, buffer, new ScBatchProperties(), "cid");
+        ScHomeProperties props = new ScHomeProperties();
+        props.setDeadline(deadline);
+        return new HomeFeedService(music, search, props);
+    }
+
+    @Test
+    void rowsRunInParallelAndSlowRowIsDroppedAtDeadline() {
+        HomeFeedService home = service(Duration.ofSeconds(1));
+        List<HomeRowSpec> rows = List.of(
+                new HomeRowSpec("trending", "Trending", "all-music", null, 20),
+                new HomeRowSpec(null, null, "slow", null, 20),
+                new HomeRowSpec(null, null, "hiphop", null, 10),
+                new HomeRowSpec("lofi", null, null, "lofi", 12));
+
+        long started = System.nanoTime();
+        HomeFeed feed = home.feed(rows).block();
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // 순서 유지, 느린 레일만 504
+        assertThat(feed.partial()).isTrue();
+        assertThat(feed.rows()).extracting(HomeFeed.Row::id).containsExactly("trending", "slow", "hiphop", "lofi");
+        // 제목도 서버가 줌 (없으면 id) → 프론트는 rows 대로 레일을 그림
+        assertThat(feed.rows()).extracting(HomeFeed.Row::title).containsExactly("Trending", "slow", "hiphop", "lofi");
+        assertThat(feed.rows()).extracting(HomeFeed.Row::status).containsExactly(200, 504, 200, 200);
+        assertThat(feed.rows()).extracting(r -> r.items().size()).containsExactly(20, 0, 10, 12);
+        // 레일 4개 × 300ms 를 줄 세우지 않고, 느린 레일은 공유 마감(1초)에서 끊음
+        assertThat(elapsedMs).isLessThan(2000);
+    }
+
+    @Test
+    void completeFeedIsNotPartial() {
+        HomeFeed feed = service(Duration.ofSeconds(2)).feed(List.of(
+                new HomeRowSpec(null, null, "all-music", null, 20),
+                new HomeRowSpec(null, null, "k-pop", null, 20))).block();
+
+        assertThat(feed.partial()).isFalse();
+        assertThat(feed.rows()).allSatisfy(r -> assertThat(r.next()).isNull());
+    }
+
+    @Test
+    void defaultFeedIsTheTrendingRailOnly() {
+        assertThat(service(Duration.ofSeconds(1)).defaultRows())
+                .containsExactly(new HomeRowSpec("trending", "Trending", "all-music", null, 20));
+    }
+}
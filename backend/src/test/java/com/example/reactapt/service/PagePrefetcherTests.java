@@ -0,0 +1,65 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScPrefetchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class PagePrefetcherTests {
+
+    /** 페이지 = 커서 문자열 그대로, 다음 커서 = "번호+1" */
+    private static String next(String cursor) {
+        int n = Integer.parseInt(cursor.substring(cursor.indexOf("offset=") + 7));
+        return "https://api.test/search?offset=" + (n + 1);
+    }
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PagePrefetcher<String> prefetcher(int depth, Duration ttl) {
+        ScPrefetchProperties props = new ScPrefetchProperties();
+        props.setDepth(depth);
+        props.setTtl(ttl);
+        props.setDelay(Duration.ZERO);
+        return new ScPrefetchers(props, registry).create("t",
+                cursor -> { fetches.incrementAndGet(); return Mono.just(cursor); },
+                PagePrefetcherTests::next,
+                cursor -> false);
+    }
+
+    @Test
+    void nextPageIsServedFromMemory() {
+        var prefetcher = prefetcher(2, Duration.ofMinutes(1));
+
+        prefetcher.afterServed("https://api.test/search?offset=0");
+        await().atMost(Duration.ofSeconds(2)).until(() -> fetches.get() == 2);
+
+        // 프론트가 decode 해서 보낸 커서도 같은 키
+        assertThat(prefetcher.take("https%3A%2F%2Fapi.test%2Fsearch%3Foffset%3D1")).isEqualTo("https://api.test/search?offset=1");
+        assertThat(prefetcher.take("https://api.test/search?offset=2")).isEqualTo("https://api.test/search?offset=2");
+        assertThat(prefetcher.take("https://api.test/search?offset=2")).isNull(); // 한 번만
+
+        assertThat(prefetcher.stats()).containsEntry("issued", 2L).containsEntry("hits", 2L);
+        assertThat(registry.get("sc.prefetch").tag("name", "t").tag("stat", "hits").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("sc.prefetch").tag("name", "t").tag("stat", "hitRatio").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void unusedPagesAreCountedAsWaste() {
+        var prefetcher = prefetcher(1, Duration.ofMillis(50));
+
+        prefetcher.afterServed("https://api.test/search?offset=0");
+        await().atMost(Duration.ofSeconds(2)).until(() -> fetches.get() == 1);
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(prefetcher.take("https://api.test/search?offset=1")).isNull();
+            assertThat(prefetcher.stats()).containsEntry("wasted", 1L);
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.PlaylistDto;
+import com.example.reactapt.config.DTO.PlaylistItem;
+import com.example.reactapt.config.PlaylistStoreProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlaylistStoreTests {
+
+    @TempDir
+    Path dir;
+
+    private PlaylistStore open() throws IOException {
+        PlaylistStoreProperties props = new PlaylistStoreProperties();
+        props.setDir(dir.toString());
+        return new PlaylistStore(props, new SimpleMeterRegistry());
+    }
+
+    private static PlaylistItem track(String externalId, String title) {
+        return new PlaylistItem(null, "track", "soundcloud", externalId, title, "artist", 1000L, null, null, 0);
+    }
+
+    @Test
+    void appliesOpsAndRecoversFromLogOnly() throws IOException {
+        String id;
+        String second;
+        try (PlaylistStore store = open()) {
+            id = store.create("mix").block().id();
+            store.addItem(id, track("1", "One")).block();
+            second = store.addItem(id, track("2", "Two")).block().id();
+            store.addItem(id, track("3", "Three")).block();
+            // 프론트와 같은 중복 규칙: 같은 externalId / 같은 제목+부제 → 추가 안 함
+            store.addItem(id, track("1", "Other")).block();
+            store.addItem(id, track("9", " one ")).block();
+            store.moveItem(id, second, 0).block();
+            store.rename(id, "mix 2").block();
+        }
+
+        try (PlaylistStore store = open()) {
+            PlaylistDto p = store.get(id).block();
+            assertThat(p.name()).isEqualTo("mix 2");
+            assertThat(p.items()).extracting(PlaylistItem::title).containsExactly("Two", "One", "Three");
+            assertThat(store.stats()).containsEntry("recoveredOps", 6L);
+
+            store.removeItem(id, second).block();
+            assertThat(store.get(id).block().items()).extracting(PlaylistItem::title).containsExactly("One", "Three");
+        }
+    }
+
+    @Test
+    void snapshotCompactsAndRecoveryReplaysOnlyTheTail() throws IOException {
+        String a;
+        String b;
+        try (PlaylistStore store = open()) {
+            a = store.create("a").block().id();
+            b = store.create("b").block().id();
+            for (int i = 0; i < 50; i++) store.addItem(a, track("a" + i, "A " + i)).block();
+            store.addItem(b, track("b0", "B 0")).block();
+            store.snapshot();
+            // 스냅샷 뒤 안 바뀐 playlist 는 메모리에서 내려가고 mmap 에서 읽힘
+            assertThat(store.stats()).containsEntry("live", 0);
+            assertThat(store.get(a).block().items()).hasSize(50);
+
+            store.addItem(b, track("b1", "B 1")).block();
+            store.delete(a).block();
+        }
+
+        try (PlaylistStore store = open()) {
+            assertThat(store.stats()).containsEntry("recoveredOps", 2L).containsEntry("snapshotPlaylists", 2);
+            assertThat(store.list()).extracting(s -> s.id()).containsExactly(b);
+            assertThat(store.get(b).block().items()).extracting(PlaylistItem::title).containsExactly("B 0", "B 1");
+        }
+    }
+
+    @Test
+    void failedLogWriteRollsBackInMemoryOps() throws IOException {
+        String id;
+        String first;
+        try (PlaylistStore store = open()) {
+            id = store.create("mix").block().id();
+            first = store.addItem(id, track("1", "One")).block().id();
+            // 다음 세그먼트 자리에 디렉터리 → 세그먼트 전환 실패 → 로그 멈춤
+            Path blocker = Files.createDirectory(PlaylistLog.segmentPath(dir, 2));
+            assertThatThrownBy(store::snapshot).isInstanceOf(CompletionException.class);
+
+            assertThatThrownBy(() -> store.addItem(id, track("2", "Two")).block()).hasRootCauseInstanceOf(IOException.class);
+            assertThatThrownBy(() -> store.removeItem(id, first).block()).isNotNull();
+            assertThatThrownBy(() -> store.rename(id, "renamed").block()).isNotNull();
+            assertThatThrownBy(() -> store.delete(id).block()).isNotNull();
+            assertThatThrownBy(() -> store.create("lost").block()).isNotNull();
+
+            // 디스크에 없는 변경은 읽기에도 안 보임
+            assertThat(store.list()).extracting(s -> s.name()).containsExactly("mix");
+            assertThat(store.get(id).block().items()).extracting(PlaylistItem::title).containsExactly("One");
+            assertThat(store.stats()).containsEntry("rolledBack", 5L);
+            Files.delete(blocker);
+        }
+
+        try (PlaylistStore store = open()) {
+            assertThat(store.get(id).block().items()).extracting(PlaylistItem::title).containsExactly("One");
+        }
+    }
+
+    @Test
+    void tornTailRecordIsIgnored() throws IOException {
+        String id;
+        try (PlaylistStore store = open()) {
+            id = store.create("x").block().id();
+            store.addItem(id, track("1", "One")).block();
+            store.addItem(id, track("2", "Two")).block();
+        }
+        // 마지막 레코드를 쓰다 죽은 것처럼 몇 바이트 잘라냄
+        Path segment = PlaylistLog.segmentPath(dir, 1);
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ch.truncate(ch.size() - 5);
+        }
+
+        try (PlaylistStore store = open()) {
+            assertThat(store.get(id).block().items()).extracting(PlaylistItem::title).containsExactly("One");
+            // 이후 쓰기는 새 세그먼트로
+            store.addItem(id, track("3", "Three")).block();
+        }
+        try (PlaylistStore store = open()) {
+            assertThat(store.get(id).block().items()).extracting(PlaylistItem::title).containsExactly("One", "Three");
+            assertThat(PlaylistLog.segments(dir)).hasSize(3);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ResolveResponse;
+import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.support.ScFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScJsonDecoderTests {
+
+    private static final String NEXT = "https://api-v2.soundcloud.com/search/tracks?q=&offset=50&limit=50";
+    private static final byte[] PAGE_50 = ScFixtures.searchPage(50, 1000, NEXT).getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void decodesSameItemsAsMapTree() throws Exception {
+        ScSearchResponse streamed = ScJsonDecoder.searchResponse(PAGE_50);
+        ScSearchResponse viaMap = viaMapTree(mapper, PAGE_50);
+
+        assertThat(streamed).isEqualTo(viaMap);
+        assertThat(streamed.count()).isEqualTo(50);
+        assertThat(streamed.next()).isEqualTo(NEXT);
+        assertThat(streamed.items().get(0).artist()).startsWith("artist-");
+    }
+
+    @Test
+    void decodesResolvedPlaylistAndTrack() {
+        ResolveResponse playlist = ScJsonDecoder.resolve(
+                ScFixtures.playlist(7, 10, 3, 500).getBytes(StandardCharsets.UTF_8));
+        assertThat(playlist.type()).isEqualTo("playlist");
+        assertThat(playlist.title()).isEqualTo("Playlist 7");
+        assertThat(playlist.tracks()).hasSize(10);
+        assertThat(playlist.tracks().get(0).title()).isEqualTo("Track 500 (feat. Someone) [Official Audio]");
+        assertThat(playlist.tracks().get(9).externalId()).isEqualTo("509");
+
+        ResolveResponse track = ScJsonDecoder.resolve(ScFixtures.resolvedTrack(42).getBytes(StandardCharsets.UTF_8));
+        assertThat(track.type()).isEqualTo("track");
+        assertThat(track.track().externalId()).isEqualTo("42");
+        assertThat(track.track().artwork()).contains("artworks-00042");
+    }
+
+    /** 이전 방식 (bodyToMono(Map.class) → 필드 추출). 할당량 비교는 JMH ScJsonDecoderBenchmark */
+    @SuppressWarnings("unchecked")
+    static ScSearchResponse viaMapTree(ObjectMapper mapper, byte[] body) throws Exception {
+        Map<String, Object> scJson = mapper.readValue(body, Map.class);
+        List<Map<String, Object>> collection =
+                (List<Map<String, Object>>) scJson.getOrDefault("collection", List.of());
+        String nextHref = (String) scJson.get("next_href");
+
+        List<ScSearchResponse.Item> items = new ArrayList<>();
+        for (Map<String, Object> t : collection) {
+            Map<String, Object> user = (Map<String, Object>) t.getOrDefault("user", Map.of());
+            items.add(new ScSearchResponse.Item(
+                    ((Number) t.getOrDefault("id", 0)).longValue(),
+                    Objects.toString(t.get("title"), ""),
+                    Objects.toString(user.get("username"), ""),
+                    Objects.toString(t.get("artwork_url"), null),
+                    Objects.toString(t.get("permalink_url"), null),
+                    (t.get("playback_count") instanceof Number) ? ((Number) t.get("playback_count")).longValue() : null,
+                    (t.get("duration") instanceof Number) ? ((Number) t.get("duration")).longValue() : null
+            ));
+        }
+        return new ScSearchResponse(items.size(), items, nextHref);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScResilienceProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScResilienceTests {
+
+    private static WebClientResponseException status(HttpStatus s) {
+        return WebClientResponseException.create(s.value(), s.getReasonPhrase(), null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> hostStats(ScResilience r, String host) {
+        return (Map<String, Object>) r.stats().get(host);
+    }
+
+    @Test
+    void slowFirstAttemptIsHedged() {
+        ScResilienceProperties props = new ScResilienceProperties();
+        props.getHedge().setMinSamples(5);
+        props.getHedge().setMinDelay(Duration.ofMillis(50));
+        ScResilience r = new ScResilience(props);
+
+        // 빠른 응답으로 지연 분포를 채움 → hedge 지연은 min-delay(50ms)
+        for (int i = 0; i < 10; i++) {
+            assertThat(r.execute("h", "k" + i, () -> Mono.just("ok")).block()).isEqualTo("ok");
+        }
+
+        AtomicInteger attempts = new AtomicInteger();
+        long started = System.nanoTime();
+        String result = r.execute("h", "slow", () -> attempts.incrementAndGet() == 1
+                ? Mono.<String>never()        // 첫 시도는 멈춤
+                : Mono.just("hedged")).block(Duration.ofSeconds(2));
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(result).isEqualTo("hedged");
+        assertThat(attempts).hasValue(2);
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(hostStats(r, "h")).containsEntry("hedges", 1L).containsEntry("hedgeWins", 1L);
+    }
+
+    @Test
+    void openBreakerFailsFast() {
+        ScResilienceProperties props = new ScResilienceProperties();
+        props.getRetry().setMaxAttempts(1);
+        props.getBreaker().setWindowSize(4);
+        props.getBreaker().setMinCalls(4);
+        props.getBreaker().setOpenDuration(Duration.ofMinutes(1));
+        ScResilience r = new ScResilience(props);
+
+        assertThat(r.execute("h", "page-1", () -> Mono.just("good")).block()).isEqualTo("good");
+
+        // 503 연속 → 열림 (마지막 정상 값으로 대신 응답하는 건 SwrCache 몫)
+        AtomicInteger upstream = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            r.execute("h", "other-" + i, () -> {
+                upstream.incrementAndGet();
+                return Mono.<String>error(status(HttpStatus.SERVICE_UNAVAILABLE));
+            }).onErrorResume(e -> Mono.empty()).block();
+        }
+        assertThat(upstream).hasValue(3); // 성공 1 + 실패 3 = 최근 4건 중 75% → 네 번째는 차단
+
+        assertThatThrownBy(() -> r.execute("h", "page-1", () -> {
+            upstream.incrementAndGet();
+            return Mono.just("fresh");
+        }).block()).isInstanceOf(ScResilience.UpstreamUnavailableException.class);
+
+        assertThat(upstream).hasValue(3); // 열린 뒤에는 업스트림을 부르지 않음
+        @SuppressWarnings("unchecked")
+        Map<String, Object> breaker = (Map<String, Object>) hostStats(r, "h").get("breaker");
+        assertThat(breaker).containsEntry("state", "OPEN");
+    }
+
+    @Test
+    void retriesStopWhenBudgetIsSpentAndSkipClientErrors() {
+        ScResilienceProperties props = new ScResilienceProperties();
+        props.getHedge().setEnabled(false);
+        props.getRetry().setMaxAttempts(10);
+        props.getRetry().setBudgetRatio(0);
+        props.getRetry().setMinPerSecond(0);
+        props.getRetry().setMaxBalance(2);
+        props.getRetry().setBackoff(Duration.ofMillis(1));
+        props.getBreaker().setMinCalls(100);
+        ScResilience r = new ScResilience(props);
+
+        // 예산(초기 1토큰)만큼만 재시도
+        AtomicInteger attempts = new AtomicInteger();
+        assertThatThrownBy(() -> r.execute("h", "k", () -> {
+            attempts.incrementAndGet();
+            return Mono.<String>error(status(HttpStatus.BAD_GATEWAY));
+        }).block()).isInstanceOf(WebClientResponseException.class);
+        assertThat(attempts).hasValue(2);
+
+        // 4xx는 재시도하지 않음
+        AtomicInteger notFound = new AtomicInteger();
+        assertThatThrownBy(() -> r.execute("h", "missing", () -> {
+            notFound.incrementAndGet();
+            return Mono.<String>error(status(HttpStatus.NOT_FOUND));
+        }).block()).isInstanceOf(WebClientResponseException.NotFound.class);
+        assertThat(notFound).hasValue(1);
+
+        assertThat(hostStats(r, "h")).containsEntry("retries", 1L);
+    }
+
+    @Test
+    void retriesStayWithinBudgetRatioOfRequests() {
+        ScResilienceProperties props = new ScResilienceProperties();
+        props.getHedge().setEnabled(false);
+        props.getRetry().setMaxAttempts(3);
+        props.getRetry().setBudgetRatio(0.5);
+        props.getRetry().setMinPerSecond(0);
+        props.getRetry().setBackoff(Duration.ofMillis(1));
+        props.getBreaker().setMinCalls(Integer.MAX_VALUE);
+        ScResilience r = new ScResilience(props);
+
+        // 계속 실패하는 업스트림: 요청마다 최대 2번 재시도할 수 있지만 예산은 요청당 0.5
+        int requests = 40;
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < requests; i++) {
+            r.execute("h", "k" + i, () -> {
+                attempts.incrementAndGet();
+                return Mono.<String>error(status(HttpStatus.BAD_GATEWAY));
+            }).onErrorResume(e -> Mono.empty()).block();
+        }
+
+        long retries = (long) hostStats(r, "h").get("retries");
+        assertThat(attempts).hasValue(requests + (int) retries);
+        // 초기 1토큰 + 요청당 ratio 적립분까지만
+        assertThat(retries).isPositive().isLessThanOrEqualTo((long) (requests * 0.5) + 1);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ScSearchResponse;
+import com.example.reactapt.config.ScBatchProperties;
+import com.example.reactapt.config.ScBufferProperties;
+import com.example.reactapt.config.ScCacheProperties;
+import com.example.reactapt.config.ScCursorProperties;
+import com.example.reactapt.config.ScPrefetchProperties;
+import com.example.reactapt.config.ScSuggestProperties;
+import com.example.reactapt.support.ScFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScSearchServiceTests {
+
+    private static final int TOTAL = 200;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /** SC 스텁: /search/tracks?limit=&offset= → 그만큼의 트랙 (id = offset + 1 부터), next_href 에는 client_id 없음 */
+    private final WebClient v2 = WebClient.builder()
+            .baseUrl("https://api.test")
+            .exchangeFunction(request -> {
+                calls.incrementAndGet();
+                var params = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams();
+                assertThat(params.getFirst("client_id")).isEqualTo("cid");
+                int limit = Integer.parseInt(params.getFirst("limit"));
+                int offset = params.containsKey("offset") ? Integer.parseInt(params.getFirst("offset")) : 0;
+                int size = Math.max(0, Math.min(limit, TOTAL - offset));
+                String next = offset + size < TOTAL
+                        ? "https://api.test/search/tracks?q=x&limit=" + limit + "&offset=" + (offset + size)
+                        : null;
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(ScFixtures.searchPage(size, offset + 1, next))
+                        .build());
+            })
+            .build();
+
+    private ScSearchService service(boolean buffered) {
+        ScPrefetchProperties prefetch = new ScPrefetchProperties();
+        prefetch.setEnabled(false); // 업스트림 호출 수만 보려고 끔
+        ScBufferProperties buffer = new ScBufferProperties();
+        buffer.setEnabled(buffered);
+        return new ScSearchService(v2, "https://api.test", new ScUpstream(),
+                new ScCaches(new ScCacheProperties(), new SimpleMeterRegistry()),
+                new ScPrefetchers(prefetch, new SimpleMeterRegistry()),
+                new TrackIndex(new ScSuggestProperties(), System::currentTimeMillis),
+                new CursorTokens(new ScCursorProperties()), buffer, new ScBatchProperties(), "cid");
+    }
+
+    /** limit 개씩 count 개가 모일 때까지 스크롤 */
+    private static List<Long> scroll(ScSearchService service, int limit, int count) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        while (ids.size() < count) {
+            ScSearchResponse page = service.search("x", null, limit, cursor).block();
+            assertThat(page.items()).hasSize(limit);
+            assertThat(page.next()).matches(CursorTokens::isToken);
+            page.items().forEach(it -> ids.add(it.id()));
+            cursor = page.next();
+        }
+        return ids;
+    }
+
+    @Test
+    void servesSmallPagesFromOneLargeUpstreamPage() {
+        List<Long> ids = scroll(service(true), 12, 96);
+
+        assertThat(ids).containsExactlyElementsOf(LongStream.rangeClosed(1, 96).boxed().toList());
+        assertThat(calls).hasValue(2); // 50 + 50 (12개씩 8번 스크롤)
+    }
+
+    @Test
+    void withoutBufferEveryScrollStepGoesUpstream() {
+        List<Long> ids = scroll(service(false), 12, 96);
+
+        assertThat(ids).containsExactlyElementsOf(LongStream.rangeClosed(1, 96).boxed().toList());
+        assertThat(calls).hasValue(8);
+    }
+
+    @Test
+    void streamWalksNextChainWithOnePageLookahead() {
+        ScSearchService service = service(true);
+
+        List<Long> ids = service.stream("x", null, 120, null).map(ScSearchResponse.Item::id).collectList().block();
+
+        assertThat(ids).containsExactlyElementsOf(LongStream.rangeClosed(1, 120).boxed().toList());
+        // 50 × 3 페이지 + 3페이지를 받는 순간 시작한 4페이지
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void slowConsumerHoldsTheWalk() {
+        ScSearchService service = service(true);
+        List<Long> received = new ArrayList<>();
+
+        // 10개만 요청하고 멈춘 구독자 → 첫 페이지 + 미리 시작한 다음 페이지까지만
+        service.stream("x", null, 200, null).subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription s) {
+                s.request(10);
+            }
+
+            @Override
+            protected void hookOnNext(ScSearchResponse.Item item) {
+                received.add(item.id());
+            }
+        });
+
+        assertThat(received).hasSize(10);
+        assertThat(calls).hasValue(2);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ResolveBatchItem;
+import com.example.reactapt.config.DTO.ResolveResponse;
+import com.example.reactapt.config.DTO.TrackDto;
+import com.example.reactapt.config.ScBatchProperties;
+import com.example.reactapt.config.ScCacheProperties;
+import com.example.reactapt.config.ScResilienceProperties;
+import com.example.reactapt.config.ScSuggestProperties;
+import com.example.reactapt.support.ScFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScServiceTests {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final List<Integer> hydrated = new CopyOnWriteArrayList<>();
+
+    /**
+     * SC 스텁
+     * - /resolve: url 에 "missing" 이 있으면 404, "playlist-<n>" 이면 n 트랙짜리 playlist (앞 5개만 전체 객체), 아니면 50ms 뒤 트랙
+     * - /tracks?ids=: 요청한 id 트랙 배열
+     */
+    private final WebClient v1 = WebClient.builder()
+            .baseUrl("https://api.test")
+            .exchangeFunction(request -> {
+                calls.incrementAndGet();
+                var params = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams();
+                if (request.url().getPath().equals("/tracks")) {
+                    List<Long> ids = Arrays.stream(URLDecoder.decode(params.getFirst("ids"), StandardCharsets.UTF_8)
+                            .split(",")).map(Long::valueOf).toList();
+                    hydrated.add(ids.size());
+                    return Mono.just(json(ScFixtures.tracks(ids)));
+                }
+                String url = URLDecoder.decode(params.getFirst("url"), StandardCharsets.UTF_8);
+                if (url.contains("playlist-")) {
+                    int size = Integer.parseInt(url.substring(url.lastIndexOf('-') + 1));
+                    // playlist 끼리 트랙 id 가 겹치도록 모두 1000번부터
+                    return Mono.just(json(ScFixtures.playlist(size, size, 5, 1000)));
+                }
+                if (url.contains("missing")) {
+                    return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+                }
+                long id = Long.parseLong(url.substring(url.lastIndexOf('-') + 1));
+                return Mono.delay(Duration.ofMillis(50))
+                        .doOnSubscribe(s -> peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .doOnNext(t -> inFlight.decrementAndGet())
+                        .map(t -> json(ScFixtures.resolvedTrack(id)));
+            })
+            .build();
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private ScService service(int concurrency) {
+        ScBatchProperties batch = new ScBatchProperties();
+        batch.setConcurrency(concurrency);
+        return new ScService(v1, v1, "https://api.test", "cid", new ScUpstream(),
+                new ScCaches(new ScCacheProperties(), new SimpleMeterRegistry()),
+                new TrackIndex(new ScSuggestProperties(), System::currentTimeMillis), batch);
+    }
+
+    @Test
+    void batchDedupesServesCacheHitsAndIsolatesFailures() {
+        ScService service = service(4);
+        service.resolve("https://soundcloud.com/a/track-1").block();
+        calls.set(0);
+
+        List<ResolveBatchItem> items = service.resolveBatch(List.of(
+                "https://soundcloud.com/a/track-1",      // 캐시 히트
+                "https://soundcloud.com/a/track-2",
+                " https://soundcloud.com/a/track-2 ",    // 중복
+                "https://soundcloud.com/a/missing-3",    // 404
+                "")).collectList().block();
+
+        assertThat(items).hasSize(3);
+        // 캐시 히트가 먼저, 업스트림은 미스 2건만
+        assertThat(items.get(0).cached()).isTrue();
+        assertThat(items.get(0).url()).isEqualTo("https://soundcloud.com/a/track-1");
+        assertThat(calls).hasValue(2);
+        assertThat(items).filteredOn(i -> i.url().endsWith("track-2"))
+                .singleElement().satisfies(i -> {
+                    assertThat(i.status()).isEqualTo(200);
+                    assertThat(i.result().track()).isNotNull();
+                });
+        assertThat(items).filteredOn(i -> i.url().endsWith("missing-3"))
+                .singleElement().satisfies(i -> {
+                    assertThat(i.status()).isEqualTo(404);
+                    assertThat(i.result()).isNull();
+                });
+    }
+
+    @Test
+    void batchFanOutIsBoundedByConcurrency() {
+        ScService service = service(3);
+        List<String> urls = IntStream.range(0, 12)
+                .mapToObj(i -> "https://soundcloud.com/a/track-" + (100 + i)).toList();
+
+        List<ResolveBatchItem> items = service.resolveBatch(urls).collectList().block();
+
+        assertThat(items).hasSize(12).allSatisfy(i -> assertThat(i.status()).isEqualTo(200));
+        assertThat(peak.get()).isBetween(2, 3);
+    }
+
+    @Test
+    void largePlaylistStubsAreHydratedInChunksAndCachedPerTrack() {
+        ScService service = service(4);
+
+        ResolveResponse big = service.resolve("https://soundcloud.com/a/sets/playlist-500").block();
+
+        // 495 stub → 50개씩 10번
+        assertThat(hydrated).hasSize(10).allSatisfy(n -> assertThat(n).isLessThanOrEqualTo(50));
+        assertThat(big.tracks()).hasSize(500)
+                .allSatisfy(t -> assertThat(t.title()).isNotEmpty())
+                .extracting(TrackDto::externalId)
+                .startsWith("1000", "1001")
+                .endsWith("1499");
+
+        // 겹치는 트랙은 트랙 캐시에서 → /tracks 호출 없음
+        hydrated.clear();
+        ResolveResponse small = service.resolve("https://soundcloud.com/a/sets/playlist-120").block();
+        assertThat(hydrated).isEmpty();
+        assertThat(small.tracks()).hasSize(120).allSatisfy(t -> assertThat(t.title()).isNotEmpty());
+    }
+
+    @Test
+    void permalinksWithReservedCharsAreNotCoalescedTogether() {
+        ScService service = service(4);
+
+        // 인코딩 안 된 키였다면 # 뒤가 fragment 로 잘려 두 요청이 하나로 합쳐짐
+        var both = Mono.zip(
+                service.resolve("https://soundcloud.com/a#track-1"),
+                service.resolve("https://soundcloud.com/a#track-2")).block();
+
+        assertThat(calls).hasValue(2);
+        assertThat(both.getT1().track().externalId()).isEqualTo("1");
+        assertThat(both.getT2().track().externalId()).isEqualTo("2");
+    }
+
+    @Test
+    void v1OutageOpensOnlyTheV1Breaker() {
+        ScResilienceProperties props = new ScResilienceProperties();
+        props.getRetry().setMaxAttempts(1);
+        ScResilience resilience = new ScResilience(props);
+        WebClient v1Down = WebClient.builder().baseUrl("https://api-v1.test")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                .build();
+        WebClient v2Up = WebClient.builder().baseUrl("https://api-v2.test")
+                .exchangeFunction(request -> Mono.just(json("{\"collection\":[],\"next_href\":null}")))
+                .build();
+        ScService service = new ScService(v2Up, v1Down, "https://api-v1.test", "cid",
+                new ScUpstream(resilience, "https://api-v2.test", new SimpleMeterRegistry()),
+                new ScCaches(new ScCacheProperties(), new SimpleMeterRegistry()),
+                new TrackIndex(new ScSuggestProperties(), System::currentTimeMillis), new ScBatchProperties());
+
+        for (int i = 0; i < 20; i++) {
+            service.resolve("https://soundcloud.com/a/track-" + i).onErrorResume(e -> Mono.empty()).block();
+        }
+        assertThat(service.search("ok", 10, 0).block()).isNotNull();
+
+        // resolve(api v1) 실패는 v1 브레이커에만, 검색(api-v2)은 그대로 열려 있지 않음
+        assertThat(resilience.stats()).extractingByKey("api-v1.test")
+                .asInstanceOf(InstanceOfAssertFactories.MAP).extractingByKey("breaker")
+                .asInstanceOf(InstanceOfAssertFactories.MAP).containsEntry("state", "OPEN");
+        assertThat(resilience.stats()).extractingByKey("api-v2.test")
+                .asInstanceOf(InstanceOfAssertFactories.MAP).extractingByKey("breaker")
+                .asInstanceOf(InstanceOfAssertFactories.MAP).containsEntry("state", "CLOSED").containsEntry("calls", 1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.reactapt.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScUpstreamTests {
+
+    @Test
+    void concurrentIdenticalCallsShareOneExchange() {
+        ScUpstream upstream = new ScUpstream();
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+
+        Mono<String> a = upstream.call("t", "https://api.test/x?b=2&a=1", () -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        });
+        Mono<String> b = upstream.call("t", "https://API.test/x?a=1&b=2", () -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        });
+
+        var ra = a.toFuture();
+        var rb = b.toFuture();
+        response.tryEmitValue("page");
+
+        assertThat(ra.join()).isEqualTo("page");
+        assertThat(rb.join()).isEqualTo("page");
+        assertThat(calls).hasValue(1);
+        assertThat(upstream.coalescingStats()).containsEntry("coalescedCalls", 1L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void errorIsSharedAndKeyIsReleased() {
+        ScUpstream upstream = new ScUpstream();
+        Sinks.One<String> response = Sinks.one();
+
+        var a = upstream.call("t", "/resolve?url=x", response::asMono).toFuture();
+        var b = upstream.call("t", "/resolve?url=x", response::asMono).toFuture();
+        response.tryEmitError(new IllegalStateException("SC 500"));
+
+        assertThatThrownBy(a::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(b::join).hasCauseInstanceOf(IllegalStateException.class);
+
+        // 끝난 뒤에는 다시 업스트림으로
+        assertThat(upstream.call("t", "/resolve?url=x", () -> Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void differentOpsAreNotCoalesced() {
+        ScUpstream upstream = new ScUpstream();
+        Sinks.One<String> response = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        upstream.call("a", "/search/tracks?q=x", () -> { calls.incrementAndGet(); return response.asMono(); }).subscribe();
+        upstream.call("b", "/search/tracks?q=x", () -> { calls.incrementAndGet(); return response.asMono(); }).subscribe();
+
+        assertThat(calls).hasValue(2);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.ScCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SwrCacheTests {
+
+    private final ScCaches caches = new ScCaches(new ScCacheProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void servesStaleValueAfterSoftTtlAndRefreshesInBackground() throws InterruptedException {
+        AtomicInteger version = new AtomicInteger();
+        SwrCache<String, String> cache = caches.create("t",
+                new ScCacheProperties.Spec(Duration.ofMillis(100), Duration.ofMinutes(1), DataSize.ofKilobytes(64)),
+                key -> {
+                    int v = version.incrementAndGet();
+                    // 갱신(두 번째 로드부터)은 느린 업스트림처럼 지연
+                    return Mono.just(key + "-v" + v).delayElement(Duration.ofMillis(v == 1 ? 0 : 300));
+                }, CacheWeights::string);
+
+        assertThat(cache.get("a").block()).isEqualTo("a-v1");
+        Thread.sleep(150);
+
+        // soft-ttl 지남 → 기존 값 즉시 + 백그라운드 갱신
+        assertThat(cache.get("a").block()).isEqualTo("a-v1");
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertThat(cache.get("a").block()).isEqualTo("a-v2"));
+    }
+
+    @Test
+    void hotKeysAreRefreshedBeforeSoftTtl() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        SwrCache<String, String> cache = caches.create("t",
+                new ScCacheProperties.Spec(Duration.ofMillis(200), Duration.ofMinutes(1), DataSize.ofKilobytes(64)),
+                key -> Mono.just(key + loads.incrementAndGet()), CacheWeights::string);
+
+        for (int i = 0; i < 5; i++) cache.get("hot").block();
+        Thread.sleep(170);
+
+        assertThat(cache.refreshHotKeys(10, 0.8)).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(2)).until(() -> loads.get() == 2);
+    }
+
+    @Test
+    void lastGoodValueIsServedWhenUpstreamFailsAfterHardTtl() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        SwrCache<String, String> cache = caches.create("t",
+                new ScCacheProperties.Spec(Duration.ofMillis(50), Duration.ofMillis(100), DataSize.ofKilobytes(64)),
+                key -> {
+                    if (loads.incrementAndGet() <= 2) return Mono.just(key + "-good");
+                    HttpStatus status = key.equals("gone") ? HttpStatus.NOT_FOUND : HttpStatus.SERVICE_UNAVAILABLE;
+                    return Mono.error(WebClientResponseException.create(status.value(), status.getReasonPhrase(),
+                            null, null, null));
+                }, CacheWeights::string);
+
+        cache.get("a").block();
+        cache.get("gone").block();
+        Thread.sleep(150); // hard-ttl 지나서 둘 다 만료
+
+        // 업스트림 장애(503) → 마지막 정상 값, 4xx 는 그대로 실패
+        assertThat(cache.get("a").block()).isEqualTo("a-good");
+        assertThatThrownBy(() -> cache.get("gone").block()).isInstanceOf(WebClientResponseException.NotFound.class);
+        assertThat(cache.stats()).containsEntry("lastGoodServed", 1L);
+    }
+
+    @Test
+    void sizeIsBoundedByApproximateBytes() {
+        SwrCache<Integer, String> cache = caches.create("t",
+                new ScCacheProperties.Spec(Duration.ofMinutes(1), Duration.ofMinutes(1), DataSize.ofKilobytes(8)),
+                key -> Mono.just("x".repeat(1000)), CacheWeights::string);
+
+        for (int i = 0; i < 50; i++) cache.get(i).block();
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertThat((Long) cache.stats().get("weightedBytes")).isLessThanOrEqualTo(8 * 1024L));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ScSuggestResponse;
+import com.example.reactapt.config.ScSuggestProperties;
+import com.example.reactapt.support.ScFixtures;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TrackIndexTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ScSuggestProperties props = new ScSuggestProperties();
+    private final TrackIndex index = new TrackIndex(props, now::get);
+
+    @Test
+    void matchesEveryTokenAsPrefixAndRanksByPopularity() {
+        index.add(1, "Around the World", "Daft Punk", null, null, 1_000L);
+        index.add(2, "One More Time", "Daft Punk", null, null, 50_000_000L);
+        index.add(3, "Punk Rock Song", "Someone", null, null, 10L);
+        index.rebuild();
+
+        ScSuggestResponse r = index.suggest("daft pu", null);
+        assertThat(r.items()).extracting(ScSuggestResponse.Item::id).containsExactly(2L, 1L);
+        assertThat(r.partial()).isFalse();
+
+        // 제목이 질의로 시작하면 인기도가 낮아도 앞으로
+        assertThat(index.suggest("pun", 1).items()).extracting(ScSuggestResponse.Item::title)
+                .containsExactly("Punk Rock Song");
+        assertThat(index.suggest("", null).items()).isEmpty();
+    }
+
+    @Test
+    void normalizesDiacriticsCaseAndHangul() {
+        index.add(1, "Crazy in Love", "Beyoncé", null, null, null);
+        index.add(2, "밤편지", "아이유", null, null, null);
+        index.rebuild();
+
+        assertThat(index.suggest("BEYONCE", null).items()).extracting(ScSuggestResponse.Item::id).containsExactly(1L);
+        assertThat(index.suggest("아이", null).items()).extracting(ScSuggestResponse.Item::id).containsExactly(2L);
+        // 자모 단위라 입력 중인 음절("바")로도 찾음
+        assertThat(index.suggest("바", null).items()).extracting(ScSuggestResponse.Item::id).containsExactly(2L);
+    }
+
+    @Test
+    void findsTrendingTracksByArtist() {
+        // 트렌딩/검색 페이지 (ScTrack) 도 user.username 을 아티스트로 색인
+        byte[] page = ScFixtures.searchPage(3, 1_000, null).getBytes(StandardCharsets.UTF_8);
+        index.addScTracks(ScJsonDecoder.scTrackPage(page).collection());
+        index.rebuild();
+
+        assertThat(index.suggest("artist-900024", null).items())
+                .extracting(ScSuggestResponse.Item::id, ScSuggestResponse.Item::artist)
+                .containsExactly(tuple(1_001L, "artist-900024"));
+    }
+
+    @Test
+    void evictsExpiredAndLeastRecentTracks() {
+        props.setMaxEntries(2);
+        props.setTtl(Duration.ofMinutes(40));
+
+        index.add(1, "alpha old", null, null, null, null);
+        now.addAndGet(Duration.ofMinutes(30).toMillis());
+        index.add(2, "alpha mid", null, null, null, null);
+        index.add(3, "alpha new", null, null, null, null);
+        index.rebuild();
+        // 가장 오래 안 보인 1번이 max-entries 초과분으로 빠짐
+        assertThat(index.suggest("alpha", null).items()).extracting(ScSuggestResponse.Item::id)
+                .containsExactlyInAnyOrder(2L, 3L);
+
+        now.addAndGet(Duration.ofMinutes(45).toMillis());
+        index.add(3, "alpha new", null, null, null, null);
+        index.rebuild();
+        // 2번은 ttl 지나서 제거, 다시 본 3번만 남음
+        assertThat(index.suggest("alpha", null).items()).extracting(ScSuggestResponse.Item::id).containsExactly(3L);
+        assertThat(index.stats()).containsEntry("tracks", 1).containsEntry("evicted", 2L);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.reactapt.service;
+
+import com.example.reactapt.config.DTO.ScChartItem;
+import com.example.reactapt.config.DTO.ScPaging;
+import com.example.reactapt.config.ScBufferProperties;
+import com.example.reactapt.config.ScCacheProperties;
+import com.example.reactapt.config.ScCursorProperties;
+import com.example.reactapt.config.ScPrefetchProperties;
+import com.example.reactapt.config.ScPrewarmProperties;
+import com.example.reactapt.config.ScSuggestProperties;
+import com.example.reactapt.controller.ScClient;
+import com.example.reactapt.support.ScFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingPrewarmerTests {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /** SC 스텁: /search/tracks?limit=&offset= → 그만큼의 트랙, 200곡에서 끝 */
+    private final WebClient v2 = WebClient.builder()
+            .exchangeFunction(request -> {
+                calls.incrementAndGet();
+                var params = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams();
+                int limit = Integer.parseInt(params.getFirst("limit"));
+                int offset = params.containsKey("offset") ? Integer.parseInt(params.getFirst("offset")) : 0;
+                int size = Math.max(0, Math.min(limit, 200 - offset));
+                String next = offset + size < 200
+                        ? request.url().toString().replaceAll("&offset=\\d+", "") + "&offset=" + (offset + size)
+                        : null;
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(ScFixtures.searchPage(size, offset + 1, next))
+                        .build());
+            })
+            .build();
+
+    private final MusicService music;
+
+    TrendingPrewarmerTests() {
+        ScPrefetchProperties prefetch = new ScPrefetchProperties();
+        prefetch.setEnabled(false); // 업스트림 호출 수만 보려고 끔
+        music = new MusicService(new ScClient("cid", "https://api.test", v2, new ScUpstream()),
+                new ScCaches(new ScCacheProperties(), new SimpleMeterRegistry()),
+                new ScPrefetchers(prefetch, new SimpleMeterRegistry()),
+                new TrackIndex(new ScSuggestProperties(), System::currentTimeMillis),
+                new CursorTokens(new ScCursorProperties()), new ScBufferProperties());
+    }
+
+    private TrendingPrewarmer prewarmer(int maxCalls) {
+        ScPrewarmProperties props = new ScPrewarmProperties();
+        props.setGenres(List.of("house"));
+        props.setPages(2);
+        props.setMaxCallsPerCycle(maxCalls);
+        return new TrendingPrewarmer(music, props, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void warmedPagesAreServedWithoutUpstreamCalls() {
+        TrendingPrewarmer prewarmer = prewarmer(100);
+        int genres = prewarmer.genres().size();
+        assertThat(prewarmer.genres()).contains("all-music", "hiphop", "k-pop", "house");
+
+        MusicService.Prewarm first = prewarmer.runOnce().block();
+        assertThat(first.refreshed()).isEqualTo(genres * 2);
+        assertThat(calls.get()).isEqualTo(genres * 2);
+
+        // 앞 2페이지(= 50곡 × 2) 스크롤은 전부 캐시에서
+        String cursor = null;
+        for (int i = 0; i < 5; i++) {
+            ScPaging<ScChartItem> page = music.getTrending("hiphop", 20, cursor).block();
+            assertThat(page.collection()).hasSize(20);
+            cursor = page.nextHref();
+        }
+        assertThat(calls.get()).isEqualTo(genres * 2);
+
+        // 방금 데운 페이지는 min-age 안이라 다음 주기에서 건너뜀
+        MusicService.Prewarm second = prewarmer.runOnce().block();
+        assertThat(second.refreshed()).isZero();
+        assertThat(second.fresh()).isEqualTo(genres * 2);
+        assertThat(calls.get()).isEqualTo(genres * 2);
+    }
+
+    @Test
+    void stopsAtUpstreamCallBudget() {
+        MusicService.Prewarm result = prewarmer(3).runOnce().block();
+
+        assertThat(result.outOfBudget()).isTrue();
+        assertThat(result.refreshed()).isEqualTo(3);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.reactapt.support;
+
+/**
+ * SoundCloud api-v2 응답 모양을 흉내 낸 테스트용 JSON
+ * - 트랙마다 media.transcodings, publisher_metadata, user 등 실제 응답에 있는 필드를 채워서 크기를 비슷하게 맞춤
+ *   (50트랙 페이지 ≈ 150KB)
+ */
+public final class ScFixtures {
+
+    private ScFixtures() {
+    }
+
+    /** /search/tracks 응답 (collection + next_href) */
+    public static String searchPage(int tracks, long firstId, String nextHref) {
+        StringBuilder sb = new StringBuilder(tracks * 3200);
+        sb.append("{\"collection\":[");
+        for (int i = 0; i < tracks; i++) {
+            if (i > 0) sb.append(',');
+            track(sb, firstId + i);
+        }
+        sb.append("],\"total_results\":").append(10_000)
+                .append(",\"next_href\":").append(nextHref == null ? "null" : quote(nextHref))
+                .append(",\"query_urn\":\"soundcloud:search:").append(Long.toHexString(firstId * 31)).append("\"}");
+        return sb.toString();
+    }
+
+    /** /resolve 응답 (playlist, 앞쪽 fullTracks 개만 전체 객체이고 나머지는 id만 있는 stub) */
+    public static String playlist(long playlistId, int tracks, int fullTracks, long firstTrackId) {
+        StringBuilder sb = new StringBuilder(tracks * 1000);
+        sb.append("{\"kind\":\"playlist\",\"id\":").append(playlistId)
+                .append(",\"title\":\"Playlist ").append(playlistId).append("\",\"track_count\":").append(tracks)
+                .append(",\"tracks\":[");
+        for (int i = 0; i < tracks; i++) {
+            if (i > 0) sb.append(',');
+            if (i < fullTracks) {
+                track(sb, firstTrackId + i);
+            } else {
+                sb.append("{\"id\":").append(firstTrackId + i)
+                        .append(",\"kind\":\"track\",\"monetization_model\":\"NOT_APPLICABLE\",\"policy\":\"ALLOW\"}");
+            }
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /** /tracks?ids= 응답 (트랙 객체 배열) */
+    public static String tracks(Iterable<Long> ids) {
+        StringBuilder sb = new StringBuilder(16 * 3200);
+        sb.append('[');
+        for (long id : ids) {
+            if (sb.length() > 1) sb.append(',');
+            track(sb, id);
+        }
+        return sb.append(']').toString();
+    }
+
+    /** /resolve 응답 (track) */
+    public static String resolvedTrack(long id) {
+        StringBuilder sb = new StringBuilder(3200);
+        track(sb, id);
+        return sb.toString();
+    }
+
+    public static void track(StringBuilder sb, long id) {
+        long userId = 900_000 + id % 977;
+        String slug = "track-" + id;
+        String user = "artist-" + userId;
+        sb.append('{')
+                .append("\"artwork_url\":\"https://i1.sndcdn.com/artworks-000").append(id).append("-x1y2z3-large.jpg\",")
+                .append("\"caption\":null,\"commentable\":true,\"comment_count\":").append(id % 300).append(',')
+                .append("\"created_at\":\"2024-05-0").append(id % 9 + 1).append("T12:34:56Z\",")
+                .append("\"description\":\"Official audio for ").append(slug).append(". Produced, mixed and mastered by ")
+                .append(user).append(". Follow for more releases every week.\",")
+                .append("\"downloadable\":false,\"download_count\":0,\"duration\":").append(120_000 + id % 180_000).append(',')
+                .append("\"full_duration\":").append(120_000 + id % 180_000).append(',')
+                .append("\"embeddable_by\":\"all\",\"genre\":\"Hip-hop & Rap\",\"has_downloads_left\":true,")
+                .append("\"id\":").append(id).append(",\"kind\":\"track\",\"label_name\":null,")
+                .append("\"last_modified\":\"2024-06-01T00:00:00Z\",\"license\":\"all-rights-reserved\",")
+                .append("\"likes_count\":").append(id % 5000).append(',')
+                .append("\"permalink\":\"").append(slug).append("\",")
+                .append("\"permalink_url\":\"https://soundcloud.com/").append(user).append('/').append(slug).append("\",")
+                .append("\"playback_count\":").append(id * 37 % 1_000_000).append(',')
+                .append("\"public\":true,")
+                .append("\"publisher_metadata\":{\"id\":").append(id).append(",\"urn\":\"soundcloud:tracks:").append(id)
+                .append("\",\"artist\":\"").append(user).append("\",\"album_title\":\"Album ").append(id % 40)
+                .append("\",\"contains_music\":true,\"upc_or_ean\":\"0").append(190_000_000_000L + id)
+                .append("\",\"isrc\":\"USX").append(id).append("\",\"explicit\":false,\"p_line\":\"2024 ").append(user)
+                .append("\",\"p_line_for_display\":\"℗ 2024 ").append(user).append("\",\"c_line\":\"2024 ").append(user)
+                .append("\",\"c_line_for_display\":\"© 2024 ").append(user).append("\",\"release_title\":\"").append(slug).append("\"},")
+                .append("\"purchase_title\":null,\"purchase_url\":null,\"release_date\":\"2024-05-01T00:00:00Z\",")
+                .append("\"reposts_count\":").append(id % 700).append(',')
+                .append("\"secret_token\":null,\"sharing\":\"public\",\"state\":\"finished\",\"streamable\":true,")
+                .append("\"tag_list\":\"hiphop rap \\\"new music\\\" 2024 trending\",")
+                .append("\"title\":\"Track ").append(id).append(" (feat. Someone) [Official Audio]\",")
+                .append("\"track_format\":\"single-track\",\"uri\":\"https://api.soundcloud.com/tracks/").append(id).append("\",")
+                .append("\"urn\":\"soundcloud:tracks:").append(id).append("\",\"user_id\":").append(userId).append(',')
+                .append("\"visuals\":null,\"waveform_url\":\"https://wave.sndcdn.com/w").append(id).append("AbCdEf_m.json\",")
+                .append("\"display_date\":\"2024-05-01T00:00:00Z\",")
+                .append("\"media\":{\"transcodings\":[");
+        String[][] presets = {{"hls", "audio/mpeg", "mp3_1_0"}, {"progressive", "audio/mpeg", "mp3_1_0"},
+                {"hls", "audio/ogg; codecs=\\\"opus\\\"", "opus_0_0"}, {"hls", "audio/mp4; codecs=\\\"mp4a.40.2\\\"", "aac_160k"}};
+        for (int i = 0; i < presets.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"url\":\"https://api-v2.soundcloud.com/media/soundcloud:tracks:").append(id)
+                    .append("/6c1a2b3c-4d5e-6f70-8192-a3b4c5d6e7f8/stream/").append(presets[i][0]).append("\",")
+                    .append("\"preset\":\"").append(presets[i][2]).append("\",\"duration\":").append(120_000 + id % 180_000)
+                    .append(",\"snipped\":false,\"format\":{\"protocol\":\"").append(presets[i][0])
+                    .append("\",\"mime_type\":\"").append(presets[i][1]).append("\"},\"quality\":\"sq\",\"is_legacy_transcoding\":true}");
+        }
+        sb.append("]},")
+                .append("\"station_urn\":\"soundcloud:system-playlists:track-stations:").append(id).append("\",")
+                .append("\"station_permalink\":\"track-stations:").append(id).append("\",")
+                .append("\"track_authorization\":\"eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzI1NiJ9.eyJnZW8iOiJLUiIsInN1YiI6IiIsInJpZCI6IjEyMzQ1Njc4OTAiLCJpYXQiOjE3MDAwMDAwMDB9.")
+                .append(Long.toHexString(id * 2654435761L)).append("\",")
+                .append("\"monetization_model\":\"NOT_APPLICABLE\",\"policy\":\"ALLOW\",")
+                .append("\"user\":{\"avatar_url\":\"https://i1.sndcdn.com/avatars-000").append(userId).append("-abc123-large.jpg\",")
+                .append("\"first_name\":\"\",\"followers_count\":").append(userId % 100_000).append(',')
+                .append("\"full_name\":\"\",\"id\":").append(userId).append(",\"kind\":\"user\",")
+                .append("\"last_modified\":\"2024-01-01T00:00:00Z\",\"last_name\":\"\",")
+                .append("\"permalink\":\"").append(user).append("\",\"permalink_url\":\"https://soundcloud.com/").append(user).append("\",")
+                .append("\"uri\":\"https://api.soundcloud.com/users/").append(userId).append("\",")
+                .append("\"urn\":\"soundcloud:users:").append(userId).append("\",\"username\":\"").append(user).append("\",")
+                .append("\"verified\":false,\"city\":\"Seoul\",\"country_code\":\"KR\",")
+                .append("\"badges\":{\"pro\":false,\"creator_mid_tier\":false,\"pro_unlimited\":false,\"verified\":false},")
+                .append("\"station_urn\":\"soundcloud:system-playlists:artist-stations:").append(userId).append("\",")
+                .append("\"station_permalink\":\"artist-stations:").append(userId).append("\"}")
+                .append('}');
+    }
+
+    private static String quote(String s) {
+        return '"' + s.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -10,22 +10,8 @@ import { toUiTrack } from "../../lib/trackNormalize";
 import AddToPlaylistButton from "../../components/AddToPlaylistButton.jsx";
 
 /* ─────────────────────────────────────────────
-   cursor 정규화 + fetchTrending
+   fetchTrending (cursor 는 서버가 준 짧은 토큰 → 디코딩 없이 그대로)
 ────────────────────────────────────────────── */
-function normalizeCursorForQS(cursor) {
-  if (!cursor) return cursor;
-  let raw = cursor;
-  for (let i = 0; i < 3; i++) {
-    try {
-      const dec = decodeURIComponent(raw);
-      if (dec === raw) break;
-      raw = dec;
-    } catch {
-      break;
-    }
-  }
-  return raw;
-}
 function normalizeSC(resp) {
   const rows = resp?.collection ?? resp?.result ?? resp?.items ?? [];
   const items = rows.map((r) => r?.track ?? r);       // charts/search 모두 커버
@@ -33,8 +19,31 @@ function normalizeSC(resp) {
   return { items, next };
 }
 
-async function fetchTrending(cursor) {
-  const qs = new URLSearchParams({ genre: "all-music", limit: "20" });
+// 홈 피드를 못 받았을 때만 쓰는 레일 (서버 sc.home.rows 기본값과 같음). 평소엔 응답의 rows 대로
+const FALLBACK_ROWS = [{ id: "trending", title: "Trending", genre: "all-music" }];
+
+// 홈 첫 화면: 레일 전부를 /api/home 한 번으로 (실패하면 null → 레일마다 개별 요청)
+async function fetchHome() {
+  try {
+    const res = await fetch("/api/home");
+    if (!res.ok) return null;
+    return await res.json();
+  } catch {
+    return null;
+  }
+}
+
+async function fetchTrending(genre, cursor, homeRow) {
+  // 첫 페이지는 홈 피드에서 (마감 안에 못 받은 레일은 status != 200 → 아래 개별 요청)
+  if (!cursor && homeRow) {
+    const row = await homeRow;
+    if (row && row.status === 200) {
+      const { items, next } = normalizeSC(row);
+      return { items, collection: items, next, cursor: next, raw: row };
+    }
+  }
+
+  const qs = new URLSearchParams({ genre, limit: "20" });
   if (cursor && cursor !== "undefined" && cursor !== "null") {
     qs.set("cursor", cursor); // 그대로 전달 (URLSearchParams가 필요한 인코딩 처리)
   }
@@ -77,6 +86,20 @@ export default function Home() {
   const [ytError, setYtError] = useState(null);
   const [selectedVideoId, setSelectedVideoId] = useState(null);
   const scrollRef = useRef(null);
+  // 페이지 뷰마다 홈 피드 한 번 (레일들이 같은 Promise 를 기다림)
+  const homeFeed = useMemo(() => fetchHome(), []);
+  // 레일 구성/제목은 서버가 정함 (검색 레일(q)은 트렌딩 무한 스크롤로 이어 받을 수 없어 제외)
+  const [homeRows, setHomeRows] = useState([]);
+
+  useEffect(() => {
+    let alive = true;
+    homeFeed.then((f) => {
+      if (alive) setHomeRows(f ? (f.rows ?? []).filter((r) => !r.q) : FALLBACK_ROWS);
+    });
+    return () => {
+      alive = false;
+    };
+  }, [homeFeed]);
 
   useEffect(() => {
     const loadPopularVideos = async () => {
@@ -204,17 +227,26 @@ export default function Home() {
         )}
 
         {/* ───────────────── 아래에 Trending (가로 무한 스크롤) ──────────────── */}
-        <TrendingRow />
+        {homeRows.map((row) => (
+            <TrendingRow
+                key={row.id}
+                id={row.id}
+                genre={row.genre || "all-music"}
+                title={row.title || row.id}
+                homeFeed={homeFeed}
+            />
+        ))}
       </div>
   );
 }
 
 /* =========================================================
-   Home 아래에 붙는 가로 Trending 레일
+   Home 아래에 붙는 가로 Trending 레일 (장르별)
 ========================================================= */
-function TrendingRow() {
+function TrendingRow({ id, genre, title, homeFeed }) {
   const { items, loading, error, retry, rowRef, tailRef } = useInfiniteRow((c) =>
-      fetchTrending(c || null)
+      fetchTrending(genre, c || null,
+          c ? null : homeFeed.then((f) => f?.rows?.find((r) => r.id === id)))
   );
   const playTrack = useNowPlayingStore((s) => s.playTrack);
   const [scrollEl, setScrollEl] = useState(null);
@@ -241,8 +273,7 @@ function TrendingRow() {
   return (
       <section className="trendingX-section">
         <div className="trendingX-head">
-          <h2 className="trendingX-title">Trending</h2>
-          <span className="trendingX-sub">지금 뜨는 트랙</span>
+          <h2 className="trendingX-title">{title}</h2>
         </div>
 
         {error && (